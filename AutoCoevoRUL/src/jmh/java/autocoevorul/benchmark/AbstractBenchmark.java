@@ -0,0 +1,17 @@
+package autocoevorul.benchmark;
+
+import autocoevorul.experiment.ExperimentConfiguration;
+
+/**
+ * Base of the JMH benchmarks, which are run from the project folder via <code>gradle jmh</code>. The benchmark configuration equals the test configuration,
+ * except that the data is read from the Data folder of the repository and no metrics are exported.
+ */
+public abstract class AbstractBenchmark {
+
+	protected static final String CONFIG_FILE_PATH = "src/jmh/resources/benchmark.cnf";
+
+	protected ExperimentConfiguration createExperimentConfiguration() {
+		return new ExperimentConfiguration(CONFIG_FILE_PATH);
+	}
+
+}
@@ -0,0 +1,110 @@
+package autocoevorul.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
+import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ai.libs.jaicore.experiments.exceptions.ExperimentEvaluationFailedException;
+import autocoevorul.data.CmapssToArffDatasetTransformer;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.util.DataUtil;
+
+/**
+ * Measures the preparation of the data of an experiment: transforming the CMAPSS text files into ARFF, reading the ARFF files and creating and serializing the
+ * folds. Each invocation takes long enough to be measured on its own, so every iteration is a single shot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DataBenchmark extends AbstractBenchmark {
+
+	private static final int NUMBER_OF_SENSORS = 24;
+
+	/** The number of engines of the generated CMAPSS file, the original FD001 training file has 100 engines with up to 362 time steps. */
+	@Param({ "100" })
+	private int numberOfEngines;
+
+	private File folder;
+	private File cmapssFile;
+	private CmapssToArffDatasetTransformer transformer;
+	private ExperimentConfiguration experimentConfiguration;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws IOException, ExperimentEvaluationFailedException {
+		this.folder = Files.createTempDirectory("benchmark").toFile();
+		this.cmapssFile = new File(this.folder, "train_FD001.txt");
+		this.writeCmapssFile(this.cmapssFile, new Random(42));
+		this.transformer = new CmapssToArffDatasetTransformer();
+		this.experimentConfiguration = this.createExperimentConfiguration();
+		this.experimentConfiguration.getTrainingTimeSeries();
+	}
+
+	private void writeCmapssFile(final File file, final Random random) throws IOException {
+		try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			for (int engine = 1; engine <= this.numberOfEngines; engine++) {
+				int timeSteps = 128 + random.nextInt(234);
+				for (int timeStep = 1; timeStep <= timeSteps; timeStep++) {
+					StringBuilder row = new StringBuilder().append(engine).append(' ').append(timeStep);
+					for (int sensor = 0; sensor < NUMBER_OF_SENSORS; sensor++) {
+						row.append(' ').append(Math.round(random.nextDouble() * 1_000_000) / 1_000.0);
+					}
+					out.write(row.append("  \n").toString());
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public String transformCmapssToArffString() {
+		return this.transformer.transform(this.cmapssFile.getPath());
+	}
+
+	@Benchmark
+	public void transformCmapssToArffFile() throws IOException {
+		this.transformer.transform(this.cmapssFile.getPath(), new File(this.folder, "FD001_train.arff").getPath());
+	}
+
+	@Benchmark
+	public ILabeledDataset<ILabeledInstance> readDataFile() throws ExperimentEvaluationFailedException {
+		return this.experimentConfiguration.readDataFile(this.experimentConfiguration.getTrainingDataPath());
+	}
+
+	/**
+	 * Draws and serializes the folds, the training data being read before. The fold data store is closed after each invocation, such that the folds are
+	 * serialized again.
+	 */
+	@Benchmark
+	public TimeSeriesSplitSet prepareDatasetSplits() throws ExperimentEvaluationFailedException, IOException {
+		return DataUtil.prepareDatasetSplits(this.experimentConfiguration, new Random(this.experimentConfiguration.getSeed()));
+	}
+
+	@TearDown(Level.Invocation)
+	public void closeFoldDataStore() {
+		this.experimentConfiguration.closeFoldDataStore();
+	}
+
+}
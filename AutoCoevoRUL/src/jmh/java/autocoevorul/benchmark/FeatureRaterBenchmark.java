@@ -0,0 +1,57 @@
+package autocoevorul.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming.GGPSolutionCandidate;
+import autocoevorul.regression.featurerating.EFeatureRater;
+
+/**
+ * Measures rating a feature extractor by the scores of the regressors using it. Every 20th candidate has no score, as for failed or timed out regressors.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureRaterBenchmark {
+
+	@Param({ "AVERAGE", "NUMBER_OF_USING_REGRESSORS", "MINIMUM", "MEDIAN" })
+	private EFeatureRater featureRater;
+
+	@Param({ "100", "10000", "1000000" })
+	private int numberOfCandidates;
+
+	private List<GGPSolutionCandidate> candidates;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(42);
+		this.candidates = new ArrayList<>(this.numberOfCandidates);
+		for (int i = 0; i < this.numberOfCandidates; i++) {
+			Double score = i % 20 == 0 ? Double.NaN : random.nextDouble() * 100;
+			this.candidates.add(new GGPSolutionCandidate(null, score, 0, 0));
+		}
+	}
+
+	@Benchmark
+	public double rateFeatureExtractor() {
+		return this.featureRater.rateFeatureExtractor(this.candidates);
+	}
+
+}
@@ -0,0 +1,88 @@
+package autocoevorul.benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.RandomInitialization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.eventbus.EventBus;
+
+import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
+import autocoevorul.featurerextraction.FeatureExtractionMoeaProblem;
+import autocoevorul.featurerextraction.GenomeHandler;
+import autocoevorul.featurerextraction.SolutionDecoding;
+
+/**
+ * Measures creating, decoding and hashing the genomes of feature extractors, which is done for every candidate of every generation of the coevolution. The
+ * genomes are random solutions drawn with a fixed seed, those which do not activate any component decoding to <code>null</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenomeHandlerBenchmark extends AbstractBenchmark {
+
+	@Param({ "64" })
+	private int numberOfSolutions;
+
+	private GenomeHandler genomeHandler;
+	private Solution[] solutions;
+	private List<SolutionDecoding> decodings;
+	private int solutionIndex;
+	private int decodingIndex;
+
+	@Setup
+	public void setup() throws IOException, ComponentNotFoundException, DatasetDeserializationFailedException {
+		PRNG.setSeed(42);
+		this.genomeHandler = new GenomeHandler(this.createExperimentConfiguration());
+		FeatureExtractionMoeaProblem problem = new FeatureExtractionMoeaProblem(new EventBus(), this.createExperimentConfiguration(), this.genomeHandler, null);
+		this.solutions = new RandomInitialization(problem, this.numberOfSolutions).initialize();
+		this.decodings = new ArrayList<>();
+		for (Solution solution : this.solutions) {
+			SolutionDecoding decoding = this.genomeHandler.decodeGenome(solution);
+			if (decoding != null) {
+				this.decodings.add(decoding);
+			}
+		}
+	}
+
+	@Benchmark
+	public Solution newSolution() {
+		return this.genomeHandler.newSolution();
+	}
+
+	@Benchmark
+	public SolutionDecoding decodeGenome() throws ComponentNotFoundException {
+		this.solutionIndex = (this.solutionIndex + 1) % this.solutions.length;
+		return this.genomeHandler.decodeGenome(this.solutions[this.solutionIndex]);
+	}
+
+	/**
+	 * Generates the construction instruction, the imports and the hash code from already decoded component instances.
+	 */
+	@Benchmark
+	public SolutionDecoding createSolutionDecoding() {
+		this.decodingIndex = (this.decodingIndex + 1) % this.decodings.size();
+		SolutionDecoding decoding = this.decodings.get(this.decodingIndex);
+		return new SolutionDecoding(decoding.getSolution(), decoding.getComponentInstances());
+	}
+
+}
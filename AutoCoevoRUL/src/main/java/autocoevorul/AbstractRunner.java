@@ -20,8 +20,10 @@ import org.slf4j.Logger;
 import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
 import ai.libs.jaicore.db.IDatabaseConfig;
 import ai.libs.jaicore.experiments.ExperimentDatabasePreparer;
+import ai.libs.jaicore.experiments.ExperimentRunner;
 import ai.libs.jaicore.experiments.IExperimentIntermediateResultProcessor;
 import ai.libs.jaicore.experiments.IExperimentSetConfig;
+import ai.libs.jaicore.experiments.IExperimentSetEvaluator;
 import ai.libs.jaicore.experiments.databasehandle.ExperimenterMySQLHandle;
 import ai.libs.jaicore.experiments.exceptions.ExperimentAlreadyExistsInDatabaseException;
 import ai.libs.jaicore.experiments.exceptions.ExperimentDBInteractionFailedException;
@@ -34,6 +36,11 @@ import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
 import autocoevorul.baseline.randomsearch.RandomSearchRunner;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.experiment.ICoevolutionConfig;
+import autocoevorul.experiment.store.DatabaseResultStore;
+import autocoevorul.experiment.store.EResultStore;
+import autocoevorul.experiment.store.IResultStore;
+import autocoevorul.experiment.store.LocalExperimentRunner;
+import autocoevorul.experiment.store.LocalResultStore;
 
 public abstract class AbstractRunner {
 
@@ -43,19 +50,59 @@ public abstract class AbstractRunner {
 
 	public abstract String getDatabaseConfigurationFilePath();
 
+	private IDatabaseConfig dbConfig;
+	private LocalResultStore localResultStore;
+
 	public void run(final String executor, final boolean setupDatabase, final boolean executeExperiments) throws ExperimentEvaluationFailedException, IOException, ComponentNotFoundException,
 			ClassNotFoundException, InterruptedException, SplitFailedException, NoSuchFieldException, SecurityException, IllegalArgumentException, IllegalAccessException {
 
 		ICoevolutionConfig expConfig = (ICoevolutionConfig) ConfigFactory.create(ICoevolutionConfig.class).loadPropertiesFromFile(new File(this.getExperimentConfigurationFilePath()));
-		IDatabaseConfig dbConfig = (IDatabaseConfig) ConfigFactory.create(IDatabaseConfig.class).loadPropertiesFromFile(new File(this.getDatabaseConfigurationFilePath()));
-		ExperimenterMySQLHandle handle = new ExperimenterMySQLHandle(dbConfig);
+		if (expConfig.getResultStore() == EResultStore.LOCAL) {
+			this.runLocally(executor, expConfig, executeExperiments);
+			return;
+		}
+
+		this.dbConfig = (IDatabaseConfig) ConfigFactory.create(IDatabaseConfig.class).loadPropertiesFromFile(new File(this.getDatabaseConfigurationFilePath()));
+		ExperimenterMySQLHandle handle = new ExperimenterMySQLHandle(this.dbConfig);
 
 		if (setupDatabase) {
 			this.setupDatabase(expConfig, handle);
 		}
 		if (executeExperiments) {
-			this.executeExperiments(executor, expConfig, dbConfig, handle);
+			try {
+				ExperimentRunner runner = new ExperimentRunner(expConfig, this.getExperimentEvaluator(executor, expConfig), handle);
+				runner.sequentiallyConductExperiments(1);
+			} catch (ExperimentDBInteractionFailedException | InterruptedException e) {
+				LOGGER.error("Error trying to run experiments.", e);
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * Conducts the experiments on a {@link LocalResultStore}, which needs no setup, since the experiments are derived from the key fields of the configuration.
+	 */
+	private void runLocally(final String executor, final ICoevolutionConfig expConfig, final boolean executeExperiments) {
+		this.localResultStore = new LocalResultStore(expConfig.getResultStoreFolder(), expConfig.getResultStoreTable());
+		if (executeExperiments) {
+			try {
+				LocalExperimentRunner runner = new LocalExperimentRunner(expConfig, this.getExperimentEvaluator(executor, expConfig), this.localResultStore);
+				runner.sequentiallyConductExperiments(1);
+			} catch (IOException | InterruptedException e) {
+				LOGGER.error("Error trying to run experiments.", e);
+				System.exit(1);
+			}
+		}
+	}
+
+	/**
+	 * @return The result store the events of an experiment are written to.
+	 */
+	protected IResultStore createResultStore() {
+		if (this.localResultStore != null) {
+			return this.localResultStore;
 		}
+		return new DatabaseResultStore(this.dbConfig);
 	}
 
 	private void setupDatabase(final IExperimentSetConfig expConfig, final ExperimenterMySQLHandle handle) {
@@ -76,7 +123,7 @@ public abstract class AbstractRunner {
 		}
 	}
 
-	protected abstract void executeExperiments(final String executor, final ICoevolutionConfig expConfig, final IDatabaseConfig dbConfig, final ExperimenterMySQLHandle handle);
+	protected abstract IExperimentSetEvaluator getExperimentEvaluator(final String executor, final ICoevolutionConfig expConfig);
 
 	protected void logFinalPipeline(final ExperimentConfiguration experimentConfiguration, final SearchResult result, final Map<String, Object> experimentDBColumns,
 			final IExperimentIntermediateResultProcessor processor) throws IOException, TrainingException, PredictionException, InterruptedException, ExperimentEvaluationFailedException {
@@ -1,7 +1,6 @@
 package autocoevorul.baseline.mlplan;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
@@ -18,13 +17,9 @@ import com.google.common.eventbus.EventBus;
 
 import ai.libs.jaicore.basic.ResourceFile;
 import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
-import ai.libs.jaicore.db.IDatabaseConfig;
 import ai.libs.jaicore.experiments.ExperimentDBEntry;
-import ai.libs.jaicore.experiments.ExperimentRunner;
 import ai.libs.jaicore.experiments.IExperimentIntermediateResultProcessor;
 import ai.libs.jaicore.experiments.IExperimentSetEvaluator;
-import ai.libs.jaicore.experiments.databasehandle.ExperimenterMySQLHandle;
-import ai.libs.jaicore.experiments.exceptions.ExperimentDBInteractionFailedException;
 import ai.libs.jaicore.experiments.exceptions.ExperimentEvaluationFailedException;
 import ai.libs.jaicore.ml.core.evaluation.evaluator.factory.MonteCarloCrossValidationEvaluatorFactory;
 import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
@@ -61,8 +56,8 @@ public class MLPlanRunner extends AbstractRunner {
 	}
 
 	@Override
-	public void executeExperiments(final String executor, final ICoevolutionConfig expConfig, final IDatabaseConfig dbConfig, final ExperimenterMySQLHandle handle) {
-		IExperimentSetEvaluator evaluator = (final ExperimentDBEntry experimentEntry, final IExperimentIntermediateResultProcessor processor) -> {
+	protected IExperimentSetEvaluator getExperimentEvaluator(final String executor, final ICoevolutionConfig expConfig) {
+		return (final ExperimentDBEntry experimentEntry, final IExperimentIntermediateResultProcessor processor) -> {
 			try {
 				Map<String, Object> experimentDBColumns = new HashMap<>();
 				experimentDBColumns.put("executor", executor);
@@ -90,36 +85,30 @@ public class MLPlanRunner extends AbstractRunner {
 				MLPlan<ScikitLearnWrapper<IPrediction, IPredictionBatch>> mlplan = builder.withDataset(experimentConfiguration.getTrainingData()).build();
 				mlplan.setPortionOfDataForPhase2(0f);
 				mlplan.setLoggerName("mlplan");
-				mlplan.registerListener(new DatabaseWritingEventListener(experimentConfiguration, dbConfig, executor));
+				try (DatabaseWritingEventListener databaseWritingEventListener = new DatabaseWritingEventListener(experimentConfiguration, this.createResultStore(), executor)) {
+					mlplan.registerListener(databaseWritingEventListener);
 
-				SearchResult searchResult = new SearchResult(new EventBus());
-				ScikitLearnWrapper<IPrediction, IPredictionBatch> optimizedRegressor = null;
+					SearchResult searchResult = new SearchResult(new EventBus());
+					ScikitLearnWrapper<IPrediction, IPredictionBatch> optimizedRegressor = null;
 
-				long start = System.currentTimeMillis();
-				try {
-					optimizedRegressor = mlplan.call();
-					searchResult.update(new PipelineEvaluationReport(optimizedRegressor.toString(), "", mlplan.getInternalValidationErrorOfSelectedClassifier(), start, System.currentTimeMillis()));
+					long start = System.currentTimeMillis();
+					try {
+						optimizedRegressor = mlplan.call();
+						searchResult.update(new PipelineEvaluationReport(optimizedRegressor.toString(), "", mlplan.getInternalValidationErrorOfSelectedClassifier(), start, System.currentTimeMillis()));
 
-				} catch (Exception e) {
-					LOGGER.error("Building the classifier failed for pipeline {}", optimizedRegressor, e);
-				}
+					} catch (Exception e) {
+						LOGGER.error("Building the classifier failed for pipeline {}", optimizedRegressor, e);
+					}
 
-				this.logFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
-				this.executeFinalPipeline(experimentConfiguration, optimizedRegressor, experimentDBColumns, processor);
+					this.logFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
+					this.executeFinalPipeline(experimentConfiguration, optimizedRegressor, experimentDBColumns, processor);
+				}
+				experimentConfiguration.closeMetricsRegistry();
 
-			} catch (IllegalArgumentException | SecurityException | IOException | TrainingException | PredictionException | SQLException e) {
+			} catch (IllegalArgumentException | SecurityException | IOException | TrainingException | PredictionException e) {
 				LOGGER.error("ML-Plan failed.", e);
 			}
 		};
-
-		try {
-			ExperimentRunner runner = new ExperimentRunner(expConfig, evaluator, handle);
-			runner.sequentiallyConductExperiments(1);
-		} catch (ExperimentDBInteractionFailedException | InterruptedException e) {
-			LOGGER.error("Error trying to run experiments.", e);
-			System.exit(1);
-		}
-
 	}
 
 }
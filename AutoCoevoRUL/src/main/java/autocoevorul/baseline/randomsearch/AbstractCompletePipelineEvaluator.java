@@ -1,5 +1,6 @@
 package autocoevorul.baseline.randomsearch;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,10 +9,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.evaluation.IPrediction;
 import org.api4.java.ai.ml.core.evaluation.IPredictionBatch;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.ai.ml.regression.evaluation.IRegressionPrediction;
 import org.api4.java.algorithm.Timeout;
 import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
@@ -27,8 +26,13 @@ import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
 import ai.libs.jaicore.timing.TimedComputation;
 import ai.libs.mlplan.sklearn.AScikitLearnLearnerFactory;
 import autocoevorul.SearchResult;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.event.RegressorEvaluatedEvent;
 import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.metrics.Timer;
+import autocoevorul.util.PythonWorkerPool;
+import autocoevorul.util.PythonWorkerPool.EWorkerMode;
 import autocoevorul.util.ScikitLearnUtil;
 
 public abstract class AbstractCompletePipelineEvaluator implements Runnable {
@@ -38,25 +42,24 @@ public abstract class AbstractCompletePipelineEvaluator implements Runnable {
 	private EventBus eventBus;
 
 	protected final ExperimentConfiguration experimentConfiguration;
-	protected final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet;
+	protected final TimeSeriesSplitSet datasetSplitSet;
 	private final List<List<? extends Double>> groundTruthsForSplits;
 	private final Timeout timeout;
+	private final Timer foldTimer;
 	private IComponentInstance componentInstance;
 	private SearchResult bestPipeline;
 
-	public AbstractCompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet,
+	public AbstractCompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final TimeSeriesSplitSet datasetSplitSet,
 			final Timeout timeout, final IComponentInstance componentInstance, final SearchResult bestPipeline) {
 		super();
 		this.eventBus = eventBus;
 		this.experimentConfiguration = experimentConfiguration;
 		this.datasetSplitSet = datasetSplitSet;
 		this.timeout = timeout;
+		this.foldTimer = experimentConfiguration.getMetricsRegistry().timer("pipeline.fold.fit_predict");
 		this.componentInstance = componentInstance;
 
-		this.groundTruthsForSplits = new ArrayList<>(experimentConfiguration.getNumberOfFolds());
-		for (int split = 0; split < datasetSplitSet.getNumberOfSplits(); split++) {
-			this.groundTruthsForSplits.add(this.datasetSplitSet.getFolds(split).get(1).stream().map(instance -> (Double) instance.getLabel()).collect(Collectors.toList()));
-		}
+		this.groundTruthsForSplits = new ArrayList<>(datasetSplitSet.getTestGroundTruths());
 		this.bestPipeline = bestPipeline;
 	}
 
@@ -72,17 +75,27 @@ public abstract class AbstractCompletePipelineEvaluator implements Runnable {
 		List<Long> runtimes = new ArrayList<>();
 		for (int i = 0; i < this.experimentConfiguration.getNumberOfFolds(); i++) {
 
-			try {
+			try (Timer.Context context = this.foldTimer.time()) {
 				long foldStart = System.currentTimeMillis();
 				if (Thread.interrupted()) {
 					throw new InterruptedException();
 				}
 
-				ScikitLearnWrapper<IPrediction, IPredictionBatch> learner = this.setupScikitlearnWrapper(constructionInstruction, imports, this.timeout);
-				IPredictionBatch predictionsForSplit = this.runScikitLearnWrapper(learner, i, this.timeout);
+				List<Double> predictionsForSplit;
+				File trainingDataFile = this.experimentConfiguration.getFoldDataStore().getFile(this.getTrainingDataset(i));
+				File testingDataFile = this.experimentConfiguration.getFoldDataStore().getFile(this.getTestingDataset(i));
+				PythonWorkerPool pythonWorkerPool = this.experimentConfiguration.getPythonWorkerPool();
+				if (pythonWorkerPool != null) {
+					predictionsForSplit = pythonWorkerPool.fitAndPredict(EWorkerMode.TRAIN_TEST, constructionInstruction, imports, trainingDataFile, testingDataFile,
+							this.experimentConfiguration.getSeed(), this.timeout);
+				} else {
+					ScikitLearnWrapper<IPrediction, IPredictionBatch> learner = this.setupScikitlearnWrapper(constructionInstruction, imports, this.timeout);
+					predictionsForSplit = this.runScikitLearnWrapper(learner, i, this.timeout).getPredictions().stream().map(prediction -> ((IRegressionPrediction) prediction).getDoublePrediction())
+							.collect(Collectors.toList());
+				}
 
-				List<IRegressionPrediction> doublePredictionsForSplit = predictionsForSplit.getPredictions().stream()
-						.map(prediction -> new SingleTargetRegressionPrediction(Math.max(0, ((IRegressionPrediction) prediction).getDoublePrediction()))).collect(Collectors.toList());
+				List<IRegressionPrediction> doublePredictionsForSplit = predictionsForSplit.stream().map(prediction -> new SingleTargetRegressionPrediction(Math.max(0, prediction)))
+						.collect(Collectors.toList());
 				performances.add(this.experimentConfiguration.getPerformanceMeasure().loss(this.groundTruthsForSplits.get(i), doublePredictionsForSplit));
 				runtimes.add(System.currentTimeMillis() - foldStart);
 			} catch (IOException | AlgorithmTimeoutedException | ExecutionException e) {
@@ -93,6 +106,8 @@ public abstract class AbstractCompletePipelineEvaluator implements Runnable {
 			} catch (InterruptedException e) {
 				exception = ExceptionUtils.getStackTrace(e);
 				LOGGER.info("Thread interrupted.");
+				Thread.currentThread().interrupt();
+				break;
 			}
 		}
 		long trainEnd = System.currentTimeMillis();
@@ -110,19 +125,19 @@ public abstract class AbstractCompletePipelineEvaluator implements Runnable {
 
 	protected abstract AScikitLearnLearnerFactory getScikitLearnLearnerFactory();
 
-	private ILabeledDataset<?> getTrainingDataset(final int split) {
-		return this.datasetSplitSet.getFolds(split).get(0);
+	private TimeSeriesDataset getTrainingDataset(final int split) {
+		return this.datasetSplitSet.getTrainingData(split);
 	}
 
-	private ILabeledDataset<?> getTestingDataset(final int split) {
-		return this.datasetSplitSet.getFolds(split).get(1);
+	private TimeSeriesDataset getTestingDataset(final int split) {
+		return this.datasetSplitSet.getTestData(split);
 	}
 
 	protected abstract ScikitLearnWrapper<IPrediction, IPredictionBatch> setupScikitlearnWrapper(String constructionInstruction, String imports, final Timeout timeout) throws IOException;
 
 	private IPredictionBatch runScikitLearnWrapper(final ScikitLearnWrapper<IPrediction, IPredictionBatch> scikitLearnWrapper, final int split, final Timeout timeout)
 			throws AlgorithmTimeoutedException, ExecutionException, InterruptedException {
-		return TimedComputation.compute(() -> scikitLearnWrapper.fitAndPredict(this.getTrainingDataset(split), this.getTestingDataset(split)), timeout, "Pipeline execution interrupted.");
+		return TimedComputation.compute(() -> scikitLearnWrapper.fitAndPredict(this.getTrainingDataset(split).getRelationName(), this.getTestingDataset(split).getRelationName()), timeout, "Pipeline execution interrupted.");
 	}
 
 }
@@ -0,0 +1,163 @@
+package autocoevorul.baseline.randomsearch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.hash.Hashing;
+
+import ai.libs.jaicore.basic.sets.Pair;
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IParameter;
+import ai.libs.jaicore.components.model.ComponentInstance;
+import ai.libs.jaicore.components.model.ComponentRepository;
+import ai.libs.jaicore.components.model.ComponentUtil;
+import ai.libs.jaicore.components.model.NumericParameterDomain;
+import autocoevorul.util.ScikitLearnUtil;
+
+/**
+ * Samples random pipelines, none of which equals a pipeline sampled before. The pipelines are identified by a 64 bit hash of their construction instruction and
+ * imports, which are kept for all pipelines sampled so far, i.e. evaluated and running ones.
+ *
+ * Optionally, the numeric parameters are sampled from a Halton sequence instead of independently, each numeric parameter of the search space being a dimension
+ * of the sequence. The sequence is shifted randomly per dimension, such that the samples depend on the seed.
+ */
+public class RandomPipelineSampler {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(RandomPipelineSampler.class);
+
+	private static final int MAX_ATTEMPTS = 1_000;
+
+	private final String rootComponentName;
+	private final ComponentRepository componentRepository;
+	private final Random random;
+	private final boolean lowDiscrepancySampling;
+
+	private final Set<Long> sampledPipelines = new HashSet<>();
+	private final Map<String, Integer> haltonDimensions = new HashMap<>();
+	private final List<Double> haltonShifts = new ArrayList<>();
+	private final List<Integer> haltonBases = new ArrayList<>();
+	private long haltonIndex = 1;
+	private long numberOfDuplicates;
+
+	public RandomPipelineSampler(final String rootComponentName, final ComponentRepository componentRepository, final Random random, final boolean lowDiscrepancySampling) {
+		this.rootComponentName = rootComponentName;
+		this.componentRepository = componentRepository;
+		this.random = random;
+		this.lowDiscrepancySampling = lowDiscrepancySampling;
+	}
+
+	/**
+	 * @return A random pipeline which has not been sampled before, or <code>null</code> if none has been found within {@value #MAX_ATTEMPTS} attempts, i.e. the
+	 *         search space is most likely exhausted.
+	 */
+	public synchronized IComponentInstance sample() {
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			IComponentInstance componentInstance = ComponentUtil.getRandomInstantiationOfComponent(this.rootComponentName, this.componentRepository, this.random);
+			if (this.lowDiscrepancySampling) {
+				componentInstance = this.sampleNumericParameters(componentInstance);
+				this.haltonIndex++;
+			}
+			if (this.sampledPipelines.add(this.hash(componentInstance))) {
+				return componentInstance;
+			}
+			this.numberOfDuplicates++;
+		}
+		LOGGER.warn("No new pipeline found within {} attempts after sampling {} distinct pipelines.", MAX_ATTEMPTS, this.sampledPipelines.size());
+		return null;
+	}
+
+	public synchronized int getNumberOfSampledPipelines() {
+		return this.sampledPipelines.size();
+	}
+
+	/**
+	 * @return The number of sampled pipelines which have been rejected as duplicates.
+	 */
+	public synchronized long getNumberOfDuplicates() {
+		return this.numberOfDuplicates;
+	}
+
+	private long hash(final IComponentInstance componentInstance) {
+		Pair<String, String> constructionInstructionAndImports = ScikitLearnUtil.createConstructionInstructionAndImportsFromComponentInstance(componentInstance);
+		return Hashing.murmur3_128().newHasher().putString(constructionInstructionAndImports.getX(), StandardCharsets.UTF_8).putChar('\n')
+				.putString(constructionInstructionAndImports.getY(), StandardCharsets.UTF_8).hash().asLong();
+	}
+
+	private IComponentInstance sampleNumericParameters(final IComponentInstance componentInstance) {
+		Map<String, String> parameterValues = new HashMap<>(componentInstance.getParameterValues());
+		for (IParameter parameter : componentInstance.getComponent().getParameters()) {
+			if (parameter.isNumeric()) {
+				NumericParameterDomain domain = (NumericParameterDomain) parameter.getDefaultDomain();
+				if (domain.getMin() < domain.getMax()) {
+					double value = this.nextHaltonValue(componentInstance.getComponent().getName() + "#" + parameter.getName());
+					if (domain.isInteger()) {
+						parameterValues.put(parameter.getName(), "" + (int) Math.min(domain.getMax(), Math.floor(domain.getMin() + value * (domain.getMax() - domain.getMin() + 1))));
+					} else {
+						parameterValues.put(parameter.getName(), "" + (domain.getMin() + value * (domain.getMax() - domain.getMin())));
+					}
+				}
+			}
+		}
+
+		Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+		for (Entry<String, List<IComponentInstance>> requiredInterface : componentInstance.getSatisfactionOfRequiredInterfaces().entrySet()) {
+			List<IComponentInstance> providers = new ArrayList<>();
+			for (IComponentInstance provider : requiredInterface.getValue()) {
+				providers.add(this.sampleNumericParameters(provider));
+			}
+			satisfactionOfRequiredInterfaces.put(requiredInterface.getKey(), providers);
+		}
+		return new ComponentInstance(componentInstance.getComponent(), parameterValues, satisfactionOfRequiredInterfaces);
+	}
+
+	private double nextHaltonValue(final String parameter) {
+		int dimension = this.haltonDimensions.computeIfAbsent(parameter, p -> {
+			this.haltonBases.add(nextPrime(this.haltonBases.isEmpty() ? 1 : this.haltonBases.get(this.haltonBases.size() - 1)));
+			this.haltonShifts.add(this.random.nextDouble());
+			return this.haltonBases.size() - 1;
+		});
+		double value = radicalInverse(this.haltonIndex, this.haltonBases.get(dimension)) + this.haltonShifts.get(dimension);
+		return value - Math.floor(value);
+	}
+
+	/**
+	 * @return The radical inverse of the given index in the given base, i.e. the element of the van der Corput sequence of the base, which is in [0, 1).
+	 */
+	public static double radicalInverse(final long index, final int base) {
+		double result = 0;
+		double fraction = 1.0 / base;
+		for (long remaining = index; remaining > 0; remaining /= base) {
+			result += (remaining % base) * fraction;
+			fraction /= base;
+		}
+		return result;
+	}
+
+	private static int nextPrime(final int number) {
+		int candidate = number + 1;
+		while (!isPrime(candidate)) {
+			candidate++;
+		}
+		return candidate;
+	}
+
+	private static boolean isPrime(final int number) {
+		for (int divisor = 2; divisor * divisor <= number; divisor++) {
+			if (number % divisor == 0) {
+				return false;
+			}
+		}
+		return number > 1;
+	}
+
+}
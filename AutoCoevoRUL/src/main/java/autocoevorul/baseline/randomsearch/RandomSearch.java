@@ -3,14 +3,18 @@ package autocoevorul.baseline.randomsearch;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.stream.Collectors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,11 +24,16 @@ import com.google.common.eventbus.EventBus;
 import ai.libs.jaicore.components.api.IComponent;
 import ai.libs.jaicore.components.api.IComponentInstance;
 import ai.libs.jaicore.components.model.ComponentRepository;
-import ai.libs.jaicore.components.model.ComponentUtil;
 import autocoevorul.SearchResult;
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.util.ComponentCollectionUtil;
 
+/**
+ * Samples random pipelines and evaluates them in parallel until the total timeout is reached. A new pipeline is only sampled when the evaluation of another one
+ * has completed, such that the coordinating thread waits instead of competing with the evaluations for a core. Pipelines which have been sampled before are
+ * not evaluated again. At the deadline or when the search space is exhausted, the evaluations still running are cancelled.
+ */
 public class RandomSearch {
 
 	protected static final Logger LOGGER = LoggerFactory.getLogger(RandomSearch.class);
@@ -32,47 +41,84 @@ public class RandomSearch {
 	private EventBus eventBus;
 	private final ExperimentConfiguration experimentConfiguration;
 	private final Random random;
-	private final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet;
+	private final TimeSeriesSplitSet datasetSplitSet;
 	private final List<List<? extends Double>> groundTruthsForSplits;
 
 	private List<IComponent> allComponents;
+	private final RandomPipelineSampler sampler;
 	private SearchResult bestPipeline;
 
-	public RandomSearch(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet) throws SQLException, IOException {
+	public RandomSearch(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final TimeSeriesSplitSet datasetSplitSet) throws SQLException, IOException {
 		this.eventBus = eventBus;
 		this.experimentConfiguration = experimentConfiguration;
 		this.random = new Random(experimentConfiguration.getSeed());
 
 		this.datasetSplitSet = datasetSplitSet;
-		this.groundTruthsForSplits = new ArrayList<>(experimentConfiguration.getNumberOfFolds());
-		for (int split = 0; split < datasetSplitSet.getNumberOfSplits(); split++) {
-			this.groundTruthsForSplits.add(this.datasetSplitSet.getFolds(split).get(1).stream().map(instance -> (Double) instance.getLabel()).collect(Collectors.toList()));
-		}
+		this.groundTruthsForSplits = new ArrayList<>(datasetSplitSet.getTestGroundTruths());
 
 		this.allComponents = ComponentCollectionUtil.getAllComponents(experimentConfiguration.getRulSearchSpace(), experimentConfiguration.getTemplateVariables());
+		this.sampler = new RandomPipelineSampler(experimentConfiguration.getRulRootComponentName(), new ComponentRepository(this.allComponents), this.random,
+				experimentConfiguration.isRulLowDiscrepancySampling());
 		this.bestPipeline = new SearchResult(eventBus);
 	}
 
 	public PipelineEvaluationReport run() throws ObjectEvaluationFailedException, InterruptedException, IOException {
 		LOGGER.info("Start RandomSearch");
-		long start = System.currentTimeMillis();
-
-		ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(this.experimentConfiguration.getNumCPUs());
-		while ((System.currentTimeMillis() - start) < this.experimentConfiguration.getTotalTimeout().milliseconds()) {
-			if (executor.getQueue().size() < this.experimentConfiguration.getNumCPUs()) {
-				IComponentInstance randomComponentInstance = ComponentUtil.getRandomInstantiationOfComponent(this.experimentConfiguration.getRulRootComponentName(),
-						new ComponentRepository(this.allComponents), this.random);
-
-				RulCompletePipelineEvaluator evaluator = new RulCompletePipelineEvaluator(this.eventBus, this.experimentConfiguration, this.datasetSplitSet,
-						this.experimentConfiguration.getRulTimeout(), randomComponentInstance, this.bestPipeline);
-				executor.execute(evaluator);
+		long deadline = System.currentTimeMillis() + this.experimentConfiguration.getTotalTimeout().milliseconds();
+
+		int numberOfSlots = this.experimentConfiguration.getNumCPUs();
+		ExecutorService executor = Executors.newFixedThreadPool(numberOfSlots);
+		CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
+		Set<Future<Void>> runningEvaluations = new HashSet<>();
+		int numberOfEvaluations = 0;
+		try {
+			boolean searchSpaceExhausted = false;
+			while (!searchSpaceExhausted && runningEvaluations.size() < numberOfSlots) {
+				searchSpaceExhausted = !this.submitRandomPipeline(completionService, runningEvaluations);
 			}
+			long remainingTime;
+			while (!runningEvaluations.isEmpty() && (remainingTime = deadline - System.currentTimeMillis()) > 0) {
+				Future<Void> completedEvaluation = completionService.poll(remainingTime, TimeUnit.MILLISECONDS);
+				if (completedEvaluation == null) {
+					break;
+				}
+				runningEvaluations.remove(completedEvaluation);
+				numberOfEvaluations++;
+				this.checkForFailure(completedEvaluation);
+				if (!searchSpaceExhausted) {
+					searchSpaceExhausted = !this.submitRandomPipeline(completionService, runningEvaluations);
+				}
+			}
+		} finally {
+			LOGGER.info("End RandomSearch after {} completed evaluations, {} sampled pipelines have been rejected as duplicates. Cancelling {} running evaluations.",
+					numberOfEvaluations, this.sampler.getNumberOfDuplicates(), runningEvaluations.size());
+			runningEvaluations.forEach(evaluation -> evaluation.cancel(true));
+			executor.shutdownNow();
 		}
 
-		LOGGER.info("End RandomSearch. Maximum threads inside pool: " + executor.getMaximumPoolSize());
-		executor.shutdownNow();
-
 		return this.bestPipeline.getPipelineEvaluationReport();
 	}
 
+	/**
+	 * @return Whether a new pipeline has been submitted, i.e. whether the sampler has found a pipeline not sampled before.
+	 */
+	private boolean submitRandomPipeline(final CompletionService<Void> completionService, final Set<Future<Void>> runningEvaluations) {
+		IComponentInstance randomComponentInstance = this.sampler.sample();
+		if (randomComponentInstance == null) {
+			return false;
+		}
+		RulCompletePipelineEvaluator evaluator = new RulCompletePipelineEvaluator(this.eventBus, this.experimentConfiguration, this.datasetSplitSet,
+				this.experimentConfiguration.getRulTimeout(), randomComponentInstance, this.bestPipeline);
+		runningEvaluations.add(completionService.submit(evaluator, null));
+		return true;
+	}
+
+	private void checkForFailure(final Future<Void> completedEvaluation) throws InterruptedException {
+		try {
+			completedEvaluation.get();
+		} catch (ExecutionException e) {
+			LOGGER.warn("Evaluation of a random pipeline failed.", e.getCause());
+		}
+	}
+
 }
@@ -1,15 +1,12 @@
 package autocoevorul.baseline.randomsearch;
 
 import java.io.IOException;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutionException;
 
 import org.api4.java.ai.ml.core.dataset.splitter.SplitFailedException;
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.ai.ml.core.exception.PredictionException;
 import org.api4.java.ai.ml.core.exception.TrainingException;
 import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
@@ -18,17 +15,14 @@ import org.moeaframework.core.PRNG;
 import com.google.common.eventbus.EventBus;
 
 import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
-import ai.libs.jaicore.db.IDatabaseConfig;
 import ai.libs.jaicore.experiments.ExperimentDBEntry;
-import ai.libs.jaicore.experiments.ExperimentRunner;
 import ai.libs.jaicore.experiments.IExperimentIntermediateResultProcessor;
 import ai.libs.jaicore.experiments.IExperimentSetEvaluator;
-import ai.libs.jaicore.experiments.databasehandle.ExperimenterMySQLHandle;
-import ai.libs.jaicore.experiments.exceptions.ExperimentDBInteractionFailedException;
 import ai.libs.jaicore.experiments.exceptions.ExperimentEvaluationFailedException;
 import ai.libs.jaicore.timing.TimedComputation;
 import autocoevorul.AbstractRunner;
 import autocoevorul.SearchResult;
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.event.DatabaseWritingEventListener;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.experiment.ICoevolutionConfig;
@@ -56,8 +50,8 @@ public class RandomSearchRunner extends AbstractRunner {
 	}
 
 	@Override
-	public void executeExperiments(final String executor, final ICoevolutionConfig expConfig, final IDatabaseConfig dbConfig, final ExperimenterMySQLHandle handle) {
-		IExperimentSetEvaluator evaluator = (final ExperimentDBEntry experimentEntry, final IExperimentIntermediateResultProcessor processor) -> {
+	protected IExperimentSetEvaluator getExperimentEvaluator(final String executor, final ICoevolutionConfig expConfig) {
+		return (final ExperimentDBEntry experimentEntry, final IExperimentIntermediateResultProcessor processor) -> {
 			try {
 				Map<String, Object> experimentDBColumns = new HashMap<>();
 				experimentDBColumns.put("executor", executor);
@@ -68,34 +62,31 @@ public class RandomSearchRunner extends AbstractRunner {
 				LOGGER.info("Running experiment with {}", experimentConfiguration);
 
 				EventBus eventBus = new EventBus();
-				eventBus.register(new DatabaseWritingEventListener(experimentConfiguration, dbConfig, executor));
+				try (DatabaseWritingEventListener databaseWritingEventListener = new DatabaseWritingEventListener(experimentConfiguration, this.createResultStore(), executor)) {
+					eventBus.register(databaseWritingEventListener);
 
-				Random random = new Random(experimentConfiguration.getSeed());
-				PRNG.setSeed(experimentConfiguration.getSeed());
+					Random random = new Random(experimentConfiguration.getSeed());
+					PRNG.setSeed(experimentConfiguration.getSeed());
 
-				IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, random);
+					TimeSeriesSplitSet datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, random);
 
-				RandomSearch randomSearch = new RandomSearch(eventBus, experimentConfiguration, datasetSplitSet);
-				PipelineEvaluationReport bestPipeline = TimedComputation.compute(() -> randomSearch.run(), experimentConfiguration.getTotalTimeout(), "Feature engineering interrupted");
+					RandomSearch randomSearch = new RandomSearch(eventBus, experimentConfiguration, datasetSplitSet);
+					PipelineEvaluationReport bestPipeline = TimedComputation.compute(() -> randomSearch.run(), experimentConfiguration.getTotalTimeout(), "Feature engineering interrupted");
 
-				SearchResult searchResult = new SearchResult(eventBus, bestPipeline);
-				this.logFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
-				this.executeFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
+					SearchResult searchResult = new SearchResult(eventBus, bestPipeline);
+					this.logFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
+					this.executeFinalPipeline(experimentConfiguration, searchResult, experimentDBColumns, processor);
+				} finally {
+					experimentConfiguration.closePythonWorkerPool();
+					experimentConfiguration.closeFoldDataStore();
+				}
+				experimentConfiguration.closeMetricsRegistry();
 
-			} catch (IllegalArgumentException | IllegalAccessException | NoSuchFieldException | SecurityException | SplitFailedException | IOException | TrainingException | PredictionException
-					| SQLException | AlgorithmTimeoutedException | ExecutionException e) {
+			} catch (IllegalArgumentException | SecurityException | IOException | TrainingException | PredictionException
+					| AlgorithmTimeoutedException | ExecutionException e) {
 				LOGGER.error("Random search failed.", e);
 			}
 		};
-
-		try {
-			ExperimentRunner runner = new ExperimentRunner(expConfig, evaluator, handle);
-			runner.sequentiallyConductExperiments(1);
-		} catch (ExperimentDBInteractionFailedException | InterruptedException e) {
-			LOGGER.error("Error trying to run experiments.", e);
-			System.exit(1);
-		}
-
 	}
 
 }
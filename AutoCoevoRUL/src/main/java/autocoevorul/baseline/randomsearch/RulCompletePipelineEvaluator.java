@@ -2,10 +2,8 @@ package autocoevorul.baseline.randomsearch;
 
 import java.io.IOException;
 
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.evaluation.IPrediction;
 import org.api4.java.ai.ml.core.evaluation.IPredictionBatch;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.algorithm.Timeout;
 
 import com.google.common.eventbus.EventBus;
@@ -16,11 +14,12 @@ import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
 import ai.libs.mlplan.sklearn.AScikitLearnLearnerFactory;
 import ai.libs.mlplan.sklearn.ScikitLearnRULFactory;
 import autocoevorul.SearchResult;
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.experiment.ExperimentConfiguration;
 
 public class RulCompletePipelineEvaluator extends AbstractCompletePipelineEvaluator {
 
-	public RulCompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet,
+	public RulCompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final TimeSeriesSplitSet datasetSplitSet,
 			final Timeout timeout, final IComponentInstance componentInstance, final SearchResult bestPipeline) {
 		super(eventBus, experimentConfiguration, datasetSplitSet, timeout, componentInstance, bestPipeline);
 	}
@@ -1,23 +1,31 @@
 package autocoevorul.data;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 
+/**
+ * Transforms the text files of the CMAPSS datasets into ARFF files containing one instance per engine and one time series per sensor. The file is read once and
+ * streamed to the output engine by engine, such that only the time series of a single engine are held in memory. The values are written as they appear in the
+ * input file. The rows of each engine have to be contiguous, as it is the case for the original CMAPSS files.
+ */
 public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 
 	private static final Logger LOGGER = Logger.getLogger(CmapssToArffDatasetTransformer.class.getName());
@@ -32,69 +40,19 @@ public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 	 */
 	@Override
 	public String transform(final String inputFileName) {
-		Map<String, Map<Integer, String>> vals = null; // key=instanceNum-SensorNum
-		List<String> ruls = null;
-		String result = null;
-		int sensorCount = 0;
-		if (this.canRead(inputFileName)) {
-
-			if (inputFileName.contains("test_")) {
-				ruls = this.readRULs(inputFileName.replace("test_", "RUL_"));
-			}
-
-			vals = new LinkedHashMap<>();
-			try (BufferedReader fileBufferReader = new BufferedReader(new FileReader(inputFileName))) {
-				String line = null;
-				while ((line = fileBufferReader.readLine()) != null) {
-					String[] arr = line.split(" ");
-					String instanceNum = arr[0];
-					String timeStep = arr[1];
-					sensorCount = arr.length - 2;
-					for (int i = 2; i < arr.length; i++) {
-						Map<Integer, String> timeStepToValue = vals.getOrDefault(instanceNum + "-" + (i - 1), new LinkedHashMap<>());
-						timeStepToValue.put(Integer.parseInt(timeStep), arr[i]);
-						vals.put(instanceNum + "-" + (i - 1), timeStepToValue);
-					}
-
-				}
-			} catch (IOException e) {
-				LOGGER.log(Level.SEVERE, "Error during file transformation: " + inputFileName, e);
-			}
-
+		if (!this.canRead(inputFileName)) {
+			LOGGER.log(Level.SEVERE, "can't read input file: " + inputFileName);
+			return null;
 		}
 
-		if (vals != null) {
-			StringBuilder str = new StringBuilder();
-			String currentInstance = null;
-			for (Map.Entry<String, Map<Integer, String>> e : vals.entrySet()) {
-				String[] instanceNumSensorNum = e.getKey().split("-");
-				if (!instanceNumSensorNum[0].equals(currentInstance)) {
-					if (currentInstance != null) {
-						str.append("\n");
-					}
-					currentInstance = instanceNumSensorNum[0];
-				}
-				str.append("\"");
-				for (Map.Entry<Integer, String> timeStepVal : e.getValue().entrySet()) {
-					str.append(timeStepVal.getKey()).append(Constants.TIME_STEP_VALUE_SEPARATOR);
-					str.append(timeStepVal.getValue()).append(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
-				}
-				str.replace(str.length() - 1, str.length(), "");
-				str.append("\",");
-
-				// append RUL value if exists
-				if (instanceNumSensorNum[1].equals(String.valueOf(sensorCount))) {
-					if (ruls != null) {
-						str.append(" ").append(ruls.get(Integer.parseInt(instanceNumSensorNum[0]) - 1));
-					} else {
-						str.replace(str.length() - 1, str.length(), "");
-					}
-				}
-			}
-			result = str.toString();
+		StringWriter writer = new StringWriter();
+		try {
+			this.writeData(inputFileName, writer);
+		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Error during file transformation: " + inputFileName, e);
+			return null;
 		}
-
-		return result;
+		return writer.toString();
 	}
 
 	/**
@@ -104,36 +62,106 @@ public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 	 * @param outputFileName
 	 */
 	@Override
-	public void transform(final String inputFileName, final String outputFileName) {
-		StringBuilder str = new StringBuilder();
-		String simpleName = this.extractSimpleFileName(inputFileName);
-		str.append(Constants.ARFF_HEADER_TAG_RELATION).append(" CMAPSS_" + simpleName + "\n\n");
-		for (int i = 0; i < 24; i++) {
-			str.append(Constants.ARFF_HEADER_TAG_ATTRIBUTE).append(" sensor").append(i).append(" ").append(Constants.ARFF_DATA_TYPE_TIMESERIES).append(" \n");
-		}
-		if (inputFileName.contains("test_")) {
-			str.append(Constants.ARFF_HEADER_TAG_ATTRIBUTE).append(" RUL ").append(Constants.ARFF_DATA_TYPE_NUMERIC).append(" \n");
+	public void transform(final String inputFileName, final String outputFileName) throws IOException {
+		if (!this.canRead(inputFileName)) {
+			throw new IOException("can't read input file: " + inputFileName);
 		}
-		str.append("\n");
-		str.append(Constants.ARFF_HEADER_TAG_DATA);
-		str.append("\n");
-		String output = this.transform(inputFileName);
-		str.append(output);
 
 		File file = new File(outputFileName);
-		try {
+		if (file.getParentFile() != null) {
 			file.getParentFile().mkdirs();
-			file.createNewFile();
-		} catch (IOException e1) {
-			e1.printStackTrace();
 		}
 
-		try (PrintWriter out = new PrintWriter(file)) {
-			out.print(str);
-		} catch (FileNotFoundException e) {
-			LOGGER.log(Level.SEVERE, "Error writing to outputFile: " + outputFileName, e);
+		try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			out.write(Constants.ARFF_HEADER_TAG_RELATION + " CMAPSS_" + this.extractSimpleFileName(inputFileName) + "\n\n");
+			for (int i = 0; i < 24; i++) {
+				out.write(Constants.ARFF_HEADER_TAG_ATTRIBUTE + " sensor" + i + " " + Constants.ARFF_DATA_TYPE_TIMESERIES + " \n");
+			}
+			if (inputFileName.contains("test_")) {
+				out.write(Constants.ARFF_HEADER_TAG_ATTRIBUTE + " RUL " + Constants.ARFF_DATA_TYPE_NUMERIC + " \n");
+			}
+			out.write("\n");
+			out.write(Constants.ARFF_HEADER_TAG_DATA);
+			out.write("\n");
+			this.writeData(inputFileName, out);
+		} catch (IOException | RuntimeException e) {
+			this.deletePartialOutput(file);
+			throw e;
 		}
+	}
 
+	private void deletePartialOutput(final File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+		} catch (IOException e) {
+			LOGGER.log(Level.WARNING, "Could not delete partial outputFile: " + file, e);
+		}
+	}
+
+	/**
+	 * Writes the data section of the ARFF file, i.e. one line per engine, while reading the given CMAPSS Data file.
+	 */
+	private void writeData(final String inputFileName, final Writer out) throws IOException {
+		List<String> ruls = null;
+		if (inputFileName.contains("test_")) {
+			ruls = this.readRULs(inputFileName.replace("test_", "RUL_"));
+		}
+
+		EngineBuffer engine = new EngineBuffer();
+		Set<Integer> writtenEngines = new HashSet<>();
+		try (BufferedReader fileBufferReader = new BufferedReader(new FileReader(inputFileName))) {
+			String line = null;
+			while ((line = fileBufferReader.readLine()) != null) {
+				if (line.trim().isEmpty()) {
+					continue;
+				}
+				String[] arr = line.split(" ");
+				int engineId = Integer.parseInt(arr[0]);
+				if (engine.size > 0 && engine.id != engineId) {
+					this.writeEngine(engine, ruls, !writtenEngines.isEmpty(), out);
+					writtenEngines.add(engine.id);
+					engine.size = 0;
+				}
+				if (engine.size == 0) {
+					if (writtenEngines.contains(engineId)) {
+						throw new IOException("Rows of engine " + engineId + " are not contiguous in " + inputFileName);
+					}
+					engine.reset(engineId, arr.length - 2);
+				}
+				engine.add(arr);
+			}
+		}
+		if (engine.size > 0) {
+			this.writeEngine(engine, ruls, !writtenEngines.isEmpty(), out);
+		}
+	}
+
+	private void writeEngine(final EngineBuffer engine, final List<String> ruls, final boolean appendLineBreak, final Writer out) throws IOException {
+		if (appendLineBreak) {
+			out.write("\n");
+		}
+		for (int sensor = 0; sensor < engine.sensorCount; sensor++) {
+			out.write("\"");
+			String[] values = engine.values[sensor];
+			for (int t = 0; t < engine.size; t++) {
+				if (t > 0) {
+					out.write(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
+				}
+				out.write(Integer.toString(engine.timeSteps[t]));
+				out.write(Constants.TIME_STEP_VALUE_SEPARATOR);
+				out.write(values[t]);
+			}
+			out.write("\"");
+			if (sensor < engine.sensorCount - 1) {
+				out.write(",");
+			} else if (ruls != null) {
+				// append RUL value if exists
+				if (engine.id > ruls.size()) {
+					throw new IOException("RUL file contains no value for engine " + engine.id);
+				}
+				out.write(", " + ruls.get(engine.id - 1));
+			}
+		}
 	}
 
 	/**
@@ -158,7 +186,7 @@ public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 		return false;
 	}
 
-	private List<String> readRULs(final String rulFileName) {
+	private List<String> readRULs(final String rulFileName) throws IOException {
 		List<String> ruls = new ArrayList<>();
 		try (BufferedReader fileBufferReader = new BufferedReader(new FileReader(rulFileName))) {
 			String line = null;
@@ -168,8 +196,6 @@ public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 					ruls.add(arr[i]);
 				}
 			}
-		} catch (IOException e) {
-			LOGGER.log(Level.SEVERE, "Error reading RUL file: " + rulFileName, e);
 		}
 		return ruls;
 	}
@@ -192,4 +218,45 @@ public class CmapssToArffDatasetTransformer implements DatasetTransformer {
 		return simpleName;
 	}
 
+	/**
+	 * Time series of all sensors of a single engine, which is reused for all engines of a file.
+	 */
+	private static class EngineBuffer {
+
+		private static final int INITIAL_CAPACITY = 512;
+
+		private int id;
+		private int sensorCount;
+		private int size;
+		private int[] timeSteps = new int[INITIAL_CAPACITY];
+		private String[][] values = new String[0][];
+
+		private void reset(final int id, final int sensorCount) {
+			this.id = id;
+			this.size = 0;
+			if (this.sensorCount != sensorCount) {
+				this.sensorCount = sensorCount;
+				this.values = new String[sensorCount][this.timeSteps.length];
+			}
+		}
+
+		private void add(final String[] row) throws IOException {
+			if (row.length - 2 != this.sensorCount) {
+				throw new IOException("Engine " + this.id + " has rows with " + (row.length - 2) + " and " + this.sensorCount + " sensors.");
+			}
+			if (this.size == this.timeSteps.length) {
+				int capacity = this.timeSteps.length * 2;
+				this.timeSteps = Arrays.copyOf(this.timeSteps, capacity);
+				for (int sensor = 0; sensor < this.sensorCount; sensor++) {
+					this.values[sensor] = Arrays.copyOf(this.values[sensor], capacity);
+				}
+			}
+			this.timeSteps[this.size] = Integer.parseInt(row[1]);
+			for (int sensor = 0; sensor < this.sensorCount; sensor++) {
+				this.values[sensor][this.size] = row[sensor + 2];
+			}
+			this.size++;
+		}
+	}
+
 }
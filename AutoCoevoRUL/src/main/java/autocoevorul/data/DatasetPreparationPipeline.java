@@ -0,0 +1,246 @@
+package autocoevorul.data;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Prepares all datasets found in a directory of raw CMAPSS and PHM08 files, i.e. converts them into ARFF files and cuts the run-to-failure training data into
+ * RUL-labeled time series. The transformations are executed concurrently on a bounded fork-join pool, where the cuts of a training file start as soon as its
+ * conversion has finished. Outputs whose inputs and transformation did not change since the last run are skipped based on a manifest storing size, modification
+ * time and hash of the inputs. A failed transformation leaves neither an output nor a manifest entry behind, such that it is retried by the next run, and the
+ * transformations depending on its output are not executed.
+ *
+ * The outputs are written to the same layout as {@link RunTransformation}, i.e. <code>data_raw/CMAPSS/{train,test}/FD00X_{train,test}.arff</code>,
+ * <code>data_raw/PHM08DataChallenge/*.arff</code> and <code>data_transformed/CMAPSS/FD00X_train.arff</code>.
+ */
+public class DatasetPreparationPipeline {
+
+	private static final Logger LOGGER = Logger.getLogger(DatasetPreparationPipeline.class.getName());
+
+	private static final String MANIFEST_FILE_NAME = ".manifest";
+	private static final String MANIFEST_KEY_TRANSFORMATION = ".transformation";
+	private static final String MANIFEST_KEY_INPUTS = ".inputs";
+	private static final String MANIFEST_KEY_HASH = ".hash";
+
+	private static final Pattern CMAPSS_FILE_PATTERN = Pattern.compile("(train|test)_(FD\\d{3})\\.txt");
+	private static final Pattern PHM08_FILE_PATTERN = Pattern.compile("(train|test|final_test)\\.txt");
+
+	private enum ETransformationResult {
+		GENERATED, UP_TO_DATE, FAILED
+	}
+
+	private final File rawDataFolder;
+	private final File outputFolder;
+	private final int parallelism;
+	private final int r2fTimeSeriesStartingIndex;
+	private final int r2fCopyFactor;
+	private final Properties manifest = new Properties();
+
+	public DatasetPreparationPipeline(final File rawDataFolder, final File outputFolder, final int parallelism, final int r2fTimeSeriesStartingIndex, final int r2fCopyFactor) {
+		this.rawDataFolder = rawDataFolder;
+		this.outputFolder = outputFolder;
+		this.parallelism = parallelism;
+		this.r2fTimeSeriesStartingIndex = r2fTimeSeriesStartingIndex;
+		this.r2fCopyFactor = r2fCopyFactor;
+	}
+
+	/**
+	 * Usage: <code>DatasetPreparationPipeline &lt;raw data folder&gt; &lt;output folder&gt; [parallelism] [R2F copy factor]</code>
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: DatasetPreparationPipeline <raw data folder> <output folder> [parallelism] [R2F copy factor]");
+			return;
+		}
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		int copyFactor = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+		new DatasetPreparationPipeline(new File(args[0]), new File(args[1]), parallelism, 0, copyFactor).run();
+	}
+
+	/**
+	 * Runs all transformations of the raw files found in the raw data folder.
+	 *
+	 * @return The number of outputs which have been (re-)generated.
+	 * @throws IOException
+	 *             If at least one of the transformations has failed. The outputs of all other transformations are prepared nevertheless.
+	 */
+	public int run() throws IOException {
+		this.loadManifest();
+		long start = System.currentTimeMillis();
+		List<CompletableFuture<ETransformationResult>> transformations = new ArrayList<>();
+		ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+		try {
+			for (File rawFile : this.findRawFiles()) {
+				Matcher cmapss = CMAPSS_FILE_PATTERN.matcher(rawFile.getName());
+				Matcher phm08 = PHM08_FILE_PATTERN.matcher(rawFile.getName());
+				if (cmapss.matches()) {
+					String split = cmapss.group(1);
+					File arffFile = this.getOutputFile("data_raw/CMAPSS/" + split + "/" + cmapss.group(2) + "_" + split + ".arff");
+					List<File> inputs = new ArrayList<>(Arrays.asList(rawFile));
+					if (split.equals("test")) {
+						inputs.add(new File(rawFile.getParentFile(), rawFile.getName().replace("test_", "RUL_")));
+					}
+					CompletableFuture<ETransformationResult> conversion = CompletableFuture.supplyAsync(() -> this.transform(CmapssToArffDatasetTransformer::new, "CMAPSS", inputs, arffFile), pool);
+					transformations.add(conversion);
+					if (split.equals("train")) {
+						File cutFile = this.getOutputFile("data_transformed/CMAPSS/" + arffFile.getName());
+						transformations.add(conversion.thenApplyAsync(conversionResult -> {
+							if (conversionResult == ETransformationResult.FAILED) {
+								LOGGER.severe("Skipping " + cutFile + " as the conversion of " + rawFile + " has failed.");
+								return ETransformationResult.FAILED;
+							}
+							return this.transform(() -> new R2FtoLabeledTimeseriesDataTransformer(this.r2fTimeSeriesStartingIndex, this.r2fCopyFactor),
+									"R2F(" + this.r2fTimeSeriesStartingIndex + "," + this.r2fCopyFactor + ")", Arrays.asList(arffFile), cutFile);
+						}, pool));
+					}
+				} else if (phm08.matches()) {
+					File arffFile = this.getOutputFile("data_raw/PHM08DataChallenge/" + phm08.group(1) + ".arff");
+					transformations.add(CompletableFuture.supplyAsync(() -> this.transform(Phm08DataChallengeToArffDatasetTransformer::new, "PHM08", Arrays.asList(rawFile), arffFile),
+							pool));
+				}
+			}
+			CompletableFuture.allOf(transformations.toArray(new CompletableFuture[0])).join();
+		} finally {
+			pool.shutdown();
+			this.storeManifest();
+		}
+
+		int generated = (int) transformations.stream().filter(transformation -> transformation.join() == ETransformationResult.GENERATED).count();
+		int failed = (int) transformations.stream().filter(transformation -> transformation.join() == ETransformationResult.FAILED).count();
+		LOGGER.info("Prepared " + transformations.size() + " datasets in " + (System.currentTimeMillis() - start) + "ms, " + generated + " of them have been (re-)generated.");
+		if (failed > 0) {
+			throw new IOException("Could not prepare " + failed + " of " + transformations.size() + " datasets.");
+		}
+		return generated;
+	}
+
+	private List<File> findRawFiles() throws IOException {
+		try (Stream<Path> paths = Files.walk(this.rawDataFolder.toPath())) {
+			return paths.map(Path::toFile).filter(File::isFile).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private File getOutputFile(final String relativePath) {
+		return new File(this.outputFolder, relativePath);
+	}
+
+	/**
+	 * Executes the given transformation, unless its output is up to date according to the manifest.
+	 */
+	private ETransformationResult transform(final Supplier<DatasetTransformer> transformerSupplier, final String transformation, final List<File> inputs, final File output) {
+		String key = this.outputFolder.toPath().relativize(output.toPath()).toString();
+		// the transformers write to a temporary file first such that an interrupted run never leaves an output which seems to be up to date
+		File partialOutput = new File(output.getPath() + ".part");
+		try {
+			String inputDescription = this.describeInputs(inputs);
+			String hash = null;
+			if (output.exists() && transformation.equals(this.getManifestEntry(key + MANIFEST_KEY_TRANSFORMATION))) {
+				if (inputDescription.equals(this.getManifestEntry(key + MANIFEST_KEY_INPUTS))) {
+					LOGGER.info("Skipping " + key + " as its inputs have not changed.");
+					return ETransformationResult.UP_TO_DATE;
+				}
+				hash = this.hash(inputs);
+				if (hash.equals(this.getManifestEntry(key + MANIFEST_KEY_HASH))) {
+					LOGGER.info("Skipping " + key + " as the content of its inputs has not changed.");
+					this.putManifestEntries(key, transformation, inputDescription, hash);
+					return ETransformationResult.UP_TO_DATE;
+				}
+			}
+
+			long start = System.currentTimeMillis();
+			transformerSupplier.get().transform(inputs.get(0).getPath(), partialOutput.getPath());
+			long runtime = Math.max(1, System.currentTimeMillis() - start);
+			if (!partialOutput.exists()) {
+				throw new IOException("Transformation " + transformation + " has not written " + key + ".");
+			}
+			Files.move(partialOutput.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+			long inputBytes = inputs.stream().mapToLong(File::length).sum();
+			LOGGER.info(String.format("Generated %s by %s in %dms (%.2f MB/s input, %.2f MB/s output).", key, transformation, runtime, inputBytes / 1000.0 / runtime,
+					output.length() / 1000.0 / runtime));
+			this.putManifestEntries(key, transformation, inputDescription, hash != null ? hash : this.hash(inputs));
+			return ETransformationResult.GENERATED;
+		} catch (IOException | RuntimeException e) {
+			LOGGER.log(Level.SEVERE, "Could not generate " + key + ".", e);
+			try {
+				Files.deleteIfExists(partialOutput.toPath());
+			} catch (IOException deletionException) {
+				LOGGER.log(Level.WARNING, "Could not delete " + partialOutput + ".", deletionException);
+			}
+			return ETransformationResult.FAILED;
+		}
+	}
+
+	private String describeInputs(final List<File> inputs) {
+		StringJoiner description = new StringJoiner(";");
+		for (File input : inputs) {
+			description.add(input.getPath() + ":" + input.length() + ":" + input.lastModified());
+		}
+		return description.toString();
+	}
+
+	private String hash(final List<File> inputs) throws IOException {
+		Hasher hasher = Hashing.sha256().newHasher();
+		byte[] buffer = new byte[1 << 16];
+		for (File input : inputs) {
+			try (InputStream in = new FileInputStream(input)) {
+				int read;
+				while ((read = in.read(buffer)) > 0) {
+					hasher.putBytes(buffer, 0, read);
+				}
+			}
+		}
+		return hasher.hash().toString();
+	}
+
+	private synchronized String getManifestEntry(final String key) {
+		return this.manifest.getProperty(key);
+	}
+
+	private synchronized void putManifestEntries(final String key, final String transformation, final String inputs, final String hash) {
+		this.manifest.setProperty(key + MANIFEST_KEY_TRANSFORMATION, transformation);
+		this.manifest.setProperty(key + MANIFEST_KEY_INPUTS, inputs);
+		this.manifest.setProperty(key + MANIFEST_KEY_HASH, hash);
+	}
+
+	private synchronized void loadManifest() throws IOException {
+		File manifestFile = new File(this.outputFolder, MANIFEST_FILE_NAME);
+		if (manifestFile.exists()) {
+			try (InputStream in = new FileInputStream(manifestFile)) {
+				this.manifest.load(in);
+			}
+		}
+	}
+
+	private synchronized void storeManifest() throws IOException {
+		this.outputFolder.mkdirs();
+		try (OutputStream out = new FileOutputStream(new File(this.outputFolder, MANIFEST_FILE_NAME))) {
+			this.manifest.store(out, "Inputs of the prepared datasets");
+		}
+	}
+
+}
@@ -1,5 +1,7 @@
 package autocoevorul.data;
 
+import java.io.IOException;
+
 public interface DatasetTransformer {
 
 	/**
@@ -15,8 +17,10 @@ public interface DatasetTransformer {
 	 *
 	 * @param inputFileName
 	 * @param outputFileName
+	 * @throws IOException
+	 *             If the input file cannot be read or transformed, in which case no output file is left behind.
 	 */
-	public void transform(String inputFileName, String outputFileName);
+	public void transform(String inputFileName, String outputFileName) throws IOException;
 
 	/**
 	 * Check whether the input file is in correct format
@@ -2,7 +2,6 @@ package autocoevorul.data;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -91,7 +90,12 @@ public class Phm08DataChallengeToArffDatasetTransformer implements DatasetTransf
 	 * @param outputFileName
 	 */
 	@Override
-	public void transform(final String inputFileName, final String outputFileName) {
+	public void transform(final String inputFileName, final String outputFileName) throws IOException {
+		String output = this.transform(inputFileName);
+		if (output == null) {
+			throw new IOException("can't read input file: " + inputFileName);
+		}
+
 		StringBuilder str = new StringBuilder();
 		String simpleName = this.extractSimpleFileName(inputFileName);
 		str.append(Constants.ARFF_HEADER_TAG_RELATION).append(" Phm08DataChallenge_" + simpleName + "\n\n");
@@ -104,7 +108,6 @@ public class Phm08DataChallengeToArffDatasetTransformer implements DatasetTransf
 		str.append("\n");
 		str.append(Constants.ARFF_HEADER_TAG_DATA);
 		str.append("\n");
-		String output = this.transform(inputFileName);
 		str.append(output);
 
 		File outputFile = new File(outputFileName);
@@ -112,8 +115,6 @@ public class Phm08DataChallengeToArffDatasetTransformer implements DatasetTransf
 
 		try (PrintWriter out = new PrintWriter(outputFileName)) {
 			out.print(str);
-		} catch (FileNotFoundException e) {
-			LOGGER.log(Level.SEVERE, "Error writing to outputFile: " + outputFileName, e);
 		}
 
 	}
@@ -1,24 +1,25 @@
 package autocoevorul.data;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Random;
-import java.util.StringJoiner;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Stream;
 
+/**
+ * Transforms run-to-failure time series into time series labeled with their remaining useful lifetime (RUL) by cutting each instance at random points in time.
+ * Each instance is parsed once and {@link #copyFactor} cuts are written from the parsed series, while the file is streamed line by line.
+ */
 public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer {
 
 	private static final Logger LOGGER = Logger.getLogger(R2FtoLabeledTimeseriesDataTransformer.class.getName());
@@ -27,9 +28,6 @@ public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer
 
 	private long seed = 4837692L;
 	private Random random;
-	private String relation;
-	private List<String> attributeNames;
-	private List<String> attributeTypes;
 	private int copyFactor;
 	private int timeSeriesStartingIndex;
 
@@ -48,6 +46,9 @@ public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer
 		this(timeSeriesStartingIndex, 1);
 	}
 
+	/**
+	 * Reads given run-to-failure arff file, returns the data section of the RUL-labeled arff file as string
+	 */
 	@Override
 	public String transform(final String inputFileName) {
 		if (!this.canRead(inputFileName)) {
@@ -56,136 +57,89 @@ public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer
 		}
 
 		LOGGER.info("Transforming input file: " + inputFileName);
-
-		Path filePath = Paths.get(inputFileName);
-		List<String> instanceLines = new ArrayList<>();
-		try (Stream<String> lines = Files.lines(filePath)) {
-			lines.forEach(e -> instanceLines.add(e));
+		StringWriter writer = new StringWriter();
+		try {
+			this.transform(inputFileName, writer, false);
 		} catch (IOException e) {
+			LOGGER.log(Level.SEVERE, "Error during file transformation: " + inputFileName, e);
+			return null;
 		}
+		String data = writer.toString();
+		return data.endsWith("\n") ? data.substring(0, data.length() - 1) : data;
+	}
 
-		int dataStartingIndex = instanceLines.indexOf(Constants.ARFF_HEADER_TAG_DATA) + 1;
-		this.attributeNames = new ArrayList<>();
-		this.attributeTypes = new ArrayList<>();
-		for (int i = 0; i < dataStartingIndex; i++) {
-			if (instanceLines.get(i).startsWith(Constants.ARFF_HEADER_TAG_RELATION)) {
-				this.relation = instanceLines.get(i).split(" ")[1];
-			} else if (instanceLines.get(i).startsWith(Constants.ARFF_HEADER_TAG_ATTRIBUTE)) {
-				String attributeName = instanceLines.get(i).split(" ")[1];
-				String attributeType = instanceLines.get(i).split(" ")[2];
-				this.attributeNames.add(attributeName);
-				this.attributeTypes.add(attributeType);
-			}
+	@Override
+	public void transform(final String inputFileName, final String outputFileName) throws IOException {
+		if (!this.canRead(inputFileName)) {
+			throw new IOException("can't read input file: " + inputFileName);
 		}
-		this.attributeNames.add("RUL");
-		this.attributeTypes.add(Constants.ARFF_DATA_TYPE_NUMERIC);
-
-		StringJoiner instanceJoiner = new StringJoiner("\n");
-		for (int i = dataStartingIndex; i < instanceLines.size(); i++) {
-			String[] sensorTimeseries = instanceLines.get(i).split(",");
-			int instanceLength = this.getLengthOfInstance(sensorTimeseries);
-			int rul = 0;
-			int end = 1;
-			if (instanceLength > MIN_REMAINING_TIMESTEPS_AFTER_FAILURE) {
-				end = this.generateEndForInstance(instanceLength);
-				rul = instanceLength - end;
-			}
 
-			StringJoiner sensorJoiner = new StringJoiner(",");
-			for (int s = 0; s < sensorTimeseries.length; s++) {
-				for (int t = 0; t < end; t++) {
-					String[] sensorTimestepValuePairs = sensorTimeseries[s].replace("\"", "").trim().split(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
-					String[] limitedSensorTimestepValueParis = Arrays.copyOfRange(sensorTimestepValuePairs, 0, end);
-					sensorJoiner.add("\"" + String.join(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, limitedSensorTimestepValueParis) + "\"");
-				}
-			}
-			sensorJoiner.add(rul + "");
-			instanceJoiner.add(sensorJoiner.toString());
-			// }
+		LOGGER.info("Transforming input file: " + inputFileName);
+		File outputFile = new File(outputFileName);
+		if (outputFile.getParentFile() != null) {
+			outputFile.getParentFile().mkdirs();
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(outputFile.toPath(), StandardCharsets.UTF_8)) {
+			this.transform(inputFileName, writer, true);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(outputFile.toPath());
+			throw e;
 		}
-
-		return instanceJoiner.toString();
 	}
 
-	@Override
-	public void transform(final String inputFileName, final String outputFileName) {
-		LOGGER.info("Transforming input file: " + inputFileName);
-		File outputFile = new File(outputFileName);
-		outputFile.getParentFile().mkdirs();
-		try (FileWriter fw = new FileWriter(outputFile)) {
-			try (BufferedReader br = new BufferedReader(new FileReader(inputFileName))) {
-				String line;
-				boolean headerDone = false;
-				while ((line = br.readLine()) != null) {
-					if (!line.trim().isEmpty()) {
-						// System.out.println(line);
-						if (headerDone) {
-							List<String> cuttedInstances = this.cutInstance(line);
-							for (String copyCuttedInstance : cuttedInstances) {
-								this.writeLine(fw, copyCuttedInstance);
-							}
-						} else if (line.startsWith(Constants.ARFF_HEADER_TAG_RELATION)) {
-							this.writeLine(fw, line);
-						} else if (line.startsWith(Constants.ARFF_HEADER_TAG_ATTRIBUTE)) {
-							this.writeLine(fw, line);
-						} else if (line.startsWith(Constants.ARFF_HEADER_TAG_DATA)) {
-							this.writeLine(fw, Constants.ARFF_HEADER_TAG_ATTRIBUTE + " RUL " + Constants.ARFF_DATA_TYPE_NUMERIC);
-							this.writeLine(fw, line);
-							headerDone = true;
-						}
+	private void transform(final String inputFileName, final Writer writer, final boolean writeHeader) throws IOException {
+		try (BufferedReader br = new BufferedReader(new FileReader(inputFileName))) {
+			String line;
+			boolean headerDone = false;
+			while ((line = br.readLine()) != null) {
+				if (!line.trim().isEmpty()) {
+					if (headerDone) {
+						this.cutInstance(line, writer);
+					} else if (!writeHeader) {
+						headerDone = line.startsWith(Constants.ARFF_HEADER_TAG_DATA);
+					} else if (line.startsWith(Constants.ARFF_HEADER_TAG_RELATION)) {
+						this.writeLine(writer, line);
+					} else if (line.startsWith(Constants.ARFF_HEADER_TAG_ATTRIBUTE)) {
+						this.writeLine(writer, line);
+					} else if (line.startsWith(Constants.ARFF_HEADER_TAG_DATA)) {
+						this.writeLine(writer, Constants.ARFF_HEADER_TAG_ATTRIBUTE + " RUL " + Constants.ARFF_DATA_TYPE_NUMERIC);
+						this.writeLine(writer, line);
+						headerDone = true;
 					}
 				}
 			}
-			fw.close();
-		} catch (FileNotFoundException e) {
-			LOGGER.log(Level.SEVERE, "Error writing to outputFile: " + outputFileName, e);
-			e.printStackTrace();
-		} catch (IOException e) {
-			LOGGER.log(Level.SEVERE, "Error reading/writing to files.", e);
-			e.printStackTrace();
 		}
 	}
 
-	private void writeLine(final FileWriter fw, final String line) throws IOException {
-		fw.write(line);
-		fw.write("\n");
+	private void writeLine(final Writer writer, final String line) throws IOException {
+		writer.write(line);
+		writer.write("\n");
 	}
 
-	private List<String> cutInstance(final String instanceLine) {
-		List<String> copiedInstances = new ArrayList<>(this.copyFactor);
+	/**
+	 * Writes {@link #copyFactor} copies of the given instance, each cut at a random point in time and labeled with the number of remaining time steps.
+	 */
+	private void cutInstance(final String instanceLine, final Writer writer) throws IOException {
 		String[] sensorTimeseries = instanceLine.split(",");
-		int instanceLength = this.getLengthOfInstance(sensorTimeseries);
+		ParsedSensor[] sensors = new ParsedSensor[Math.max(0, sensorTimeseries.length - this.timeSeriesStartingIndex)];
+		for (int s = 0; s < sensors.length; s++) {
+			sensors[s] = new ParsedSensor(sensorTimeseries[s + this.timeSeriesStartingIndex]);
+		}
+		int instanceLength = this.getLengthOfInstance(sensors);
+
 		for (int copyId = 0; copyId < this.copyFactor; copyId++) {
 			int rul = 0;
 			int end = 1;
 			if (instanceLength > MIN_REMAINING_TIMESTEPS_AFTER_FAILURE) {
 				end = this.generateEndForInstance(instanceLength);
 				rul = instanceLength - end;
-				// System.out.println("rul: " + rul);
 			}
-			StringJoiner instanceJoiner = new StringJoiner(",");
-			// if (this.timeSeriesStartingIndex > 0) {
-			// if ("\"W300BNZ6\"".equals(sensorTimeseries[0])) {
-			// String problem = "yes";
-			// }
-			// instanceJoiner.add(sensorTimeseries[0]);
-			// instanceJoiner.add(sensorTimeseries[1]);
-			// instanceJoiner.add(sensorTimeseries[2]);
-			// }
-			for (int s = this.timeSeriesStartingIndex; s < sensorTimeseries.length; s++) {
-				if (sensorTimeseries[s].equals("?")) {
-					instanceJoiner.add(String.join(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, sensorTimeseries[s]));
-				} else {
-					String[] sensorTimestepValuePairs = sensorTimeseries[s].replace("\"", "").trim().split(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
-					String[] limitedSensorTimestepValueParis = Arrays.copyOfRange(sensorTimestepValuePairs, 0, end);
-					instanceJoiner.add("\"" + String.join(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, limitedSensorTimestepValueParis) + "\"");
-				}
-
+			for (ParsedSensor sensor : sensors) {
+				sensor.writePrefix(writer, end);
+				writer.write(",");
 			}
-			instanceJoiner.add(rul + "");
-			copiedInstances.add(instanceJoiner.toString());
+			this.writeLine(writer, rul + "");
 		}
-		return copiedInstances;
 	}
 
 	private int generateEndForInstance(final int timeseriesLength) {
@@ -209,20 +163,14 @@ public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer
 
 	}
 
-	private int getLengthOfInstance(final String[] sensors) {
+	private int getLengthOfInstance(final ParsedSensor[] sensors) {
 		int largestTimeStepDiff = 0;
-		for (int i = this.timeSeriesStartingIndex; i < sensors.length; i++) {
-			String sensorValues = sensors[i].replace("\"", "").trim();
-			String[] timestepValues = sensorValues.split(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
-			String firstTimestepValue = timestepValues[0];
-			String firstTimeStepStr = firstTimestepValue.split(Constants.TIME_STEP_VALUE_SEPARATOR)[0];
-			String lastTimestepValue = timestepValues[timestepValues.length - 1];
-			String lastTimeStepStr = lastTimestepValue.split(Constants.TIME_STEP_VALUE_SEPARATOR)[0];
-			if (lastTimeStepStr.equals("?")) {
+		for (ParsedSensor sensor : sensors) {
+			if (sensor.hasUnknownLength()) {
 				continue;
 			}
-			int timeStepDiff = Integer.valueOf(lastTimeStepStr) - Integer.valueOf(firstTimeStepStr);
-			timeStepDiff = timeStepDiff > timestepValues.length ? timestepValues.length : timeStepDiff;
+			int timeStepDiff = sensor.getLastTimeStep() - sensor.getFirstTimeStep();
+			timeStepDiff = timeStepDiff > sensor.getLength() ? sensor.getLength() : timeStepDiff;
 			if (timeStepDiff > largestTimeStepDiff) {
 				largestTimeStepDiff = timeStepDiff;
 			}
@@ -249,4 +197,71 @@ public class R2FtoLabeledTimeseriesDataTransformer implements DatasetTransformer
 		return false;
 	}
 
+	/**
+	 * Time series of a single sensor, which is kept as text and split into its time step-value pairs once by remembering where each pair ends, such that each
+	 * prefix of the series can be written without parsing or copying it again.
+	 */
+	private static class ParsedSensor {
+
+		private final String values;
+		private final int[] pairEnds;
+		private final boolean missing;
+
+		private ParsedSensor(final String sensorTimeseries) {
+			this.missing = sensorTimeseries.equals(Constants.ARFF_DATA_MISSING_VALUE);
+			this.values = this.missing ? sensorTimeseries : sensorTimeseries.replace("\"", "").trim();
+
+			int numberOfPairs = 1;
+			for (int i = 0; i < this.values.length(); i++) {
+				if (this.values.startsWith(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, i)) {
+					numberOfPairs++;
+				}
+			}
+			this.pairEnds = new int[numberOfPairs];
+			int pair = 0;
+			for (int i = 0; i < this.values.length(); i++) {
+				if (this.values.startsWith(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, i)) {
+					this.pairEnds[pair++] = i;
+				}
+			}
+			this.pairEnds[pair] = this.values.length();
+		}
+
+		private boolean hasUnknownLength() {
+			return this.missing || this.getTimeStep(this.pairEnds.length - 1) == null;
+		}
+
+		private int getLength() {
+			return this.pairEnds.length;
+		}
+
+		private int getFirstTimeStep() {
+			return this.getTimeStep(0);
+		}
+
+		private int getLastTimeStep() {
+			return this.getTimeStep(this.pairEnds.length - 1);
+		}
+
+		private Integer getTimeStep(final int pair) {
+			int start = pair == 0 ? 0 : this.pairEnds[pair - 1] + Constants.TIME_SERIES_DATA_POINT_SEPARATOR.length();
+			int separator = this.values.indexOf(Constants.TIME_STEP_VALUE_SEPARATOR, start);
+			String timeStep = this.values.substring(start, separator < 0 || separator > this.pairEnds[pair] ? this.pairEnds[pair] : separator);
+			return timeStep.equals(Constants.ARFF_DATA_MISSING_VALUE) ? null : Integer.valueOf(timeStep);
+		}
+
+		/**
+		 * Writes the first pairs of the series up to the given end, or the missing value if the sensor is missing.
+		 */
+		private void writePrefix(final Writer writer, final int end) throws IOException {
+			if (this.missing) {
+				writer.write(this.values);
+				return;
+			}
+			writer.write("\"");
+			writer.write(this.values, 0, this.pairEnds[Math.min(end, this.pairEnds.length) - 1]);
+			writer.write("\"");
+		}
+	}
+
 }
@@ -1,6 +1,7 @@
 package autocoevorul.data;
 
 import java.io.File;
+import java.io.IOException;
 
 public class RunTransformation {
 
@@ -16,7 +17,7 @@ public class RunTransformation {
 	private static final String CMAPSS_RAW_ARFF_DATA_FOLDER = RAW_ARFF_DATA_FOLDER + "CMAPSS/";
 	private static final String CMAPSS_TRANSFORMED_ARFF_DATA_FOLDER = TRANSFORMED_ARFF_DATA_FOLDER + "CMAPSS/";
 
-	public static void main(final String[] args) {
+	public static void main(final String[] args) throws IOException {
 		transformCmapssToArffDataset();
 		transformR2FtoRUL(CMAPSS_RAW_ARFF_DATA_FOLDER + "train/", CMAPSS_TRANSFORMED_ARFF_DATA_FOLDER);
 
@@ -25,7 +26,7 @@ public class RunTransformation {
 
 	}
 
-	private static void transformPHM08Data() {
+	private static void transformPHM08Data() throws IOException {
 		Phm08DataChallengeToArffDatasetTransformer transformer = new Phm08DataChallengeToArffDatasetTransformer();
 
 		transformer.transform(PHM08_DATA_FOLDER_PATH + "train.txt", PHM_RAW_ARFF_DATA_FOLDER + "train.arff");
@@ -33,7 +34,7 @@ public class RunTransformation {
 		transformer.transform(PHM08_DATA_FOLDER_PATH + "final_test.txt", PHM_RAW_ARFF_DATA_FOLDER + "final_test.arff");
 	}
 
-	private static void transformCmapssToArffDataset() {
+	private static void transformCmapssToArffDataset() throws IOException {
 		CmapssToArffDatasetTransformer tx = new CmapssToArffDatasetTransformer();
 		if (!new File(CMAPSS_DATA_FOLDER_PATH).exists()) {
 			System.out.println("cmapssDataFolderPath must be set");
@@ -49,7 +50,7 @@ public class RunTransformation {
 		tx.transform(CMAPSS_DATA_FOLDER_PATH + "train_FD004.txt", CMAPSS_RAW_ARFF_DATA_FOLDER + "train/FD004_train.arff");
 	}
 
-	private static void transformR2FtoRUL(final String inputFolder, final String outputFolder) {
+	private static void transformR2FtoRUL(final String inputFolder, final String outputFolder) throws IOException {
 		File folder = new File(inputFolder);
 		File[] files = folder.listFiles((f, name) -> name.endsWith("." + Constants.ARFF_FILE_EXTENSION));
 		R2FtoLabeledTimeseriesDataTransformer tx = new R2FtoLabeledTimeseriesDataTransformer(0, 3);
@@ -0,0 +1,316 @@
+package autocoevorul.data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Multivariate time series dataset in the representation of the ARFF files of this project, i.e. one time series per sensor with consecutive time steps starting at
+ * 1, followed by an optional numeric RUL label. All sensor values of all instances are stored in one contiguous <code>float[]</code> block, where the values of an
+ * instance are stored sensor by sensor starting at its offset. Subsets such as the folds of a split are views holding an index array into the block of the dataset
+ * they are created from instead of copies of the instances.
+ */
+public class TimeSeriesDataset {
+
+	private static final int INITIAL_CAPACITY = 1 << 16;
+
+	private final String relationName;
+	private final List<String> sensorNames;
+	private final String labelName;
+
+	private final float[] values;
+	private final int[] offsets;
+	private final int[] lengths;
+	private final float[] labels;
+
+	/** Instances of the block contained in this dataset. */
+	private final int[] indices;
+
+	private TimeSeriesDataset(final String relationName, final List<String> sensorNames, final String labelName, final float[] values, final int[] offsets, final int[] lengths,
+			final float[] labels, final int[] indices) {
+		this.relationName = relationName;
+		this.sensorNames = sensorNames;
+		this.labelName = labelName;
+		this.values = values;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.labels = labels;
+		this.indices = indices;
+	}
+
+	/**
+	 * Reads an ARFF file whose attributes are sensor time series, optionally followed by a numeric label, directly into the primitive block without creating any
+	 * intermediate instance objects.
+	 */
+	public static TimeSeriesDataset readArff(final File file) throws IOException {
+		String relationName = null;
+		List<String> sensorNames = new ArrayList<>();
+		String labelName = null;
+
+		float[] values = new float[INITIAL_CAPACITY];
+		int size = 0;
+		List<int[]> instanceInfos = new ArrayList<>();
+		List<Float> labels = new ArrayList<>();
+
+		try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			boolean dataSection = false;
+			while ((line = reader.readLine()) != null) {
+				String trimmedLine = line.trim();
+				if (trimmedLine.isEmpty() || trimmedLine.startsWith("%")) {
+					continue;
+				}
+				if (!dataSection) {
+					String[] tokens = trimmedLine.split("\\s+");
+					if (tokens[0].equalsIgnoreCase(Constants.ARFF_HEADER_TAG_RELATION)) {
+						relationName = unquote(tokens[1]);
+					} else if (tokens[0].equalsIgnoreCase(Constants.ARFF_HEADER_TAG_ATTRIBUTE)) {
+						if (labelName != null) {
+							throw new IOException("The numeric label " + labelName + " has to be the last attribute of " + file.getPath());
+						}
+						if (tokens[2].equalsIgnoreCase(Constants.ARFF_DATA_TYPE_TIMESERIES)) {
+							sensorNames.add(unquote(tokens[1]));
+						} else if (tokens[2].equalsIgnoreCase(Constants.ARFF_DATA_TYPE_NUMERIC)) {
+							labelName = unquote(tokens[1]);
+						} else {
+							throw new IOException("Attribute " + tokens[1] + " of type " + tokens[2] + " is not supported in " + file.getPath());
+						}
+					} else if (tokens[0].equalsIgnoreCase(Constants.ARFF_HEADER_TAG_DATA)) {
+						dataSection = true;
+					}
+					continue;
+				}
+
+				String[] attributes = trimmedLine.split(",");
+				if (attributes.length != sensorNames.size() + (labelName != null ? 1 : 0)) {
+					throw new IOException("Instance " + instanceInfos.size() + " of " + file.getPath() + " has " + attributes.length + " attributes.");
+				}
+				int length = -1;
+				float[][] series = new float[sensorNames.size()][];
+				for (int sensor = 0; sensor < sensorNames.size(); sensor++) {
+					series[sensor] = parseSeries(attributes[sensor]);
+					if (series[sensor] != null) {
+						if (length >= 0 && series[sensor].length != length) {
+							throw new IOException("Sensor " + sensorNames.get(sensor) + " of instance " + instanceInfos.size() + " has " + series[sensor].length + " instead of " + length
+									+ " time steps.");
+						}
+						length = series[sensor].length;
+					}
+				}
+				length = Math.max(0, length);
+
+				long requiredSize = (long) size + (long) length * sensorNames.size();
+				if (requiredSize > Integer.MAX_VALUE - 8) {
+					throw new IOException("Dataset " + file.getPath() + " exceeds the maximal number of values.");
+				}
+				if (requiredSize > values.length) {
+					values = Arrays.copyOf(values, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(requiredSize, values.length + (values.length >> 1))));
+				}
+				for (float[] sensorSeries : series) {
+					if (sensorSeries != null) {
+						System.arraycopy(sensorSeries, 0, values, size, length);
+					} else {
+						// missing sensors are represented by NaN values
+						Arrays.fill(values, size, size + length, Float.NaN);
+					}
+					size += length;
+				}
+				instanceInfos.add(new int[] { size - length * sensorNames.size(), length });
+				labels.add(labelName != null ? parseLabel(attributes[attributes.length - 1]) : Float.NaN);
+			}
+		}
+
+		int[] offsets = instanceInfos.stream().mapToInt(info -> info[0]).toArray();
+		int[] lengths = instanceInfos.stream().mapToInt(info -> info[1]).toArray();
+		float[] labelArray = new float[labels.size()];
+		for (int i = 0; i < labelArray.length; i++) {
+			labelArray[i] = labels.get(i);
+		}
+		return new TimeSeriesDataset(relationName, Collections.unmodifiableList(sensorNames), labelName, Arrays.copyOf(values, size), offsets, lengths, labelArray,
+				IntStream.range(0, offsets.length).toArray());
+	}
+
+	private static String unquote(final String name) {
+		if (name.length() > 1 && (name.startsWith("'") && name.endsWith("'") || name.startsWith("\"") && name.endsWith("\""))) {
+			return name.substring(1, name.length() - 1);
+		}
+		return name;
+	}
+
+	/**
+	 * @return The values of the series in the <code>timestep#value</code> representation, or null if the series is missing.
+	 */
+	private static float[] parseSeries(final String attribute) throws IOException {
+		String series = attribute.trim();
+		if (series.equals(Constants.ARFF_DATA_MISSING_VALUE)) {
+			return null;
+		}
+		if (series.startsWith("\"") || series.startsWith("'")) {
+			series = series.substring(1, series.length() - 1).trim();
+		}
+		float[] seriesValues = new float[64];
+		int length = 0;
+		int position = 0;
+		while (position < series.length()) {
+			int end = series.indexOf(Constants.TIME_SERIES_DATA_POINT_SEPARATOR, position);
+			if (end < 0) {
+				end = series.length();
+			}
+			if (end > position) {
+				int separator = series.indexOf(Constants.TIME_STEP_VALUE_SEPARATOR, position);
+				if (separator < 0 || separator > end) {
+					throw new IOException("Invalid timestep value pair " + series.substring(position, end));
+				}
+				if (Integer.parseInt(series.substring(position, separator)) != length + 1) {
+					throw new IOException("Timesteps have to be consecutive starting at 1, but found " + series.substring(position, end));
+				}
+				if (length == seriesValues.length) {
+					seriesValues = Arrays.copyOf(seriesValues, seriesValues.length * 2);
+				}
+				seriesValues[length++] = Float.parseFloat(series.substring(separator + 1, end));
+			}
+			position = end + 1;
+		}
+		return Arrays.copyOf(seriesValues, length);
+	}
+
+	private static float parseLabel(final String attribute) {
+		String label = attribute.trim();
+		return label.equals(Constants.ARFF_DATA_MISSING_VALUE) ? Float.NaN : Float.parseFloat(label);
+	}
+
+	/**
+	 * Creates a view on the given instances of this dataset, which shares the block of values with this dataset.
+	 *
+	 * @param instances
+	 *            The indices of the instances in this dataset.
+	 * @param relationName
+	 *            The relation name of the view.
+	 */
+	public TimeSeriesDataset createView(final int[] instances, final String relationName) {
+		int[] blockIndices = new int[instances.length];
+		for (int i = 0; i < instances.length; i++) {
+			blockIndices[i] = this.indices[instances[i]];
+		}
+		return new TimeSeriesDataset(relationName, this.sensorNames, this.labelName, this.values, this.offsets, this.lengths, this.labels, blockIndices);
+	}
+
+	public String getRelationName() {
+		return this.relationName;
+	}
+
+	public List<String> getSensorNames() {
+		return this.sensorNames;
+	}
+
+	public int getNumberOfSensors() {
+		return this.sensorNames.size();
+	}
+
+	/**
+	 * @return The name of the label attribute, or null if the dataset is unlabeled.
+	 */
+	public String getLabelName() {
+		return this.labelName;
+	}
+
+	public int size() {
+		return this.indices.length;
+	}
+
+	/**
+	 * @return The number of time steps of the given instance.
+	 */
+	public int getLength(final int instance) {
+		return this.lengths[this.indices[instance]];
+	}
+
+	public float getValue(final int instance, final int sensor, final int timeStep) {
+		int blockIndex = this.indices[instance];
+		return this.values[this.offsets[blockIndex] + sensor * this.lengths[blockIndex] + timeStep];
+	}
+
+	/**
+	 * @return A copy of the time series of the given sensor of the given instance.
+	 */
+	public float[] getSeries(final int instance, final int sensor) {
+		int blockIndex = this.indices[instance];
+		int start = this.offsets[blockIndex] + sensor * this.lengths[blockIndex];
+		return Arrays.copyOfRange(this.values, start, start + this.lengths[blockIndex]);
+	}
+
+	/**
+	 * @return The label of the given instance, or {@link Float#NaN} if it is missing.
+	 */
+	public float getLabel(final int instance) {
+		return this.labels[this.indices[instance]];
+	}
+
+	public List<Double> getLabels() {
+		List<Double> labelList = new ArrayList<>(this.size());
+		for (int i = 0; i < this.size(); i++) {
+			labelList.add((double) this.getLabel(i));
+		}
+		return labelList;
+	}
+
+	/**
+	 * Writes this dataset in the ARFF representation of {@link ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter}, which is expected by the Python side.
+	 */
+	public void writeArff(final File file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("@relation '" + this.relationName + "'\n\n");
+			for (String sensorName : this.sensorNames) {
+				writer.write("@attribute '" + sensorName + "' timeseries\n");
+			}
+			if (this.labelName != null) {
+				writer.write("@attribute '" + this.labelName + "' numeric\n");
+			}
+			writer.write("\n@data\n");
+			for (int i = 0; i < this.size(); i++) {
+				this.writeArffInstance(writer, i);
+			}
+		}
+	}
+
+	private void writeArffInstance(final Writer writer, final int instance) throws IOException {
+		int blockIndex = this.indices[instance];
+		int length = this.lengths[blockIndex];
+		for (int sensor = 0; sensor < this.sensorNames.size(); sensor++) {
+			if (sensor > 0) {
+				writer.write(",");
+			}
+			int start = this.offsets[blockIndex] + sensor * length;
+			if (length > 0 && Float.isNaN(this.values[start])) {
+				writer.write(Constants.ARFF_DATA_MISSING_VALUE);
+				continue;
+			}
+			writer.write("\"");
+			for (int t = 0; t < length; t++) {
+				if (t > 0) {
+					writer.write(Constants.TIME_SERIES_DATA_POINT_SEPARATOR);
+				}
+				writer.write(Integer.toString(t + 1));
+				writer.write(Constants.TIME_STEP_VALUE_SEPARATOR);
+				writer.write(Float.toString(this.values[start + t]));
+			}
+			writer.write("\"");
+		}
+		if (this.labelName != null) {
+			float label = this.labels[blockIndex];
+			writer.write(",");
+			writer.write(Float.isNaN(label) ? Constants.ARFF_DATA_MISSING_VALUE : Float.toString(label));
+		}
+		writer.write("\n");
+	}
+
+}
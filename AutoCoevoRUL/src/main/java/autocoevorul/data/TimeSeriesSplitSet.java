@@ -0,0 +1,98 @@
+package autocoevorul.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Folds of a {@link TimeSeriesDataset}, where the training and test data of each fold are views holding an index array into the shared dataset. The relation
+ * names of the folds, i.e. <code>&lt;dataset&gt;_&lt;seed&gt;_&lt;fold&gt;_train</code> and <code>..._test</code>, are assigned when the views are created. The
+ * Python side identifies the datasets of a fold and the features extracted from them by these names.
+ */
+public class TimeSeriesSplitSet {
+
+	private final List<TimeSeriesDataset> trainingData;
+	private final List<TimeSeriesDataset> testData;
+
+	private TimeSeriesSplitSet(final List<TimeSeriesDataset> trainingData, final List<TimeSeriesDataset> testData) {
+		this.trainingData = trainingData;
+		this.testData = testData;
+	}
+
+	/**
+	 * Draws the given number of Monte Carlo cross validation folds, each of which splits the instances of the dataset randomly into training and test data.
+	 *
+	 * @param datasetName
+	 *            The name of the dataset used as prefix of the relation names of the folds.
+	 * @param trainingFraction
+	 *            The fraction of the instances used for training in each fold.
+	 */
+	public static TimeSeriesSplitSet createMonteCarloSplits(final TimeSeriesDataset dataset, final String datasetName, final long seed, final int numberOfFolds,
+			final double trainingFraction, final Random random) {
+		List<TimeSeriesDataset> trainingData = new ArrayList<>(numberOfFolds);
+		List<TimeSeriesDataset> testData = new ArrayList<>(numberOfFolds);
+		int numberOfTrainingInstances = (int) Math.round(dataset.size() * trainingFraction);
+		for (int fold = 0; fold < numberOfFolds; fold++) {
+			List<Integer> indices = IntStream.range(0, dataset.size()).boxed().collect(Collectors.toList());
+			Collections.shuffle(indices, random);
+			String relationName = datasetName + "_" + seed + "_" + fold;
+			trainingData.add(dataset.createView(sortedArray(indices.subList(0, numberOfTrainingInstances)), relationName + "_train"));
+			testData.add(dataset.createView(sortedArray(indices.subList(numberOfTrainingInstances, indices.size())), relationName + "_test"));
+		}
+		return new TimeSeriesSplitSet(trainingData, testData);
+	}
+
+	private static int[] sortedArray(final List<Integer> indices) {
+		int[] array = indices.stream().mapToInt(Integer::intValue).toArray();
+		Arrays.sort(array);
+		return array;
+	}
+
+	/**
+	 * Draws a subsample of the training and the test data of each fold. The relation names of the subsamples extend those of the folds by the given suffix, i.e.
+	 * <code>&lt;dataset&gt;_&lt;seed&gt;_&lt;fold&gt;&lt;suffix&gt;_train</code>, such that the features extracted from them do not collide with the ones of the full
+	 * folds.
+	 */
+	public TimeSeriesSplitSet subsample(final double fraction, final String suffix, final Random random) {
+		List<TimeSeriesDataset> subsampledTrainingData = new ArrayList<>(this.getNumberOfFolds());
+		List<TimeSeriesDataset> subsampledTestData = new ArrayList<>(this.getNumberOfFolds());
+		for (int fold = 0; fold < this.getNumberOfFolds(); fold++) {
+			subsampledTrainingData.add(subsample(this.trainingData.get(fold), fraction, suffix, random));
+			subsampledTestData.add(subsample(this.testData.get(fold), fraction, suffix, random));
+		}
+		return new TimeSeriesSplitSet(subsampledTrainingData, subsampledTestData);
+	}
+
+	private static TimeSeriesDataset subsample(final TimeSeriesDataset dataset, final double fraction, final String suffix, final Random random) {
+		List<Integer> indices = IntStream.range(0, dataset.size()).boxed().collect(Collectors.toList());
+		Collections.shuffle(indices, random);
+		int size = Math.min(dataset.size(), Math.max(2, (int) Math.ceil(dataset.size() * fraction)));
+		String relationName = dataset.getRelationName();
+		int splitTypeIndex = relationName.lastIndexOf('_');
+		return dataset.createView(sortedArray(indices.subList(0, size)), relationName.substring(0, splitTypeIndex) + suffix + relationName.substring(splitTypeIndex));
+	}
+
+	public int getNumberOfFolds() {
+		return this.trainingData.size();
+	}
+
+	public TimeSeriesDataset getTrainingData(final int fold) {
+		return this.trainingData.get(fold);
+	}
+
+	public TimeSeriesDataset getTestData(final int fold) {
+		return this.testData.get(fold);
+	}
+
+	/**
+	 * @return For each fold the labels of its test data.
+	 */
+	public List<List<Double>> getTestGroundTruths() {
+		return this.testData.stream().map(TimeSeriesDataset::getLabels).collect(Collectors.toList());
+	}
+
+}
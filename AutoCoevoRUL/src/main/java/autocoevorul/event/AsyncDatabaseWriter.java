@@ -0,0 +1,165 @@
+package autocoevorul.event;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import autocoevorul.experiment.store.IResultStore;
+import autocoevorul.metrics.Counter;
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.metrics.Timer;
+
+/**
+ * Writes rows to the result store on a dedicated thread, such that the threads posting events never wait for the database or disk. Rows are collected in a
+ * bounded queue and written by multi-row inserts, as soon as a batch is full or the flush interval has passed since the first row of the batch was queued.
+ * Closing the writer drains the queue before it returns. As the writer thread is a daemon thread, the owner has to close the writer before the JVM exits, which the
+ * experiment runners do by closing their {@link DatabaseWritingEventListener}.
+ */
+public class AsyncDatabaseWriter implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsyncDatabaseWriter.class);
+
+	private static final int QUEUE_CAPACITY = 10000;
+
+	private final IResultStore resultStore;
+	private final Timer writeTimer;
+	private final Counter writtenRowsCounter;
+	private final int batchSize;
+	private final long flushIntervalInMillis;
+	private final BlockingQueue<Row> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final Thread writerThread;
+	private volatile boolean closed = false;
+
+	public AsyncDatabaseWriter(final IResultStore resultStore, final int batchSize, final Timeout flushInterval, final MetricsRegistry metricsRegistry) {
+		this.resultStore = resultStore;
+		this.writeTimer = metricsRegistry.timer("results.write");
+		this.writtenRowsCounter = metricsRegistry.counter("results.rows");
+		this.batchSize = Math.max(1, batchSize);
+		this.flushIntervalInMillis = flushInterval.milliseconds();
+		this.writerThread = new Thread(this::writeBatches, "database-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * Queues the given row for insertion into the given table. Only blocks if the queue is full, i.e. if the database cannot keep up with the rows at all.
+	 */
+	public void insert(final String table, final Map<String, Object> row) {
+		if (this.closed) {
+			this.insertSynchronously(new Row(table, row));
+			return;
+		}
+		Row queuedRow = new Row(table, row);
+		if (!this.queue.offer(queuedRow)) {
+			LOGGER.warn("Database write queue is full, waiting for the database.");
+			try {
+				this.queue.put(queuedRow);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				LOGGER.warn("Interrupted while waiting for the database, dropping row of table {}.", table);
+			}
+		}
+	}
+
+	private void writeBatches() {
+		List<Row> batch = new ArrayList<>(this.batchSize);
+		while (!this.closed || !this.queue.isEmpty()) {
+			try {
+				Row first = this.queue.poll(this.flushIntervalInMillis, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.currentTimeMillis() + this.flushIntervalInMillis;
+				while (batch.size() < this.batchSize) {
+					long remaining = deadline - System.currentTimeMillis();
+					Row row = this.closed ? this.queue.poll() : this.queue.poll(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+					if (row == null) {
+						break;
+					}
+					batch.add(row);
+				}
+			} catch (InterruptedException e) {
+				// drain the queue without waiting from now on
+				this.closed = true;
+			}
+			this.write(batch);
+			batch.clear();
+		}
+	}
+
+	private void write(final List<Row> batch) {
+		// rows of the same table with the same columns are written by one statement
+		Map<String, List<Row>> rowsByStatement = new LinkedHashMap<>();
+		for (Row row : batch) {
+			rowsByStatement.computeIfAbsent(row.table + new TreeSet<>(row.values.keySet()), k -> new ArrayList<>()).add(row);
+		}
+		for (List<Row> rows : rowsByStatement.values()) {
+			String table = rows.get(0).table;
+			List<String> keys = new ArrayList<>(new TreeSet<>(rows.get(0).values.keySet()));
+			List<List<?>> values = new ArrayList<>(rows.size());
+			for (Row row : rows) {
+				List<Object> rowValues = new ArrayList<>(keys.size());
+				for (String key : keys) {
+					rowValues.add(row.values.get(key));
+				}
+				values.add(rowValues);
+			}
+			try (Timer.Context context = this.writeTimer.time()) {
+				this.resultStore.insertMultiple(table, keys, values);
+				this.writtenRowsCounter.increment(rows.size());
+			} catch (IOException | RuntimeException e) {
+				LOGGER.warn("Could not insert {} rows into {} at once, inserting them one by one.", rows.size(), table, e);
+				rows.forEach(this::insertSynchronously);
+			}
+		}
+	}
+
+	private void insertSynchronously(final Row row) {
+		try (Timer.Context context = this.writeTimer.time()) {
+			this.resultStore.insert(row.table, row.values);
+			this.writtenRowsCounter.increment();
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Could not insert row into {}.", row.table, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		this.closed = true;
+		if (Thread.currentThread() != this.writerThread) {
+			try {
+				this.writerThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// rows queued while the writer thread was finishing
+		Row row;
+		while ((row = this.queue.poll()) != null) {
+			this.insertSynchronously(row);
+		}
+	}
+
+	private static class Row {
+
+		private final String table;
+		private final Map<String, Object> values;
+
+		private Row(final String table, final Map<String, Object> values) {
+			this.table = table;
+			this.values = values;
+		}
+	}
+
+}
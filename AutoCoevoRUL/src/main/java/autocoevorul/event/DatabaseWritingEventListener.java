@@ -1,38 +1,37 @@
 package autocoevorul.event;
 
-import java.sql.Date;
-import java.sql.SQLException;
-import java.text.SimpleDateFormat;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.dataset.supervised.ILabeledInstance;
 import org.api4.java.ai.ml.core.evaluation.execution.ILearnerRunReport;
-import org.api4.java.datastructure.kvstore.IKVStore;
 
 import com.google.common.eventbus.Subscribe;
 
-import ai.libs.jaicore.basic.kvstore.KVStore;
-import ai.libs.jaicore.db.IDatabaseAdapter;
-import ai.libs.jaicore.db.IDatabaseConfig;
-import ai.libs.jaicore.db.sql.DatabaseAdapterFactory;
 import ai.libs.jaicore.ml.core.evaluation.evaluator.events.TrainTestSplitEvaluationFailedEvent;
 import ai.libs.jaicore.ml.regression.singlelabel.SingleTargetRegressionPrediction;
 import ai.libs.jaicore.ml.regression.singlelabel.SingleTargetRegressionPredictionBatch;
 import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
 import ai.libs.mlplan.core.events.ClassifierFoundEvent;
 import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.experiment.store.IResultStore;
 
-public class DatabaseWritingEventListener {
+/**
+ * Writes the events of an experiment to the result store. The rows are inserted asynchronously by an {@link AsyncDatabaseWriter}, such that the evaluation
+ * threads posting the events never wait for the result store. Closing the listener writes all pending rows and closes the result store.
+ */
+public class DatabaseWritingEventListener implements AutoCloseable {
 
 	private static final String FIELD_TYPE_INT = "INT";
-	private static final String FIELD_PRIMARY_KEY = "primary";
 	private static final String FIELD_EXPERIMENT_ID = "experiment_id";
 	private static final String FIELD_EXECUTOR = "executor";
 	private static final String FIELD_THREAD = "thread";
@@ -47,7 +46,12 @@ public class DatabaseWritingEventListener {
 	private static final String FIELD_AVERAGE_RUNTIME = "average_runtime";
 	private static final String FIELD_RUNTIMES = "runtimes";
 	private static final String FIELD_GENERATION = "generation";
+	private static final String FIELD_CACHED = "cached";
 	private static final String FIELD_TIMESTAMP_FOUND = "timestamp_found";
+	private static final String FIELD_HITS = "hits";
+	private static final String FIELD_MISSES = "misses";
+	private static final String FIELD_SIZE = "size";
+	private static final String FIELD_HIT_RATE = "hit_rate";
 
 	private static final String FIELD_TYPE_LONGTEXT = "LONGTEXT";
 	private static final String FIELD_TYPE_VARCHAR_255 = "VARCHAR(255)";
@@ -56,29 +60,33 @@ public class DatabaseWritingEventListener {
 	private final static String TABLE_REGRESSOR_EVALUATED = "_pipelines";
 	private final static String TABLE_FEATURE_EXTRACTOR_EVALUATED = "_features";
 	private final static String TABLE_BEST_PIPELINE_FOUND = "_best";
+	private final static String TABLE_REGRESSOR_SCORE_CACHE = "_cache";
 
-	private final IDatabaseAdapter adapter;
-	private final String dbName;
+	private final IResultStore resultStore;
 	private final String tableName;
 	private final int experimentId;
 	private final String executor;
-	private final SimpleDateFormat format;
+	private final DateTimeFormatter format;
+	private final AsyncDatabaseWriter writer;
 
-	public DatabaseWritingEventListener(final ExperimentConfiguration experimentConfiguration, final IDatabaseConfig dbConfig, final String executor) throws SQLException {
-		this.adapter = DatabaseAdapterFactory.get(dbConfig);
+	public DatabaseWritingEventListener(final ExperimentConfiguration experimentConfiguration, final IResultStore resultStore, final String executor) throws IOException {
+		this.resultStore = resultStore;
 		this.experimentId = experimentConfiguration.getExperimentId();
 		this.executor = executor;
-		this.dbName = dbConfig.getDBDatabaseName();
-		this.tableName = dbConfig.getDBTableName();
-		this.format = new SimpleDateFormat("YYYY-MM-dd HH:mm:ss");
+		this.tableName = resultStore.getTableName();
+		this.format = DateTimeFormatter.ofPattern("YYYY-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
 
 		this.createGGPRegressionResultFoundEventTable();
 		this.createRegressorEvaluatedEventTable();
 		this.createFeatureExtractorEvaluatedEventTable();
 		this.createUpdatingBestPipelineEventTable();
+		this.createRegressorScoreCacheStatisticsEventTable();
+
+		this.writer = new AsyncDatabaseWriter(this.resultStore, experimentConfiguration.getDatabaseBatchSize(), experimentConfiguration.getDatabaseFlushInterval(),
+				experimentConfiguration.getMetricsRegistry());
 	}
 
-	private void createGGPRegressionResultFoundEventTable() throws SQLException {
+	private void createGGPRegressionResultFoundEventTable() throws IOException {
 		Collection<String> fieldNames = new ArrayList<>();
 		Map<String, String> fieldTypes = new HashMap<>();
 		fieldNames.add(FIELD_PIPELINE);
@@ -93,15 +101,15 @@ public class DatabaseWritingEventListener {
 	}
 
 	@Subscribe
-	public void receiveGGPRegressionResultFoundEvent(final GGPRegressionResultFoundEvent event) throws SQLException {
+	public void receiveGGPRegressionResultFoundEvent(final GGPRegressionResultFoundEvent event) {
 		Map<String, Object> map = new HashMap<>();
 		map.put(FIELD_PIPELINE, event.getRegressionGGPSolution().getConstructionInstruction());
 		map.put(FIELD_PERFORMANCE, event.getRegressionGGPSolution().getPerformance());
-		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(new Date(event.getCreationTime())));
+		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(Instant.ofEpochMilli(event.getCreationTime())));
 		this.insertEntry(TABLE_GGP_REGRESSION_RESULT_FOUND, map);
 	}
 
-	private void createRegressorEvaluatedEventTable() throws SQLException {
+	private void createRegressorEvaluatedEventTable() throws IOException {
 		Collection<String> fieldNames = new ArrayList<>();
 		Map<String, String> fieldTypes = new HashMap<>();
 		fieldNames.add(FIELD_DATASET);
@@ -113,6 +121,7 @@ public class DatabaseWritingEventListener {
 		fieldNames.add(FIELD_EXCEPTION);
 		fieldNames.add(FIELD_TIMESTAMP_FOUND);
 		fieldNames.add(FIELD_GENERATION);
+		fieldNames.add(FIELD_CACHED);
 
 		fieldTypes.put(FIELD_DATASET, FIELD_TYPE_VARCHAR_255);
 		fieldTypes.put(FIELD_PIPELINE_FEATURE, FIELD_TYPE_LONGTEXT);
@@ -123,12 +132,13 @@ public class DatabaseWritingEventListener {
 		fieldTypes.put(FIELD_EXCEPTION, FIELD_TYPE_LONGTEXT);
 		fieldTypes.put(FIELD_TIMESTAMP_FOUND, FIELD_TYPE_VARCHAR_255);
 		fieldTypes.put(FIELD_GENERATION, FIELD_TYPE_VARCHAR_255);
+		fieldTypes.put(FIELD_CACHED, FIELD_TYPE_INT);
 
 		this.createResultsTableIfNecessary(TABLE_REGRESSOR_EVALUATED, fieldNames, fieldTypes);
 	}
 
 	@Subscribe
-	public void receiveRegressorEvaluatedEvent(final RegressorEvaluatedEvent event) throws SQLException {
+	public void receiveRegressorEvaluatedEvent(final RegressorEvaluatedEvent event) {
 		Map<String, Object> map = new HashMap<>();
 		map.put(FIELD_DATASET, event.getDatasetName());
 		map.put(FIELD_PIPELINE_FEATURE, event.getFeatureExtractorConstructionString());
@@ -137,12 +147,14 @@ public class DatabaseWritingEventListener {
 		map.put(FIELD_AVERAGE_RUNTIME, event.getAverageRuntime());
 		map.put(FIELD_RUNTIMES, event.getRuntimesInSeconds().toString());
 		map.put(FIELD_EXCEPTION, event.getException());
-		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(new Date(event.getCreationTime())));
+		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(Instant.ofEpochMilli(event.getCreationTime())));
 		map.put(FIELD_GENERATION, event.getGeneration());
+		// scores taken from the regressor score cache have no runtimes, such that their average runtime is -1
+		map.put(FIELD_CACHED, event.isCached() ? 1 : 0);
 		this.insertEntry(TABLE_REGRESSOR_EVALUATED, map);
 	}
 
-	private void createFeatureExtractorEvaluatedEventTable() throws SQLException {
+	private void createFeatureExtractorEvaluatedEventTable() throws IOException {
 		Collection<String> fieldNames = new ArrayList<>();
 		Map<String, String> fieldTypes = new HashMap<>();
 		fieldNames.add(FIELD_DATASET);
@@ -162,18 +174,18 @@ public class DatabaseWritingEventListener {
 	}
 
 	@Subscribe
-	public void receiveFeatureExtractorEvaluatedEvent(final FeatureExtractorEvaluatedEvent event) throws SQLException {
+	public void receiveFeatureExtractorEvaluatedEvent(final FeatureExtractorEvaluatedEvent event) {
 		Map<String, Object> map = new HashMap<>();
 		map.put(FIELD_DATASET, event.getDatasetName());
 		map.put(FIELD_PIPELINE, event.getPythonConstructionString());
 		map.put(FIELD_PERFORMANCE, event.getAggregatedScore());
 		map.put(FIELD_PERFORMANCES, event.getPerformancesOfIncludingRegressors().toString());
 		map.put(FIELD_NUMBER_USAGE, event.getNumberOfUsage());
-		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(new Date(event.getCreationTime())));
+		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(Instant.ofEpochMilli(event.getCreationTime())));
 		this.insertEntry(TABLE_FEATURE_EXTRACTOR_EVALUATED, map);
 	}
 
-	private void createUpdatingBestPipelineEventTable() throws SQLException {
+	private void createUpdatingBestPipelineEventTable() throws IOException {
 		Collection<String> fieldNames = new ArrayList<>();
 		Map<String, String> fieldTypes = new HashMap<>();
 		fieldNames.add(FIELD_PERFORMANCE);
@@ -188,19 +200,47 @@ public class DatabaseWritingEventListener {
 	}
 
 	@Subscribe
-	public void receiveUpdatingBestPipelineEvent(final UpdatingBestPipelineEvent event) throws SQLException {
+	public void receiveUpdatingBestPipelineEvent(final UpdatingBestPipelineEvent event) {
 		Map<String, Object> map = new HashMap<>();
 		map.put(FIELD_PIPELINE, event.getConstructionString());
 		map.put(FIELD_PERFORMANCE, event.getPerformance());
-		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(new Date(event.getCreationTime())));
+		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(Instant.ofEpochMilli(event.getCreationTime())));
 		this.insertEntry(TABLE_BEST_PIPELINE_FOUND, map);
 	}
 
+	private void createRegressorScoreCacheStatisticsEventTable() throws IOException {
+		Collection<String> fieldNames = new ArrayList<>();
+		Map<String, String> fieldTypes = new HashMap<>();
+		fieldNames.add(FIELD_HITS);
+		fieldNames.add(FIELD_MISSES);
+		fieldNames.add(FIELD_SIZE);
+		fieldNames.add(FIELD_HIT_RATE);
+		fieldNames.add(FIELD_TIMESTAMP_FOUND);
+
+		fieldTypes.put(FIELD_HITS, FIELD_TYPE_INT);
+		fieldTypes.put(FIELD_MISSES, FIELD_TYPE_INT);
+		fieldTypes.put(FIELD_SIZE, FIELD_TYPE_INT);
+		fieldTypes.put(FIELD_HIT_RATE, FIELD_TYPE_VARCHAR_255);
+		fieldTypes.put(FIELD_TIMESTAMP_FOUND, FIELD_TYPE_VARCHAR_255);
+		this.createResultsTableIfNecessary(TABLE_REGRESSOR_SCORE_CACHE, fieldNames, fieldTypes);
+	}
+
+	@Subscribe
+	public void receiveRegressorScoreCacheStatisticsEvent(final RegressorScoreCacheStatisticsEvent event) {
+		Map<String, Object> map = new HashMap<>();
+		map.put(FIELD_HITS, event.getHits());
+		map.put(FIELD_MISSES, event.getMisses());
+		map.put(FIELD_SIZE, event.getSize());
+		map.put(FIELD_HIT_RATE, event.getHitRate());
+		map.put(FIELD_TIMESTAMP_FOUND, this.format.format(Instant.ofEpochMilli(event.getCreationTime())));
+		this.insertEntry(TABLE_REGRESSOR_SCORE_CACHE, map);
+	}
+
 	// NEW
 
 	@SuppressWarnings("unchecked")
 	@Subscribe
-	public void rcvClassifierFoundEvent(final ClassifierFoundEvent event) throws SQLException {
+	public void rcvClassifierFoundEvent(final ClassifierFoundEvent event) {
 		ScikitLearnWrapper<SingleTargetRegressionPrediction, SingleTargetRegressionPredictionBatch> learner = null;
 		if (event.getSolutionCandidate() instanceof ScikitLearnWrapper) {
 			learner = (ScikitLearnWrapper) event.getSolutionCandidate();
@@ -212,7 +252,7 @@ public class DatabaseWritingEventListener {
 	}
 
 	@Subscribe
-	public void rcvTrainTestSplitEvaluationFailedEvent(final TrainTestSplitEvaluationFailedEvent<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> event) throws SQLException {
+	public void rcvTrainTestSplitEvaluationFailedEvent(final TrainTestSplitEvaluationFailedEvent<ILabeledInstance, ILabeledDataset<? extends ILabeledInstance>> event) {
 		ScikitLearnWrapper<SingleTargetRegressionPrediction, SingleTargetRegressionPredictionBatch> learner = null;
 		if (event.getLearner() instanceof ScikitLearnWrapper) {
 			learner = (ScikitLearnWrapper) event.getLearner();
@@ -244,29 +284,29 @@ public class DatabaseWritingEventListener {
 
 	// END
 
-	private void createResultsTableIfNecessary(final String suffix, final Collection<String> fieldNames, final Map<String, String> fieldTypes) throws SQLException {
-		List<IKVStore> resultSet = this.adapter.getResultsOfQuery("SHOW TABLES");
-		boolean resultTableAlreadyExists = resultSet.stream().anyMatch(kvStore -> kvStore.getAsString("Tables_in_" + this.dbName).equals(this.tableName + suffix));
-		if (!resultTableAlreadyExists) {
-			fieldNames.add(FIELD_EXPERIMENT_ID);
-			fieldNames.add(FIELD_EXECUTOR);
-			fieldNames.add(FIELD_THREAD);
+	private void createResultsTableIfNecessary(final String suffix, final Collection<String> fieldNames, final Map<String, String> fieldTypes) throws IOException {
+		fieldNames.add(FIELD_EXPERIMENT_ID);
+		fieldNames.add(FIELD_EXECUTOR);
+		fieldNames.add(FIELD_THREAD);
 
-			fieldTypes.put(FIELD_PRIMARY_KEY, FIELD_TYPE_INT);
-			fieldTypes.put(FIELD_EXPERIMENT_ID, FIELD_TYPE_VARCHAR_255);
-			fieldTypes.put(FIELD_EXECUTOR, FIELD_TYPE_VARCHAR_255);
-			fieldTypes.put(FIELD_THREAD, FIELD_TYPE_VARCHAR_255);
+		fieldTypes.put(FIELD_EXPERIMENT_ID, FIELD_TYPE_VARCHAR_255);
+		fieldTypes.put(FIELD_EXECUTOR, FIELD_TYPE_VARCHAR_255);
+		fieldTypes.put(FIELD_THREAD, FIELD_TYPE_VARCHAR_255);
 
-			this.adapter.createTable(this.tableName + suffix, FIELD_PRIMARY_KEY, fieldNames, fieldTypes, null);
-		}
+		this.resultStore.createTableIfNecessary(this.tableName + suffix, fieldNames, fieldTypes);
 	}
 
-	private void insertEntry(final String suffix, final Map<String, Object> map) throws SQLException {
+	private void insertEntry(final String suffix, final Map<String, Object> map) {
 		map.put(FIELD_EXPERIMENT_ID, this.experimentId);
 		map.put(FIELD_EXECUTOR, this.executor);
 		map.put(FIELD_THREAD, Thread.currentThread().getName());
-		new KVStore(map);
-		this.adapter.insert(this.tableName + suffix, map);
+		this.writer.insert(this.tableName + suffix, map);
+	}
+
+	@Override
+	public void close() {
+		this.writer.close();
+		this.resultStore.close();
 	}
 
 }
@@ -14,9 +14,14 @@ public class RegressorEvaluatedEvent extends AbstractEvent {
 	private String exception = null;
 	private List<Long> runtimes;
 	private String generation;
+	private boolean cached;
 
+	/**
+	 * @param cached
+	 *            Whether the performance or the exception has been taken from the regressor score cache instead of evaluating the regressor again.
+	 */
 	public RegressorEvaluatedEvent(final String regressorConstructionString, final String featureExtractorConstructionString, final String datasetName, final double performance,
-			final String exception, final List<Long> runtimes, final String generation) {
+			final String exception, final List<Long> runtimes, final String generation, final boolean cached) {
 		super();
 		this.regressorConstructionString = regressorConstructionString;
 		this.featureExtractorConstructionString = featureExtractorConstructionString;
@@ -25,16 +30,17 @@ public class RegressorEvaluatedEvent extends AbstractEvent {
 		this.exception = exception;
 		this.runtimes = runtimes;
 		this.generation = generation;
+		this.cached = cached;
 	}
 
 	public RegressorEvaluatedEvent(final String regressorConstructionString, final String featureExtractorConstructionString, final String datasetName, final double score, final List<Long> runtimes,
 			final String generation) {
-		this(regressorConstructionString, featureExtractorConstructionString, datasetName, score, null, runtimes, generation);
+		this(regressorConstructionString, featureExtractorConstructionString, datasetName, score, null, runtimes, generation, false);
 	}
 
 	public RegressorEvaluatedEvent(final String regressorConstructionString, final String featureExtractorConstructionString, final String datasetName, final String exception,
 			final String generation) {
-		this(regressorConstructionString, featureExtractorConstructionString, datasetName, -1, exception, new ArrayList<>(), generation);
+		this(regressorConstructionString, featureExtractorConstructionString, datasetName, -1, exception, new ArrayList<>(), generation, false);
 	}
 
 	public String getRegressorConstructionString() {
@@ -53,6 +59,10 @@ public class RegressorEvaluatedEvent extends AbstractEvent {
 		return this.exception != null;
 	}
 
+	public boolean isCached() {
+		return this.cached;
+	}
+
 	public String getGeneration() {
 		return this.generation;
 	}
@@ -0,0 +1,35 @@
+package autocoevorul.event;
+
+public class RegressorScoreCacheStatisticsEvent extends AbstractEvent {
+
+	private int hits;
+	private int misses;
+	private int size;
+
+	public RegressorScoreCacheStatisticsEvent(final int hits, final int misses, final int size) {
+		super();
+		this.hits = hits;
+		this.misses = misses;
+		this.size = size;
+	}
+
+	public int getHits() {
+		return this.hits;
+	}
+
+	public int getMisses() {
+		return this.misses;
+	}
+
+	public int getSize() {
+		return this.size;
+	}
+
+	public double getHitRate() {
+		if (this.hits + this.misses == 0) {
+			return 0;
+		}
+		return (double) this.hits / (this.hits + this.misses);
+	}
+
+}
@@ -6,6 +6,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import org.aeonbits.owner.ConfigCache;
@@ -22,8 +23,14 @@ import ai.libs.jaicore.ml.core.dataset.serialization.ArffDatasetAdapter;
 import ai.libs.jaicore.ml.hpo.ggp.IGrammarBasedGeneticProgrammingConfig;
 import ai.libs.jaicore.ml.regression.loss.ERulPerformanceMeasure;
 import ai.libs.jaicore.ml.scikitwrapper.IScikitLearnWrapperConfig;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.regression.RegressorScoreCache;
 import autocoevorul.regression.featurerating.EFeatureRater;
 import autocoevorul.regression.featurerating.IFeatureRater;
+import autocoevorul.util.EInterchangeFormat;
+import autocoevorul.util.FoldDataStore;
+import autocoevorul.util.PythonWorkerPool;
 
 public class ExperimentConfiguration {
 
@@ -38,6 +45,7 @@ public class ExperimentConfiguration {
 	private String evaluationDataPath;
 	private ILabeledDataset<ILabeledInstance> trainingData;
 	private ILabeledDataset<ILabeledInstance> evaluationData;
+	private TimeSeriesDataset trainingTimeSeries;
 
 	private long seed;
 	private int numberOfFolds;
@@ -53,6 +61,8 @@ public class ExperimentConfiguration {
 	private Timeout featureGenerationTimeout;
 	private Timeout featureCandidateTimeout;
 	private IFeatureRater featureObjectiveMeasure;
+	private String featureCacheFolder;
+	private long featureCacheMaxSize;
 
 	private String regressionSearchpace;
 	private String regressionRequiredInterface;
@@ -62,11 +72,45 @@ public class ExperimentConfiguration {
 	private String rulSearchSpace;
 	private String rulRulRootComponentName;
 	private Timeout rulTimeout;
+	private boolean rulLowDiscrepancySampling;
 
 	private long deadline;
 
 	private ERulPerformanceMeasure performanceMeasure;
 
+	private boolean pythonWorkerPoolEnabled;
+	private String pythonWorkerCommand;
+	private String pythonWorkerScriptPath;
+	private EInterchangeFormat pythonInterchangeFormat;
+	private PythonWorkerPool pythonWorkerPool;
+
+	private String foldDataFolder;
+	private FoldDataStore foldDataStore;
+
+	private int databaseBatchSize;
+	private Timeout databaseFlushInterval;
+
+	private String metricsFolder;
+	private Timeout metricsExportInterval;
+	private MetricsRegistry metricsRegistry;
+
+	private boolean regressorScoreCacheEnabled;
+	private RegressorScoreCache regressorScoreCache;
+
+	private boolean pipelinedCoevolutionEnabled;
+	private Semaphore cpuBudget;
+
+	private boolean successiveHalvingEnabled;
+	private int successiveHalvingEta;
+	private double successiveHalvingMinInstanceFraction;
+	private String successiveHalvingScreeningRegressor;
+	private String successiveHalvingScreeningRegressorImports;
+
+	private boolean surrogateEnabled;
+	private int surrogateWarmUp;
+	private double surrogateMaxSkipFraction;
+
+	private String temporaryFolder;
 	private IScikitLearnWrapperConfig scikitLearnWrapperConfig;
 
 	private ExperimentConfiguration(final String experimentConfigFilePath, final ICoevolutionConfig experimentSetConfig) {
@@ -96,16 +140,42 @@ public class ExperimentConfiguration {
 		} catch (Exception e) {
 			LOGGER.warn("Could not read feature objective measure from config file.");
 		}
+		this.featureCacheFolder = experimentSetConfig.getFeatureCacheFolder();
+		this.featureCacheMaxSize = experimentSetConfig.getFeatureCacheMaxSize();
 
 		this.regressionSearchpace = experimentSetConfig.getRegressionSearchpace();
 		this.regressionRequiredInterface = experimentSetConfig.getRegressionRequiredInterface();
 		this.regressionCandidateTimeout = experimentSetConfig.getRegressionCandidateTimeout();
+		this.regressorScoreCacheEnabled = experimentSetConfig.isRegressorScoreCacheEnabled();
 
 		this.rulSearchSpace = experimentSetConfig.getRulSearchSpace();
 		this.rulRulRootComponentName = experimentSetConfig.getRulRulRootComponentName();
+		this.rulLowDiscrepancySampling = experimentSetConfig.isRulLowDiscrepancySampling();
 
 		this.performanceMeasure = experimentSetConfig.getPerformanceMeasure();
 
+		this.pythonWorkerPoolEnabled = experimentSetConfig.isPythonWorkerPoolEnabled();
+		this.pythonWorkerCommand = experimentSetConfig.getPythonWorkerCommand();
+		this.pythonWorkerScriptPath = experimentSetConfig.getPythonWorkerScriptPath();
+		this.pythonInterchangeFormat = experimentSetConfig.getPythonInterchangeFormat();
+		this.foldDataFolder = experimentSetConfig.getFoldDataFolder();
+		this.databaseBatchSize = experimentSetConfig.getDatabaseBatchSize();
+		this.databaseFlushInterval = experimentSetConfig.getDatabaseFlushInterval();
+		this.metricsFolder = experimentSetConfig.getMetricsFolder();
+		this.metricsExportInterval = experimentSetConfig.getMetricsExportInterval();
+
+		this.pipelinedCoevolutionEnabled = experimentSetConfig.isPipelinedCoevolutionEnabled();
+
+		this.successiveHalvingEnabled = experimentSetConfig.isSuccessiveHalvingEnabled();
+		this.successiveHalvingEta = experimentSetConfig.getSuccessiveHalvingEta();
+		this.successiveHalvingMinInstanceFraction = experimentSetConfig.getSuccessiveHalvingMinInstanceFraction();
+		this.successiveHalvingScreeningRegressor = experimentSetConfig.getSuccessiveHalvingScreeningRegressor();
+		this.successiveHalvingScreeningRegressorImports = experimentSetConfig.getSuccessiveHalvingScreeningRegressorImports();
+
+		this.surrogateEnabled = experimentSetConfig.isSurrogateEnabled();
+		this.surrogateWarmUp = experimentSetConfig.getSurrogateWarmUp();
+		this.surrogateMaxSkipFraction = experimentSetConfig.getSurrogateMaxSkipFraction();
+
 		this.setup();
 	}
 
@@ -148,8 +218,9 @@ public class ExperimentConfiguration {
 				this.regressionCandidateTimeout.seconds() * this.getRegressionGGPConfig().getPopulationSize() + this.getRegressionGGPConfig().getPopulationSize(), TimeUnit.SECONDS);
 		this.rulTimeout = new Timeout(this.featureCandidateTimeout.milliseconds() + this.regressionCandidateTimeout.milliseconds(), TimeUnit.MILLISECONDS);
 
+		this.temporaryFolder = "tmp/tmp" + this.experimentId + "/";
 		this.scikitLearnWrapperConfig = ConfigCache.getOrCreate(IScikitLearnWrapperConfig.class);
-		this.scikitLearnWrapperConfig.setProperty("sklearn.wrapper.temp.folder", "tmp/tmp" + this.experimentId + "/");
+		this.scikitLearnWrapperConfig.setProperty("sklearn.wrapper.temp.folder", this.temporaryFolder);
 
 		this.deadline = System.currentTimeMillis() + this.totalTimeout.milliseconds();
 	}
@@ -184,6 +255,22 @@ public class ExperimentConfiguration {
 		return this.evaluationData;
 	}
 
+	/**
+	 * @return The training data in the primitive time series representation, whose folds are views instead of copies.
+	 */
+	public synchronized TimeSeriesDataset getTrainingTimeSeries() throws ExperimentEvaluationFailedException {
+		if (this.trainingTimeSeries == null) {
+			long start = System.currentTimeMillis();
+			try {
+				this.trainingTimeSeries = TimeSeriesDataset.readArff(new File(this.trainingDataPath));
+			} catch (Exception e) {
+				throw new ExperimentEvaluationFailedException("Could not read time series dataset: " + this.trainingDataPath, e);
+			}
+			LOGGER.info("Time series data {} read. Time to create dataset object was {}ms", this.trainingDataPath, System.currentTimeMillis() - start);
+		}
+		return this.trainingTimeSeries;
+	}
+
 	public ILabeledDataset<ILabeledInstance> readDataFile(final String filePath) throws ExperimentEvaluationFailedException {
 		long start = System.currentTimeMillis();
 		ILabeledDataset<ILabeledInstance> dataset;
@@ -259,6 +346,18 @@ public class ExperimentConfiguration {
 		return this.featureObjectiveMeasure;
 	}
 
+	public String getFeatureCacheFolder() {
+		return this.featureCacheFolder;
+	}
+
+	public long getFeatureCacheMaxSizeInBytes() {
+		return this.featureCacheMaxSize * 1024 * 1024;
+	}
+
+	public boolean isFeatureCacheEnabled() {
+		return this.featureCacheMaxSize > 0;
+	}
+
 	public String getRegressionSearchpace() {
 		return this.regressionSearchpace;
 	}
@@ -295,14 +394,164 @@ public class ExperimentConfiguration {
 		return this.rulTimeout;
 	}
 
+	public boolean isRulLowDiscrepancySampling() {
+		return this.rulLowDiscrepancySampling;
+	}
+
 	public ERulPerformanceMeasure getPerformanceMeasure() {
 		return this.performanceMeasure;
 	}
 
+	public String getTemporaryFolder() {
+		return this.temporaryFolder;
+	}
+
+	public String getTransformedTrainingDatasetName(final String featureExtractorFingerprint, final int fold) {
+		return featureExtractorFingerprint + "_" + this.datasetName + "_" + this.seed + "_" + fold + "_train";
+	}
+
+	public String getTransformedTestDatasetName(final String featureExtractorFingerprint, final int fold) {
+		return featureExtractorFingerprint + "_" + this.datasetName + "_" + this.seed + "_" + fold + "_test";
+	}
+
 	public IScikitLearnWrapperConfig getScikitLearnWrapperConfig() {
 		return this.scikitLearnWrapperConfig;
 	}
 
+	public boolean isPythonWorkerPoolEnabled() {
+		return this.pythonWorkerPoolEnabled;
+	}
+
+	/**
+	 * @return The pool of Python workers shared by all evaluations of this experiment, or null if the pool is disabled.
+	 */
+	public synchronized PythonWorkerPool getPythonWorkerPool() {
+		if (this.pythonWorkerPoolEnabled && this.pythonWorkerPool == null) {
+			this.pythonWorkerPool = new PythonWorkerPool(this.pythonWorkerCommand, this.pythonWorkerScriptPath, this.temporaryFolder, this.numberOfCPUs, this.getMetricsRegistry());
+		}
+		return this.pythonWorkerPool;
+	}
+
+	/**
+	 * @return The format of the datasets exchanged with Python. The {@link ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper} only supports ARFF, such that other
+	 *         formats are only used together with the Python worker pool.
+	 */
+	public EInterchangeFormat getInterchangeFormat() {
+		return this.pythonWorkerPoolEnabled ? this.pythonInterchangeFormat : EInterchangeFormat.ARFF;
+	}
+
+	public synchronized void closePythonWorkerPool() {
+		if (this.pythonWorkerPool != null) {
+			this.pythonWorkerPool.close();
+			this.pythonWorkerPool = null;
+		}
+	}
+
+	/**
+	 * @return The store of the serialized folds shared by all evaluations of this experiment.
+	 */
+	public synchronized FoldDataStore getFoldDataStore() {
+		if (this.foldDataStore == null) {
+			this.foldDataStore = new FoldDataStore(this.foldDataFolder, this.temporaryFolder, this.getInterchangeFormat(), this.getMetricsRegistry());
+		}
+		return this.foldDataStore;
+	}
+
+	public synchronized void closeFoldDataStore() {
+		if (this.foldDataStore != null) {
+			this.foldDataStore.close();
+			this.foldDataStore = null;
+		}
+	}
+
+	public int getDatabaseBatchSize() {
+		return this.databaseBatchSize;
+	}
+
+	public Timeout getDatabaseFlushInterval() {
+		return this.databaseFlushInterval;
+	}
+
+	/**
+	 * @return The metrics of the stages of this experiment, which are exported to <code>&lt;metricsFolder&gt;/metrics&lt;experimentId&gt;.jsonl</code>.
+	 */
+	public synchronized MetricsRegistry getMetricsRegistry() {
+		if (this.metricsRegistry == null) {
+			this.metricsRegistry = new MetricsRegistry();
+			if (this.metricsFolder != null && !this.metricsFolder.isEmpty()) {
+				this.metricsRegistry.startExport(new File(this.metricsFolder, "metrics" + this.experimentId + ".jsonl"), this.metricsExportInterval);
+			}
+		}
+		return this.metricsRegistry;
+	}
+
+	/**
+	 * Exports the final metrics of this experiment and logs their summary.
+	 */
+	public synchronized void closeMetricsRegistry() {
+		if (this.metricsRegistry != null) {
+			this.metricsRegistry.close();
+			this.metricsRegistry = null;
+		}
+	}
+
+	/**
+	 * @return The cache of regressor scores shared by all regression searches of this experiment, or null if the cache is disabled.
+	 */
+	public synchronized RegressorScoreCache getRegressorScoreCache() {
+		if (this.regressorScoreCacheEnabled && this.regressorScoreCache == null) {
+			this.regressorScoreCache = new RegressorScoreCache(this);
+		}
+		return this.regressorScoreCache;
+	}
+
+	public boolean isPipelinedCoevolutionEnabled() {
+		return this.pipelinedCoevolutionEnabled;
+	}
+
+	/**
+	 * @return One permit per CPU, held by each feature transformation and regressor fold while it runs, such that feature extraction and regression running
+	 *         concurrently in pipelined coevolution do not use more than the configured number of CPUs together.
+	 */
+	public synchronized Semaphore getCpuBudget() {
+		if (this.cpuBudget == null) {
+			this.cpuBudget = new Semaphore(this.numberOfCPUs, true);
+		}
+		return this.cpuBudget;
+	}
+
+	public boolean isSuccessiveHalvingEnabled() {
+		return this.successiveHalvingEnabled;
+	}
+
+	public int getSuccessiveHalvingEta() {
+		return this.successiveHalvingEta;
+	}
+
+	public double getSuccessiveHalvingMinInstanceFraction() {
+		return this.successiveHalvingMinInstanceFraction;
+	}
+
+	public String getSuccessiveHalvingScreeningRegressor() {
+		return this.successiveHalvingScreeningRegressor;
+	}
+
+	public String getSuccessiveHalvingScreeningRegressorImports() {
+		return this.successiveHalvingScreeningRegressorImports;
+	}
+
+	public boolean isSurrogateEnabled() {
+		return this.surrogateEnabled;
+	}
+
+	public int getSurrogateWarmUp() {
+		return this.surrogateWarmUp;
+	}
+
+	public double getSurrogateMaxSkipFraction() {
+		return this.surrogateMaxSkipFraction;
+	}
+
 	@Override
 	public String toString() {
 		StringJoiner sj = new StringJoiner("\n\t");
@@ -322,11 +571,29 @@ public class ExperimentConfiguration {
 		sj.add("featurePythonTemplatePath=" + this.featurePythonTemplatePath);
 		sj.add("featureGenerationTimeout=" + this.featureGenerationTimeout);
 		sj.add("featureCandidateTimeout=" + this.featureCandidateTimeout);
+		sj.add("featureCacheFolder=" + this.featureCacheFolder);
+		sj.add("featureCacheMaxSize=" + this.featureCacheMaxSize);
+		sj.add("pythonWorkerPool=" + this.pythonWorkerPoolEnabled);
+		sj.add("pythonInterchangeFormat=" + this.pythonInterchangeFormat);
+		sj.add("foldDataFolder=" + this.foldDataFolder);
+		sj.add("databaseBatchSize=" + this.databaseBatchSize);
+		sj.add("databaseFlushInterval=" + this.databaseFlushInterval);
+		sj.add("metricsFolder=" + this.metricsFolder);
+		sj.add("metricsExportInterval=" + this.metricsExportInterval);
+		sj.add("pipelinedCoevolution=" + this.pipelinedCoevolutionEnabled);
+		sj.add("successiveHalving=" + this.successiveHalvingEnabled);
+		sj.add("successiveHalvingEta=" + this.successiveHalvingEta);
+		sj.add("successiveHalvingMinInstanceFraction=" + this.successiveHalvingMinInstanceFraction);
+		sj.add("surrogate=" + this.surrogateEnabled);
+		sj.add("surrogateWarmUp=" + this.surrogateWarmUp);
+		sj.add("surrogateMaxSkipFraction=" + this.surrogateMaxSkipFraction);
 		sj.add("regressionSearchpace=" + this.regressionSearchpace);
 		sj.add("regressionRequiredInterface=" + this.regressionRequiredInterface);
 		sj.add("regressionGGPConfig=" + this.getRegressionGGPConfig());
 		sj.add("regressionGenerationTimeout=" + this.regressionGenerationTimeout);
 		sj.add("regressionCandidateTimeout=" + this.regressionCandidateTimeout);
+		sj.add("rulLowDiscrepancySampling=" + this.rulLowDiscrepancySampling);
+		sj.add("regressorScoreCache=" + this.regressorScoreCacheEnabled);
 		sj.add("performanceMeasure=" + this.performanceMeasure);
 		sj.add("featureObjectiveMeasure=" + this.featureObjectiveMeasure);
 		return sj.toString();
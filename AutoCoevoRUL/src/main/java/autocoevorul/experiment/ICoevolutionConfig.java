@@ -10,8 +10,10 @@ import org.api4.java.algorithm.Timeout;
 
 import ai.libs.jaicore.experiments.IExperimentSetConfig;
 import ai.libs.jaicore.ml.regression.loss.ERulPerformanceMeasure;
+import autocoevorul.experiment.store.EResultStore;
 import autocoevorul.regression.featurerating.EFeatureRater;
 import autocoevorul.regression.featurerating.IFeatureRater;
+import autocoevorul.util.EInterchangeFormat;
 
 @Sources({ "file:./conf/experiments/experiments.cnf" })
 public interface ICoevolutionConfig extends IExperimentSetConfig {
@@ -67,6 +69,150 @@ public interface ICoevolutionConfig extends IExperimentSetConfig {
 	@DefaultValue("10")
 	public int getFeaturePopulationSize();
 
+	@Key("featureCacheFolder")
+	@DefaultValue("tmp/featurecache/")
+	public String getFeatureCacheFolder();
+
+	/**
+	 * @return The maximal size of the feature cache in megabytes, e.g. 10240. A value of 0 disables the cache.
+	 */
+	@Key("featureCacheMaxSize")
+	@DefaultValue("0")
+	public long getFeatureCacheMaxSize();
+
+	/**
+	 * @return Whether Python pipelines are executed by a pool of resident Python workers (one per CPU) instead of a new Python process per call.
+	 */
+	@Key("pythonWorkerPool")
+	@DefaultValue("false")
+	public boolean isPythonWorkerPoolEnabled();
+
+	@Key("pythonWorkerCommand")
+	@DefaultValue("python")
+	public String getPythonWorkerCommand();
+
+	@Key("pythonWorkerScriptPath")
+	@DefaultValue("../python_connection/worker.py")
+	public String getPythonWorkerScriptPath();
+
+	/**
+	 * @return The format in which datasets are exchanged with the Python workers. Only applies if the Python worker pool is enabled.
+	 */
+	@Key("pythonInterchangeFormat")
+	@DefaultValue("ARFF")
+	public EInterchangeFormat getPythonInterchangeFormat();
+
+	/**
+	 * @return The folder, ideally on a tmpfs such as /dev/shm, in which the folds are serialized once per experiment. If it is empty, which is the default, or does not
+	 *         exist, the temporary folder of the experiment is used.
+	 */
+	@Key("foldDataFolder")
+	@DefaultValue("")
+	public String getFoldDataFolder();
+
+	/**
+	 * @return The maximal number of rows the results are written to the database with by one insert statement.
+	 */
+	@Key("databaseBatchSize")
+	@DefaultValue("50")
+	public int getDatabaseBatchSize();
+
+	/**
+	 * @return The maximal time a result waits in the queue of the database writer for further results to be written with.
+	 */
+	@Key("databaseFlushInterval")
+	@DefaultValue("2:SECONDS")
+	@ConverterClass(TimeoutConverter.class)
+	public Timeout getDatabaseFlushInterval();
+
+	/**
+	 * @return Whether the results are stored in the MySQL database of the database configuration or in append-only files on the local disk.
+	 */
+	@Key("resultStore")
+	@DefaultValue("MYSQL")
+	public EResultStore getResultStore();
+
+	@Key("resultStoreFolder")
+	@DefaultValue("results/")
+	public String getResultStoreFolder();
+
+	/**
+	 * @return The name of the experiment table if the results are stored locally. Otherwise, the table of the database configuration is used.
+	 */
+	@Key("resultStoreTable")
+	@DefaultValue("coevolution")
+	public String getResultStoreTable();
+
+	/**
+	 * @return The folder to which the metrics of the stages of each experiment are exported as JSON lines, e.g. <code>metrics/</code>. If empty, which is the default,
+	 *         the metrics are only summarized in the log.
+	 */
+	@Key("metricsFolder")
+	@DefaultValue("")
+	public String getMetricsFolder();
+
+	@Key("metricsExportInterval")
+	@DefaultValue("30:SECONDS")
+	@ConverterClass(TimeoutConverter.class)
+	public Timeout getMetricsExportInterval();
+
+	/**
+	 * @return Whether the regression search of a generation already starts once the first feature extractor has been evaluated instead of waiting for all of them.
+	 */
+	@Key("pipelinedCoevolution")
+	@DefaultValue("false")
+	public boolean isPipelinedCoevolutionEnabled();
+
+	/**
+	 * @return Whether feature extractors are screened by successive halving on subsamples of the folds before the promoted ones are evaluated on the full folds.
+	 */
+	@Key("successiveHalving")
+	@DefaultValue("false")
+	public boolean isSuccessiveHalvingEnabled();
+
+	/**
+	 * @return The factor by which the number of feature extractors is reduced and the subsample size is increased from one rung of successive halving to the next.
+	 */
+	@Key("successiveHalvingEta")
+	@DefaultValue("3")
+	public int getSuccessiveHalvingEta();
+
+	/**
+	 * @return The fraction of the instances of each fold used in the first rung of successive halving.
+	 */
+	@Key("successiveHalvingMinInstanceFraction")
+	@DefaultValue("0.2")
+	public double getSuccessiveHalvingMinInstanceFraction();
+
+	@Key("successiveHalvingScreeningRegressor")
+	@DefaultValue("RandomForestRegressor(n_estimators=20)")
+	public String getSuccessiveHalvingScreeningRegressor();
+
+	@Key("successiveHalvingScreeningRegressorImports")
+	@DefaultValue("from sklearn.ensemble import RandomForestRegressor")
+	public String getSuccessiveHalvingScreeningRegressorImports();
+
+	/**
+	 * @return Whether a surrogate model on the genomes is used to skip feature extractors predicted to be dominated or to exceed the candidate timeout.
+	 */
+	@Key("surrogate")
+	@DefaultValue("false")
+	public boolean isSurrogateEnabled();
+
+	/**
+	 * @return The number of feature extractors to evaluate before the surrogate model is used.
+	 */
+	@Key("surrogateWarmUp")
+	@DefaultValue("30")
+	public int getSurrogateWarmUp();
+
+	/**
+	 * @return The maximal fraction of a batch of feature extractors which may be skipped due to the predictions of the surrogate model.
+	 */
+	@Key("surrogateMaxSkipFraction")
+	@DefaultValue("0.5")
+	public double getSurrogateMaxSkipFraction();
+
 	@Key("totalTimeout")
 	@DefaultValue("20:MINUTES")
 	@ConverterClass(TimeoutConverter.class)
@@ -89,6 +235,14 @@ public interface ICoevolutionConfig extends IExperimentSetConfig {
 	@DefaultValue("10")
 	public int getRegressionPopulationSize();
 
+	/**
+	 * @return Whether scores of regressors on the features of a feature extractor are cached across the generations of the regression search and of the coevolution.
+	 *         Disabled by default.
+	 */
+	@Key("regressorScoreCache")
+	@DefaultValue("false")
+	public boolean isRegressorScoreCacheEnabled();
+
 	@Key("regressionCandidateTimeout")
 	@DefaultValue("5:MINUTES")
 	@ConverterClass(TimeoutConverter.class)
@@ -102,6 +256,13 @@ public interface ICoevolutionConfig extends IExperimentSetConfig {
 	@DefaultValue("sklearn.pipeline.make_pipeline")
 	public String getRulRulRootComponentName();
 
+	/**
+	 * @return Whether the random search samples the numeric parameters of the pipelines from a randomly shifted Halton sequence instead of independently.
+	 */
+	@Key("rulLowDiscrepancySampling")
+	@DefaultValue("false")
+	public boolean isRulLowDiscrepancySampling();
+
 	@Key("performanceMeasure")
 	@DefaultValue("ASYMMETRIC_LOSS")
 	@ConverterClass(ERulPerformanceMeasureConverter.class)
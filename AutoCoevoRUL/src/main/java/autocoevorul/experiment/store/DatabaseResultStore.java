@@ -0,0 +1,101 @@
+package autocoevorul.experiment.store;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.api4.java.datastructure.kvstore.IKVStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.basic.kvstore.KVStoreCollection;
+import ai.libs.jaicore.db.IDatabaseAdapter;
+import ai.libs.jaicore.db.IDatabaseConfig;
+import ai.libs.jaicore.db.sql.DatabaseAdapterFactory;
+
+/**
+ * Stores the results in the MySQL database of the given database configuration.
+ */
+public class DatabaseResultStore implements IResultStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseResultStore.class);
+
+	private static final String FIELD_PRIMARY_KEY = "primary";
+	private static final String FIELD_TYPE_INT = "INT";
+
+	private final IDatabaseAdapter adapter;
+	private final String databaseName;
+	private final String tableName;
+
+	public DatabaseResultStore(final IDatabaseConfig dbConfig) {
+		this(DatabaseAdapterFactory.get(dbConfig), dbConfig.getDBDatabaseName(), dbConfig.getDBTableName());
+	}
+
+	public DatabaseResultStore(final IDatabaseAdapter adapter, final String databaseName, final String tableName) {
+		this.adapter = adapter;
+		this.databaseName = databaseName;
+		this.tableName = tableName;
+	}
+
+	@Override
+	public String getTableName() {
+		return this.tableName;
+	}
+
+	@Override
+	public void createTableIfNecessary(final String table, final Collection<String> fieldNames, final Map<String, String> fieldTypes) throws IOException {
+		try {
+			List<IKVStore> resultSet = this.adapter.getResultsOfQuery("SHOW TABLES");
+			boolean tableAlreadyExists = resultSet.stream().anyMatch(kvStore -> kvStore.getAsString("Tables_in_" + this.databaseName).equals(table));
+			if (!tableAlreadyExists) {
+				Map<String, String> fieldTypesWithPrimaryKey = new HashMap<>(fieldTypes);
+				fieldTypesWithPrimaryKey.put(FIELD_PRIMARY_KEY, FIELD_TYPE_INT);
+				this.adapter.createTable(table, FIELD_PRIMARY_KEY, fieldNames, fieldTypesWithPrimaryKey, null);
+			}
+		} catch (SQLException e) {
+			throw new IOException("Could not create table " + table, e);
+		}
+	}
+
+	@Override
+	public void insert(final String table, final Map<String, Object> row) throws IOException {
+		try {
+			this.adapter.insert(table, row);
+		} catch (SQLException e) {
+			throw new IOException("Could not insert row into " + table, e);
+		}
+	}
+
+	@Override
+	public void insertMultiple(final String table, final List<String> keys, final List<List<?>> values) throws IOException {
+		try {
+			this.adapter.insertMultiple(table, keys, values);
+		} catch (SQLException e) {
+			throw new IOException("Could not insert " + values.size() + " rows into " + table, e);
+		}
+	}
+
+	@Override
+	public KVStoreCollection readExperiments(final String table) throws IOException {
+		try {
+			KVStoreCollection experiments = new KVStoreCollection();
+			experiments.addAll(this.adapter.getResultsOfQuery("SELECT * FROM " + table));
+			return experiments;
+		} catch (SQLException e) {
+			throw new IOException("Could not read experiments of " + table, e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			this.adapter.close();
+		} catch (Exception e) {
+			LOGGER.warn("Could not close database connection.", e);
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package autocoevorul.experiment.store;
+
+public enum EResultStore {
+
+	/**
+	 * The experiment table and the event tables are stored in the MySQL database of the database configuration.
+	 */
+	MYSQL,
+
+	/**
+	 * The experiment table and the event tables are stored in append-only files on the local disk, see {@link LocalResultStore}.
+	 */
+	LOCAL;
+
+}
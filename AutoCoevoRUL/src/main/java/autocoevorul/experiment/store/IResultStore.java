@@ -0,0 +1,35 @@
+package autocoevorul.experiment.store;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import ai.libs.jaicore.basic.kvstore.KVStoreCollection;
+
+/**
+ * Stores the results of the experiments, i.e. the experiment table with the key and result fields of the experiment configuration and the tables
+ * <code>_ggp</code>, <code>_pipelines</code>, <code>_features</code>, <code>_best</code> and <code>_cache</code> of the events posted during an experiment.
+ */
+public interface IResultStore extends AutoCloseable {
+
+	/**
+	 * @return The name of the experiment table, which is also the prefix of the names of the event tables.
+	 */
+	public String getTableName();
+
+	public void createTableIfNecessary(String table, Collection<String> fieldNames, Map<String, String> fieldTypes) throws IOException;
+
+	public void insert(String table, Map<String, Object> row) throws IOException;
+
+	public void insertMultiple(String table, List<String> keys, List<List<?>> values) throws IOException;
+
+	/**
+	 * @return One entry per experiment of the given experiment table with its key and result fields.
+	 */
+	public KVStoreCollection readExperiments(String table) throws IOException;
+
+	@Override
+	public void close();
+
+}
@@ -0,0 +1,122 @@
+package autocoevorul.experiment.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.exception.ExceptionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ai.libs.jaicore.experiments.Experiment;
+import ai.libs.jaicore.experiments.ExperimentDBEntry;
+import ai.libs.jaicore.experiments.IExperimentIntermediateResultProcessor;
+import ai.libs.jaicore.experiments.IExperimentSetConfig;
+import ai.libs.jaicore.experiments.IExperimentSetEvaluator;
+import ai.libs.jaicore.experiments.exceptions.ExperimentEvaluationFailedException;
+import ai.libs.jaicore.experiments.exceptions.ExperimentFailurePredictionException;
+
+/**
+ * Conducts the experiments of an experiment set configuration on a {@link LocalResultStore} instead of the experiment table of the MySQL database, so no database
+ * has to be set up. The experiments are the combinations of the values of the key fields in the order of the configuration, numbered from 1. An experiment is
+ * claimed by appending a row with its key fields to the experiment table, such that processes sharing the result store never conduct the same experiment.
+ */
+public class LocalExperimentRunner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalExperimentRunner.class);
+
+	private static final String FIELD_CPUS = "cpus";
+	private static final String FIELD_MEMORY_MAX = "memory_max";
+	private static final String FIELD_HOST = "host";
+	private static final String FIELD_TIME_STARTED = "time_started";
+	private static final String FIELD_TIME_END = "time_end";
+	private static final String FIELD_EXCEPTION = "exception";
+
+	private final IExperimentSetConfig config;
+	private final IExperimentSetEvaluator evaluator;
+	private final LocalResultStore resultStore;
+	private final SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+
+	public LocalExperimentRunner(final IExperimentSetConfig config, final IExperimentSetEvaluator evaluator, final LocalResultStore resultStore) {
+		this.config = config;
+		this.evaluator = evaluator;
+		this.resultStore = resultStore;
+	}
+
+	/**
+	 * @return The values of the key fields of all experiments, the experiment with id <code>i</code> at index <code>i - 1</code>.
+	 */
+	public List<Map<String, String>> getExperiments() {
+		List<Map<String, String>> experiments = new ArrayList<>();
+		experiments.add(new LinkedHashMap<>());
+		for (String keyField : this.config.getKeyFields()) {
+			String fieldName = keyField.split(":")[0].trim();
+			List<Map<String, String>> extendedExperiments = new ArrayList<>();
+			for (Map<String, String> experiment : experiments) {
+				for (String value : this.config.getProperty(fieldName).split(",")) {
+					Map<String, String> extendedExperiment = new LinkedHashMap<>(experiment);
+					extendedExperiment.put(fieldName, value.trim());
+					extendedExperiments.add(extendedExperiment);
+				}
+			}
+			experiments = extendedExperiments;
+		}
+		return experiments;
+	}
+
+	/**
+	 * Conducts the next experiments not yet started by any process, until the given number of experiments has been conducted or all experiments have been started.
+	 */
+	public void sequentiallyConductExperiments(final int maxNumberOfExperiments) throws IOException, InterruptedException {
+		String table = this.resultStore.getTableName();
+		List<Map<String, String>> experiments = this.getExperiments();
+		int numberOfConductedExperiments = 0;
+		for (int i = 0; i < experiments.size() && numberOfConductedExperiments < maxNumberOfExperiments; i++) {
+			int experimentId = i + 1;
+			Map<String, Object> row = new HashMap<>(experiments.get(i));
+			row.put(FIELD_CPUS, this.config.getNumberOfCPUs());
+			row.put(FIELD_MEMORY_MAX, this.config.getMemoryLimitInMB());
+			row.put(FIELD_HOST, InetAddress.getLocalHost().getHostName());
+			row.put(FIELD_TIME_STARTED, this.format.format(new Date()));
+			if (!this.resultStore.insertIfExperimentAbsent(table, experimentId, row)) {
+				continue;
+			}
+
+			LOGGER.info("Conducting experiment {} with {}", experimentId, experiments.get(i));
+			ExperimentDBEntry experimentEntry = new ExperimentDBEntry(experimentId, new Experiment(this.config.getMemoryLimitInMB(), this.config.getNumberOfCPUs(), experiments.get(i)));
+			IExperimentIntermediateResultProcessor processor = results -> this.updateExperiment(table, experimentId, results);
+			Map<String, Object> finalRow = new HashMap<>();
+			try {
+				this.evaluator.evaluate(experimentEntry, processor);
+			} catch (ExperimentEvaluationFailedException | ExperimentFailurePredictionException | RuntimeException e) {
+				LOGGER.error("Experiment {} failed.", experimentId, e);
+				finalRow.put(FIELD_EXCEPTION, ExceptionUtils.getStackTrace(e));
+			}
+			finalRow.put(FIELD_TIME_END, this.format.format(new Date()));
+			this.updateExperiment(table, experimentId, finalRow);
+			numberOfConductedExperiments++;
+		}
+		if (numberOfConductedExperiments == 0) {
+			LOGGER.info("All {} experiments have already been started.", experiments.size());
+		}
+	}
+
+	private void updateExperiment(final String table, final int experimentId, final Map<String, Object> results) {
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put(LocalResultStore.FIELD_EXPERIMENT_ID, experimentId);
+		row.putAll(results);
+		try {
+			this.resultStore.insert(table, row);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+package autocoevorul.experiment.store;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ai.libs.jaicore.basic.kvstore.KVStore;
+import ai.libs.jaicore.basic.kvstore.KVStoreCollection;
+
+/**
+ * Stores the results in append-only files on the local disk, one file <code>&lt;table&gt;.jsonl</code> per table with one JSON object per row. Rows are appended
+ * under an exclusive lock on the file, such that several processes on one node can share the folder.
+ *
+ * The experiment table is written incrementally as well: every row carries the id of its experiment and the rows of an experiment are merged when the
+ * experiments are read, later values overwriting earlier ones.
+ */
+public class LocalResultStore implements IResultStore {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(LocalResultStore.class);
+
+	public static final String FIELD_EXPERIMENT_ID = "experiment_id";
+
+	private static final String FILE_ENDING = ".jsonl";
+
+	private final File folder;
+	private final String tableName;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	public LocalResultStore(final String folder, final String tableName) {
+		this.folder = new File(folder);
+		this.tableName = tableName;
+	}
+
+	@Override
+	public String getTableName() {
+		return this.tableName;
+	}
+
+	/**
+	 * Creates the file of the given table. The field types are not needed, since all values are stored as JSON.
+	 */
+	@Override
+	public void createTableIfNecessary(final String table, final Collection<String> fieldNames, final Map<String, String> fieldTypes) throws IOException {
+		Path file = this.getFile(table);
+		if (!Files.exists(file)) {
+			Files.createDirectories(this.folder.toPath());
+			try {
+				Files.createFile(file);
+			} catch (FileAlreadyExistsException e) {
+				// created by another process in the meantime
+			}
+		}
+	}
+
+	@Override
+	public void insert(final String table, final Map<String, Object> row) throws IOException {
+		this.append(table, Collections.singletonList(row));
+	}
+
+	@Override
+	public void insertMultiple(final String table, final List<String> keys, final List<List<?>> values) throws IOException {
+		List<Map<String, Object>> rows = new ArrayList<>(values.size());
+		for (List<?> rowValues : values) {
+			Map<String, Object> row = new LinkedHashMap<>();
+			for (int i = 0; i < keys.size(); i++) {
+				row.put(keys.get(i), rowValues.get(i));
+			}
+			rows.add(row);
+		}
+		this.append(table, rows);
+	}
+
+	/**
+	 * Appends the given row to the given experiment table, unless the table already contains a row of the same experiment. Checking and appending are done under
+	 * the same lock, such that exactly one of several processes trying to start an experiment succeeds.
+	 *
+	 * @return Whether the row has been appended.
+	 */
+	public synchronized boolean insertIfExperimentAbsent(final String table, final int experimentId, final Map<String, Object> row) throws IOException {
+		Files.createDirectories(this.folder.toPath());
+		try (FileChannel channel = FileChannel.open(this.getFile(table), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = channel.lock()) {
+			boolean experimentExists = this.readRows(table).stream().anyMatch(existingRow -> String.valueOf(experimentId).equals(String.valueOf(existingRow.get(FIELD_EXPERIMENT_ID))));
+			if (experimentExists) {
+				return false;
+			}
+			Map<String, Object> rowWithId = new LinkedHashMap<>();
+			rowWithId.put(FIELD_EXPERIMENT_ID, experimentId);
+			rowWithId.putAll(row);
+			channel.position(channel.size());
+			this.write(channel, Collections.singletonList(rowWithId));
+			return true;
+		}
+	}
+
+	@Override
+	public KVStoreCollection readExperiments(final String table) throws IOException {
+		Map<String, KVStore> experiments = new LinkedHashMap<>();
+		for (Map<String, Object> row : this.readRows(table)) {
+			experiments.computeIfAbsent(String.valueOf(row.get(FIELD_EXPERIMENT_ID)), id -> new KVStore()).putAll(row);
+		}
+		KVStoreCollection collection = new KVStoreCollection();
+		collection.addAll(experiments.values());
+		return collection;
+	}
+
+	/**
+	 * @return The rows of the given table in the order they have been appended.
+	 */
+	public List<Map<String, Object>> readRows(final String table) throws IOException {
+		Path file = this.getFile(table);
+		List<Map<String, Object>> rows = new ArrayList<>();
+		if (!Files.exists(file)) {
+			return rows;
+		}
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+			if (line.isEmpty()) {
+				continue;
+			}
+			try {
+				rows.add(this.objectMapper.readValue(line, new TypeReference<LinkedHashMap<String, Object>>() {
+				}));
+			} catch (JsonProcessingException e) {
+				// a row of a process which has been killed while writing
+				LOGGER.warn("Skipping corrupt row of table {}: {}", table, line);
+			}
+		}
+		return rows;
+	}
+
+	private synchronized void append(final String table, final List<Map<String, Object>> rows) throws IOException {
+		Files.createDirectories(this.folder.toPath());
+		try (FileChannel channel = FileChannel.open(this.getFile(table), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND); FileLock lock = channel.lock()) {
+			this.write(channel, rows);
+		}
+	}
+
+	private void write(final FileChannel channel, final List<Map<String, Object>> rows) throws IOException {
+		StringBuilder lines = new StringBuilder();
+		for (Map<String, Object> row : rows) {
+			lines.append(this.objectMapper.writeValueAsString(row)).append('\n');
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+
+	private Path getFile(final String table) {
+		return new File(this.folder, table + FILE_ENDING).toPath();
+	}
+
+	/**
+	 * Nothing to close, since the files are only opened while rows are appended.
+	 */
+	@Override
+	public void close() {
+		// nothing to do
+	}
+
+}
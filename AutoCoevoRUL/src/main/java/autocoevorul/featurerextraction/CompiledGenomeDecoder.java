@@ -0,0 +1,272 @@
+package autocoevorul.featurerextraction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.BinaryIntegerVariable;
+
+import ai.libs.jaicore.components.api.IComponent;
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IParameter;
+import ai.libs.jaicore.components.api.IRequiredInterfaceDefinition;
+import ai.libs.jaicore.components.model.CategoricalParameterDomain;
+import ai.libs.jaicore.components.model.ComponentInstance;
+
+/**
+ * Decodes the flat numeric genome of a solution into component instances. Everything which does not depend on the genome is resolved once when the decoder is
+ * created: the component of each entry, the positions and interpretations of its parameters, and the entries providing or requiring each of its interfaces.
+ * Within one decoding, each component is decoded at most once and the instance is shared by all components requiring it.
+ */
+class CompiledGenomeDecoder {
+
+	private static final CompiledEntry[] NO_ENTRIES = new CompiledEntry[0];
+
+	private final CompiledEntry[] entries;
+	private final CompiledEntry[] mainEntries;
+
+	/**
+	 * @param components
+	 *            All components, the component at index <code>i</code> being represented by the genome component entry at index <code>i</code>.
+	 */
+	CompiledGenomeDecoder(final List<IComponent> components, final List<GenomeComponentEntry> componentEntries, final Collection<IComponent> rootComponents,
+			final List<GenomeComponentEntry> mainComponentEntries, final Map<String, List<GenomeComponentEntry>> requiredInterfaceToListOfComponentEntryMap,
+			final Map<String, List<GenomeComponentEntry>> providedInterfaceToListOfComponentEntryMap, final List<Variable> variableTypes) {
+		Map<GenomeComponentEntry, CompiledEntry> compiledEntries = new IdentityHashMap<>();
+		this.entries = new CompiledEntry[components.size()];
+		for (int i = 0; i < this.entries.length; i++) {
+			this.entries[i] = new CompiledEntry(i, components.get(i), componentEntries.get(i), rootComponents.contains(components.get(i)), variableTypes);
+			compiledEntries.put(componentEntries.get(i), this.entries[i]);
+		}
+		for (CompiledEntry entry : this.entries) {
+			entry.link(compiledEntries, requiredInterfaceToListOfComponentEntryMap, providedInterfaceToListOfComponentEntryMap);
+		}
+		this.mainEntries = mainComponentEntries.stream().map(compiledEntries::get).toArray(CompiledEntry[]::new);
+	}
+
+	/**
+	 * @return The instances of the activated main components, each completed by the components up to a root component.
+	 */
+	List<IComponentInstance> decode(final double[] genome) {
+		Decoding decoding = new Decoding(genome);
+		List<IComponentInstance> componentInstances = new ArrayList<>();
+		for (CompiledEntry mainEntry : this.mainEntries) {
+			IComponentInstance mainComponentInstance = decoding.decodeMainComponent(mainEntry);
+			CompiledEntry entry = mainEntry;
+			while (mainComponentInstance != null && !entry.root) {
+				for (int i = 0; i < entry.providedInterfaces.length; i++) {
+					for (CompiledEntry parentEntry : entry.parentEntries[i]) {
+						mainComponentInstance = decoding.decodeParentComponent(parentEntry, entry.providedInterfaces[i], mainComponentInstance);
+						entry = parentEntry;
+					}
+				}
+			}
+			if (mainComponentInstance != null) {
+				componentInstances.add(mainComponentInstance);
+			}
+		}
+		return componentInstances;
+	}
+
+	/**
+	 * The decoding of a single genome, memorizing the components decoded so far.
+	 */
+	private class Decoding {
+
+		private final double[] genome;
+		private final IComponentInstance[] decodedComponents = new IComponentInstance[CompiledGenomeDecoder.this.entries.length];
+		private final boolean[] isDecoded = new boolean[CompiledGenomeDecoder.this.entries.length];
+
+		private Decoding(final double[] genome) {
+			this.genome = genome;
+		}
+
+		private IComponentInstance decodeMainComponent(final CompiledEntry entry) {
+			if (entry.isActivated(this.genome)) {
+				ComponentInstance componentInstance = new ComponentInstance(entry.component, entry.decodeParameterValues(this.genome), new HashMap<>());
+				if (entry.isCompletelyDefined(componentInstance)) {
+					return componentInstance;
+				}
+			}
+			return null;
+		}
+
+		private IComponentInstance decodeParentComponent(final CompiledEntry entry, final String fixedRequiredInterface, final IComponentInstance childComponentInstance) {
+			Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+			for (int i = 0; i < entry.requiredInterfaceIds.length; i++) {
+				List<IComponentInstance> providers = satisfactionOfRequiredInterfaces.computeIfAbsent(entry.requiredInterfaceIds[i], id -> new ArrayList<>());
+				if (entry.requiredInterfaceNames[i].equals(fixedRequiredInterface)) {
+					providers.add(childComponentInstance);
+				} else {
+					this.addProviders(entry.providerEntries[i], providers);
+				}
+			}
+
+			ComponentInstance componentInstance = new ComponentInstance(entry.component, entry.decodeParameterValues(this.genome), satisfactionOfRequiredInterfaces);
+			if (entry.isCompletelyDefined(componentInstance)) {
+				return componentInstance;
+			}
+			return null;
+		}
+
+		private IComponentInstance decodeComponent(final CompiledEntry entry) {
+			if (!this.isDecoded[entry.id]) {
+				this.isDecoded[entry.id] = true;
+				this.decodedComponents[entry.id] = this.decodeComponentUncached(entry);
+			}
+			return this.decodedComponents[entry.id];
+		}
+
+		private IComponentInstance decodeComponentUncached(final CompiledEntry entry) {
+			if (entry.isActivated(this.genome) && !entry.root) {
+				Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+				for (int i = 0; i < entry.requiredInterfaceIds.length; i++) {
+					this.addProviders(entry.providerEntries[i], satisfactionOfRequiredInterfaces.computeIfAbsent(entry.requiredInterfaceIds[i], id -> new ArrayList<>()));
+				}
+
+				ComponentInstance componentInstance = new ComponentInstance(entry.component, entry.decodeParameterValues(this.genome), satisfactionOfRequiredInterfaces);
+				if (entry.isCompletelyDefined(componentInstance)) {
+					return componentInstance;
+				}
+			}
+			return null;
+		}
+
+		private void addProviders(final CompiledEntry[] providerEntries, final List<IComponentInstance> providers) {
+			for (CompiledEntry providerEntry : providerEntries) {
+				IComponentInstance provider = this.decodeComponent(providerEntry);
+				if (provider != null) {
+					providers.add(provider);
+				}
+			}
+		}
+	}
+
+	/**
+	 * A genome component entry with its component, its parameters and the entries it is linked with by its interfaces.
+	 */
+	private static class CompiledEntry {
+
+		private final int id;
+		private final IComponent component;
+		private final boolean root;
+		private final int activationIndex;
+		private final int numberOfParameters;
+		private final Map<String, String> singleValueParameters;
+
+		private final int[] parameterIndices;
+		private final String[] parameterNames;
+		/** The values of categorical parameters, <code>null</code> for numeric parameters. */
+		private final String[][] categoricalValues;
+		private final boolean[] isIntegerVariable;
+		/** For entries without activation bit, whether the value of a categorical parameter at a position in the genome activates the component. */
+		private final boolean[][] isActivatingValue;
+
+		private String[] requiredInterfaceIds;
+		private String[] requiredInterfaceNames;
+		private CompiledEntry[][] providerEntries;
+		private String[] providedInterfaces;
+		private CompiledEntry[][] parentEntries;
+
+		private CompiledEntry(final int id, final IComponent component, final GenomeComponentEntry componentEntry, final boolean root, final List<Variable> variableTypes) {
+			this.id = id;
+			this.component = component;
+			this.root = root;
+			this.activationIndex = componentEntry.getActivationIndex();
+			this.numberOfParameters = component.getParameters().size();
+			this.singleValueParameters = componentEntry.getSingleValueCategoricalParametersMap();
+
+			this.parameterIndices = componentEntry.getParameterIndices().stream().mapToInt(Integer::intValue).toArray();
+			this.parameterNames = new String[this.parameterIndices.length];
+			this.categoricalValues = new String[this.parameterIndices.length][];
+			this.isIntegerVariable = new boolean[this.parameterIndices.length];
+			this.isActivatingValue = new boolean[this.parameterIndices.length][];
+			for (int i = 0; i < this.parameterIndices.length; i++) {
+				IParameter parameter = componentEntry.getParameter(this.parameterIndices[i]);
+				this.parameterNames[i] = parameter.getName();
+				this.isIntegerVariable[i] = variableTypes.get(this.parameterIndices[i]) instanceof BinaryIntegerVariable;
+				if (this.isIntegerVariable[i] && parameter.isCategorical()) {
+					this.categoricalValues[i] = ((CategoricalParameterDomain) parameter.getDefaultDomain()).getValues();
+					this.isActivatingValue[i] = new boolean[this.categoricalValues[i].length];
+					for (int value = 0; value < this.categoricalValues[i].length; value++) {
+						this.isActivatingValue[i][value] = this.categoricalValues[i][value].toLowerCase().equals("true");
+					}
+				}
+			}
+		}
+
+		private void link(final Map<GenomeComponentEntry, CompiledEntry> compiledEntries, final Map<String, List<GenomeComponentEntry>> requiredInterfaceToListOfComponentEntryMap,
+				final Map<String, List<GenomeComponentEntry>> providedInterfaceToListOfComponentEntryMap) {
+			List<IRequiredInterfaceDefinition> requiredInterfaces = new ArrayList<>(this.component.getRequiredInterfaces());
+			this.requiredInterfaceIds = new String[requiredInterfaces.size()];
+			this.requiredInterfaceNames = new String[requiredInterfaces.size()];
+			this.providerEntries = new CompiledEntry[requiredInterfaces.size()][];
+			for (int i = 0; i < requiredInterfaces.size(); i++) {
+				this.requiredInterfaceIds[i] = requiredInterfaces.get(i).getId();
+				this.requiredInterfaceNames[i] = requiredInterfaces.get(i).getName();
+				this.providerEntries[i] = compile(providedInterfaceToListOfComponentEntryMap.get(this.requiredInterfaceNames[i]), compiledEntries);
+			}
+
+			this.providedInterfaces = this.component.getProvidedInterfaces().toArray(new String[0]);
+			this.parentEntries = new CompiledEntry[this.providedInterfaces.length][];
+			for (int i = 0; i < this.providedInterfaces.length; i++) {
+				this.parentEntries[i] = compile(requiredInterfaceToListOfComponentEntryMap.get(this.providedInterfaces[i]), compiledEntries);
+			}
+		}
+
+		private static CompiledEntry[] compile(final List<GenomeComponentEntry> componentEntries, final Map<GenomeComponentEntry, CompiledEntry> compiledEntries) {
+			if (componentEntries == null) {
+				return NO_ENTRIES;
+			}
+			return componentEntries.stream().map(compiledEntries::get).toArray(CompiledEntry[]::new);
+		}
+
+		private boolean isActivated(final double[] genome) {
+			if (this.activationIndex >= 0) {
+				return genome[this.activationIndex] == 1;
+			}
+			for (int i = 0; i < this.parameterIndices.length; i++) {
+				if (this.isActivatingValue[i] != null && this.isActivatingValue[i][(int) genome[this.parameterIndices[i]]]) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private Map<String, String> decodeParameterValues(final double[] genome) {
+			// created and filled like before, such that the parameters and thereby the construction instructions keep their order
+			Map<String, String> parameterValues = new HashMap<>();
+			parameterValues.putAll(this.singleValueParameters);
+			for (int i = 0; i < this.parameterIndices.length; i++) {
+				double value = genome[this.parameterIndices[i]];
+				if (this.categoricalValues[i] != null) {
+					parameterValues.put(this.parameterNames[i], this.categoricalValues[i][(int) value]);
+				} else if (this.isIntegerVariable[i]) {
+					parameterValues.put(this.parameterNames[i], Integer.toString((int) value));
+				} else {
+					parameterValues.put(this.parameterNames[i], Double.toString(value));
+				}
+			}
+			return parameterValues;
+		}
+
+		private boolean isCompletelyDefined(final IComponentInstance componentInstance) {
+			if (componentInstance.getParameterValues().size() != this.numberOfParameters) {
+				return false;
+			}
+			for (String requiredInterfaceId : this.requiredInterfaceIds) {
+				List<IComponentInstance> providers = componentInstance.getSatisfactionOfRequiredInterfaces().getOrDefault(requiredInterfaceId, Collections.emptyList());
+				if (providers.isEmpty()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+}
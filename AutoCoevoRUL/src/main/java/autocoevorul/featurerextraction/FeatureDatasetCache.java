@@ -0,0 +1,150 @@
+package autocoevorul.featurerextraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+import com.google.common.hash.Hashing;
+
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.metrics.Counter;
+
+/**
+ * Disk-backed cache for the datasets transformed by a feature extractor. The transformed training and test datasets of all folds are stored under the fingerprint of
+ * the {@link SolutionDecoding} in a folder specific to the underlying training data, such that identical feature extractors of later generations or later runs on
+ * the same dataset do not need to be executed again. The size of the cache is bounded by evicting the least recently used entries.
+ * Hits and misses are counted by the metrics of the experiment.
+ */
+public class FeatureDatasetCache {
+
+	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(FeatureDatasetCache.class);
+
+	private final ExperimentConfiguration experimentConfiguration;
+	private final File cacheFolder;
+	private final long maxSizeInBytes;
+
+	private final Counter hits;
+	private final Counter misses;
+
+	public FeatureDatasetCache(final ExperimentConfiguration experimentConfiguration) throws IOException {
+		this.experimentConfiguration = experimentConfiguration;
+		this.cacheFolder = new File(experimentConfiguration.getFeatureCacheFolder(), this.getDatasetVersion());
+		this.maxSizeInBytes = experimentConfiguration.getFeatureCacheMaxSizeInBytes();
+		this.hits = experimentConfiguration.getMetricsRegistry().counter("feature.cache.hits");
+		this.misses = experimentConfiguration.getMetricsRegistry().counter("feature.cache.misses");
+	}
+
+	/**
+	 * The cache folder is versioned by the path, size and modification time of the training data, such that a changed dataset never reuses outdated features.
+	 */
+	private String getDatasetVersion() throws IOException {
+		File trainingData = new File(this.experimentConfiguration.getTrainingDataPath());
+		if (!trainingData.exists()) {
+			throw new IOException("Cannot version feature cache as training data " + trainingData.getPath() + " does not exist.");
+		}
+		String version = trainingData.getCanonicalPath() + "_" + trainingData.length() + "_" + trainingData.lastModified();
+		return this.experimentConfiguration.getDatasetName() + "_" + Hashing.sha256().hashString(version, StandardCharsets.UTF_8).toString().substring(0, 16);
+	}
+
+	/**
+	 * Copies the cached transformed datasets of the given solution decoding to the temporary folder of the experiment.
+	 *
+	 * @param solutionDecoding
+	 *            The solution decoding whose transformed datasets are requested.
+	 * @return True, if the transformed datasets of all folds were found in the cache and restored.
+	 */
+	public boolean restore(final SolutionDecoding solutionDecoding) {
+		List<String> fileNames = this.getFileNames(solutionDecoding);
+		for (String fileName : fileNames) {
+			if (!new File(this.cacheFolder, fileName).exists()) {
+				this.misses.increment();
+				return false;
+			}
+		}
+		try {
+			Files.createDirectories(Paths.get(this.experimentConfiguration.getTemporaryFolder()));
+			FileTime now = FileTime.fromMillis(System.currentTimeMillis());
+			for (String fileName : fileNames) {
+				Path cachedFile = new File(this.cacheFolder, fileName).toPath();
+				Files.copy(cachedFile, Paths.get(this.experimentConfiguration.getTemporaryFolder(), fileName), StandardCopyOption.REPLACE_EXISTING);
+				Files.setLastModifiedTime(cachedFile, now);
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Could not restore transformed datasets of {} from feature cache.", solutionDecoding.getFingerprint(), e);
+			this.misses.increment();
+			return false;
+		}
+		this.hits.increment();
+		LOGGER.info("Restored transformed datasets of {} from feature cache (hits: {}, misses: {}).", solutionDecoding.getFingerprint(), this.hits.getCount(), this.misses.getCount());
+		return true;
+	}
+
+	/**
+	 * Copies the transformed datasets of the given solution decoding from the temporary folder of the experiment into the cache and evicts the least recently used
+	 * entries if the cache exceeds its maximal size afterwards.
+	 *
+	 * @param solutionDecoding
+	 *            The solution decoding whose transformed datasets have been written to the temporary folder.
+	 */
+	public void store(final SolutionDecoding solutionDecoding) {
+		try {
+			Files.createDirectories(this.cacheFolder.toPath());
+			for (String fileName : this.getFileNames(solutionDecoding)) {
+				Path transformedFile = Paths.get(this.experimentConfiguration.getTemporaryFolder(), fileName);
+				if (!transformedFile.toFile().exists()) {
+					LOGGER.warn("Transformed dataset {} does not exist and cannot be cached.", transformedFile);
+					return;
+				}
+				// copy to a temporary file first such that concurrent experiments never read partially written files
+				Path partialFile = Files.createTempFile(this.cacheFolder.toPath(), fileName, ".part");
+				Files.copy(transformedFile, partialFile, StandardCopyOption.REPLACE_EXISTING);
+				Files.move(partialFile, new File(this.cacheFolder, fileName).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			this.evictLeastRecentlyUsed();
+		} catch (IOException e) {
+			LOGGER.warn("Could not store transformed datasets of {} in feature cache.", solutionDecoding.getFingerprint(), e);
+		}
+	}
+
+	private synchronized void evictLeastRecentlyUsed() throws IOException {
+		File featureCacheFolder = new File(this.experimentConfiguration.getFeatureCacheFolder());
+		List<File> cachedFiles;
+		try (Stream<Path> paths = Files.walk(featureCacheFolder.toPath())) {
+			cachedFiles = paths.map(Path::toFile).filter(f -> f.isFile() && !f.getName().endsWith(".part")).sorted(Comparator.comparingLong(File::lastModified))
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		long size = cachedFiles.stream().mapToLong(File::length).sum();
+		for (File cachedFile : cachedFiles) {
+			if (size <= this.maxSizeInBytes) {
+				break;
+			}
+			long length = cachedFile.length();
+			if (cachedFile.delete()) {
+				size -= length;
+				LOGGER.debug("Evicted {} from feature cache.", cachedFile.getPath());
+			}
+		}
+	}
+
+	private List<String> getFileNames(final SolutionDecoding solutionDecoding) {
+		List<String> fileNames = new ArrayList<>(this.experimentConfiguration.getNumberOfFolds() * 2);
+		for (int fold = 0; fold < this.experimentConfiguration.getNumberOfFolds(); fold++) {
+			fileNames.add(this.experimentConfiguration.getTransformedTrainingDatasetName(solutionDecoding.getFingerprint(), fold) + this.experimentConfiguration.getInterchangeFormat().getFileEnding());
+			fileNames.add(this.experimentConfiguration.getTransformedTestDatasetName(solutionDecoding.getFingerprint(), fold) + this.experimentConfiguration.getInterchangeFormat().getFileEnding());
+		}
+		return fileNames;
+	}
+
+}
@@ -1,21 +1,38 @@
 package autocoevorul.featurerextraction;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
 import org.api4.java.ai.ml.core.evaluation.IPrediction;
 import org.api4.java.ai.ml.core.evaluation.IPredictionBatch;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.api4.java.algorithm.exceptions.AlgorithmException;
 import org.api4.java.algorithm.exceptions.AlgorithmExecutionCanceledException;
 import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
@@ -30,10 +47,19 @@ import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
 import ai.libs.jaicore.ml.core.EScikitLearnProblemType;
 import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
 import ai.libs.jaicore.timing.TimedComputation;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.event.UpdatingBestPipelineEvent;
 import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.featurerextraction.SuccessiveHalvingScreening.EScreeningOutcome;
+import autocoevorul.featurerextraction.SuccessiveHalvingScreening.IFeatureTransformation;
+import autocoevorul.featurerextraction.SuccessiveHalvingScreening.IScreeningRegressor;
+import autocoevorul.metrics.Timer;
+import autocoevorul.regression.CompletePipelineEvaluator.IFoldRegressor;
 import autocoevorul.regression.RegressionGGPSolution;
 import autocoevorul.regression.RegressionGgpProblem;
+import autocoevorul.regression.featurerating.EFeatureRater;
+import autocoevorul.util.PythonWorkerPool;
 
 public class FeatureExtractionMoeaProblem extends AbstractProblem implements IBatchEvaluationProblem {
 
@@ -45,19 +71,58 @@ public class FeatureExtractionMoeaProblem extends AbstractProblem implements IBa
 	private static final double WORST_OBJECTIVE_INFEASIBLE = 20000.0;
 
 	private final GenomeHandler genomeHandler;
-	private final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet;
+	private final TimeSeriesSplitSet datasetSplitSet;
 	private ExperimentConfiguration experimentConfiguration;
+	private FeatureDatasetCache featureDatasetCache;
+	private SuccessiveHalvingScreening successiveHalvingScreening;
+	private GenomeSurrogate genomeSurrogate;
+	private final Timer generationTimer;
+	private final Timer foldTransformationTimer;
+	private final IFeatureTransformation featureTransformation;
+	private final IFoldRegressor foldRegressor;
 
 	Map<Solution, SolutionDecoding> validSolutionDecodingsMap;
 	private RegressionGGPSolution bestPipeline;
+	private int numberOfSavedEvaluations;
 
 	public FeatureExtractionMoeaProblem(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final GenomeHandler genomeHandler,
-			final IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet) throws DatasetDeserializationFailedException {
+			final TimeSeriesSplitSet datasetSplitSet) throws DatasetDeserializationFailedException {
+		this(eventBus, experimentConfiguration, genomeHandler, datasetSplitSet, null, null, null);
+	}
+
+	/**
+	 * @param featureTransformation
+	 *            The transformation of the folds by a feature extractor, or null to transform them with the Python worker pool or the ScikitLearnWrapper.
+	 * @param screeningRegressor
+	 *            The regressor rating the features in successive halving, or null to use the screening regressor of the configuration.
+	 * @param foldRegressor
+	 *            The regressor fitted on each transformed fold in the regression search, or null to fit the candidates with Python.
+	 */
+	public FeatureExtractionMoeaProblem(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final GenomeHandler genomeHandler,
+			final TimeSeriesSplitSet datasetSplitSet, final IFeatureTransformation featureTransformation, final IScreeningRegressor screeningRegressor,
+			final IFoldRegressor foldRegressor) throws DatasetDeserializationFailedException {
 		super(genomeHandler.getNumberOfVariables(), 2);
 		this.eventBus = eventBus;
 		this.genomeHandler = genomeHandler;
 		this.datasetSplitSet = datasetSplitSet;
 		this.experimentConfiguration = experimentConfiguration;
+		this.featureTransformation = featureTransformation != null ? featureTransformation : this::transformUntimed;
+		this.foldRegressor = foldRegressor;
+		this.generationTimer = experimentConfiguration.getMetricsRegistry().timer("coevolution.generation");
+		this.foldTransformationTimer = experimentConfiguration.getMetricsRegistry().timer("feature.fold.transform");
+		if (experimentConfiguration.isFeatureCacheEnabled()) {
+			try {
+				this.featureDatasetCache = new FeatureDatasetCache(experimentConfiguration);
+			} catch (IOException e) {
+				LOGGER.warn("Could not initialize feature cache, continuing without it.", e);
+			}
+		}
+		if (experimentConfiguration.isSurrogateEnabled()) {
+			this.genomeSurrogate = new GenomeSurrogate(this.getNumberOfObjectives(), experimentConfiguration.getSeed());
+		}
+		if (experimentConfiguration.isSuccessiveHalvingEnabled()) {
+			this.successiveHalvingScreening = new SuccessiveHalvingScreening(experimentConfiguration, datasetSplitSet, this::transform, screeningRegressor);
+		}
 	}
 
 	@Override
@@ -77,104 +142,439 @@ public class FeatureExtractionMoeaProblem extends AbstractProblem implements IBa
 
 	@Override
 	public void evaluate(final Solution solution) {
+		this.evaluateAll(Collections.singletonList(solution));
+	}
+
+	private SolutionDecoding decodeGenome(final Solution solution) {
 		try {
-			SolutionDecoding solutionDecoding = this.genomeHandler.decodeGenome(solution);
-			if (solutionDecoding == null) {
-				this.setWorstObjeciveInfeasible(solution);
-			} else {
-				try {
-					for (int s = 0; s < this.datasetSplitSet.getNumberOfSplits(); s++) {
-						if (Thread.interrupted()) {
-							throw new InterruptedException();
-						}
-						ILabeledDataset<?> trainingData = this.datasetSplitSet.getFolds(s).get(0);
-						ILabeledDataset<?> testingData = this.datasetSplitSet.getFolds(s).get(1);
-
-						ScikitLearnWrapper<IPrediction, IPredictionBatch> sklearnWrapper = new ScikitLearnWrapper<>(solutionDecoding.getConstructionInstruction(), solutionDecoding.getImports(), false,
-								EScikitLearnProblemType.FEATURE_ENGINEERING);
-						sklearnWrapper.setScikitLearnWrapperConfig(this.experimentConfiguration.getScikitLearnWrapperConfig());
-						sklearnWrapper.setPythonTemplate(this.experimentConfiguration.getFeaturePythonTemplatePath());
-						sklearnWrapper.setTimeout(this.experimentConfiguration.getFeatureCandidateTimeoutPerFold());
-						sklearnWrapper.setSeed(this.experimentConfiguration.getSeed());
-
-						TimedComputation.compute(() -> sklearnWrapper.fitAndPredict(trainingData, testingData), this.experimentConfiguration.getFeatureCandidateTimeoutPerFold(),
-								"Feature engineering interrupted for fold " + s);
-					}
-					this.validSolutionDecodingsMap.put(solution, solutionDecoding);
-				} catch (AlgorithmTimeoutedException | InterruptedException e) {
-					this.setWorstObjeciveTimeout(solution);
-				} catch (IOException | ExecutionException e) {
-					this.setWorstObjeciveInfeasible(solution);
-				}
-			}
+			return this.genomeHandler.decodeGenome(solution);
 		} catch (ComponentNotFoundException e) {
 			throw new RuntimeException("Decoding solution was not successful.", e);
 		}
 	}
 
+	private void evaluateFold(final SolutionDecoding solutionDecoding, final int fold) throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		this.transform(solutionDecoding, this.datasetSplitSet.getTrainingData(fold), this.datasetSplitSet.getTestData(fold),
+				this.experimentConfiguration.getTransformedTestDatasetName(solutionDecoding.getFingerprint(), fold));
+	}
+
+	private void transform(final SolutionDecoding solutionDecoding, final TimeSeriesDataset trainingData, final TimeSeriesDataset testingData, final String transformedTestDatasetName)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		try (Timer.Context context = this.foldTransformationTimer.time()) {
+			this.featureTransformation.transform(solutionDecoding, trainingData, testingData, transformedTestDatasetName);
+		}
+	}
+
+	private void transformUntimed(final SolutionDecoding solutionDecoding, final TimeSeriesDataset trainingData, final TimeSeriesDataset testingData, final String transformedTestDatasetName)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		File trainingDataFile = this.experimentConfiguration.getFoldDataStore().getFile(trainingData);
+		File testingDataFile = this.experimentConfiguration.getFoldDataStore().getFile(testingData);
+		PythonWorkerPool pythonWorkerPool = this.experimentConfiguration.getPythonWorkerPool();
+		if (pythonWorkerPool != null) {
+			File outputFile = new File(this.experimentConfiguration.getTemporaryFolder(), transformedTestDatasetName + this.experimentConfiguration.getInterchangeFormat().getFileEnding());
+			pythonWorkerPool.transform(solutionDecoding.getConstructionInstruction(), solutionDecoding.getImports(), trainingDataFile, testingDataFile, outputFile, this.experimentConfiguration.getSeed(), this.experimentConfiguration.getFeatureCandidateTimeoutPerFold());
+			return;
+		}
+
+		ScikitLearnWrapper<IPrediction, IPredictionBatch> sklearnWrapper = new ScikitLearnWrapper<>(solutionDecoding.getConstructionInstruction(), solutionDecoding.getImports(), false,
+				EScikitLearnProblemType.FEATURE_ENGINEERING);
+		sklearnWrapper.setScikitLearnWrapperConfig(this.experimentConfiguration.getScikitLearnWrapperConfig());
+		sklearnWrapper.setPythonTemplate(this.experimentConfiguration.getFeaturePythonTemplatePath());
+		sklearnWrapper.setTimeout(this.experimentConfiguration.getFeatureCandidateTimeoutPerFold());
+		sklearnWrapper.setSeed(this.experimentConfiguration.getSeed());
+
+		TimedComputation.compute(() -> sklearnWrapper.fitAndPredict(trainingData.getRelationName(), testingData.getRelationName()), this.experimentConfiguration.getFeatureCandidateTimeoutPerFold(),
+				"Feature engineering interrupted for " + transformedTestDatasetName);
+		this.renameWrapperOutput(solutionDecoding, trainingData);
+		this.renameWrapperOutput(solutionDecoding, testingData);
+	}
+
+	/**
+	 * Renames the transformation of the given dataset written by the wrapper to the name under which the regressors and the feature cache look it up, as the wrapper
+	 * names its output by its own identifier of the feature extractor instead of the fingerprint.
+	 */
+	private void renameWrapperOutput(final SolutionDecoding solutionDecoding, final TimeSeriesDataset dataset) throws IOException {
+		String fileEnding = this.experimentConfiguration.getInterchangeFormat().getFileEnding();
+		Path wrapperOutput = Paths.get(this.experimentConfiguration.getTemporaryFolder(), solutionDecoding.getScikitLearnWrapperUid() + "_" + dataset.getRelationName() + fileEnding);
+		Path transformedDataset = Paths.get(this.experimentConfiguration.getTemporaryFolder(), solutionDecoding.getFingerprint() + "_" + dataset.getRelationName() + fileEnding);
+		Files.move(wrapperOutput, transformedDataset, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
 	@Override
 	public void evaluateAll(final List<Solution> batch) {
+		long generationStart = System.nanoTime();
 		this.validSolutionDecodingsMap = new ConcurrentHashMap<>(batch.size());
-		ExecutorService pool = Executors.newFixedThreadPool(this.experimentConfiguration.getNumCPUs());
+
+		// Solutions decoding to the same feature extractor only need to be evaluated once, thus group them by the fingerprint of their decoding
+		Map<String, List<Solution>> solutionsByDecoding = new LinkedHashMap<>();
+		Map<Solution, SolutionDecoding> representativeDecodings = new LinkedHashMap<>();
 		for (Solution solution : batch) {
-			pool.submit(new Runnable() {
-				@Override
-				public void run() {
-					try {
-						TimedComputation.compute(() -> {
-							FeatureExtractionMoeaProblem.this.evaluate(solution);
-							return true;
-						}, FeatureExtractionMoeaProblem.this.experimentConfiguration.getFeatureCandidateTimeout(), "Feature engineering interrupted");
-					} catch (AlgorithmTimeoutedException | InterruptedException e) {
-						FeatureExtractionMoeaProblem.this.setWorstObjeciveTimeout(solution);
-					} catch (ExecutionException e) {
-						FeatureExtractionMoeaProblem.this.setWorstObjeciveInfeasible(solution);
-					}
+			SolutionDecoding solutionDecoding = this.decodeGenome(solution);
+			if (solutionDecoding == null) {
+				this.setWorstObjeciveInfeasible(solution);
+				continue;
+			}
+			List<Solution> duplicates = solutionsByDecoding.computeIfAbsent(solutionDecoding.getFingerprint(), k -> new ArrayList<>());
+			if (duplicates.isEmpty()) {
+				representativeDecodings.put(solution, solutionDecoding);
+			}
+			duplicates.add(solution);
+		}
+		int savedEvaluations = solutionsByDecoding.values().stream().mapToInt(duplicates -> duplicates.size() - 1).sum();
+		this.numberOfSavedEvaluations += savedEvaluations;
+		LOGGER.info("Evaluating {} distinct feature extractors for {} solutions, saved {} evaluations in this batch and {} in total.", representativeDecodings.size(), batch.size(),
+				savedEvaluations, this.numberOfSavedEvaluations);
+
+		// Each fold of each feature extractor is evaluated as a task of its own, such that the folds of slow extractors are spread over all cores
+		long deadline = System.currentTimeMillis() + this.experimentConfiguration.getFeatureGenerationTimeout().milliseconds();
+		ExecutorService pool = Executors.newFixedThreadPool(this.experimentConfiguration.getNumCPUs());
+		ScheduledExecutorService candidateTimeouts = Executors.newSingleThreadScheduledExecutor();
+		List<FeatureExtractorEvaluation> evaluations = new ArrayList<>(representativeDecodings.size());
+		for (Entry<Solution, SolutionDecoding> entry : representativeDecodings.entrySet()) {
+			FeatureExtractorEvaluation evaluation = new FeatureExtractorEvaluation(entry.getKey(), entry.getValue(), candidateTimeouts);
+			evaluations.add(evaluation);
+			if (this.featureDatasetCache != null && this.featureDatasetCache.restore(entry.getValue())) {
+				evaluation.restored = true;
+				evaluation.succeed();
+			}
+		}
+		if (this.genomeSurrogate != null && this.genomeSurrogate.getNumberOfObservations() >= this.experimentConfiguration.getSurrogateWarmUp()) {
+			this.preScreen(evaluations);
+		}
+		if (this.successiveHalvingScreening != null) {
+			this.screen(evaluations);
+		}
+		for (FeatureExtractorEvaluation evaluation : evaluations) {
+			if (evaluation.finished.get()) {
+				continue;
+			}
+			for (int fold = 0; fold < this.datasetSplitSet.getNumberOfFolds(); fold++) {
+				int foldToEvaluate = fold;
+				evaluation.addFoldTask(pool.submit(() -> evaluation.evaluateFold(foldToEvaluate)));
+			}
+		}
+		pool.shutdown();
+
+		if (this.experimentConfiguration.isPipelinedCoevolutionEnabled()) {
+			this.evaluateExtractorsPipelined(pool, evaluations, deadline);
+		} else {
+			this.awaitFeatureExtraction(pool, evaluations, deadline);
+
+			List<SolutionDecoding> validSolutionDecodingsList = this.validSolutionDecodingsMap.entrySet().stream().map(e -> e.getValue()).collect(Collectors.toList());
+			LOGGER.info("Valid feature transformer found: {}", validSolutionDecodingsList.size());
+			if (this.validSolutionDecodingsMap.size() > 0) {
+				this.evaluateRegressors(validSolutionDecodingsList, null);
+			}
+		}
+		candidateTimeouts.shutdownNow();
+
+		if (this.genomeSurrogate != null) {
+			this.updateSurrogate(evaluations);
+		}
+
+		// Fan the objectives of each evaluated solution out to its duplicates
+		for (List<Solution> duplicates : solutionsByDecoding.values()) {
+			Solution representative = duplicates.get(0);
+			for (int i = 1; i < duplicates.size(); i++) {
+				duplicates.get(i).setObjectives(representative.getObjectives());
+			}
+		}
+		this.generationTimer.recordSince(generationStart);
+	}
+
+	/**
+	 * Skips the feature extractors which the surrogate predicts to exceed the candidate timeout or to be dominated by the feature extractors evaluated so far, up to
+	 * the configured fraction of the batch. Skipped feature extractors are assigned the predicted objectives, respectively the objectives of a timeout. The
+	 * remaining feature extractors are reordered such that the most promising ones are started first.
+	 */
+	private void preScreen(final List<FeatureExtractorEvaluation> evaluations) {
+		List<FeatureExtractorEvaluation> candidates = evaluations.stream().filter(evaluation -> !evaluation.finished.get()).collect(Collectors.toList());
+		Map<FeatureExtractorEvaluation, double[]> predictedObjectives = new HashMap<>();
+		List<FeatureExtractorEvaluation> predictedTimeouts = new ArrayList<>();
+		List<FeatureExtractorEvaluation> predictedDominated = new ArrayList<>();
+		for (FeatureExtractorEvaluation candidate : candidates) {
+			double[] genome = this.genomeHandler.getNumericGenome(candidate.solution);
+			predictedObjectives.put(candidate, this.genomeSurrogate.predictObjectives(genome));
+			if (this.genomeSurrogate.isPredictedToTimeout(genome, this.experimentConfiguration.getFeatureCandidateTimeout().milliseconds())) {
+				predictedTimeouts.add(candidate);
+			} else if (this.genomeSurrogate.isPredictedToBeDominated(genome)) {
+				predictedDominated.add(candidate);
+			}
+		}
+		predictedDominated.sort(Comparator.comparingDouble((FeatureExtractorEvaluation candidate) -> predictedObjectives.get(candidate)[0]).reversed());
+
+		int maxNumberOfSkips = (int) (candidates.size() * this.experimentConfiguration.getSurrogateMaxSkipFraction());
+		List<FeatureExtractorEvaluation> skipped = new ArrayList<>(predictedTimeouts);
+		skipped.addAll(predictedDominated);
+		skipped = skipped.subList(0, Math.min(maxNumberOfSkips, skipped.size()));
+		for (FeatureExtractorEvaluation evaluation : skipped) {
+			if (predictedTimeouts.contains(evaluation)) {
+				evaluation.estimated = true;
+				evaluation.fail(true);
+			} else {
+				evaluation.skip(predictedObjectives.get(evaluation));
+			}
+		}
+		LOGGER.info("Surrogate skipped {} of {} feature extractors ({} predicted timeouts, {} predicted to be dominated).", skipped.size(), candidates.size(), predictedTimeouts.size(),
+				predictedDominated.size());
+
+		evaluations.sort(Comparator.comparingDouble(
+				(FeatureExtractorEvaluation evaluation) -> predictedObjectives.containsKey(evaluation) ? predictedObjectives.get(evaluation)[0] : Double.NEGATIVE_INFINITY));
+	}
+
+	private void updateSurrogate(final List<FeatureExtractorEvaluation> evaluations) {
+		for (FeatureExtractorEvaluation evaluation : evaluations) {
+			if (evaluation.estimated) {
+				continue;
+			}
+			double[] genome = this.genomeHandler.getNumericGenome(evaluation.solution);
+			if (evaluation.restored) {
+				this.genomeSurrogate.addObservation(genome, evaluation.solution.getObjectives(), Double.NaN);
+			} else if (evaluation.timedOut) {
+				// includes the timeouts in the screening by successive halving, which only got to see a subsample of the data
+				this.genomeSurrogate.addTimeoutObservation(genome, evaluation.solution.getObjectives(), this.experimentConfiguration.getFeatureCandidateTimeout().milliseconds());
+			} else {
+				this.genomeSurrogate.addObservation(genome, evaluation.solution.getObjectives(), evaluation.runtime.get());
+			}
+		}
+		this.genomeSurrogate.fit();
+	}
+
+	/**
+	 * Screens the feature extractors which are not restored from the cache by successive halving. Feature extractors which are not promoted to the full-fidelity
+	 * evaluation are rated like feature extractors which are not used by any regressor.
+	 */
+	private void screen(final List<FeatureExtractorEvaluation> evaluations) {
+		List<SolutionDecoding> solutionDecodingsToScreen = evaluations.stream().filter(evaluation -> !evaluation.finished.get()).map(evaluation -> evaluation.solutionDecoding)
+				.collect(Collectors.toList());
+		Map<SolutionDecoding, EScreeningOutcome> outcomes;
+		try {
+			outcomes = this.successiveHalvingScreening.screen(solutionDecodingsToScreen);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			evaluations.forEach(evaluation -> evaluation.fail(true));
+			return;
+		}
+		for (FeatureExtractorEvaluation evaluation : evaluations) {
+			EScreeningOutcome outcome = outcomes.get(evaluation.solutionDecoding);
+			if (outcome == EScreeningOutcome.DISCARDED) {
+				evaluation.discard();
+			} else if (outcome == EScreeningOutcome.TIMEOUT) {
+				evaluation.fail(true);
+			} else if (outcome == EScreeningOutcome.FAILED) {
+				evaluation.fail(false);
+			}
+		}
+	}
+
+	/**
+	 * Starts the regression search as soon as the first feature extractor has been evaluated successfully, such that cores freed by fast feature extractors are
+	 * already used for regressors while slow feature extractors are still running. As the search space of the regression search has to be fixed in advance, all
+	 * feature extractors under evaluation are part of it, and evaluations of regressors on a feature extractor which is not ready yet wait for it.
+	 */
+	private void evaluateExtractorsPipelined(final ExecutorService pool, final List<FeatureExtractorEvaluation> evaluations, final long deadline) {
+		// enforce the overall timeout of the feature extraction while the regression search is already running
+		CompletableFuture<Void> featureExtraction = CompletableFuture.runAsync(() -> this.awaitFeatureExtraction(pool, evaluations, deadline));
+
+		CompletableFuture<Void> firstFeaturesReady = new CompletableFuture<>();
+		for (FeatureExtractorEvaluation evaluation : evaluations) {
+			evaluation.featuresReady.thenAccept(ready -> {
+				if (ready) {
+					firstFeaturesReady.complete(null);
 				}
 			});
 		}
-		pool.shutdown();
+		CompletableFuture.allOf(evaluations.stream().map(evaluation -> evaluation.featuresReady).toArray(CompletableFuture[]::new)).thenRun(() -> firstFeaturesReady.complete(null));
+
+		try {
+			firstFeaturesReady.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			// the remaining feature extractors are failed by the feature extraction awaiting the overall timeout
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (!Thread.currentThread().isInterrupted() && evaluations.stream().anyMatch(evaluation -> evaluation.featuresReady.getNow(false))) {
+			LOGGER.info("Starting regression search with {} of {} feature extractors ready.", evaluations.stream().filter(evaluation -> evaluation.featuresReady.getNow(false)).count(),
+					evaluations.size());
+			List<SolutionDecoding> solutionDecodings = evaluations.stream().map(evaluation -> evaluation.solutionDecoding).collect(Collectors.toList());
+			List<CompletableFuture<Boolean>> featuresReady = evaluations.stream().map(evaluation -> evaluation.featuresReady).collect(Collectors.toList());
+			this.evaluateRegressors(solutionDecodings, featuresReady);
+		}
+		try {
+			featureExtraction.get();
+		} catch (ExecutionException e) {
+			LOGGER.error("Could not await feature extraction.", e);
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			evaluations.forEach(evaluation -> evaluation.fail(false));
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void awaitFeatureExtraction(final ExecutorService pool, final List<FeatureExtractorEvaluation> evaluations, final long deadline) {
 		try {
-			pool.awaitTermination(this.experimentConfiguration.getFeatureGenerationTimeout().milliseconds(), TimeUnit.MILLISECONDS);
+			if (!pool.awaitTermination(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+				LOGGER.error("Overall execution timeout exceeded for time series transformation. For all remaining solutions the objectives will be set to {}.", WORST_OBJECTIVE_TIMEOUT);
+				pool.shutdownNow();
+				evaluations.forEach(evaluation -> evaluation.fail(true));
+			}
 		} catch (InterruptedException e) {
 			LOGGER.error("Overall execution timeout exceeded for time series transformation. For all remaining solutions the objectives will be set to {}.", WORST_OBJECTIVE_TIMEOUT, e);
-			for (Solution solution : batch) {
-				if (!this.validSolutionDecodingsMap.containsKey(solution)) {
-					this.setWorstObjeciveInfeasible(solution);
+			pool.shutdownNow();
+			evaluations.forEach(evaluation -> evaluation.fail(false));
+		}
+	}
+
+	private void evaluateRegressors(final List<SolutionDecoding> solutionDecodings, final List<CompletableFuture<Boolean>> featuresReady) {
+		// Collect ground truth data
+		List<List<Double>> groundTruthTest = this.datasetSplitSet.getTestGroundTruths();
+
+		try {
+			RegressionGgpProblem runner = new RegressionGgpProblem(this.eventBus, this.experimentConfiguration, solutionDecodings, featuresReady, groundTruthTest, this.foldRegressor);
+			RegressionGGPSolution candidatePipeline = runner.evaluateExtractors();
+
+			if (candidatePipeline != null) {
+				if (this.bestPipeline == null || candidatePipeline.getPerformance() < this.bestPipeline.getPerformance()) {
+					this.bestPipeline = candidatePipeline;
+					LOGGER.info("Updating best solution found: {} {}", this.bestPipeline.getPerformance(), this.bestPipeline.getConstructionInstruction());
+
+					UpdatingBestPipelineEvent updatingBestPipelineEvent = new UpdatingBestPipelineEvent(candidatePipeline.getConstructionInstruction(), candidatePipeline.getPerformance());
+					this.eventBus.post(updatingBestPipelineEvent);
+
 				}
 			}
+		} catch (IOException | AlgorithmTimeoutedException | AlgorithmExecutionCanceledException | AlgorithmException | InterruptedException e) {
+			throw new RuntimeException(e);
 		}
+	}
+
+	/**
+	 * Tracks the evaluation of a feature extractor whose folds are evaluated concurrently. The feature extractor is valid once all folds succeeded, and is marked as
+	 * failed and its remaining folds are cancelled as soon as one fold fails. Besides the timeout of each fold, the feature extractor as a whole is timed out if it
+	 * has not finished within the candidate timeout after its first fold has been started. A fold only starts once it holds a permit of the CPU budget of the
+	 * experiment, which it shares with the regressors evaluated concurrently in pipelined coevolution.
+	 */
+	private class FeatureExtractorEvaluation {
 
-		List<SolutionDecoding> validSolutionDecodingsList = this.validSolutionDecodingsMap.entrySet().stream().map(e -> e.getValue()).collect(Collectors.toList());
-		LOGGER.info("Valid feature transformer found: {}", validSolutionDecodingsList.size());
+		private final Solution solution;
+		private final SolutionDecoding solutionDecoding;
+		private final AtomicInteger remainingFolds;
+		private final AtomicBoolean finished = new AtomicBoolean(false);
+		private final List<Future<?>> foldTasks = new CopyOnWriteArrayList<>();
+		private final CompletableFuture<Boolean> featuresReady = new CompletableFuture<>();
+		private final AtomicLong runtime = new AtomicLong();
+		private final ScheduledExecutorService candidateTimeouts;
+		private final AtomicBoolean started = new AtomicBoolean(false);
+		private volatile boolean restored = false;
+		private volatile boolean timedOut = false;
+		// whether the objectives are estimated instead of observed, such that they must not be learned by the surrogate
+		private volatile boolean estimated = false;
+
+		private FeatureExtractorEvaluation(final Solution solution, final SolutionDecoding solutionDecoding, final ScheduledExecutorService candidateTimeouts) {
+			this.solution = solution;
+			this.solutionDecoding = solutionDecoding;
+			this.candidateTimeouts = candidateTimeouts;
+			this.remainingFolds = new AtomicInteger(FeatureExtractionMoeaProblem.this.datasetSplitSet.getNumberOfFolds());
+		}
 
-		if (this.validSolutionDecodingsMap.size() > 0) {
-			// Collect ground truth data
-			List<List<Double>> groundTruthTest = new ArrayList<>();
-			for (int fold = 0; fold < this.experimentConfiguration.getNumberOfFolds(); fold++) {
-				groundTruthTest.add(this.datasetSplitSet.getFolds(fold).get(1).stream().map(instance -> (Double) instance.getLabel()).collect(Collectors.toList()));
+		private void addFoldTask(final Future<?> foldTask) {
+			this.foldTasks.add(foldTask);
+			if (this.finished.get()) {
+				foldTask.cancel(true);
 			}
+		}
 
+		private void evaluateFold(final int fold) {
+			if (this.finished.get()) {
+				return;
+			}
+			Semaphore cpuBudget = FeatureExtractionMoeaProblem.this.experimentConfiguration.getCpuBudget();
+			try {
+				cpuBudget.acquire();
+			} catch (InterruptedException e) {
+				this.fail(true);
+				return;
+			}
 			try {
-				RegressionGgpProblem runner = new RegressionGgpProblem(this.eventBus, this.experimentConfiguration, validSolutionDecodingsList, groundTruthTest);
-				RegressionGGPSolution candidatePipeline = runner.evaluateExtractors();
+				if (this.finished.get()) {
+					return;
+				}
+				if (this.started.compareAndSet(false, true)) {
+					long candidateTimeout = FeatureExtractionMoeaProblem.this.experimentConfiguration.getFeatureCandidateTimeout().milliseconds();
+					this.candidateTimeouts.schedule(() -> {
+						if (!this.finished.get()) {
+							LOGGER.info("Candidate timeout of {}ms exceeded for feature extractor {}.", candidateTimeout, this.solutionDecoding.getFingerprint());
+							this.fail(true);
+						}
+					}, candidateTimeout, TimeUnit.MILLISECONDS);
+				}
+				long start = System.currentTimeMillis();
+				try {
+					FeatureExtractionMoeaProblem.this.evaluateFold(this.solutionDecoding, fold);
+				} catch (AlgorithmTimeoutedException | InterruptedException e) {
+					this.fail(true);
+					return;
+				} catch (IOException | ExecutionException e) {
+					this.fail(false);
+					return;
+				} finally {
+					this.runtime.addAndGet(System.currentTimeMillis() - start);
+				}
+			} finally {
+				cpuBudget.release();
+			}
+			if (this.remainingFolds.decrementAndGet() == 0 && this.finished.compareAndSet(false, true)) {
+				if (FeatureExtractionMoeaProblem.this.featureDatasetCache != null) {
+					FeatureExtractionMoeaProblem.this.featureDatasetCache.store(this.solutionDecoding);
+				}
+				FeatureExtractionMoeaProblem.this.validSolutionDecodingsMap.put(this.solution, this.solutionDecoding);
+				this.featuresReady.complete(true);
+			}
+		}
+
+		private void succeed() {
+			if (this.finished.compareAndSet(false, true)) {
+				FeatureExtractionMoeaProblem.this.validSolutionDecodingsMap.put(this.solution, this.solutionDecoding);
+				this.featuresReady.complete(true);
+			}
+		}
 
-				if (candidatePipeline != null) {
-					if (this.bestPipeline == null || candidatePipeline.getPerformance() < this.bestPipeline.getPerformance()) {
-						this.bestPipeline = candidatePipeline;
-						LOGGER.info("Updating best solution found: {} {}", this.bestPipeline.getPerformance(), this.bestPipeline.getConstructionInstruction());
+		private void skip(final double[] predictedObjectives) {
+			if (this.finished.compareAndSet(false, true)) {
+				this.estimated = true;
+				this.solution.setObjectives(predictedObjectives);
+				this.featuresReady.complete(false);
+			}
+		}
 
-						UpdatingBestPipelineEvent updatingBestPipelineEvent = new UpdatingBestPipelineEvent(candidatePipeline.getConstructionInstruction(), candidatePipeline.getPerformance());
-						this.eventBus.post(updatingBestPipelineEvent);
+		private void discard() {
+			if (this.finished.compareAndSet(false, true)) {
+				this.estimated = true;
+				this.solutionDecoding.setPerformance(FeatureExtractionMoeaProblem.this.experimentConfiguration.getFeatureObjectiveMeasure().rateFeatureExtractor(Collections.emptyList()),
+						EFeatureRater.NUMBER_OF_USING_REGRESSORS.rateFeatureExtractor(Collections.emptyList()));
+				this.featuresReady.complete(false);
+			}
+		}
 
-					}
+		private void fail(final boolean timeout) {
+			if (this.finished.compareAndSet(false, true)) {
+				this.timedOut = timeout;
+				if (timeout) {
+					FeatureExtractionMoeaProblem.this.setWorstObjeciveTimeout(this.solution);
+				} else {
+					FeatureExtractionMoeaProblem.this.setWorstObjeciveInfeasible(this.solution);
 				}
-			} catch (IOException | AlgorithmTimeoutedException | AlgorithmExecutionCanceledException | AlgorithmException | InterruptedException e) {
-				throw new RuntimeException(e);
+				this.foldTasks.forEach(foldTask -> foldTask.cancel(true));
+				this.featuresReady.complete(false);
 			}
 		}
 	}
 
+	public int getNumberOfSavedEvaluations() {
+		return this.numberOfSavedEvaluations;
+	}
+
 	public RegressionGGPSolution getBestPipeline() {
 		return this.bestPipeline;
 	}
@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,9 +24,8 @@ import ai.libs.jaicore.components.api.IParameter;
 import ai.libs.jaicore.components.api.IRequiredInterfaceDefinition;
 import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
 import ai.libs.jaicore.components.model.CategoricalParameterDomain;
-import ai.libs.jaicore.components.model.ComponentInstance;
-import ai.libs.jaicore.components.model.ComponentUtil;
 import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.metrics.Timer;
 import autocoevorul.util.ComponentCollectionUtil;
 
 public class GenomeHandler {
@@ -42,12 +40,16 @@ public class GenomeHandler {
 	private Map<Integer, GenomeComponentEntry> indexToComponentEntryMap;
 	private Map<String, List<GenomeComponentEntry>> requiredInterfaceToListOfComponentEntryMap;
 	private Map<String, List<GenomeComponentEntry>> providedInterfaceToListOfComponentEntryMap;
+	private List<GenomeComponentEntry> componentEntries;
 	private List<Variable> variableTypes;
 	private int amountOfFeatures;
+	private final CompiledGenomeDecoder decoder;
+	private final Timer decodeTimer;
 
 	// final String searchSpaceFile, final String requiredRootInterface, final Map<String, String> templateVariables, final List<String> mainComponentNames,
 	// final List<String> mainComponentNamesWithoutActivationBit
 	public GenomeHandler(final ExperimentConfiguration experimentConfiguration) throws IOException, ComponentNotFoundException {
+		this.decodeTimer = experimentConfiguration.getMetricsRegistry().timer("genome.decode");
 		this.allComponents = ComponentCollectionUtil.getAllComponents(experimentConfiguration.getFeatureSearchspace(), experimentConfiguration.getTemplateVariables());
 		this.rootComponents = ComponentCollectionUtil.getComponentsSatisfyingInterface(experimentConfiguration.getFeatureSearchspace(), experimentConfiguration.getFeatureRequiredInterface(),
 				experimentConfiguration.getTemplateVariables());
@@ -60,10 +62,13 @@ public class GenomeHandler {
 		this.indexToComponentEntryMap = new HashMap<>();
 		this.requiredInterfaceToListOfComponentEntryMap = new HashMap<>();
 		this.providedInterfaceToListOfComponentEntryMap = new HashMap<>();
+		this.componentEntries = new ArrayList<>();
 		this.variableTypes = new ArrayList<>();
 		for (IComponent component : this.allComponents) {
 			this.setupComponentToGenomeRepresentation(component);
 		}
+		this.decoder = new CompiledGenomeDecoder(this.allComponents, this.componentEntries, this.rootComponents, this.mainComponentEntries,
+				this.requiredInterfaceToListOfComponentEntryMap, this.providedInterfaceToListOfComponentEntryMap, this.variableTypes);
 	}
 
 	private void setupComponentToGenomeRepresentation(final IComponent component) throws ComponentNotFoundException {
@@ -77,6 +82,7 @@ public class GenomeHandler {
 		} else {
 			componentEntry = new GenomeComponentEntry(component.getName());
 		}
+		this.componentEntries.add(componentEntry);
 
 		if (this.mainComponents.contains(component)) {
 			this.mainComponentEntries.add(componentEntry);
@@ -139,150 +145,50 @@ public class GenomeHandler {
 		return solution;
 	}
 
-	public SolutionDecoding decodeGenome(final Solution solution) throws ComponentNotFoundException {
-		this.printGenome(solution);
-		List<IComponentInstance> componentInstances = new ArrayList<>();
-		for (GenomeComponentEntry componentEntry : this.mainComponentEntries) {
-			IComponentInstance mainComponentInstance = this.decodeMainComponent(componentEntry, solution);
-			while (mainComponentInstance != null && !this.rootComponents.contains(mainComponentInstance.getComponent())) {
-				for (String providedInterface : mainComponentInstance.getComponent().getProvidedInterfaces()) {
-					if (this.requiredInterfaceToListOfComponentEntryMap.containsKey(providedInterface)) {
-						for (GenomeComponentEntry x : this.requiredInterfaceToListOfComponentEntryMap.get(providedInterface)) {
-							mainComponentInstance = this.decodeParentComponent(solution, x, providedInterface, mainComponentInstance);
-						}
-					}
-				}
-			}
-			if (mainComponentInstance != null) {
-				componentInstances.add(mainComponentInstance);
-				LOGGER.debug("ComponentInstance found: {}", mainComponentInstance);
+	/**
+	 * @return The genome of the given solution as flat numeric vector, i.e. activation bits as 0 or 1 and parameters by their (index) value.
+	 */
+	public double[] getNumericGenome(final Solution solution) {
+		double[] genome = new double[solution.getNumberOfVariables()];
+		for (int i = 0; i < genome.length; i++) {
+			Variable variable = solution.getVariable(i);
+			if (variable instanceof BinaryIntegerVariable) {
+				genome[i] = ((BinaryIntegerVariable) variable).getValue();
+			} else if (variable instanceof BinaryVariable) {
+				genome[i] = ((BinaryVariable) variable).get(0) ? 1 : 0;
+			} else if (variable instanceof RealVariable) {
+				genome[i] = ((RealVariable) variable).getValue();
 			}
 		}
-
-		if (componentInstances.size() > 0) {
-			LOGGER.debug("ComponentInstances found: {}", componentInstances.size());
-			return new SolutionDecoding(solution, componentInstances);
-		}
-		return null;
-
+		return genome;
 	}
 
-	private IComponentInstance decodeMainComponent(final GenomeComponentEntry componentEntry, final Solution solution) throws ComponentNotFoundException {
-		if (this.isComponentActivated(componentEntry, solution)) {
-			IComponent component = ComponentUtil.getComponentByName(componentEntry.getName(), this.allComponents);
-
-			Map<String, String> parameterValues = new HashMap<>();
-			parameterValues.putAll(componentEntry.getSingleValueCategoricalParametersMap());
-			for (Integer parameterIndex : componentEntry.getParameterIndices()) {
-				IParameter parameter = componentEntry.getParameter(parameterIndex);
-				String parameterValue = this.interpreteParameterVariable(solution, componentEntry, parameterIndex);
-				parameterValues.put(parameter.getName(), parameterValue);
+	public SolutionDecoding decodeGenome(final Solution solution) throws ComponentNotFoundException {
+		try (Timer.Context context = this.decodeTimer.time()) {
+			if (LOGGER.isTraceEnabled()) {
+				LOGGER.trace("Decoding genome:{}{}", System.lineSeparator(), this.createGenomeSnapshot(solution));
 			}
-
-			ComponentInstance componentInstance = new ComponentInstance(component, parameterValues, new HashMap<>());
-			if (this.isCompletelyDefined(componentInstance)) {
-				return componentInstance;
+			List<IComponentInstance> componentInstances = this.decoder.decode(this.getNumericGenome(solution));
+			if (componentInstances.size() > 0) {
+				LOGGER.debug("ComponentInstances found: {}", componentInstances.size());
+				return new SolutionDecoding(solution, componentInstances);
 			}
+			return null;
 		}
-		return null;
 	}
 
-	private IComponentInstance decodeParentComponent(final Solution solution, final GenomeComponentEntry componentEntry, final String fixedRequiredInterface,
-			final IComponentInstance childComponentInstance) throws ComponentNotFoundException {
-		IComponent component = ComponentUtil.getComponentByName(componentEntry.getName(), this.allComponents);
-
-		Map<String, String> parameterValues = new HashMap<>();
-		parameterValues.putAll(componentEntry.getSingleValueCategoricalParametersMap());
-		for (Integer parameterIndex : componentEntry.getParameterIndices()) {
-			IParameter parameter = componentEntry.getParameter(parameterIndex);
-			String parameterValue = this.interpreteParameterVariable(solution, componentEntry, parameterIndex);
-			parameterValues.put(parameter.getName(), parameterValue);
-		}
-
-		Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
-		for (IRequiredInterfaceDefinition requiredInterface : component.getRequiredInterfaces()) {
-			if (!satisfactionOfRequiredInterfaces.containsKey(requiredInterface.getId())) {
-				satisfactionOfRequiredInterfaces.put(requiredInterface.getId(), new ArrayList<>());
-			}
-			if (requiredInterface.getName().equals(fixedRequiredInterface)) {
-				satisfactionOfRequiredInterfaces.get(requiredInterface.getId()).add(childComponentInstance);
-			} else {
-				for (GenomeComponentEntry possibleComponentEntry : this.providedInterfaceToListOfComponentEntryMap.get(requiredInterface.getName())) {
-					IComponentInstance possibleComponentInstance = this.decodeComponent(solution, possibleComponentEntry);
-					if (possibleComponentInstance != null) {
-						satisfactionOfRequiredInterfaces.get(requiredInterface.getId()).add(possibleComponentInstance);
-					}
-				}
+	/**
+	 * @return The interpreted genes of the given solution in the order of the genome.
+	 */
+	public GenomeSnapshot createGenomeSnapshot(final Solution solution) {
+		List<GenomeSnapshot.Gene> genes = new ArrayList<>(this.amountOfFeatures);
+		for (GenomeComponentEntry componentEntry : this.componentEntries) {
+			if (componentEntry.hasActivationBit()) {
+				genes.add(new GenomeSnapshot.Gene(componentEntry.getActivationIndex(), componentEntry.getName(), null,
+						"" + ((BinaryVariable) solution.getVariable(componentEntry.getActivationIndex())).get(0)));
 			}
-		}
-
-		ComponentInstance componentInstance = new ComponentInstance(component, parameterValues, satisfactionOfRequiredInterfaces);
-		if (this.isCompletelyDefined(componentInstance)) {
-			return componentInstance;
-		}
-		return null;
-	}
-
-	private IComponentInstance decodeComponent(final Solution solution, final GenomeComponentEntry componentEntry) throws ComponentNotFoundException {
-		IComponent component = ComponentUtil.getComponentByName(componentEntry.getName(), this.allComponents);
-		if (this.isComponentActivated(componentEntry, solution) && !this.rootComponents.contains(component)) {
-			Map<String, String> parameterValues = new HashMap<>();
-			parameterValues.putAll(componentEntry.getSingleValueCategoricalParametersMap());
-			for (Integer parameterIndex : componentEntry.getParameterIndices()) {
+			for (Integer parameterIndex : componentEntry.getParameterIndices().stream().sorted().collect(Collectors.toList())) {
 				IParameter parameter = componentEntry.getParameter(parameterIndex);
-				String parameterValue = this.interpreteParameterVariable(solution, componentEntry, parameterIndex);
-				parameterValues.put(parameter.getName(), parameterValue);
-			}
-			Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
-			for (IRequiredInterfaceDefinition requiredInterface : component.getRequiredInterfaces()) {
-				if (!satisfactionOfRequiredInterfaces.containsKey(requiredInterface.getId())) {
-					satisfactionOfRequiredInterfaces.put(requiredInterface.getId(), new ArrayList<>());
-				}
-				for (GenomeComponentEntry possibleComponentEntry : this.providedInterfaceToListOfComponentEntryMap.get(requiredInterface.getName())) {
-					IComponentInstance possibleComponentInstance = this.decodeComponent(solution, possibleComponentEntry);
-					if (possibleComponentInstance != null) {
-						satisfactionOfRequiredInterfaces.get(requiredInterface.getId()).add(possibleComponentInstance);
-					}
-				}
-			}
-
-			ComponentInstance componentInstance = new ComponentInstance(component, parameterValues, satisfactionOfRequiredInterfaces);
-			if (this.isCompletelyDefined(componentInstance)) {
-				return componentInstance;
-			}
-		}
-		return null;
-	}
-
-	private boolean isCompletelyDefined(final IComponentInstance componentInstance) {
-		boolean isCompletelyDefined = true;
-		if (componentInstance.getParameterValues().size() != componentInstance.getComponent().getParameters().size()) {
-			isCompletelyDefined = false;
-		}
-
-		for (IRequiredInterfaceDefinition requiredInterface : componentInstance.getComponent().getRequiredInterfaces()) {
-			if (componentInstance.getSatisfactionOfRequiredInterfaces().get(requiredInterface.getId()).size() < 1) {
-				isCompletelyDefined = false;
-			}
-		}
-		return isCompletelyDefined;
-	}
-
-	private void printGenome(final Solution solution) {
-		List<GenomeComponentEntry> sortedGenomeComponentEntries = this.indexToComponentEntryMap.entrySet().stream().sorted(new Comparator<Entry<Integer, GenomeComponentEntry>>() {
-
-			@Override
-			public int compare(final Entry<Integer, GenomeComponentEntry> o1, final Entry<Integer, GenomeComponentEntry> o2) {
-				return Integer.compare(o1.getKey(), o2.getKey());
-			}
-		}).map(e -> e.getValue()).distinct().collect(Collectors.toList());
-		for (GenomeComponentEntry genomeComponentEntry : sortedGenomeComponentEntries) {
-			if (genomeComponentEntry.hasActivationBit()) {
-				LOGGER.trace("({}) {}={}", genomeComponentEntry.getActivationIndex(), genomeComponentEntry.getName(),
-						((BinaryVariable) solution.getVariable(genomeComponentEntry.getActivationIndex())).get(0));
-			}
-			for (Integer parameterIndex : genomeComponentEntry.getParameterIndices()) {
-				IParameter parameter = genomeComponentEntry.getParameter(parameterIndex);
 				String parameterValue = "";
 				Variable variable = solution.getVariable(parameterIndex);
 				if (variable instanceof BinaryIntegerVariable) {
@@ -298,43 +204,10 @@ public class GenomeHandler {
 					RealVariable numericVariable = (RealVariable) variable;
 					parameterValue += numericVariable.getValue();
 				}
-				LOGGER.trace("({}) {}#{}={}", (parameterIndex), genomeComponentEntry.getName(), parameter.getName(), parameterValue);
-			}
-		}
-	}
-
-	private boolean isComponentActivated(final GenomeComponentEntry componentEntry, final Solution solution) {
-		if (componentEntry.hasActivationBit()) {
-			return ((BinaryVariable) solution.getVariable(componentEntry.getActivationIndex())).get(0) == true;
-		} else {
-			for (Integer parameterIndex : componentEntry.getParameterIndices()) {
-				if (this.interpreteParameterVariable(solution, componentEntry, parameterIndex).toLowerCase().equals("true")) {
-					return true;
-				}
+				genes.add(new GenomeSnapshot.Gene(parameterIndex, componentEntry.getName(), parameter.getName(), parameterValue));
 			}
 		}
-		return false;
-	}
-
-	private String interpreteParameterVariable(final Solution solution, final GenomeComponentEntry componentEntry, final Integer parameterIndex) {
-		IParameter parameter = componentEntry.getParameter(parameterIndex);
-		String parameterValue = "";
-		Variable variable = solution.getVariable(parameterIndex);
-		if (variable instanceof BinaryIntegerVariable) {
-			BinaryIntegerVariable binaryVariable = (BinaryIntegerVariable) variable;
-			if (parameter.isCategorical()) {
-				CategoricalParameterDomain categoricalParameter = (CategoricalParameterDomain) parameter.getDefaultDomain();
-				parameterValue += categoricalParameter.getValues()[binaryVariable.getValue()];
-			} else {
-				parameterValue += binaryVariable.getValue();
-			}
-
-		} else if (variable instanceof RealVariable) {
-			RealVariable numericVariable = (RealVariable) variable;
-			parameterValue += numericVariable.getValue();
-		}
-
-		return parameterValue;
+		return new GenomeSnapshot(genes);
 	}
 
 	public int getIndexOfComponent(final String componentName) {
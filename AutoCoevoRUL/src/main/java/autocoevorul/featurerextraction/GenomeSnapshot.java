@@ -0,0 +1,77 @@
+package autocoevorul.featurerextraction;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The interpreted genes of a solution, i.e. the activation bits and parameter values of all components in the order of the genome. Snapshots are only created
+ * on demand for diagnostics, e.g. by {@link GenomeHandler#createGenomeSnapshot(org.moeaframework.core.Solution)} if trace logging is enabled.
+ */
+public class GenomeSnapshot {
+
+	public static class Gene {
+
+		private final int index;
+		private final String componentName;
+		private final String parameterName;
+		private final String value;
+
+		public Gene(final int index, final String componentName, final String parameterName, final String value) {
+			this.index = index;
+			this.componentName = componentName;
+			this.parameterName = parameterName;
+			this.value = value;
+		}
+
+		public int getIndex() {
+			return this.index;
+		}
+
+		public String getComponentName() {
+			return this.componentName;
+		}
+
+		/**
+		 * @return The name of the parameter or <code>null</code> if this gene is the activation bit of the component.
+		 */
+		public String getParameterName() {
+			return this.parameterName;
+		}
+
+		public boolean isActivationBit() {
+			return this.parameterName == null;
+		}
+
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return "(" + this.index + ") " + this.componentName + (this.isActivationBit() ? "" : "#" + this.parameterName) + "=" + this.value;
+		}
+	}
+
+	private final List<Gene> genes;
+
+	public GenomeSnapshot(final List<Gene> genes) {
+		this.genes = Collections.unmodifiableList(genes);
+	}
+
+	public List<Gene> getGenes() {
+		return this.genes;
+	}
+
+	/**
+	 * @return One line per gene.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder snapshot = new StringBuilder();
+		for (Gene gene : this.genes) {
+			snapshot.append(gene).append(System.lineSeparator());
+		}
+		return snapshot.toString();
+	}
+
+}
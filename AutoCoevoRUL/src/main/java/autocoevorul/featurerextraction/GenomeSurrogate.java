@@ -0,0 +1,233 @@
+package autocoevorul.featurerextraction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.Logger;
+
+/**
+ * Random forest surrogate on the numeric genomes of feature extractors, predicting both objectives and the runtime of the feature extraction from the observations
+ * made so far. It allows to skip candidates which are predicted to be dominated by the feature extractors evaluated so far or to exceed the candidate timeout,
+ * and to start the most promising candidates first.
+ */
+public class GenomeSurrogate {
+
+	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(GenomeSurrogate.class);
+
+	private static final int NUMBER_OF_TREES = 50;
+	private static final int MAX_DEPTH = 12;
+	private static final int MIN_LEAF_SIZE = 1;
+	private static final double TIMEOUT_RUNTIME_FACTOR = 2;
+
+	private final int numberOfObjectives;
+	private final Random random;
+
+	private final List<double[]> genomes = new ArrayList<>();
+	private final List<double[]> objectives = new ArrayList<>();
+	private final List<Double> runtimes = new ArrayList<>();
+
+	private List<List<RegressionTree>> objectiveForests = new ArrayList<>();
+	private List<RegressionTree> runtimeForest = new ArrayList<>();
+
+	public GenomeSurrogate(final int numberOfObjectives, final long seed) {
+		this.numberOfObjectives = numberOfObjectives;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * @param runtime
+	 *            The runtime of the feature extraction in milliseconds, or {@link Double#NaN} if it is unknown, e.g. as the features were restored from the cache.
+	 */
+	public synchronized void addObservation(final double[] genome, final double[] objectives, final double runtime) {
+		this.genomes.add(genome);
+		this.objectives.add(objectives);
+		this.runtimes.add(runtime);
+	}
+
+	/**
+	 * Adds the observation of a feature extraction which exceeded the given timeout. As its actual runtime is unknown, it is censored to a multiple of the timeout,
+	 * since the average of the trees could otherwise never exceed the timeout.
+	 */
+	public synchronized void addTimeoutObservation(final double[] genome, final double[] objectives, final long timeoutInMilliseconds) {
+		this.addObservation(genome, objectives, TIMEOUT_RUNTIME_FACTOR * timeoutInMilliseconds);
+	}
+
+	public synchronized int getNumberOfObservations() {
+		return this.genomes.size();
+	}
+
+	/**
+	 * Fits the forests to all observations made so far.
+	 */
+	public synchronized void fit() {
+		List<List<RegressionTree>> newObjectiveForests = new ArrayList<>(this.numberOfObjectives);
+		for (int objective = 0; objective < this.numberOfObjectives; objective++) {
+			double[] targets = new double[this.genomes.size()];
+			for (int i = 0; i < targets.length; i++) {
+				targets[i] = this.objectives.get(i)[objective];
+			}
+			newObjectiveForests.add(this.fitForest(this.genomes, targets));
+		}
+
+		List<double[]> genomesWithRuntime = new ArrayList<>();
+		List<Double> knownRuntimes = new ArrayList<>();
+		for (int i = 0; i < this.genomes.size(); i++) {
+			if (!Double.isNaN(this.runtimes.get(i))) {
+				genomesWithRuntime.add(this.genomes.get(i));
+				knownRuntimes.add(this.runtimes.get(i));
+			}
+		}
+		this.runtimeForest = this.fitForest(genomesWithRuntime, knownRuntimes.stream().mapToDouble(Double::doubleValue).toArray());
+		this.objectiveForests = newObjectiveForests;
+		LOGGER.debug("Fitted surrogate on {} observations, {} of them with known runtime.", this.genomes.size(), genomesWithRuntime.size());
+	}
+
+	public synchronized double[] predictObjectives(final double[] genome) {
+		double[] prediction = new double[this.numberOfObjectives];
+		for (int objective = 0; objective < this.numberOfObjectives; objective++) {
+			prediction[objective] = predict(this.objectiveForests.get(objective), genome);
+		}
+		return prediction;
+	}
+
+	/**
+	 * @return The predicted runtime in milliseconds, or {@link Double#NaN} if no runtime has been observed yet.
+	 */
+	public synchronized double predictRuntime(final double[] genome) {
+		return this.runtimeForest.isEmpty() ? Double.NaN : predict(this.runtimeForest, genome);
+	}
+
+	/**
+	 * @return True, if the predicted runtime of the given genome exceeds the given timeout.
+	 */
+	public synchronized boolean isPredictedToTimeout(final double[] genome, final long timeoutInMilliseconds) {
+		double predictedRuntime = this.predictRuntime(genome);
+		return !Double.isNaN(predictedRuntime) && predictedRuntime > timeoutInMilliseconds;
+	}
+
+	/**
+	 * @return True, if even the optimistic prediction of the objectives of the given genome, i.e. the mean minus the standard deviation of the predictions of the
+	 *         trees, is dominated by the objectives of at least one observation.
+	 */
+	public synchronized boolean isPredictedToBeDominated(final double[] genome) {
+		double[] optimisticPrediction = new double[this.numberOfObjectives];
+		for (int objective = 0; objective < this.numberOfObjectives; objective++) {
+			double[] treePredictions = this.objectiveForests.get(objective).stream().mapToDouble(tree -> tree.predict(genome)).toArray();
+			double mean = Arrays.stream(treePredictions).average().orElse(Double.NaN);
+			double variance = Arrays.stream(treePredictions).map(p -> (p - mean) * (p - mean)).average().orElse(0);
+			optimisticPrediction[objective] = mean - Math.sqrt(variance);
+		}
+		return this.objectives.stream().anyMatch(observation -> dominates(observation, optimisticPrediction));
+	}
+
+	private static boolean dominates(final double[] a, final double[] b) {
+		boolean strictlyBetter = false;
+		for (int i = 0; i < a.length; i++) {
+			if (a[i] > b[i]) {
+				return false;
+			}
+			strictlyBetter |= a[i] < b[i];
+		}
+		return strictlyBetter;
+	}
+
+	private static double predict(final List<RegressionTree> forest, final double[] genome) {
+		return forest.stream().mapToDouble(tree -> tree.predict(genome)).average().orElse(Double.NaN);
+	}
+
+	private List<RegressionTree> fitForest(final List<double[]> features, final double[] targets) {
+		List<RegressionTree> forest = new ArrayList<>(NUMBER_OF_TREES);
+		if (features.isEmpty()) {
+			return forest;
+		}
+		int numberOfFeatures = features.get(0).length;
+		int numberOfFeaturesPerSplit = Math.max(1, numberOfFeatures / 3);
+		for (int t = 0; t < NUMBER_OF_TREES; t++) {
+			int[] bootstrap = new int[features.size()];
+			for (int i = 0; i < bootstrap.length; i++) {
+				bootstrap[i] = this.random.nextInt(features.size());
+			}
+			forest.add(new RegressionTree(features, targets, bootstrap, numberOfFeaturesPerSplit, this.random));
+		}
+		return forest;
+	}
+
+	/**
+	 * Regression tree splitting on the feature and threshold minimizing the sum of squared errors among a random subset of the features.
+	 */
+	private static class RegressionTree {
+
+		private int feature = -1;
+		private double threshold;
+		private double value;
+		private RegressionTree left;
+		private RegressionTree right;
+
+		private RegressionTree(final List<double[]> features, final double[] targets, final int[] indices, final int numberOfFeaturesPerSplit, final Random random) {
+			this(features, targets, indices, numberOfFeaturesPerSplit, random, 0);
+		}
+
+		private RegressionTree(final List<double[]> features, final double[] targets, final int[] indices, final int numberOfFeaturesPerSplit, final Random random, final int depth) {
+			this.value = Arrays.stream(indices).mapToDouble(i -> targets[i]).average().orElse(0);
+			if (depth >= MAX_DEPTH || indices.length < 2 * MIN_LEAF_SIZE) {
+				return;
+			}
+
+			double bestError = sumOfSquaredErrors(targets, indices);
+			int numberOfFeatures = features.get(0).length;
+			List<Integer> candidateFeatures = IntStream.range(0, numberOfFeatures).boxed().collect(Collectors.toList());
+			Collections.shuffle(candidateFeatures, random);
+			// as in common random forest implementations, further features are considered if none of the sampled ones allows for a split
+			for (int candidate = 0; candidate < numberOfFeatures && (candidate < numberOfFeaturesPerSplit || this.feature < 0); candidate++) {
+				int f = candidateFeatures.get(candidate);
+				int[] sorted = Arrays.stream(indices).boxed().sorted((i, j) -> Double.compare(features.get(i)[f], features.get(j)[f])).mapToInt(Integer::intValue).toArray();
+
+				// sweep over the sorted values maintaining the sums of the left and right part
+				double leftSum = 0;
+				double leftSquaredSum = 0;
+				double totalSum = Arrays.stream(sorted).mapToDouble(i -> targets[i]).sum();
+				double totalSquaredSum = Arrays.stream(sorted).mapToDouble(i -> targets[i] * targets[i]).sum();
+				for (int k = 1; k < sorted.length; k++) {
+					double y = targets[sorted[k - 1]];
+					leftSum += y;
+					leftSquaredSum += y * y;
+					if (k < MIN_LEAF_SIZE || sorted.length - k < MIN_LEAF_SIZE || features.get(sorted[k - 1])[f] == features.get(sorted[k])[f]) {
+						continue;
+					}
+					double rightSum = totalSum - leftSum;
+					double error = (leftSquaredSum - leftSum * leftSum / k) + (totalSquaredSum - leftSquaredSum - rightSum * rightSum / (sorted.length - k));
+					if (error < bestError - 1e-12) {
+						bestError = error;
+						this.feature = f;
+						this.threshold = (features.get(sorted[k - 1])[f] + features.get(sorted[k])[f]) / 2;
+					}
+				}
+			}
+
+			if (this.feature >= 0) {
+				int[] leftIndices = Arrays.stream(indices).filter(i -> features.get(i)[this.feature] <= this.threshold).toArray();
+				int[] rightIndices = Arrays.stream(indices).filter(i -> features.get(i)[this.feature] > this.threshold).toArray();
+				this.left = new RegressionTree(features, targets, leftIndices, numberOfFeaturesPerSplit, random, depth + 1);
+				this.right = new RegressionTree(features, targets, rightIndices, numberOfFeaturesPerSplit, random, depth + 1);
+			}
+		}
+
+		private static double sumOfSquaredErrors(final double[] targets, final int[] indices) {
+			double mean = Arrays.stream(indices).mapToDouble(i -> targets[i]).average().orElse(0);
+			return Arrays.stream(indices).mapToDouble(i -> (targets[i] - mean) * (targets[i] - mean)).sum();
+		}
+
+		private double predict(final double[] genome) {
+			if (this.feature < 0) {
+				return this.value;
+			}
+			return genome[this.feature] <= this.threshold ? this.left.predict(genome) : this.right.predict(genome);
+		}
+	}
+
+}
@@ -1,14 +1,22 @@
 package autocoevorul.featurerextraction;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.moeaframework.core.Solution;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
 import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.api.IParameter;
 import ai.libs.mlplan.sklearn.ScikitLearnClassifierFactory;
 
 public class SolutionDecoding {
@@ -17,6 +25,7 @@ public class SolutionDecoding {
 	private List<IComponentInstance> componentInstances;
 	private String constructionInstruction;
 	private String imports;
+	private String fingerprint;
 
 	public SolutionDecoding(final Solution solution, final List<IComponentInstance> componentInstances) {
 		super();
@@ -39,6 +48,62 @@ public class SolutionDecoding {
 			importsStringBuilder.append(importString);
 		}
 		this.imports = importsStringBuilder.toString();
+
+		Hasher hasher = Hashing.murmur3_128().newHasher();
+		hasher.putInt(componentInstances.size());
+		for (IComponentInstance componentInstance : componentInstances) {
+			putCanonicalForm(hasher, componentInstance);
+		}
+		this.fingerprint = hasher.hash().toString();
+	}
+
+	/**
+	 * Adds the component instance tree to the hasher with its parameters and required interfaces sorted by name and the values of numeric parameters in a
+	 * normalised format, such that equal feature extractors have equal fingerprints regardless of the order or formatting in which their decoding has produced them.
+	 * The values of all other parameters are kept as they are, as e.g. the categorical values <code>1</code> and <code>1.0</code> may be different options.
+	 */
+	private static void putCanonicalForm(final Hasher hasher, final IComponentInstance componentInstance) {
+		putString(hasher, componentInstance.getComponent().getName());
+		Set<String> numericParameters = componentInstance.getComponent().getParameters().stream().filter(IParameter::isNumeric).map(IParameter::getName)
+				.collect(Collectors.toSet());
+		TreeMap<String, String> parameterValues = new TreeMap<>(componentInstance.getParameterValues());
+		hasher.putInt(parameterValues.size());
+		for (Entry<String, String> parameterValue : parameterValues.entrySet()) {
+			putString(hasher, parameterValue.getKey());
+			putString(hasher, numericParameters.contains(parameterValue.getKey()) ? normaliseValue(parameterValue.getValue()) : parameterValue.getValue());
+		}
+		TreeMap<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new TreeMap<>(componentInstance.getSatisfactionOfRequiredInterfaces());
+		hasher.putInt(satisfactionOfRequiredInterfaces.size());
+		for (Entry<String, List<IComponentInstance>> requiredInterface : satisfactionOfRequiredInterfaces.entrySet()) {
+			putString(hasher, requiredInterface.getKey());
+			hasher.putInt(requiredInterface.getValue().size());
+			for (IComponentInstance provider : requiredInterface.getValue()) {
+				putCanonicalForm(hasher, provider);
+			}
+		}
+	}
+
+	private static void putString(final Hasher hasher, final String string) {
+		String value = string == null ? "" : string;
+		hasher.putInt(value.length()).putString(value, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * @return The given value as integer if it is an integral number, as shortest decimal representation if it is any other number, and unchanged otherwise.
+	 */
+	static String normaliseValue(final String value) {
+		if (value == null || value.isEmpty() || !(Character.isDigit(value.charAt(value.length() - 1)) || value.endsWith("."))) {
+			return value;
+		}
+		try {
+			double number = Double.parseDouble(value);
+			if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+				return Long.toString((long) number);
+			}
+			return Double.toString(number);
+		} catch (NumberFormatException e) {
+			return value;
+		}
 	}
 
 	public void setPerformance(final double performance, final double numberOfUsage) {
@@ -62,4 +127,21 @@ public class SolutionDecoding {
 		return this.imports;
 	}
 
+	/**
+	 * @return The 128 bit fingerprint of the component instances of this feature extractor as hex string, which identifies it in the caches, the results of the
+	 *         regression search and the names of the transformed dataset files.
+	 */
+	public String getFingerprint() {
+		return this.fingerprint;
+	}
+
+	/**
+	 * @return The identifier of this feature extractor by which the ScikitLearnWrapper names the datasets it transforms, i.e. it writes the transformation of
+	 *         <code>&lt;dataset&gt;</code> to <code>&lt;uid&gt;_&lt;dataset&gt;</code>.
+	 */
+	public String getScikitLearnWrapperUid() {
+		String hashCode = Hashing.sha256().hashString(StringUtils.join(this.constructionInstruction, this.imports), StandardCharsets.UTF_8).toString();
+		return hashCode.startsWith("-") ? hashCode.replace("-", "1") : "0" + hashCode;
+	}
+
 }
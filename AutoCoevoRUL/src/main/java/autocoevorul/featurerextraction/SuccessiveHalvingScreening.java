@@ -0,0 +1,202 @@
+package autocoevorul.featurerextraction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.api4.java.ai.ml.core.evaluation.IPrediction;
+import org.api4.java.ai.ml.core.evaluation.IPredictionBatch;
+import org.api4.java.ai.ml.core.evaluation.execution.IAggregatedPredictionPerformanceMeasure;
+import org.api4.java.ai.ml.regression.evaluation.IRegressionPrediction;
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.slf4j.Logger;
+
+import ai.libs.jaicore.ml.core.EScikitLearnProblemType;
+import ai.libs.jaicore.ml.core.evaluation.AveragingPredictionPerformanceMeasure;
+import ai.libs.jaicore.ml.regression.singlelabel.SingleTargetRegressionPrediction;
+import ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper;
+import ai.libs.jaicore.timing.TimedComputation;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.util.PythonWorkerPool;
+import autocoevorul.util.PythonWorkerPool.EWorkerMode;
+
+/**
+ * Screens feature extractors by successive halving before they are evaluated on the full folds. In each rung, the remaining feature extractors transform a
+ * subsample of the instances of each fold, a fixed and cheap screening regressor is fitted on the extracted features, and only the best <code>1/eta</code> of the
+ * feature extractors is promoted to the next rung, whose subsamples are <code>eta</code> times larger. The feature extractors surviving the last rung are promoted
+ * to the full-fidelity evaluation.
+ */
+public class SuccessiveHalvingScreening {
+
+	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(SuccessiveHalvingScreening.class);
+
+	public enum EScreeningOutcome {
+		PROMOTED, DISCARDED, TIMEOUT, FAILED;
+	}
+
+	@FunctionalInterface
+	public interface IFeatureTransformation {
+		void transform(SolutionDecoding solutionDecoding, TimeSeriesDataset trainingData, TimeSeriesDataset testData, String transformedTestDatasetName)
+				throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException;
+	}
+
+	@FunctionalInterface
+	public interface IScreeningRegressor {
+		/**
+		 * @return The predictions for the instances of the transformed test dataset of a regressor fitted on the transformed training dataset.
+		 */
+		List<Double> fitAndPredict(String transformedTrainingDatasetName, String transformedTestDatasetName)
+				throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException;
+	}
+
+	private final ExperimentConfiguration experimentConfiguration;
+	private final IFeatureTransformation featureTransformation;
+	private final IScreeningRegressor screeningRegressor;
+	private final List<TimeSeriesSplitSet> subsampledSplitsPerRung = new ArrayList<>();
+	private final IAggregatedPredictionPerformanceMeasure<Double, IRegressionPrediction> metric;
+
+	public SuccessiveHalvingScreening(final ExperimentConfiguration experimentConfiguration, final TimeSeriesSplitSet datasetSplitSet,
+			final IFeatureTransformation featureTransformation) {
+		this(experimentConfiguration, datasetSplitSet, featureTransformation, null);
+	}
+
+	/**
+	 * @param screeningRegressor
+	 *            The regressor rating the extracted features in each rung, or null to use the screening regressor of the configuration.
+	 */
+	public SuccessiveHalvingScreening(final ExperimentConfiguration experimentConfiguration, final TimeSeriesSplitSet datasetSplitSet,
+			final IFeatureTransformation featureTransformation, final IScreeningRegressor screeningRegressor) {
+		if (experimentConfiguration.getSuccessiveHalvingEta() < 2) {
+			throw new IllegalArgumentException("The reduction factor of successive halving has to be at least 2, but is " + experimentConfiguration.getSuccessiveHalvingEta());
+		}
+		this.experimentConfiguration = experimentConfiguration;
+		this.featureTransformation = featureTransformation;
+		this.screeningRegressor = screeningRegressor != null ? screeningRegressor : this::fitAndPredictScreeningRegressor;
+		this.metric = new AveragingPredictionPerformanceMeasure<Double, IRegressionPrediction>(experimentConfiguration.getPerformanceMeasure());
+
+		Random random = new Random(experimentConfiguration.getSeed());
+		double fraction = experimentConfiguration.getSuccessiveHalvingMinInstanceFraction();
+		for (int rung = 0; fraction < 1; rung++) {
+			this.subsampledSplitsPerRung.add(datasetSplitSet.subsample(fraction, "r" + rung, random));
+			LOGGER.info("Rung {} of successive halving uses {} of the instances of each fold.", rung, fraction);
+			fraction *= experimentConfiguration.getSuccessiveHalvingEta();
+		}
+	}
+
+	/**
+	 * @return For each of the given feature extractors, whether it is promoted to the full-fidelity evaluation or why it is not.
+	 */
+	public Map<SolutionDecoding, EScreeningOutcome> screen(final List<SolutionDecoding> solutionDecodings) throws InterruptedException {
+		Map<SolutionDecoding, EScreeningOutcome> outcomes = new LinkedHashMap<>();
+		solutionDecodings.forEach(solutionDecoding -> outcomes.put(solutionDecoding, EScreeningOutcome.PROMOTED));
+
+		List<SolutionDecoding> remaining = new ArrayList<>(solutionDecodings);
+		for (int rung = 0; rung < this.subsampledSplitsPerRung.size() && remaining.size() > 1; rung++) {
+			TimeSeriesSplitSet subsampledSplits = this.subsampledSplitsPerRung.get(rung);
+
+			ExecutorService pool = Executors.newFixedThreadPool(this.experimentConfiguration.getNumCPUs());
+			Map<SolutionDecoding, Future<Double>> screenings = new LinkedHashMap<>();
+			for (SolutionDecoding solutionDecoding : remaining) {
+				screenings.put(solutionDecoding, pool.submit(() -> this.screen(solutionDecoding, subsampledSplits)));
+			}
+			pool.shutdown();
+
+			Map<SolutionDecoding, Double> scores = new LinkedHashMap<>();
+			try {
+				for (Entry<SolutionDecoding, Future<Double>> screening : screenings.entrySet()) {
+					try {
+						scores.put(screening.getKey(), screening.getValue().get());
+					} catch (ExecutionException e) {
+						boolean timeout = e.getCause() instanceof AlgorithmTimeoutedException || e.getCause() instanceof InterruptedException;
+						LOGGER.debug("Screening of {} failed in rung {}.", screening.getKey().getConstructionInstruction(), rung, e.getCause());
+						outcomes.put(screening.getKey(), timeout ? EScreeningOutcome.TIMEOUT : EScreeningOutcome.FAILED);
+					}
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+
+			int numberOfPromotions = Math.max(1, remaining.size() / this.experimentConfiguration.getSuccessiveHalvingEta());
+			remaining = scores.entrySet().stream().sorted(Comparator.comparingDouble(Entry::getValue)).limit(numberOfPromotions).map(Entry::getKey).collect(Collectors.toList());
+			for (SolutionDecoding solutionDecoding : scores.keySet()) {
+				if (!remaining.contains(solutionDecoding)) {
+					outcomes.put(solutionDecoding, EScreeningOutcome.DISCARDED);
+				}
+			}
+			LOGGER.info("Promoted {} of {} feature extractors in rung {} of successive halving.", remaining.size(), screenings.size(), rung);
+		}
+		return outcomes;
+	}
+
+	private double screen(final SolutionDecoding solutionDecoding, final TimeSeriesSplitSet subsampledSplits)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		List<List<? extends Double>> groundTruths = new ArrayList<>(subsampledSplits.getNumberOfFolds());
+		List<List<? extends IRegressionPrediction>> predictions = new ArrayList<>(subsampledSplits.getNumberOfFolds());
+		for (int fold = 0; fold < subsampledSplits.getNumberOfFolds(); fold++) {
+			TimeSeriesDataset trainingData = subsampledSplits.getTrainingData(fold);
+			TimeSeriesDataset testData = subsampledSplits.getTestData(fold);
+			String transformedTrainingDatasetName = solutionDecoding.getFingerprint() + "_" + trainingData.getRelationName();
+			String transformedTestDatasetName = solutionDecoding.getFingerprint() + "_" + testData.getRelationName();
+			try {
+				this.featureTransformation.transform(solutionDecoding, trainingData, testData, transformedTestDatasetName);
+				predictions.add(this.screeningRegressor.fitAndPredict(transformedTrainingDatasetName, transformedTestDatasetName).stream()
+						.map(prediction -> new SingleTargetRegressionPrediction(Math.max(0, prediction))).collect(Collectors.toList()));
+				groundTruths.add(testData.getLabels());
+			} finally {
+				this.deleteTransformedDataset(transformedTrainingDatasetName);
+				this.deleteTransformedDataset(transformedTestDatasetName);
+			}
+		}
+		return this.metric.loss(groundTruths, predictions);
+	}
+
+	private List<Double> fitAndPredictScreeningRegressor(final String transformedTrainingDatasetName, final String transformedTestDatasetName)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		String constructionInstruction = this.experimentConfiguration.getSuccessiveHalvingScreeningRegressor();
+		String imports = this.experimentConfiguration.getSuccessiveHalvingScreeningRegressorImports() + "\n";
+		Timeout timeout = new Timeout(this.experimentConfiguration.getRegressionCandidateTimeout().seconds() + 2, TimeUnit.SECONDS);
+
+		PythonWorkerPool pythonWorkerPool = this.experimentConfiguration.getPythonWorkerPool();
+		if (pythonWorkerPool != null) {
+			return pythonWorkerPool.fitAndPredict(EWorkerMode.REGRESSION, constructionInstruction, imports, this.getTransformedDatasetFile(transformedTrainingDatasetName),
+					this.getTransformedDatasetFile(transformedTestDatasetName), this.experimentConfiguration.getSeed(), timeout);
+		}
+
+		ScikitLearnWrapper<IPrediction, IPredictionBatch> learner = new ScikitLearnWrapper<>(constructionInstruction, imports, false, EScikitLearnProblemType.REGRESSION);
+		learner.setScikitLearnWrapperConfig(this.experimentConfiguration.getScikitLearnWrapperConfig());
+		learner.setTimeout(this.experimentConfiguration.getRegressionCandidateTimeout());
+		learner.setSeed(this.experimentConfiguration.getSeed());
+		IPredictionBatch predictionBatch = TimedComputation.compute(() -> learner.fitAndPredict(transformedTrainingDatasetName, transformedTestDatasetName), timeout,
+				"Screening regressor timed out.");
+		return predictionBatch.getPredictions().stream().map(prediction -> ((IRegressionPrediction) prediction).getDoublePrediction()).collect(Collectors.toList());
+	}
+
+	private File getTransformedDatasetFile(final String transformedDatasetName) {
+		return new File(this.experimentConfiguration.getTemporaryFolder(), transformedDatasetName + this.experimentConfiguration.getInterchangeFormat().getFileEnding());
+	}
+
+	private void deleteTransformedDataset(final String transformedDatasetName) {
+		try {
+			Files.deleteIfExists(this.getTransformedDatasetFile(transformedDatasetName).toPath());
+		} catch (IOException e) {
+			LOGGER.warn("Could not delete subsampled transformed dataset {}.", transformedDatasetName, e);
+		}
+	}
+
+}
@@ -0,0 +1,21 @@
+package autocoevorul.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter {
+
+	private final LongAdder count = new LongAdder();
+
+	public void increment() {
+		this.count.increment();
+	}
+
+	public void increment(final long amount) {
+		this.count.add(amount);
+	}
+
+	public long getCount() {
+		return this.count.sum();
+	}
+
+}
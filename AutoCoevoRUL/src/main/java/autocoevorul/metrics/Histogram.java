@@ -0,0 +1,72 @@
+package autocoevorul.metrics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records the distribution of a value. Count, sum, minimum and maximum are exact, while the percentiles are computed from a uniform sample of at most
+ * {@value #RESERVOIR_SIZE} values, such that the memory of a histogram is bounded regardless of the length of the experiment.
+ */
+public class Histogram {
+
+	private static final int RESERVOIR_SIZE = 1024;
+
+	private final long[] reservoir = new long[RESERVOIR_SIZE];
+	private long count = 0;
+	private long sum = 0;
+	private long min = Long.MAX_VALUE;
+	private long max = Long.MIN_VALUE;
+
+	public synchronized void update(final long value) {
+		this.count++;
+		this.sum += value;
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+		if (this.count <= RESERVOIR_SIZE) {
+			this.reservoir[(int) this.count - 1] = value;
+		} else {
+			long index = ThreadLocalRandom.current().nextLong(this.count);
+			if (index < RESERVOIR_SIZE) {
+				this.reservoir[(int) index] = value;
+			}
+		}
+	}
+
+	public synchronized long getCount() {
+		return this.count;
+	}
+
+	public synchronized long getSum() {
+		return this.sum;
+	}
+
+	/**
+	 * @param unit
+	 *            The value of one unit of the recorded values in the unit of the snapshot, e.g. 1e-6 to report nanoseconds as milliseconds.
+	 * @return The count, sum, minimum, maximum, mean and percentiles of the recorded values.
+	 */
+	public synchronized Map<String, Object> getSnapshot(final double unit) {
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("count", this.count);
+		if (this.count == 0) {
+			return snapshot;
+		}
+		long[] sample = Arrays.copyOf(this.reservoir, (int) Math.min(this.count, RESERVOIR_SIZE));
+		Arrays.sort(sample);
+		snapshot.put("sum", this.sum * unit);
+		snapshot.put("min", this.min * unit);
+		snapshot.put("max", this.max * unit);
+		snapshot.put("mean", (double) this.sum / this.count * unit);
+		snapshot.put("p50", getPercentile(sample, 0.5) * unit);
+		snapshot.put("p95", getPercentile(sample, 0.95) * unit);
+		snapshot.put("p99", getPercentile(sample, 0.99) * unit);
+		return snapshot;
+	}
+
+	private static long getPercentile(final long[] sortedSample, final double percentile) {
+		return sortedSample[(int) Math.min(sortedSample.length - 1, Math.floor(percentile * sortedSample.length))];
+	}
+
+}
@@ -0,0 +1,132 @@
+package autocoevorul.metrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Collects the counters, timers and histograms of the stages of an experiment, e.g. decoding genomes, starting Python processes, serializing folds, fitting
+ * and predicting folds, GGP runs and writing results. If an export file is set, a snapshot of all metrics is appended to it as a JSON line periodically and
+ * when the registry is closed. Closing the registry also logs a summary of the timers.
+ */
+public class MetricsRegistry implements AutoCloseable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(MetricsRegistry.class);
+
+	private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+	private final Map<String, Timer> timers = new ConcurrentSkipListMap<>();
+	private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final long startTime = System.currentTimeMillis();
+	private File exportFile;
+	private ScheduledExecutorService exporter;
+
+	public Counter counter(final String name) {
+		return this.counters.computeIfAbsent(name, k -> new Counter());
+	}
+
+	public Timer timer(final String name) {
+		return this.timers.computeIfAbsent(name, k -> new Timer());
+	}
+
+	public Histogram histogram(final String name) {
+		return this.histograms.computeIfAbsent(name, k -> new Histogram());
+	}
+
+	/**
+	 * Appends a snapshot of all metrics to the given file in the given interval until the registry is closed.
+	 */
+	public synchronized void startExport(final File exportFile, final Timeout interval) {
+		this.exportFile = exportFile;
+		this.exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-exporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.exporter.scheduleAtFixedRate(this::export, interval.milliseconds(), interval.milliseconds(), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return The current values of all metrics, the durations of the timers in milliseconds.
+	 */
+	public Map<String, Object> getSnapshot() {
+		Map<String, Object> snapshot = new LinkedHashMap<>();
+		snapshot.put("timestamp", System.currentTimeMillis());
+		snapshot.put("uptime_ms", System.currentTimeMillis() - this.startTime);
+		Map<String, Object> counterSnapshots = new LinkedHashMap<>();
+		this.counters.forEach((name, counter) -> counterSnapshots.put(name, counter.getCount()));
+		snapshot.put("counters", counterSnapshots);
+		Map<String, Object> timerSnapshots = new LinkedHashMap<>();
+		this.timers.forEach((name, timer) -> timerSnapshots.put(name, timer.getSnapshot()));
+		snapshot.put("timers", timerSnapshots);
+		Map<String, Object> histogramSnapshots = new LinkedHashMap<>();
+		this.histograms.forEach((name, histogram) -> histogramSnapshots.put(name, histogram.getSnapshot(1)));
+		snapshot.put("histograms", histogramSnapshots);
+		return snapshot;
+	}
+
+	/**
+	 * @return A table of the timers with their count, total time and share of the uptime, as well as the counters.
+	 */
+	public String getSummary() {
+		long uptime = Math.max(1, System.currentTimeMillis() - this.startTime);
+		StringBuilder summary = new StringBuilder(String.format("Metrics after %.1fs:%n", uptime / 1000.0));
+		for (Entry<String, Timer> entry : this.timers.entrySet()) {
+			Map<String, Object> snapshot = entry.getValue().getSnapshot();
+			if (entry.getValue().getCount() > 0) {
+				summary.append(String.format("  %-40s %8d x, total %12.1fms (%5.1f%%), mean %10.1fms, p95 %10.1fms%n", entry.getKey(), entry.getValue().getCount(),
+						entry.getValue().getTotalMillis(), 100 * entry.getValue().getTotalMillis() / uptime, snapshot.get("mean"), snapshot.get("p95")));
+			}
+		}
+		for (Entry<String, Counter> entry : this.counters.entrySet()) {
+			summary.append(String.format("  %-40s %8d%n", entry.getKey(), entry.getValue().getCount()));
+		}
+		return summary.toString();
+	}
+
+	private synchronized void export() {
+		if (this.exportFile == null) {
+			return;
+		}
+		try {
+			Files.createDirectories(this.exportFile.getAbsoluteFile().getParentFile().toPath());
+			String line = this.objectMapper.writeValueAsString(this.getSnapshot()) + System.lineSeparator();
+			Files.write(this.exportFile.toPath(), line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+		} catch (JsonProcessingException e) {
+			LOGGER.warn("Could not serialize metrics.", e);
+		} catch (IOException e) {
+			LOGGER.warn("Could not export metrics to {}.", this.exportFile, e);
+		}
+	}
+
+	/**
+	 * Stops the periodic export, exports the final snapshot and logs the summary.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.exporter != null) {
+			this.exporter.shutdownNow();
+			this.exporter = null;
+		}
+		this.export();
+		this.exportFile = null;
+		LOGGER.info("{}", this.getSummary());
+	}
+
+}
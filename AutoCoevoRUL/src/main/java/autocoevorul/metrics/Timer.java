@@ -0,0 +1,45 @@
+package autocoevorul.metrics;
+
+import java.util.Map;
+
+/**
+ * A histogram of durations, which are recorded in nanoseconds and reported in milliseconds.
+ */
+public class Timer extends Histogram {
+
+	private static final double NANOS_TO_MILLIS = 1e-6;
+
+	/**
+	 * @return A context recording the time until it is closed, intended for try-with-resources blocks.
+	 */
+	public Context time() {
+		return new Context(System.nanoTime());
+	}
+
+	public void recordSince(final long startNanos) {
+		this.update(System.nanoTime() - startNanos);
+	}
+
+	public double getTotalMillis() {
+		return this.getSum() * NANOS_TO_MILLIS;
+	}
+
+	public Map<String, Object> getSnapshot() {
+		return this.getSnapshot(NANOS_TO_MILLIS);
+	}
+
+	public class Context implements AutoCloseable {
+
+		private final long startNanos;
+
+		private Context(final long startNanos) {
+			this.startNanos = startNanos;
+		}
+
+		@Override
+		public void close() {
+			Timer.this.recordSince(this.startNanos);
+		}
+	}
+
+}
@@ -1,19 +1,24 @@
 package autocoevorul.regression;
 
+import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.api4.java.ai.ml.core.evaluation.IPrediction;
 import org.api4.java.ai.ml.core.evaluation.IPredictionBatch;
 import org.api4.java.ai.ml.core.evaluation.execution.IAggregatedPredictionPerformanceMeasure;
 import org.api4.java.ai.ml.core.evaluation.execution.ILearnerRunReport;
+import org.api4.java.ai.ml.core.exception.PredictionException;
+import org.api4.java.ai.ml.core.exception.TrainingException;
 import org.api4.java.ai.ml.regression.evaluation.IRegressionPrediction;
 import org.api4.java.algorithm.Timeout;
 import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
@@ -23,7 +28,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.eventbus.EventBus;
-import com.google.common.hash.Hashing;
 
 import ai.libs.jaicore.basic.sets.Pair;
 import ai.libs.jaicore.components.api.IComponentInstance;
@@ -38,9 +42,27 @@ import ai.libs.jaicore.timing.TimedComputation;
 import autocoevorul.event.RegressorEvaluatedEvent;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.metrics.Timer;
+import autocoevorul.util.PythonWorkerPool;
+import autocoevorul.util.PythonWorkerPool.EWorkerMode;
+import autocoevorul.util.PythonWorkerPool.PythonEvaluationException;
 import autocoevorul.util.ScikitLearnUtil;
 
-public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentInstance, Double> {
+/**
+ * Evaluates a regressor on the features of a feature extractor by fitting it on all folds. The folds of all candidates are fitted on a shared pool bounded by the
+ * number of CPUs, such that candidates rated concurrently by the grammar-based genetic programming do not overload the machine. Each fold additionally holds a
+ * permit of the CPU budget of the experiment while it is fitted, as feature extractors may still be evaluated concurrently in pipelined coevolution.
+ */
+public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentInstance, Double>, AutoCloseable {
+
+	@FunctionalInterface
+	public interface IFoldRegressor {
+		/**
+		 * @return The predictions for the instances of the transformed test dataset of the given regressor fitted on the transformed training dataset.
+		 */
+		List<Double> fitAndPredict(Pair<String, String> constructionInstructionAndImports, String trainDatasetName, String testDatasetName)
+				throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException;
+	}
 
 	private Logger logger = LoggerFactory.getLogger(CompletePipelineEvaluator.class);
 
@@ -48,15 +70,41 @@ public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentIns
 
 	private final ExperimentConfiguration experimentConfiguration;
 	private final List<SolutionDecoding> solutionDecodings;
+	private final List<? extends Future<Boolean>> featuresReady;
+	private final IFoldRegressor foldRegressor;
 	private final List<List<? extends Double>> groundTruthsForSplits;
 	private final IAggregatedPredictionPerformanceMeasure<Double, IRegressionPrediction> metric;
+	private final ExecutorService foldPool;
+	private final Timer foldTimer;
 
 	public CompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureExtractorStrings,
 			final List<List<Double>> groundTruthsForSplits) {
+		this(eventBus, experimentConfiguration, featureExtractorStrings, null, groundTruthsForSplits);
+	}
+
+	/**
+	 * @param featuresReady
+	 *            For each feature extractor a future which is completed with true once its transformed datasets have been written and with false if its evaluation
+	 *            failed, or null if the transformed datasets of all feature extractors are already available.
+	 */
+	public CompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureExtractorStrings,
+			final List<? extends Future<Boolean>> featuresReady, final List<List<Double>> groundTruthsForSplits) {
+		this(eventBus, experimentConfiguration, featureExtractorStrings, featuresReady, groundTruthsForSplits, null);
+	}
+
+	/**
+	 * @param foldRegressor
+	 *            The regressor fitted on each fold, or null to fit the regressors with the Python worker pool respectively the scikit-learn wrapper.
+	 */
+	public CompletePipelineEvaluator(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureExtractorStrings,
+			final List<? extends Future<Boolean>> featuresReady, final List<List<Double>> groundTruthsForSplits, final IFoldRegressor foldRegressor) {
 		super();
 		this.eventBus = eventBus;
 		this.experimentConfiguration = experimentConfiguration;
+		this.foldTimer = experimentConfiguration.getMetricsRegistry().timer("regression.fold.fit_predict");
 		this.solutionDecodings = featureExtractorStrings;
+		this.featuresReady = featuresReady;
+		this.foldRegressor = foldRegressor;
 
 		this.groundTruthsForSplits = new ArrayList<>(experimentConfiguration.getNumberOfFolds());
 		for (List<Double> groundTruthsForSplit : groundTruthsForSplits) {
@@ -64,6 +112,11 @@ public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentIns
 		}
 
 		this.metric = new AveragingPredictionPerformanceMeasure<Double, IRegressionPrediction>(experimentConfiguration.getPerformanceMeasure());
+		this.foldPool = Executors.newFixedThreadPool(experimentConfiguration.getNumCPUs(), runnable -> {
+			Thread thread = new Thread(runnable, "regressor-fold-evaluation");
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	@Override
@@ -74,99 +127,174 @@ public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentIns
 		int idOfFeatureExtractorToUse = Integer.parseInt(componentInstance.getParameterValue(RegressionGgpProblem.PLACEHOLDER_FEATURE_EXTRACTOR_ID_PARAMETER_NAME));
 
 		String featureExtractorConstructionString = this.solutionDecodings.get(idOfFeatureExtractorToUse).getConstructionInstruction();
-		String hashCode = Hashing.sha256().hashString(StringUtils.join(featureExtractorConstructionString, this.solutionDecodings.get(idOfFeatureExtractorToUse).getImports()), StandardCharsets.UTF_8)
-				.toString();
-		String featureExtractorHashcode = hashCode.startsWith("-") ? hashCode.replace("-", "1") : "0" + hashCode;
+		String featureExtractorFingerprint = this.solutionDecodings.get(idOfFeatureExtractorToUse).getFingerprint();
+		this.awaitFeatures(idOfFeatureExtractorToUse, featureExtractorConstructionString);
+
+		RegressorScoreCache regressorScoreCache = this.experimentConfiguration.getRegressorScoreCache();
+		Pair<String, String> constructionInstructionAndImports = this.getRegressorConstructionInstructionAndImports(componentInstance);
+		String regressorConstructionInstruction = constructionInstructionAndImports.getX();
+		if (regressorScoreCache != null) {
+			Double cachedScore = regressorScoreCache.get(featureExtractorFingerprint, regressorConstructionInstruction, this.experimentConfiguration.getPerformanceMeasure());
+			if (cachedScore != null) {
+				String cachedException = cachedScore.isNaN() ? "Failed on the same features before." : null;
+				this.eventBus.post(new RegressorEvaluatedEvent(regressorConstructionInstruction, featureExtractorConstructionString,
+						this.getTrainingDatasetName(featureExtractorFingerprint, -1), cachedScore.isNaN() ? -1 : cachedScore, cachedException, new ArrayList<>(),
+						componentInstance.getAnnotation("generation"), true));
+				if (cachedScore.isNaN()) {
+					throw new ObjectEvaluationFailedException("Learner " + regressorConstructionInstruction + " has already failed on the features of " + featureExtractorConstructionString);
+				}
+				this.logger.debug("Reusing cached score {} of {}.", cachedScore, regressorConstructionInstruction);
+				return cachedScore;
+			}
+		}
 
 		List<ILearnerRunReport> reports = new ArrayList<>(this.experimentConfiguration.getNumberOfFolds());
 		List<List<? extends IRegressionPrediction>> predictions = new ArrayList<>(this.experimentConfiguration.getNumberOfFolds());
 		List<Long> runtimes = new ArrayList<>(this.experimentConfiguration.getNumberOfFolds());
-		String pipeline = "";
+		String pipeline = regressorConstructionInstruction;
 		String exception = "";
-
-		long trainStart = 0;
-		long trainEnd = 0;
-		for (int i = 0; i < this.experimentConfiguration.getNumberOfFolds(); i++) {
-			if (Thread.interrupted()) {
-				throw new InterruptedException();
+		boolean deterministicFailure = false;
+
+		// the folds are fitted concurrently, but collected in the order of the folds such that the results do not depend on the scheduling
+		List<Future<FoldResult>> foldResults = new ArrayList<>(this.experimentConfiguration.getNumberOfFolds());
+		long evaluationStart = System.currentTimeMillis();
+		try {
+			if (this.foldRegressor == null && this.experimentConfiguration.getPythonWorkerPool() == null) {
+				pipeline = this.createScikitlearnWrapper(constructionInstructionAndImports).toString();
 			}
-
-			String trainDatasetName = this.getTrainingDatasetName(featureExtractorHashcode, i);
-			String testDatasetName = this.getTestDatasetName(featureExtractorHashcode, i);
-
-			ILearnerRunReport report = null;
-			ScikitLearnWrapper<IPrediction, IPredictionBatch> learner = null;
-			try {
-
-				learner = this.createScikitlearnWrapper(componentInstance);
-				pipeline = learner.toString();
-
-				trainStart = System.currentTimeMillis();
-				// IPredictionBatch predictionsForSplit = learner.fitAndPredict(trainDatasetName, testDatasetName);
-				IPredictionBatch predictionsForSplit = this.fitAndPredictWithWrapperUnderTimeout(learner, trainDatasetName, testDatasetName);
-				trainEnd = System.currentTimeMillis();
-
-				runtimes.add(trainEnd - trainStart);
-
-				List<IRegressionPrediction> doublePredictionsForSplit = predictionsForSplit.getPredictions().stream()
-						.map(prediction -> new SingleTargetRegressionPrediction(Math.max(0, ((IRegressionPrediction) prediction).getDoublePrediction()))).collect(Collectors.toList());
-
-				report = new LearnerRunReport(null, null, 0, 0, trainStart, trainEnd, new TypelessPredictionDiff(this.groundTruthsForSplits.get(i), doublePredictionsForSplit));
-
-				predictions.add(doublePredictionsForSplit);
-
-			} catch (IOException e) {
-				exception = ExceptionUtils.getStackTrace(e);
-				this.logger.warn("IOException during training of Scikitlearn wrapper with pipeline {} on dataset {}. Error: \n {}", learner, this.experimentConfiguration.getDatasetName(), exception);
-				reports.add(new LearnerRunReport(null, null, trainStart, System.currentTimeMillis(), e));
-				break;
-			} catch (AlgorithmTimeoutedException e) {
-				exception = ExceptionUtils.getStackTrace(e);
-				this.logger.warn("Failed to fit and predict with Scikitlearn wrapper with pipeline {} on dataset {} due to a timeout.", learner, this.experimentConfiguration.getDatasetName());
-				reports.add(new LearnerRunReport(null, null, trainStart, System.currentTimeMillis(), e));
-				break;
-			} catch (ExecutionException e) {
-				exception = ExceptionUtils.getStackTrace(e);
-				this.logger.warn("Failed to fit and predict with Scikitlearn wrapper with pipeline {} on dataset {}. Error: \n {}", learner, this.experimentConfiguration.getDatasetName(), exception);
-				reports.add(new LearnerRunReport(null, null, trainStart, System.currentTimeMillis(), e));
-				break;
+			for (int i = 0; i < this.experimentConfiguration.getNumberOfFolds(); i++) {
+				String trainDatasetName = this.getTrainingDatasetName(featureExtractorFingerprint, i);
+				String testDatasetName = this.getTestDatasetName(featureExtractorFingerprint, i);
+				foldResults.add(this.foldPool.submit(() -> this.fitAndPredictFold(constructionInstructionAndImports, trainDatasetName, testDatasetName)));
 			}
-			if (report != null) {
-				reports.add(report);
+
+			for (int i = 0; i < foldResults.size(); i++) {
+				FoldResult foldResult;
+				try {
+					foldResult = foldResults.get(i).get();
+				} catch (ExecutionException e) {
+					Throwable cause = e.getCause();
+					exception = ExceptionUtils.getStackTrace(cause);
+					deterministicFailure = isDeterministicFailure(cause);
+					if (ExceptionUtils.indexOfThrowable(cause, AlgorithmTimeoutedException.class) >= 0) {
+						this.logger.warn("Failed to fit and predict with Scikitlearn wrapper with pipeline {} on dataset {} due to a timeout.", pipeline, this.experimentConfiguration.getDatasetName());
+					} else {
+						this.logger.warn("Failed to fit and predict with Scikitlearn wrapper with pipeline {} on dataset {}. Error: \n {}", pipeline, this.experimentConfiguration.getDatasetName(),
+								exception);
+					}
+					reports.add(new LearnerRunReport(null, null, evaluationStart, System.currentTimeMillis(), cause));
+					break;
+				}
+
+				runtimes.add(foldResult.trainEnd - foldResult.trainStart);
+				predictions.add(foldResult.predictions);
+				reports.add(new LearnerRunReport(null, null, 0, 0, foldResult.trainStart, foldResult.trainEnd,
+						new TypelessPredictionDiff(this.groundTruthsForSplits.get(i), foldResult.predictions)));
 			}
+		} catch (IOException e) {
+			exception = ExceptionUtils.getStackTrace(e);
+			this.logger.warn("IOException during training of Scikitlearn wrapper with pipeline {} on dataset {}. Error: \n {}", pipeline, this.experimentConfiguration.getDatasetName(), exception);
+			reports.add(new LearnerRunReport(null, null, evaluationStart, System.currentTimeMillis(), e));
+		} finally {
+			// the remaining folds are useless once a fold has failed or the evaluation has been interrupted
+			foldResults.forEach(foldResult -> foldResult.cancel(true));
 		}
 		if (predictions.size() < this.groundTruthsForSplits.size()) {
 			// all folds have failed, so we have to throw an ObjectEvaluationFailedException
-			this.eventBus.post(new RegressorEvaluatedEvent(pipeline, featureExtractorConstructionString, this.getTrainingDatasetName(featureExtractorHashcode, -1), exception,
+			this.eventBus.post(new RegressorEvaluatedEvent(pipeline, featureExtractorConstructionString, this.getTrainingDatasetName(featureExtractorFingerprint, -1), exception,
 					componentInstance.getAnnotation("generation")));
+			// timeouts and failures of the Python processes depend on the state of the machine, so only errors of the regressor itself are cached
+			if (regressorScoreCache != null && deterministicFailure) {
+				regressorScoreCache.putFailure(featureExtractorFingerprint, regressorConstructionInstruction, this.experimentConfiguration.getPerformanceMeasure());
+			}
 			throw new ObjectEvaluationFailedException("Could not evaluate learner " + pipeline + " as at least one fold has failed.");
 		}
 
 		this.logger.debug("Compute metric ({}) for the diff of predictions and ground truth.", this.metric.getClass().getName());
 		double score = this.metric.loss(this.groundTruthsForSplits, predictions);
+		if (regressorScoreCache != null) {
+			regressorScoreCache.put(featureExtractorFingerprint, regressorConstructionInstruction, this.experimentConfiguration.getPerformanceMeasure(), score);
+		}
 		this.logger.info("Computed value for metric {} of {} executions. Metric value is: {}. Pipeline: {}", this.metric, this.experimentConfiguration.getNumberOfFolds(), score, pipeline);
-		this.eventBus.post(new RegressorEvaluatedEvent(pipeline, featureExtractorConstructionString, this.getTrainingDatasetName(featureExtractorHashcode, -1), score, runtimes,
+		this.eventBus.post(new RegressorEvaluatedEvent(pipeline, featureExtractorConstructionString, this.getTrainingDatasetName(featureExtractorFingerprint, -1), score, runtimes,
 				componentInstance.getAnnotation("generation")));
 
 		return score;
 	}
 
-	private String getTestDatasetName(final String featureExtractorHashcode, final int fold) {
-		return featureExtractorHashcode + "_" + this.experimentConfiguration.getDatasetName() + "_" + this.experimentConfiguration.getSeed() + "_" + fold + "_test";
+	/**
+	 * @return True, if the regressor itself raised an error in Python, as opposed to timeouts, interruptions, I/O errors and crashes of the Python processes.
+	 */
+	private static boolean isDeterministicFailure(final Throwable cause) {
+		return ExceptionUtils.indexOfThrowable(cause, PythonEvaluationException.class) >= 0 || ExceptionUtils.indexOfThrowable(cause, TrainingException.class) >= 0
+				|| ExceptionUtils.indexOfThrowable(cause, PredictionException.class) >= 0;
+	}
+
+	private void awaitFeatures(final int idOfFeatureExtractor, final String featureExtractorConstructionString) throws InterruptedException, ObjectEvaluationFailedException {
+		if (this.featuresReady == null) {
+			return;
+		}
+		boolean ready;
+		try {
+			ready = this.featuresReady.get(idOfFeatureExtractor).get();
+		} catch (ExecutionException e) {
+			ready = false;
+		}
+		if (!ready) {
+			throw new ObjectEvaluationFailedException("Cannot evaluate regressor as feature extractor " + featureExtractorConstructionString + " has failed.");
+		}
 	}
 
-	private String getTrainingDatasetName(final String featureExtractorHashcode, final int fold) {
-		return featureExtractorHashcode + "_" + this.experimentConfiguration.getDatasetName() + "_" + this.experimentConfiguration.getSeed() + "_" + fold + "_train";
+	private String getTestDatasetName(final String featureExtractorFingerprint, final int fold) {
+		return this.experimentConfiguration.getTransformedTestDatasetName(featureExtractorFingerprint, fold);
 	}
 
-	public IPredictionBatch fitAndPredictWithWrapperUnderTimeout(final ScikitLearnWrapper<IPrediction, IPredictionBatch> wrapper, final String trainDatasetName, final String testDatasetName)
-			throws AlgorithmTimeoutedException, ExecutionException, InterruptedException {
-		return TimedComputation.compute(() -> wrapper.fitAndPredict(trainDatasetName, testDatasetName),
-				new Timeout(this.experimentConfiguration.getRegressionCandidateTimeout().seconds() + 2, TimeUnit.SECONDS),
-				"Node evaluation has timed out (" + TimeAwareNodeEvaluator.class.getName() + "::" + Thread.currentThread() + "-" + System.currentTimeMillis() + ")");
+	private String getTrainingDatasetName(final String featureExtractorFingerprint, final int fold) {
+		return this.experimentConfiguration.getTransformedTrainingDatasetName(featureExtractorFingerprint, fold);
 	}
 
-	private ScikitLearnWrapper<IPrediction, IPredictionBatch> createScikitlearnWrapper(final IComponentInstance componentInstance) throws IOException {
+	/**
+	 * Fits the regressor on a fold while holding a permit of the CPU budget. The candidate timeout applies to each fold from the moment it is started, such that
+	 * folds waiting for a free thread or permit are not timed out.
+	 */
+	private FoldResult fitAndPredictFold(final Pair<String, String> constructionInstructionAndImports, final String trainDatasetName, final String testDatasetName)
+			throws AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		Semaphore cpuBudget = this.experimentConfiguration.getCpuBudget();
+		cpuBudget.acquire();
+		try {
+			long trainStart = System.currentTimeMillis();
+			List<Double> predictionsForSplit;
+			IFoldRegressor regressor = this.foldRegressor != null ? this.foldRegressor : this::fitAndPredictWithPythonWorkerPoolOrWrapper;
+			try (Timer.Context context = this.foldTimer.time()) {
+				predictionsForSplit = TimedComputation.compute(() -> regressor.fitAndPredict(constructionInstructionAndImports, trainDatasetName, testDatasetName),
+						this.getFoldTimeout(), "Node evaluation has timed out (" + TimeAwareNodeEvaluator.class.getName() + "::" + Thread.currentThread() + "-" + System.currentTimeMillis() + ")");
+			}
+			return new FoldResult(predictionsForSplit, trainStart, System.currentTimeMillis());
+		} finally {
+			cpuBudget.release();
+		}
+	}
+
+	private Timeout getFoldTimeout() {
+		return new Timeout(this.experimentConfiguration.getRegressionCandidateTimeout().seconds() + 2, TimeUnit.SECONDS);
+	}
+
+	private List<Double> fitAndPredictWithPythonWorkerPoolOrWrapper(final Pair<String, String> constructionInstructionAndImports, final String trainDatasetName,
+			final String testDatasetName) throws IOException, AlgorithmTimeoutedException, InterruptedException, ExecutionException {
+		PythonWorkerPool pythonWorkerPool = this.experimentConfiguration.getPythonWorkerPool();
+		if (pythonWorkerPool != null) {
+			return pythonWorkerPool.fitAndPredict(EWorkerMode.REGRESSION, constructionInstructionAndImports.getX(), constructionInstructionAndImports.getY(),
+					new File(this.experimentConfiguration.getTemporaryFolder(), trainDatasetName + this.experimentConfiguration.getInterchangeFormat().getFileEnding()),
+					new File(this.experimentConfiguration.getTemporaryFolder(), testDatasetName + this.experimentConfiguration.getInterchangeFormat().getFileEnding()),
+					this.experimentConfiguration.getSeed(), this.getFoldTimeout());
+		}
+		ScikitLearnWrapper<IPrediction, IPredictionBatch> learner = this.createScikitlearnWrapper(constructionInstructionAndImports);
+		IPredictionBatch predictionBatch = TimedComputation.compute(() -> learner.fitAndPredict(trainDatasetName, testDatasetName), this.getFoldTimeout(),
+				"Scikitlearn wrapper timed out.");
+		return predictionBatch.getPredictions().stream().map(prediction -> ((IRegressionPrediction) prediction).getDoublePrediction()).collect(Collectors.toList());
+	}
+
+	private Pair<String, String> getRegressorConstructionInstructionAndImports(final IComponentInstance componentInstance) {
 		List<IComponentInstance> satisfiedRegressorInterfaceInstancesInComponentInstance = componentInstance
 				.getSatisfactionOfRequiredInterface(this.experimentConfiguration.getRegressionRequiredInterface());
 
@@ -175,8 +303,10 @@ public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentIns
 		}
 		IComponentInstance componentInstanceWithoutDummy = satisfiedRegressorInterfaceInstancesInComponentInstance.get(0);
 
-		Pair<String, String> constructionInstructionAndImports = ScikitLearnUtil.createConstructionInstructionAndImportsFromComponentInstance(componentInstanceWithoutDummy);
+		return ScikitLearnUtil.createConstructionInstructionAndImportsFromComponentInstance(componentInstanceWithoutDummy);
+	}
 
+	private ScikitLearnWrapper<IPrediction, IPredictionBatch> createScikitlearnWrapper(final Pair<String, String> constructionInstructionAndImports) throws IOException {
 		ScikitLearnWrapper<IPrediction, IPredictionBatch> sklearnWrapper = new ScikitLearnWrapper<>(constructionInstructionAndImports.getX(), constructionInstructionAndImports.getY(), false,
 				EScikitLearnProblemType.REGRESSION);
 		sklearnWrapper.setScikitLearnWrapperConfig(this.experimentConfiguration.getScikitLearnWrapperConfig());
@@ -185,4 +315,25 @@ public class CompletePipelineEvaluator implements IObjectEvaluator<IComponentIns
 		return sklearnWrapper;
 	}
 
+	/**
+	 * Stops the threads fitting the folds. The evaluator must not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		this.foldPool.shutdownNow();
+	}
+
+	private static class FoldResult {
+
+		private final List<IRegressionPrediction> predictions;
+		private final long trainStart;
+		private final long trainEnd;
+
+		private FoldResult(final List<Double> predictions, final long trainStart, final long trainEnd) {
+			this.predictions = predictions.stream().map(prediction -> new SingleTargetRegressionPrediction(Math.max(0, prediction))).collect(Collectors.toList());
+			this.trainStart = trainStart;
+			this.trainEnd = trainEnd;
+		}
+	}
+
 }
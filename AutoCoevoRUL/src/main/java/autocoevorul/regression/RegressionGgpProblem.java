@@ -5,6 +5,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import org.api4.java.algorithm.exceptions.AlgorithmException;
@@ -28,8 +30,11 @@ import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming;
 import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming.GGPSolutionCandidate;
 import autocoevorul.event.FeatureExtractorEvaluatedEvent;
 import autocoevorul.event.GGPRegressionResultFoundEvent;
+import autocoevorul.event.RegressorScoreCacheStatisticsEvent;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.metrics.Timer;
+import autocoevorul.regression.CompletePipelineEvaluator.IFoldRegressor;
 import autocoevorul.regression.featurerating.EFeatureRater;
 import autocoevorul.util.ScikitLearnUtil;
 
@@ -45,13 +50,38 @@ public class RegressionGgpProblem {
 
 	private ExperimentConfiguration experimentConfiguration;
 	private List<SolutionDecoding> featureDecodings;
+	private final List<? extends Future<Boolean>> featuresReady;
 	private final List<List<Double>> groundTruthsForSplits;
+	private final IFoldRegressor foldRegressor;
+	private CompletePipelineEvaluator regressionEvaluator;
 	private SoftwareConfigurationProblem<Double> softwareConfigurationProblem;
 
 	private GGPSolutionCandidate ggpResult;
 
 	public RegressionGgpProblem(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureDecodings, final List<List<Double>> groundTruthTest)
 			throws IOException {
+		this(eventBus, experimentConfiguration, featureDecodings, null, groundTruthTest);
+	}
+
+	/**
+	 * Creates a problem whose feature extractors may still be under evaluation. Regressors using a feature extractor whose transformed datasets are not available yet
+	 * wait for them, and feature extractors which turn out to be failed are not rated.
+	 *
+	 * @param featuresReady
+	 *            For each feature extractor a future which is completed with true once its transformed datasets have been written and with false if its evaluation
+	 *            failed.
+	 */
+	public RegressionGgpProblem(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureDecodings,
+			final List<? extends Future<Boolean>> featuresReady, final List<List<Double>> groundTruthTest) throws IOException {
+		this(eventBus, experimentConfiguration, featureDecodings, featuresReady, groundTruthTest, null);
+	}
+
+	/**
+	 * @param foldRegressor
+	 *            The regressor fitted on each transformed fold, or null to fit the candidates with Python.
+	 */
+	public RegressionGgpProblem(final EventBus eventBus, final ExperimentConfiguration experimentConfiguration, final List<SolutionDecoding> featureDecodings,
+			final List<? extends Future<Boolean>> featuresReady, final List<List<Double>> groundTruthTest, final IFoldRegressor foldRegressor) throws IOException {
 		if (featureDecodings.size() == 0) {
 			LOGGER.error("Given list of feature decodings is empty, which is not permitted.", featureDecodings.size());
 			throw new RuntimeException("Given list of feature decodings is empty, which is not permitted.");
@@ -59,48 +89,80 @@ public class RegressionGgpProblem {
 		this.eventBus = eventBus;
 		this.experimentConfiguration = experimentConfiguration;
 		this.featureDecodings = featureDecodings;
+		this.featuresReady = featuresReady;
 		this.groundTruthsForSplits = groundTruthTest;
+		this.foldRegressor = foldRegressor;
 		this.softwareConfigurationProblem = this.constructSoftwareConfigurationProblem();
 	}
 
 	private SoftwareConfigurationProblem<Double> constructSoftwareConfigurationProblem() throws IOException {
-		IComponentRepository componentRepository = new ComponentSerialization().deserializeRepository(new ResourceFile(this.experimentConfiguration.getRegressionSearchpace()));
+		this.regressionEvaluator = new CompletePipelineEvaluator(this.eventBus, this.experimentConfiguration, this.featureDecodings, this.featuresReady, this.groundTruthsForSplits,
+				this.foldRegressor);
+		return createSoftwareConfigurationProblem(this.experimentConfiguration, this.featureDecodings.size(), this.regressionEvaluator);
+	}
+
+	/**
+	 * Creates the problem of composing a regressor with one of the given number of feature extractors, whose candidates are rated by the given evaluator. The
+	 * grammar-based genetic programming rates the candidates of a population concurrently with as many threads as the configuration has CPUs.
+	 */
+	public static SoftwareConfigurationProblem<Double> createSoftwareConfigurationProblem(final ExperimentConfiguration experimentConfiguration, final int numberOfFeatureExtractors,
+			final IObjectEvaluator<IComponentInstance, Double> regressionEvaluator) throws IOException {
+		IComponentRepository componentRepository = new ComponentSerialization().deserializeRepository(new ResourceFile(experimentConfiguration.getRegressionSearchpace()));
 
 		// create dummy component featuring a parameter for the feature extractor which we are actually using
 		Component componentToCompose = new Component(PLACEHOLDER_REQUIRED_INTERFACE_TO_SEARCH);
 		componentToCompose.addProvidedInterface(PLACEHOLDER_REQUIRED_INTERFACE_TO_SEARCH);
-		componentToCompose.addParameter(new Parameter(PLACEHOLDER_FEATURE_EXTRACTOR_ID_PARAMETER_NAME, new NumericParameterDomain(true, 0, this.featureDecodings.size() - 1), 0));
-		componentToCompose.addRequiredInterface(this.experimentConfiguration.getRegressionRequiredInterface(), this.experimentConfiguration.getRegressionRequiredInterface());
+		componentToCompose.addParameter(new Parameter(PLACEHOLDER_FEATURE_EXTRACTOR_ID_PARAMETER_NAME, new NumericParameterDomain(true, 0, numberOfFeatureExtractors - 1), 0));
+		componentToCompose.addRequiredInterface(experimentConfiguration.getRegressionRequiredInterface(), experimentConfiguration.getRegressionRequiredInterface());
 
 		// add this dummy component to the repository
 		componentRepository.add(componentToCompose);
 
-		IObjectEvaluator<IComponentInstance, Double> regressionEvaluator = new CompletePipelineEvaluator(this.eventBus, this.experimentConfiguration, this.featureDecodings,
-				this.groundTruthsForSplits);
-
 		return new SoftwareConfigurationProblem<>(componentRepository, PLACEHOLDER_REQUIRED_INTERFACE_TO_SEARCH, regressionEvaluator);
 	}
 
 	public RegressionGGPSolution evaluateExtractors() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
 		List<GGPSolutionCandidate> solutionCandidatesFromLastPopulation = this.runOptimizationOfRegressorsUsingExtractors();
-		Map<String, List<GGPSolutionCandidate>> featureExtractorStringsToSolutionCandidatesWithExtractor = this.mapGGPSolutionCandidatesToFeatureExtractor(solutionCandidatesFromLastPopulation);
-
-		for (SolutionDecoding featureDecoding : this.featureDecodings) {
-			List<GGPSolutionCandidate> solutionCandidatesWithFeatureExtractor = featureExtractorStringsToSolutionCandidatesWithExtractor.get(featureDecoding.getConstructionInstruction());
+		Map<String, List<GGPSolutionCandidate>> featureExtractorFingerprintsToSolutionCandidatesWithExtractor = this.mapGGPSolutionCandidatesToFeatureExtractor(solutionCandidatesFromLastPopulation);
+
+		for (int i = 0; i < this.featureDecodings.size(); i++) {
+			SolutionDecoding featureDecoding = this.featureDecodings.get(i);
+			if (!this.areFeaturesReady(i)) {
+				// failed feature extractors already carry their worst objectives
+				continue;
+			}
+			List<GGPSolutionCandidate> solutionCandidatesWithFeatureExtractor = featureExtractorFingerprintsToSolutionCandidatesWithExtractor.get(featureDecoding.getFingerprint());
 			double featureRating = this.experimentConfiguration.getFeatureObjectiveMeasure().rateFeatureExtractor(solutionCandidatesWithFeatureExtractor);
 			double numberOfUsageRating = EFeatureRater.NUMBER_OF_USING_REGRESSORS.rateFeatureExtractor(solutionCandidatesWithFeatureExtractor);
 			featureDecoding.setPerformance(featureRating, numberOfUsageRating);
 
-			List<Double> performancesOfIncludingRegressors = featureExtractorStringsToSolutionCandidatesWithExtractor.get(featureDecoding.getConstructionInstruction()).stream().map(g -> g.getScore())
+			List<Double> performancesOfIncludingRegressors = featureExtractorFingerprintsToSolutionCandidatesWithExtractor.get(featureDecoding.getFingerprint()).stream().map(g -> g.getScore())
 					.collect(Collectors.toList());
 			FeatureExtractorEvaluatedEvent event = new FeatureExtractorEvaluatedEvent(featureDecoding.getConstructionInstruction(), this.experimentConfiguration.getDatasetName(), featureRating,
 					performancesOfIncludingRegressors, numberOfUsageRating);
 			this.eventBus.post(event);
 		}
 
+		if (this.experimentConfiguration.getRegressorScoreCache() != null) {
+			RegressorScoreCacheStatisticsEvent statistics = this.experimentConfiguration.getRegressorScoreCache().getStatistics();
+			LOGGER.info("Regressor score cache: {} hits, {} misses, {} entries.", statistics.getHits(), statistics.getMisses(), statistics.getSize());
+			this.eventBus.post(statistics);
+		}
+
 		return this.createRegressionGGPSolutionFromGGPResult();
 	}
 
+	private boolean areFeaturesReady(final int featureExtractorId) throws InterruptedException {
+		if (this.featuresReady == null) {
+			return true;
+		}
+		try {
+			return this.featuresReady.get(featureExtractorId).get();
+		} catch (ExecutionException e) {
+			return false;
+		}
+	}
+
 	private RegressionGGPSolution createRegressionGGPSolutionFromGGPResult() {
 		if (this.ggpResult == null) {
 			RegressionGGPSolution regressionGGPSolution = new RegressionGGPSolution("None", "None", null, null, 10_000.0);
@@ -148,7 +210,11 @@ public class RegressionGgpProblem {
 	private List<GGPSolutionCandidate> runOptimizationOfRegressorsUsingExtractors() throws AlgorithmTimeoutedException, InterruptedException, AlgorithmExecutionCanceledException, AlgorithmException {
 		GrammarBasedGeneticProgramming ggp = new GrammarBasedGeneticProgramming(this.experimentConfiguration.getRegressionGGPConfig(), this.softwareConfigurationProblem,
 				this.experimentConfiguration.getSeed());
-		this.ggpResult = ggp.call();
+		try (Timer.Context context = this.experimentConfiguration.getMetricsRegistry().timer("ggp.run").time()) {
+			this.ggpResult = ggp.call();
+		} finally {
+			this.regressionEvaluator.close();
+		}
 		if (this.ggpResult != null) {
 			LOGGER.info("FOUND BEST SOLUTION: {} {}", this.ggpResult.getScore(), this.ggpResult.getComponentInstance());
 		}
@@ -158,13 +224,13 @@ public class RegressionGgpProblem {
 	private Map<String, List<GGPSolutionCandidate>> mapGGPSolutionCandidatesToFeatureExtractor(final List<GGPSolutionCandidate> solutionCandidates) {
 		Map<String, List<GGPSolutionCandidate>> featureExtractorToIncludingSolutionCandidates = new HashMap<>();
 		for (SolutionDecoding featureExtractorDecoding : this.featureDecodings) {
-			featureExtractorToIncludingSolutionCandidates.put(featureExtractorDecoding.getConstructionInstruction(), new ArrayList<>());
+			featureExtractorToIncludingSolutionCandidates.put(featureExtractorDecoding.getFingerprint(), new ArrayList<>());
 		}
 
 		for (GGPSolutionCandidate solutionCandidate : solutionCandidates) {
 			int featureExtractorId = Integer.parseInt(solutionCandidate.getComponentInstance().getParameterValue(PLACEHOLDER_FEATURE_EXTRACTOR_ID_PARAMETER_NAME));
-			String featureExtractorString = this.featureDecodings.get(featureExtractorId).getConstructionInstruction();
-			featureExtractorToIncludingSolutionCandidates.get(featureExtractorString).add(solutionCandidate);
+			String featureExtractorFingerprint = this.featureDecodings.get(featureExtractorId).getFingerprint();
+			featureExtractorToIncludingSolutionCandidates.get(featureExtractorFingerprint).add(solutionCandidate);
 		}
 		return featureExtractorToIncludingSolutionCandidates;
 	}
@@ -0,0 +1,70 @@
+package autocoevorul.regression;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ai.libs.jaicore.ml.regression.loss.ERulPerformanceMeasure;
+import autocoevorul.event.RegressorScoreCacheStatisticsEvent;
+import autocoevorul.experiment.ExperimentConfiguration;
+
+/**
+ * Cache for the scores of regressors on the datasets transformed by a feature extractor. As feature extractors surviving in the population of the coevolution are
+ * combined with the same regressors again in later generations, a large share of the evaluations of the regression search are exact repetitions.
+ *
+ * Errors raised by the regressor itself are cached as well, such that a regressor failing on the features of a feature extractor is not retried. Timeouts and
+ * failures of the Python processes are not cached, as they depend on the state of the machine.
+ */
+public class RegressorScoreCache {
+
+	private static final double FAILED = Double.NaN;
+
+	private final String foldSet;
+	private final Map<String, Double> scores = new ConcurrentHashMap<>();
+	private final AtomicInteger hits = new AtomicInteger();
+	private final AtomicInteger misses = new AtomicInteger();
+
+	public RegressorScoreCache(final ExperimentConfiguration experimentConfiguration) {
+		this.foldSet = experimentConfiguration.getDatasetName() + "_" + experimentConfiguration.getSeed() + "_" + experimentConfiguration.getNumberOfFolds();
+	}
+
+	/**
+	 * @return The cached score, {@link Double#NaN} if the evaluation has failed before, or null if the regressor has not been evaluated on the features yet.
+	 */
+	public Double get(final String featureExtractorFingerprint, final String regressorConstructionInstruction, final ERulPerformanceMeasure performanceMeasure) {
+		Double score = this.scores.get(this.getKey(featureExtractorFingerprint, regressorConstructionInstruction, performanceMeasure));
+		if (score == null) {
+			this.misses.incrementAndGet();
+		} else {
+			this.hits.incrementAndGet();
+		}
+		return score;
+	}
+
+	public void put(final String featureExtractorFingerprint, final String regressorConstructionInstruction, final ERulPerformanceMeasure performanceMeasure, final double score) {
+		this.scores.put(this.getKey(featureExtractorFingerprint, regressorConstructionInstruction, performanceMeasure), score);
+	}
+
+	public void putFailure(final String featureExtractorFingerprint, final String regressorConstructionInstruction, final ERulPerformanceMeasure performanceMeasure) {
+		this.put(featureExtractorFingerprint, regressorConstructionInstruction, performanceMeasure, FAILED);
+	}
+
+	/**
+	 * @return The key of the given evaluation, which consists of the fingerprint, the regressor, the performance measure and the dataset, seed and number of folds of
+	 *         the experiment.
+	 */
+	public String getKey(final String featureExtractorFingerprint, final String regressorConstructionInstruction, final ERulPerformanceMeasure performanceMeasure) {
+		StringJoiner key = new StringJoiner("|");
+		key.add(featureExtractorFingerprint);
+		key.add(regressorConstructionInstruction);
+		key.add(performanceMeasure.name());
+		key.add(this.foldSet);
+		return key.toString();
+	}
+
+	public RegressorScoreCacheStatisticsEvent getStatistics() {
+		return new RegressorScoreCacheStatisticsEvent(this.hits.get(), this.misses.get(), this.scores.size());
+	}
+
+}
@@ -0,0 +1,100 @@
+package autocoevorul.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import autocoevorul.data.TimeSeriesDataset;
+
+/**
+ * Compact binary alternative to ARFF for the datasets exchanged with the Python workers. The layout is documented in
+ * <code>python_connection/datastructure/binary.py</code>: a small header with the relation and column names, followed by little-endian float32 values. Time
+ * series are stored as one block of sensor values per instance, such that Python can read them with <code>numpy.frombuffer</code> without any parsing. Only
+ * the time series are written on the Java side, the feature matrices written by Python are only read by Python.
+ */
+public class BinaryDatasetFormat {
+
+	public static final String FILE_ENDING = ".bin";
+
+	private static final byte[] MAGIC = "RULBIN01".getBytes(StandardCharsets.US_ASCII);
+	private static final int KIND_TIME_SERIES = 0;
+
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private BinaryDatasetFormat() {
+		// utility class
+	}
+
+	/**
+	 * Writes a {@link TimeSeriesDataset}, whose sensor values are copied directly from its block, followed by the RUL label.
+	 */
+	public static void writeTimeSeriesDataset(final File file, final TimeSeriesDataset dataset) throws IOException {
+		List<String> names = new ArrayList<>(dataset.getSensorNames());
+		names.add(dataset.getLabelName() != null ? dataset.getLabelName() : "RUL");
+
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			writeHeader(channel, buffer, KIND_TIME_SERIES, dataset.getRelationName(), names, dataset.size());
+			for (int i = 0; i < dataset.size(); i++) {
+				ensureCapacity(channel, buffer, Integer.BYTES);
+				buffer.putInt(dataset.getLength(i));
+			}
+			for (int i = 0; i < dataset.size(); i++) {
+				ensureCapacity(channel, buffer, Float.BYTES);
+				buffer.putFloat(dataset.getLabel(i));
+			}
+			for (int i = 0; i < dataset.size(); i++) {
+				for (int sensor = 0; sensor < dataset.getNumberOfSensors(); sensor++) {
+					for (int t = 0; t < dataset.getLength(i); t++) {
+						ensureCapacity(channel, buffer, Float.BYTES);
+						buffer.putFloat(dataset.getValue(i, sensor, t));
+					}
+				}
+			}
+			flush(channel, buffer);
+		}
+	}
+
+	private static void writeHeader(final FileChannel channel, final ByteBuffer buffer, final int kind, final String relationName, final List<String> names, final int numberOfInstances)
+			throws IOException {
+		ensureCapacity(channel, buffer, MAGIC.length + Integer.BYTES);
+		buffer.put(MAGIC);
+		buffer.putInt(kind);
+		writeString(channel, buffer, relationName);
+		ensureCapacity(channel, buffer, Integer.BYTES);
+		buffer.putInt(names.size());
+		for (String name : names) {
+			writeString(channel, buffer, name);
+		}
+		ensureCapacity(channel, buffer, Integer.BYTES);
+		buffer.putInt(numberOfInstances);
+	}
+
+	private static void writeString(final FileChannel channel, final ByteBuffer buffer, final String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		ensureCapacity(channel, buffer, Integer.BYTES + bytes.length);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+	private static void ensureCapacity(final FileChannel channel, final ByteBuffer buffer, final int numberOfBytes) throws IOException {
+		if (buffer.remaining() < numberOfBytes) {
+			flush(channel, buffer);
+		}
+	}
+
+	private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+}
@@ -0,0 +1,20 @@
+package autocoevorul.util;
+
+/**
+ * Formats in which datasets are exchanged with the Python workers.
+ */
+public enum EInterchangeFormat {
+
+	ARFF(".arff"), BINARY(BinaryDatasetFormat.FILE_ENDING);
+
+	private final String fileEnding;
+
+	private EInterchangeFormat(final String fileEnding) {
+		this.fileEnding = fileEnding;
+	}
+
+	public String getFileEnding() {
+		return this.fileEnding;
+	}
+
+}
@@ -0,0 +1,138 @@
+package autocoevorul.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.metrics.Timer;
+
+/**
+ * Serializes the folds of an experiment exactly once into a scratch folder, preferably on a tmpfs such as <code>/dev/shm</code>, from which all evaluations read
+ * them by file. The Python worker pool receives these files directly. The {@link ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper} resolves datasets by their
+ * relation name in the temporary folder of the experiment, so each file is additionally linked into that folder.
+ *
+ * Closing the store deletes the scratch folder and the links, which the runners do when the experiment has finished.
+ */
+public class FoldDataStore implements AutoCloseable {
+
+	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(FoldDataStore.class);
+
+	private final File scratchBaseFolder;
+	private final File temporaryFolder;
+	private final EInterchangeFormat interchangeFormat;
+	private final Timer serializationTimer;
+	private final Map<String, File> files = new ConcurrentHashMap<>();
+	private final List<File> links = new ArrayList<>();
+	private File scratchFolder;
+
+	/**
+	 * @param scratchBaseFolder
+	 *            The folder in which the scratch folder of this store is created. If it does not exist, the folds are written to the temporary folder directly.
+	 * @param temporaryFolder
+	 *            The temporary folder of the experiment, in which the scikit-learn wrapper looks up the datasets.
+	 */
+	public FoldDataStore(final String scratchBaseFolder, final String temporaryFolder, final EInterchangeFormat interchangeFormat) {
+		this(scratchBaseFolder, temporaryFolder, interchangeFormat, new MetricsRegistry());
+	}
+
+	public FoldDataStore(final String scratchBaseFolder, final String temporaryFolder, final EInterchangeFormat interchangeFormat, final MetricsRegistry metricsRegistry) {
+		this.serializationTimer = metricsRegistry.timer("data.serialize." + interchangeFormat.name().toLowerCase());
+		this.scratchBaseFolder = scratchBaseFolder == null || scratchBaseFolder.isEmpty() ? null : new File(scratchBaseFolder);
+		this.temporaryFolder = new File(temporaryFolder);
+		this.interchangeFormat = interchangeFormat;
+	}
+
+	/**
+	 * Serializes the training and test data of all folds of the given split set.
+	 */
+	public void storeAll(final TimeSeriesSplitSet splitSet) throws IOException {
+		long start = System.currentTimeMillis();
+		for (int fold = 0; fold < splitSet.getNumberOfFolds(); fold++) {
+			this.getFile(splitSet.getTrainingData(fold));
+			this.getFile(splitSet.getTestData(fold));
+		}
+		LOGGER.info("Stored {} folds in {} in {}ms.", splitSet.getNumberOfFolds(), this.scratchFolder, System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * @return The file containing the given dataset, which is serialized if this has not been done yet.
+	 */
+	public File getFile(final TimeSeriesDataset dataset) throws IOException {
+		File file = this.files.get(dataset.getRelationName());
+		return file != null ? file : this.store(dataset);
+	}
+
+	private synchronized File store(final TimeSeriesDataset dataset) throws IOException {
+		File file = this.files.get(dataset.getRelationName());
+		if (file != null) {
+			return file;
+		}
+
+		String fileName = dataset.getRelationName() + this.interchangeFormat.getFileEnding();
+		file = new File(this.getScratchFolder(), fileName);
+		try (Timer.Context context = this.serializationTimer.time()) {
+			if (this.interchangeFormat == EInterchangeFormat.BINARY) {
+				BinaryDatasetFormat.writeTimeSeriesDataset(file, dataset);
+			} else {
+				dataset.writeArff(file);
+			}
+		}
+
+		if (!this.scratchFolder.equals(this.temporaryFolder)) {
+			File link = new File(this.temporaryFolder, fileName);
+			Files.deleteIfExists(link.toPath());
+			try {
+				Files.createSymbolicLink(link.toPath(), file.getAbsoluteFile().toPath());
+			} catch (UnsupportedOperationException | IOException e) {
+				LOGGER.debug("Could not link {}, copying it instead.", fileName, e);
+				Files.copy(file.toPath(), link.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			this.links.add(link);
+		}
+		this.files.put(dataset.getRelationName(), file);
+		return file;
+	}
+
+	private File getScratchFolder() throws IOException {
+		if (this.scratchFolder == null) {
+			Files.createDirectories(this.temporaryFolder.toPath());
+			if (this.scratchBaseFolder != null && this.scratchBaseFolder.isDirectory() && this.scratchBaseFolder.canWrite()) {
+				this.scratchFolder = Files.createTempDirectory(this.scratchBaseFolder.toPath(), "autocoevorul-folds").toFile();
+			} else {
+				this.scratchFolder = this.temporaryFolder;
+			}
+		}
+		return this.scratchFolder;
+	}
+
+	@Override
+	public synchronized void close() {
+		try {
+			for (File link : this.links) {
+				Files.deleteIfExists(link.toPath());
+			}
+			for (File file : this.files.values()) {
+				Files.deleteIfExists(file.toPath());
+			}
+			if (this.scratchFolder != null && !this.scratchFolder.equals(this.temporaryFolder)) {
+				Files.deleteIfExists(this.scratchFolder.toPath());
+			}
+		} catch (IOException e) {
+			LOGGER.warn("Could not delete the folds in {}.", this.scratchFolder, e);
+		}
+		this.links.clear();
+		this.files.clear();
+		this.scratchFolder = null;
+	}
+
+}
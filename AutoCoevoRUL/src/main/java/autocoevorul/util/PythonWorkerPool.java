@@ -0,0 +1,255 @@
+package autocoevorul.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.slf4j.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import ai.libs.jaicore.timing.TimedComputation;
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.metrics.Timer;
+
+/**
+ * Pool of resident Python processes executing <code>python_connection/worker.py</code>. In contrast to the {@link ai.libs.jaicore.ml.scikitwrapper.ScikitLearnWrapper},
+ * which starts a new interpreter for every fit and predict call, the workers only pay the interpreter start and the imports of the Python libraries once. Requests
+ * and responses are exchanged as JSON lines via stdin and stdout of the worker processes.
+ *
+ * A worker whose request timed out or was interrupted is killed and lazily replaced by a new one. The workers are only killed once the pool is closed, which the
+ * runners do when the experiment has finished.
+ */
+public class PythonWorkerPool implements AutoCloseable {
+
+	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PythonWorkerPool.class);
+
+	public enum EWorkerMode {
+		FEATURE_ENGINEERING("fe"), REGRESSION("regression"), TRAIN_TEST("traintest");
+
+		private final String name;
+
+		private EWorkerMode(final String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
+
+	private final List<String> command;
+	private final File temporaryFolder;
+	private final Semaphore availableWorkers;
+	private final Queue<PythonWorker> idleWorkers = new ConcurrentLinkedQueue<>();
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Timer workerStartTimer;
+	private volatile boolean closed = false;
+
+	public PythonWorkerPool(final String pythonCommand, final String workerScriptPath, final String temporaryFolder, final int numberOfWorkers, final MetricsRegistry metricsRegistry) {
+		this.command = new ArrayList<>();
+		this.command.add(pythonCommand);
+		this.command.add(new File(workerScriptPath).getAbsolutePath());
+		this.temporaryFolder = new File(temporaryFolder);
+		this.availableWorkers = new Semaphore(numberOfWorkers, true);
+		this.workerStartTimer = metricsRegistry.timer("python.worker.start");
+	}
+
+	/**
+	 * Fits the given pipeline on the training data and returns its predictions for the test data.
+	 *
+	 * @param mode
+	 *            {@link EWorkerMode#REGRESSION} for regressors on extracted features, {@link EWorkerMode#TRAIN_TEST} for complete pipelines on time series data.
+	 * @param constructionInstruction
+	 *            The construction instruction of the pipeline.
+	 * @param imports
+	 *            The imports required by the construction instruction.
+	 * @param trainingData
+	 *            The ARFF file containing the training data.
+	 * @param testData
+	 *            The ARFF file containing the test data.
+	 * @param seed
+	 *            The seed to use within Python.
+	 * @param timeout
+	 *            The timeout after which the worker is killed.
+	 * @return The predictions for the instances of the test data.
+	 */
+	public List<Double> fitAndPredict(final EWorkerMode mode, final String constructionInstruction, final String imports, final File trainingData, final File testData, final long seed, final Timeout timeout)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException {
+		File outputFile = new File(this.temporaryFolder, UUID.randomUUID().toString() + ".json");
+		try {
+			this.execute(mode, constructionInstruction, imports, trainingData, testData, outputFile, seed, timeout);
+			JsonNode predictions = this.objectMapper.readTree(outputFile).get(0);
+			List<Double> result = new ArrayList<>(predictions.size());
+			for (JsonNode prediction : predictions) {
+				result.add(prediction.asDouble());
+			}
+			return result;
+		} finally {
+			if (outputFile.exists() && !outputFile.delete()) {
+				LOGGER.warn("Could not delete prediction file {}.", outputFile.getPath());
+			}
+		}
+	}
+
+	/**
+	 * Fits the given feature extractor on the training data and writes the transformed training and test data. Following <code>run.py</code>, the transformed
+	 * training data is written to the output file in which <code>test</code> is replaced by <code>train</code>.
+	 */
+	public void transform(final String constructionInstruction, final String imports, final File trainingData, final File testData, final File outputFile, final long seed, final Timeout timeout)
+			throws IOException, AlgorithmTimeoutedException, InterruptedException {
+		// the transformed data is appended to the output files, so make sure they do not exist yet
+		Files.deleteIfExists(outputFile.toPath());
+		Files.deleteIfExists(new File(outputFile.getPath().replace("test", "train")).toPath());
+		this.execute(EWorkerMode.FEATURE_ENGINEERING, constructionInstruction, imports, trainingData, testData, outputFile, seed, timeout);
+	}
+
+	public void execute(final EWorkerMode mode, final String constructionInstruction, final String imports, final File trainingData, final File testData, final File outputFile, final long seed,
+			final Timeout timeout) throws IOException, AlgorithmTimeoutedException, InterruptedException {
+		ObjectNode request = this.objectMapper.createObjectNode();
+		request.put("mode", mode.getName());
+		request.put("construct", constructionInstruction);
+		request.put("imports", imports);
+		request.put("arff", trainingData.getAbsolutePath());
+		request.put("testarff", testData.getAbsolutePath());
+		request.put("output", outputFile.getAbsolutePath());
+		request.put("seed", seed);
+		String requestLine = this.objectMapper.writeValueAsString(request);
+
+		PythonWorker worker = this.acquireWorker();
+		JsonNode response;
+		try {
+			response = this.objectMapper.readTree(TimedComputation.compute(() -> worker.process(requestLine), timeout, "Python worker timed out."));
+		} catch (AlgorithmTimeoutedException | InterruptedException e) {
+			this.discardWorker(worker);
+			throw e;
+		} catch (ExecutionException | IOException e) {
+			this.discardWorker(worker);
+			throw new IOException("Python worker failed for " + constructionInstruction, e);
+		}
+		this.releaseWorker(worker);
+
+		if (!"ok".equals(response.get("status").asText())) {
+			throw new PythonEvaluationException("Python worker could not execute " + constructionInstruction + ": \n" + response.get("message").asText());
+		}
+	}
+
+	private PythonWorker acquireWorker() throws IOException, InterruptedException {
+		if (this.closed) {
+			throw new IllegalStateException("Python worker pool has already been closed.");
+		}
+		this.availableWorkers.acquire();
+		PythonWorker worker = this.idleWorkers.poll();
+		while (worker != null && !worker.isAlive()) {
+			worker = this.idleWorkers.poll();
+		}
+		if (worker == null) {
+			try (Timer.Context context = this.workerStartTimer.time()) {
+				worker = new PythonWorker(this.command);
+			} catch (IOException e) {
+				this.availableWorkers.release();
+				throw e;
+			}
+		}
+		return worker;
+	}
+
+	private void releaseWorker(final PythonWorker worker) {
+		if (this.closed) {
+			this.discardWorker(worker);
+			return;
+		}
+		this.idleWorkers.add(worker);
+		this.availableWorkers.release();
+	}
+
+	private void discardWorker(final PythonWorker worker) {
+		worker.destroy();
+		this.availableWorkers.release();
+	}
+
+	@Override
+	public void close() {
+		this.closed = true;
+		PythonWorker worker;
+		while ((worker = this.idleWorkers.poll()) != null) {
+			worker.destroy();
+		}
+	}
+
+	/**
+	 * Signals that the pipeline itself raised an error in Python, which will happen again for the same data, as opposed to a failure of the worker process.
+	 */
+	public static class PythonEvaluationException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		public PythonEvaluationException(final String message) {
+			super(message);
+		}
+	}
+
+	private static class PythonWorker {
+
+		private final Process process;
+		private final BufferedWriter input;
+		private final BufferedReader output;
+
+		private PythonWorker(final List<String> command) throws IOException {
+			this.process = new ProcessBuilder(command).start();
+			this.input = new BufferedWriter(new OutputStreamWriter(this.process.getOutputStream(), StandardCharsets.UTF_8));
+			this.output = new BufferedReader(new InputStreamReader(this.process.getInputStream(), StandardCharsets.UTF_8));
+
+			Thread errorStreamConsumer = new Thread(() -> {
+				try (BufferedReader error = new BufferedReader(new InputStreamReader(this.process.getErrorStream(), StandardCharsets.UTF_8))) {
+					String line;
+					while ((line = error.readLine()) != null) {
+						LOGGER.debug("[python-{}] {}", this.process.pid(), line);
+					}
+				} catch (IOException e) {
+					// stream is closed when the process is destroyed
+				}
+			}, "python-worker-" + this.process.pid());
+			errorStreamConsumer.setDaemon(true);
+			errorStreamConsumer.start();
+			LOGGER.info("Started Python worker {}.", this.process.pid());
+		}
+
+		private String process(final String requestLine) throws IOException {
+			this.input.write(requestLine);
+			this.input.newLine();
+			this.input.flush();
+			String responseLine = this.output.readLine();
+			if (responseLine == null) {
+				throw new IOException("Python worker " + this.process.pid() + " terminated unexpectedly.");
+			}
+			return responseLine;
+		}
+
+		private boolean isAlive() {
+			return this.process.isAlive();
+		}
+
+		private void destroy() {
+			this.process.descendants().forEach(ProcessHandle::destroyForcibly);
+			this.process.destroyForcibly();
+		}
+	}
+
+}
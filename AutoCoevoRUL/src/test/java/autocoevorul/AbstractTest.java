@@ -19,7 +19,7 @@ public class AbstractTest {
 
 	private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(AbstractTest.class);
 
-	private static final String CONFIG_FILE_PATH = "src/test/resources/searchspace/tests.cnf";
+	protected static final String CONFIG_FILE_PATH = "src/test/resources/searchspace/tests.cnf";
 	protected static final String PYTHON_TEMPLATE_PATH = "../python_connection/run.py";
 
 	private ExperimentConfiguration experimentConfiguration;
@@ -0,0 +1,67 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+import org.junit.Test;
+
+import ai.libs.jaicore.db.IDatabaseAdapter;
+import autocoevorul.event.AsyncDatabaseWriter;
+import autocoevorul.experiment.store.DatabaseResultStore;
+import autocoevorul.metrics.MetricsRegistry;
+
+public class AsyncDatabaseWriterTest extends AbstractTest {
+
+	private static final long INSERT_LATENCY = 200;
+
+	/**
+	 * @return A database adapter recording the number of rows of each multi-row insert, which takes {@link #INSERT_LATENCY} milliseconds per statement.
+	 */
+	private IDatabaseAdapter createSlowAdapter(final List<Integer> insertedBatchSizes) {
+		return (IDatabaseAdapter) Proxy.newProxyInstance(IDatabaseAdapter.class.getClassLoader(), new Class<?>[] { IDatabaseAdapter.class }, (proxy, method, args) -> {
+			if (method.getName().equals("insertMultiple")) {
+				Thread.sleep(INSERT_LATENCY);
+				insertedBatchSizes.add(((List<?>) args[2]).size());
+			} else if (method.getName().equals("insert")) {
+				Thread.sleep(INSERT_LATENCY);
+				insertedBatchSizes.add(1);
+			}
+			return null;
+		});
+	}
+
+	private Map<String, Object> createRow(final int i) {
+		Map<String, Object> row = new HashMap<>();
+		row.put("pipeline", "pipeline" + i);
+		row.put("performance", i);
+		return row;
+	}
+
+	@Test
+	public void testRowsAreWrittenInBatchesWithoutBlocking() {
+		List<Integer> insertedBatchSizes = Collections.synchronizedList(new ArrayList<>());
+		AsyncDatabaseWriter writer = new AsyncDatabaseWriter(new DatabaseResultStore(this.createSlowAdapter(insertedBatchSizes), null, null), 4,
+				new Timeout(100, TimeUnit.MILLISECONDS), new MetricsRegistry());
+
+		long start = System.currentTimeMillis();
+		for (int i = 0; i < 10; i++) {
+			writer.insert("table_pipelines", this.createRow(i));
+		}
+		assertTrue(System.currentTimeMillis() - start < INSERT_LATENCY);
+
+		writer.close();
+		assertEquals(10, insertedBatchSizes.stream().mapToInt(Integer::intValue).sum());
+		assertTrue(insertedBatchSizes.stream().allMatch(size -> size <= 4));
+		assertTrue(insertedBatchSizes.size() < 10);
+	}
+
+}
@@ -0,0 +1,86 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.util.BinaryDatasetFormat;
+
+/**
+ * Reads the written files according to the layout of <code>python_connection/datastructure/binary.py</code>.
+ */
+public class BinaryDatasetFormatTest extends AbstractTest {
+
+	private static final String ARFF = "@RELATION CMAPSS_FD001_train\n\n@ATTRIBUTE sensor0 TIMESERIES\n@ATTRIBUTE sensor1 TIMESERIES\n@ATTRIBUTE RUL NUMERIC\n\n@DATA\n"
+			+ "\"1#0.5 2#0.75 3#1.0\",\"1#10.0 2#20.0 3#30.0\",12\n" + "\"1#2.0 2#4.0\",?,7\n";
+
+	private ByteBuffer writeAndMap(final TimeSeriesDataset dataset) throws IOException {
+		File file = File.createTempFile("timeseries", BinaryDatasetFormat.FILE_ENDING);
+		BinaryDatasetFormat.writeTimeSeriesDataset(file, dataset);
+		return ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private String readString(final ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testWriteTimeSeriesDataset() throws IOException {
+		File arff = File.createTempFile("timeseries", ".arff");
+		Files.write(arff.toPath(), ARFF.getBytes(StandardCharsets.UTF_8));
+		ByteBuffer buffer = this.writeAndMap(TimeSeriesDataset.readArff(arff));
+
+		byte[] magic = new byte[8];
+		buffer.get(magic);
+		assertArrayEquals("RULBIN01".getBytes(StandardCharsets.US_ASCII), magic);
+		assertEquals(0, buffer.getInt());
+		assertEquals("CMAPSS_FD001_train", this.readString(buffer));
+		assertEquals(3, buffer.getInt());
+		assertEquals("sensor0", this.readString(buffer));
+		assertEquals("sensor1", this.readString(buffer));
+		assertEquals("RUL", this.readString(buffer));
+		assertEquals(2, buffer.getInt());
+
+		assertEquals(3, buffer.getInt());
+		assertEquals(2, buffer.getInt());
+		assertEquals(12f, buffer.getFloat());
+		assertEquals(7f, buffer.getFloat());
+
+		float[] expectedValues = { 0.5f, 0.75f, 1.0f, 10.0f, 20.0f, 30.0f, 2.0f, 4.0f, Float.NaN, Float.NaN };
+		for (float expectedValue : expectedValues) {
+			assertEquals(expectedValue, buffer.getFloat());
+		}
+		assertFalse(buffer.hasRemaining());
+	}
+
+	@Test
+	public void testWriteIsLittleEndian() throws IOException {
+		File arff = File.createTempFile("timeseries", ".arff");
+		Files.write(arff.toPath(), ARFF.getBytes(StandardCharsets.UTF_8));
+		ByteBuffer buffer = this.writeAndMap(TimeSeriesDataset.readArff(arff));
+
+		// kind 0 followed by the length 18 of the relation name, least significant byte first
+		byte[] kindAndLength = new byte[8];
+		buffer.position(8);
+		buffer.get(kindAndLength);
+		assertArrayEquals(new byte[] { 0, 0, 0, 0, 18, 0, 0, 0 }, kindAndLength);
+		// the NaN of the missing series keeps its canonical bit pattern
+		buffer.position(buffer.limit() - Float.BYTES);
+		assertTrue(Float.isNaN(buffer.getFloat()));
+		assertEquals(Float.floatToRawIntBits(Float.NaN), buffer.getInt(buffer.limit() - Float.BYTES));
+	}
+
+}
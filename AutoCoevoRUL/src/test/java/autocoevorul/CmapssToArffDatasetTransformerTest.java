@@ -0,0 +1,110 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.junit.Test;
+
+import autocoevorul.data.CmapssToArffDatasetTransformer;
+
+public class CmapssToArffDatasetTransformerTest extends AbstractTest {
+
+	private static final int NUMBER_OF_SENSORS = 24;
+
+	private String createValue(final int engine, final int timeStep, final int sensor) {
+		// the first sensor has small values, which Double.toString would print in scientific notation
+		return sensor == 0 ? "-0.000" + (timeStep + 6) : "" + (engine * 100 + timeStep + sensor * 0.5);
+	}
+
+	private String createRow(final int engine, final int timeStep) {
+		StringJoiner row = new StringJoiner(" ");
+		row.add("" + engine).add("" + timeStep);
+		for (int sensor = 0; sensor < NUMBER_OF_SENSORS; sensor++) {
+			row.add(this.createValue(engine, timeStep, sensor));
+		}
+		// the original CMAPSS files end each row with two blanks
+		return row.toString() + "  ";
+	}
+
+	private String createExpectedInstance(final int engine, final int timeSteps, final String rul) {
+		StringJoiner instance = new StringJoiner(",");
+		for (int sensor = 0; sensor < NUMBER_OF_SENSORS; sensor++) {
+			StringJoiner series = new StringJoiner(" ", "\"", "\"");
+			for (int timeStep = 1; timeStep <= timeSteps; timeStep++) {
+				series.add(timeStep + "#" + this.createValue(engine, timeStep, sensor));
+			}
+			instance.add(series.toString());
+		}
+		return rul == null ? instance.toString() : instance.toString() + ", " + rul;
+	}
+
+	private File writeCmapssFile(final File folder, final String name) throws IOException {
+		File file = new File(folder, name);
+		StringJoiner lines = new StringJoiner("\n", "", "\n");
+		for (int timeStep = 1; timeStep <= 3; timeStep++) {
+			lines.add(this.createRow(1, timeStep));
+		}
+		for (int timeStep = 1; timeStep <= 2; timeStep++) {
+			lines.add(this.createRow(2, timeStep));
+		}
+		Files.write(file.toPath(), lines.toString().getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	public void testTransformTrainingData() throws IOException {
+		File folder = Files.createTempDirectory("cmapss").toFile();
+		File input = this.writeCmapssFile(folder, "train_FD001.txt");
+		File output = new File(folder, "arff/FD001_train.arff");
+
+		new CmapssToArffDatasetTransformer().transform(input.getPath(), output.getPath());
+
+		List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+		assertEquals("@RELATION CMAPSS_train_FD001", lines.get(0));
+		assertEquals("@ATTRIBUTE sensor0 TIMESERIES ", lines.get(2));
+		assertEquals("@DATA", lines.get(2 + NUMBER_OF_SENSORS + 1));
+		assertEquals(this.createExpectedInstance(1, 3, null), lines.get(2 + NUMBER_OF_SENSORS + 2));
+		assertEquals(this.createExpectedInstance(2, 2, null), lines.get(2 + NUMBER_OF_SENSORS + 3));
+		assertEquals(2 + NUMBER_OF_SENSORS + 4, lines.size());
+	}
+
+	@Test
+	public void testTransformTestDataWithRul() throws IOException {
+		File folder = Files.createTempDirectory("cmapss").toFile();
+		File input = this.writeCmapssFile(folder, "test_FD001.txt");
+		Files.write(new File(folder, "RUL_FD001.txt").toPath(), "112\n98\n".getBytes(StandardCharsets.UTF_8));
+
+		String data = new CmapssToArffDatasetTransformer().transform(input.getPath());
+		assertEquals(this.createExpectedInstance(1, 3, "112") + "\n" + this.createExpectedInstance(2, 2, "98"), data);
+	}
+
+	@Test
+	public void testRejectsNonContiguousEngines() throws IOException {
+		File folder = Files.createTempDirectory("cmapss").toFile();
+		File input = new File(folder, "train_FD001.txt");
+		Files.write(input.toPath(), (this.createRow(1, 1) + "\n" + this.createRow(2, 1) + "\n" + this.createRow(1, 2) + "\n").getBytes(StandardCharsets.UTF_8));
+
+		assertNull(new CmapssToArffDatasetTransformer().transform(input.getPath()));
+	}
+
+	@Test
+	public void testRemovesPartialOutputOfNonContiguousEngines() throws IOException {
+		File folder = Files.createTempDirectory("cmapss").toFile();
+		File input = new File(folder, "train_FD001.txt");
+		Files.write(input.toPath(), (this.createRow(1, 1) + "\n" + this.createRow(2, 1) + "\n" + this.createRow(1, 2) + "\n").getBytes(StandardCharsets.UTF_8));
+		File output = new File(folder, "arff/FD001_train.arff");
+
+		assertThrows(IOException.class, () -> new CmapssToArffDatasetTransformer().transform(input.getPath(), output.getPath()));
+		assertFalse(output.exists());
+	}
+
+}
@@ -8,8 +8,6 @@ import java.util.Random;
 import java.util.stream.Collectors;
 
 import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
-import org.api4.java.ai.ml.core.dataset.supervised.ILabeledDataset;
-import org.api4.java.ai.ml.core.evaluation.execution.IDatasetSplitSet;
 import org.junit.Test;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.variable.BinaryIntegerVariable;
@@ -17,6 +15,7 @@ import org.moeaframework.core.variable.BinaryVariable;
 
 import com.google.common.eventbus.EventBus;
 
+import autocoevorul.data.TimeSeriesSplitSet;
 import autocoevorul.experiment.ExperimentConfiguration;
 import autocoevorul.featurerextraction.FeatureExtractionMoeaProblem;
 import autocoevorul.featurerextraction.GenomeHandler;
@@ -40,15 +39,12 @@ public class CoevolutionTest extends AbstractTest {
 	public void testRegressionSearchWithRocket() throws Exception {
 		ExperimentConfiguration experimentConfiguration = this.getExperimentConfiguration();
 		GenomeHandler genomeHandler = this.setupGenomeHandler();
-		IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, new Random(experimentConfiguration.getSeed()));
+		TimeSeriesSplitSet datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, new Random(experimentConfiguration.getSeed()));
 
 		List<SolutionDecoding> validSolutionDecodings = new ArrayList<>();
 		validSolutionDecodings.add(genomeHandler.decodeGenome(this.getRocketComponentInstanceSolutionToTest(experimentConfiguration, genomeHandler)));
 
-		List<List<Double>> groundTruthTest = new ArrayList<>();
-		for (int fold = 0; fold < experimentConfiguration.getNumberOfFolds(); fold++) {
-			groundTruthTest.add(datasetSplitSet.getFolds(fold).get(1).stream().map(instance -> (Double) instance.getLabel()).collect(Collectors.toList()));
-		}
+		List<List<Double>> groundTruthTest = datasetSplitSet.getTestGroundTruths();
 
 		FeatureExtractionMoeaProblem featureEvaluator = new FeatureExtractionMoeaProblem(new EventBus(), experimentConfiguration, genomeHandler, datasetSplitSet);
 		featureEvaluator.evaluateAll(validSolutionDecodings.stream().map(solutionDecoding -> solutionDecoding.getSolution()).collect(Collectors.toList()));
@@ -69,15 +65,12 @@ public class CoevolutionTest extends AbstractTest {
 	public void testRegressionSearchWithTsfresh() throws Exception {
 		ExperimentConfiguration experimentConfiguration = this.getExperimentConfiguration();
 		GenomeHandler genomeHandler = this.setupGenomeHandler();
-		IDatasetSplitSet<ILabeledDataset<?>> datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, new Random(experimentConfiguration.getSeed()));
+		TimeSeriesSplitSet datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, new Random(experimentConfiguration.getSeed()));
 
 		List<SolutionDecoding> validSolutionDecodings = new ArrayList<>();
 		validSolutionDecodings.add(genomeHandler.decodeGenome(this.getTsfreshComponentInstanceSolutionToTest(experimentConfiguration, genomeHandler)));
 
-		List<List<Double>> groundTruthTest = new ArrayList<>();
-		for (int fold = 0; fold < experimentConfiguration.getNumberOfFolds(); fold++) {
-			groundTruthTest.add(datasetSplitSet.getFolds(fold).get(1).stream().map(instance -> (Double) instance.getLabel()).collect(Collectors.toList()));
-		}
+		List<List<Double>> groundTruthTest = datasetSplitSet.getTestGroundTruths();
 
 		FeatureExtractionMoeaProblem featureEvaluator = new FeatureExtractionMoeaProblem(new EventBus(), experimentConfiguration, genomeHandler, datasetSplitSet);
 		featureEvaluator.evaluateAll(validSolutionDecodings.stream().map(solutionDecoding -> solutionDecoding.getSolution()).collect(Collectors.toList()));
@@ -0,0 +1,144 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.api4.java.common.attributedobjects.ObjectEvaluationFailedException;
+import org.junit.Test;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentInstance;
+import autocoevorul.event.RegressorEvaluatedEvent;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.regression.CompletePipelineEvaluator;
+import autocoevorul.regression.CompletePipelineEvaluator.IFoldRegressor;
+import autocoevorul.regression.RegressionGgpProblem;
+
+/**
+ * Evaluates a regressor whose folds are fitted by a stub, which takes a given time per fold.
+ */
+public class CompletePipelineEvaluatorTest extends AbstractTest {
+
+	private static final List<Double> GROUND_TRUTH = Arrays.asList(10.0, 20.0);
+
+	private final List<RegressorEvaluatedEvent> regressorEvaluatedEvents = new CopyOnWriteArrayList<>();
+	private final List<Integer> finishedFolds = new CopyOnWriteArrayList<>();
+	private final List<Integer> interruptedFolds = new CopyOnWriteArrayList<>();
+
+	@Subscribe
+	public void receiveRegressorEvaluatedEvent(final RegressorEvaluatedEvent event) {
+		this.regressorEvaluatedEvents.add(event);
+	}
+
+	/**
+	 * @return The test configuration with a regressor candidate timeout of one second, which results in a timeout of three seconds per fold.
+	 */
+	private ExperimentConfiguration createExperimentConfiguration() throws IOException {
+		String configuration = new String(Files.readAllBytes(Paths.get(CONFIG_FILE_PATH)), StandardCharsets.UTF_8).replace("regressionCandidateTimeout = 2:MINUTES",
+				"regressionCandidateTimeout = 1:SECONDS");
+		File configurationFile = File.createTempFile("tests", ".cnf");
+		Files.write(configurationFile.toPath(), configuration.getBytes(StandardCharsets.UTF_8));
+		return new ExperimentConfiguration(configurationFile.getPath());
+	}
+
+	/**
+	 * @param foldRuntimes
+	 *            The time in milliseconds the stub takes to fit each fold, or a negative value to let the fold fail immediately.
+	 */
+	private CompletePipelineEvaluator createEvaluator(final ExperimentConfiguration experimentConfiguration, final long... foldRuntimes) {
+		EventBus eventBus = new EventBus();
+		eventBus.register(this);
+		SolutionDecoding solutionDecoding = new SolutionDecoding(null,
+				Arrays.asList(new ComponentInstance(new Component("sklearn.preprocessing.Extractor"), new HashMap<>(), new HashMap<>())));
+		IFoldRegressor foldRegressor = (constructionInstructionAndImports, trainDatasetName, testDatasetName) -> {
+			// the names of the transformed training datasets end with _<fold>_train
+			int fold = Integer.parseInt(trainDatasetName.replaceAll(".*_(\\d+)_train", "$1"));
+			if (foldRuntimes[fold] < 0) {
+				throw new IOException("Fold " + fold + " failed.");
+			}
+			try {
+				Thread.sleep(foldRuntimes[fold]);
+			} catch (InterruptedException e) {
+				this.interruptedFolds.add(fold);
+				throw e;
+			}
+			this.finishedFolds.add(fold);
+			return GROUND_TRUTH;
+		};
+		return new CompletePipelineEvaluator(eventBus, experimentConfiguration, Arrays.asList(solutionDecoding), null, Arrays.asList(GROUND_TRUTH, GROUND_TRUTH), foldRegressor);
+	}
+
+	private IComponentInstance createComponentInstance(final ExperimentConfiguration experimentConfiguration) {
+		Map<String, String> parameterValues = new HashMap<>();
+		parameterValues.put(RegressionGgpProblem.PLACEHOLDER_FEATURE_EXTRACTOR_ID_PARAMETER_NAME, "0");
+		Map<String, List<IComponentInstance>> satisfactionOfRequiredInterfaces = new HashMap<>();
+		satisfactionOfRequiredInterfaces.put(experimentConfiguration.getRegressionRequiredInterface(),
+				Arrays.asList(new ComponentInstance(new Component("sklearn.dummy.DummyRegressor"), new HashMap<>(), new HashMap<>())));
+		return new ComponentInstance(new Component(RegressionGgpProblem.PLACEHOLDER_REQUIRED_INTERFACE_TO_SEARCH), parameterValues, satisfactionOfRequiredInterfaces);
+	}
+
+	@Test
+	public void testFoldsAreFittedConcurrentlyAndCollectedInOrder() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.createExperimentConfiguration();
+		try (CompletePipelineEvaluator evaluator = this.createEvaluator(experimentConfiguration, 1000, 0)) {
+			double score = evaluator.evaluate(this.createComponentInstance(experimentConfiguration));
+
+			// the second fold finishes first, but the results are reported in the order of the folds
+			assertEquals(Arrays.asList(1, 0), this.finishedFolds);
+			List<Double> runtimes = this.regressorEvaluatedEvents.get(0).getRuntimesInSeconds();
+			assertTrue(runtimes.get(0) >= 1);
+			assertTrue(runtimes.get(1) < 1);
+			double scoreOfSecondEvaluation = evaluator.evaluate(this.createComponentInstance(experimentConfiguration));
+			assertEquals(score, scoreOfSecondEvaluation);
+		}
+	}
+
+	@Test
+	public void testFoldsAreTimedOut() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.createExperimentConfiguration();
+		try (CompletePipelineEvaluator evaluator = this.createEvaluator(experimentConfiguration, 60_000, 60_000)) {
+			long start = System.currentTimeMillis();
+			assertThrows(ObjectEvaluationFailedException.class, () -> evaluator.evaluate(this.createComponentInstance(experimentConfiguration)));
+
+			// each fold is timed out after the candidate timeout of one second plus two seconds
+			assertTrue(System.currentTimeMillis() - start < 10_000);
+			assertTrue(this.regressorEvaluatedEvents.get(0).isError());
+			assertTrue(this.regressorEvaluatedEvents.get(0).getException().contains("AlgorithmTimeoutedException"));
+			Thread.sleep(500);
+			assertEquals(Arrays.asList(0, 1), this.interruptedFolds.stream().sorted().collect(Collectors.toList()));
+		}
+	}
+
+	@Test
+	public void testFailedFoldCancelsRemainingFolds() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.createExperimentConfiguration();
+		try (CompletePipelineEvaluator evaluator = this.createEvaluator(experimentConfiguration, -1, 60_000)) {
+			long start = System.currentTimeMillis();
+			assertThrows(ObjectEvaluationFailedException.class, () -> evaluator.evaluate(this.createComponentInstance(experimentConfiguration)));
+
+			assertTrue(System.currentTimeMillis() - start < 2_000);
+			assertTrue(this.regressorEvaluatedEvents.get(0).getException().contains("Fold 0 failed."));
+			Thread.sleep(500);
+			assertEquals(Arrays.asList(1), this.interruptedFolds);
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.StringJoiner;
+
+import org.junit.Test;
+
+import autocoevorul.data.DatasetPreparationPipeline;
+
+public class DatasetPreparationPipelineTest extends AbstractTest {
+
+	private static final int NUMBER_OF_SENSORS = 24;
+
+	private File rawDataFolder;
+	private File outputFolder;
+
+	private void createFolders() throws IOException {
+		this.rawDataFolder = Files.createTempDirectory("raw").toFile();
+		this.outputFolder = Files.createTempDirectory("prepared").toFile();
+	}
+
+	/**
+	 * Writes a CMAPSS training file with one row per given engine id, where consecutive rows of the same engine are consecutive time steps.
+	 */
+	private void writeTrainingFile(final int... engines) throws IOException {
+		StringJoiner lines = new StringJoiner("\n", "", "\n");
+		for (int row = 0; row < engines.length; row++) {
+			StringJoiner columns = new StringJoiner(" ");
+			columns.add("" + engines[row]).add("" + (row + 1));
+			for (int sensor = 0; sensor < NUMBER_OF_SENSORS; sensor++) {
+				columns.add("" + (engines[row] * 100 + row + sensor * 0.5));
+			}
+			lines.add(columns.toString());
+		}
+		Files.write(new File(this.rawDataFolder, "train_FD001.txt").toPath(), lines.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private int runPipeline() throws IOException {
+		return new DatasetPreparationPipeline(this.rawDataFolder, this.outputFolder, 2, 0, 1).run();
+	}
+
+	private File getConvertedFile() {
+		return new File(this.outputFolder, "data_raw/CMAPSS/train/FD001_train.arff");
+	}
+
+	private File getCutFile() {
+		return new File(this.outputFolder, "data_transformed/CMAPSS/FD001_train.arff");
+	}
+
+	private Properties readManifest() throws IOException {
+		Properties manifest = new Properties();
+		try (InputStream in = new FileInputStream(new File(this.outputFolder, ".manifest"))) {
+			manifest.load(in);
+		}
+		return manifest;
+	}
+
+	@Test
+	public void testSkipsUpToDateOutputs() throws IOException {
+		this.createFolders();
+		this.writeTrainingFile(1, 1, 1, 2, 2);
+
+		assertEquals(2, this.runPipeline());
+		assertTrue(this.getConvertedFile().exists());
+		assertTrue(this.getCutFile().exists());
+		assertEquals(6, this.readManifest().size());
+
+		assertEquals(0, this.runPipeline());
+	}
+
+	@Test
+	public void testDoesNotRecordFailedTransformations() throws IOException {
+		this.createFolders();
+		// the rows of engine 1 are not contiguous
+		this.writeTrainingFile(1, 2, 1);
+
+		assertThrows(IOException.class, this::runPipeline);
+		assertFalse(this.getConvertedFile().exists());
+		assertFalse(new File(this.getConvertedFile().getPath() + ".part").exists());
+		// the cut depends on the failed conversion
+		assertFalse(this.getCutFile().exists());
+		assertTrue(this.readManifest().isEmpty());
+
+		this.writeTrainingFile(1, 1, 2);
+		assertEquals(2, this.runPipeline());
+		assertTrue(this.getCutFile().exists());
+	}
+
+	@Test
+	public void testRegeneratesAfterFailure() throws IOException {
+		this.createFolders();
+		this.writeTrainingFile(1, 1, 1, 2, 2);
+		assertEquals(2, this.runPipeline());
+
+		// a failed transformation is neither skipped by the next run nor does it replace the previous output
+		this.writeTrainingFile(1, 2, 1);
+		assertThrows(IOException.class, this::runPipeline);
+		assertThrows(IOException.class, this::runPipeline);
+		assertTrue(this.getConvertedFile().exists());
+
+		this.writeTrainingFile(1, 1, 2, 2, 3, 3);
+		assertEquals(2, this.runPipeline());
+		assertEquals(0, this.runPipeline());
+	}
+
+}
@@ -0,0 +1,82 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryIntegerVariable;
+
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.event.RegressorEvaluatedEvent;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.featurerextraction.FeatureExtractionMoeaProblem;
+import autocoevorul.featurerextraction.GenomeHandler;
+import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.util.DataUtil;
+
+/**
+ * Transforms the folds with the ScikitLearnWrapper instead of the Python worker pool and checks that the regressors find the transformed datasets.
+ */
+public class FeatureExtractionWrapperTest extends AbstractTest {
+
+	private final List<RegressorEvaluatedEvent> regressorEvaluatedEvents = new CopyOnWriteArrayList<>();
+
+	@Before
+	public void purgeTmpDirectory() throws IOException {
+		File tmpDirectory = new File("tmp/");
+		if (tmpDirectory.isDirectory()) {
+			FileUtils.deleteDirectory(tmpDirectory);
+		}
+	}
+
+	@Subscribe
+	public void receiveRegressorEvaluatedEvent(final RegressorEvaluatedEvent event) {
+		this.regressorEvaluatedEvents.add(event);
+	}
+
+	@Test
+	public void testRegressorsAreEvaluatedOnFeaturesTransformedByWrapper() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.getExperimentConfiguration();
+		assertFalse(experimentConfiguration.isPythonWorkerPoolEnabled());
+		GenomeHandler genomeHandler = this.setupGenomeHandler();
+		TimeSeriesSplitSet datasetSplitSet = DataUtil.prepareDatasetSplits(experimentConfiguration, new Random(experimentConfiguration.getSeed()));
+
+		// tsfresh with the minimum as only feature
+		Solution solution = this.getEmptySolution(experimentConfiguration, genomeHandler);
+		((BinaryIntegerVariable) solution.getVariable(0)).setValue(this.getPositionInArray("True", "True", "False"));
+		SolutionDecoding solutionDecoding = genomeHandler.decodeGenome(solution);
+
+		EventBus eventBus = new EventBus();
+		eventBus.register(this);
+		FeatureExtractionMoeaProblem featureEvaluator = new FeatureExtractionMoeaProblem(eventBus, experimentConfiguration, genomeHandler, datasetSplitSet);
+		featureEvaluator.evaluateAll(Arrays.asList(solution));
+
+		// the output of the wrapper has been renamed to the names by which the regressors and the feature cache look the transformed datasets up
+		for (int fold = 0; fold < experimentConfiguration.getNumberOfFolds(); fold++) {
+			for (String datasetName : Arrays.asList(experimentConfiguration.getTransformedTrainingDatasetName(solutionDecoding.getFingerprint(), fold),
+					experimentConfiguration.getTransformedTestDatasetName(solutionDecoding.getFingerprint(), fold))) {
+				assertTrue(new File(experimentConfiguration.getTemporaryFolder(), datasetName + ".arff").exists());
+				assertFalse(new File(experimentConfiguration.getTemporaryFolder(), datasetName.replace(solutionDecoding.getFingerprint(), solutionDecoding.getScikitLearnWrapperUid()) + ".arff")
+						.exists());
+			}
+		}
+
+		assertFalse(this.regressorEvaluatedEvents.isEmpty());
+		assertTrue(this.regressorEvaluatedEvents.stream().anyMatch(event -> !event.isError() && event.getPerformance() >= 0));
+		assertTrue(solution.getObjective(0) < 10000);
+	}
+
+}
@@ -0,0 +1,70 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.junit.Test;
+
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.util.EInterchangeFormat;
+import autocoevorul.util.FoldDataStore;
+
+public class FoldDataStoreTest extends AbstractTest {
+
+	private TimeSeriesSplitSet createSplitSet() throws IOException {
+		StringBuilder arff = new StringBuilder("@relation 'CMAPSS_FD001_train'\n\n@attribute 'sensor0' timeseries\n@attribute 'RUL' numeric\n\n@data\n");
+		for (int i = 0; i < 10; i++) {
+			arff.append("\"1#" + i + " 2#" + i + "\"," + i + "\n");
+		}
+		File file = File.createTempFile("timeseries", ".arff");
+		Files.write(file.toPath(), arff.toString().getBytes(StandardCharsets.UTF_8));
+		return TimeSeriesSplitSet.createMonteCarloSplits(TimeSeriesDataset.readArff(file), "CMAPSS_FD001", 42, 2, 0.7, new Random(42));
+	}
+
+	@Test
+	public void testFoldsAreStoredOnceAndLinkedIntoTemporaryFolder() throws IOException {
+		File scratchBaseFolder = Files.createTempDirectory("scratch").toFile();
+		File temporaryFolder = Files.createTempDirectory("tmp").toFile();
+		TimeSeriesSplitSet splitSet = this.createSplitSet();
+
+		try (FoldDataStore store = new FoldDataStore(scratchBaseFolder.getPath(), temporaryFolder.getPath(), EInterchangeFormat.ARFF)) {
+			store.storeAll(splitSet);
+			File trainingDataFile = store.getFile(splitSet.getTrainingData(1));
+			long lastModified = trainingDataFile.lastModified();
+
+			assertEquals("CMAPSS_FD001_42_1_train.arff", trainingDataFile.getName());
+			assertNotEquals(temporaryFolder, trainingDataFile.getParentFile());
+			assertEquals(trainingDataFile, store.getFile(splitSet.getTrainingData(1)));
+			assertEquals(lastModified, trainingDataFile.lastModified());
+
+			File linkedFile = new File(temporaryFolder, trainingDataFile.getName());
+			assertTrue(linkedFile.exists());
+			assertEquals(7, TimeSeriesDataset.readArff(linkedFile).size());
+			store.close();
+			assertFalse(trainingDataFile.exists());
+			assertFalse(linkedFile.exists());
+		}
+	}
+
+	@Test
+	public void testFallBackToTemporaryFolder() throws IOException {
+		File temporaryFolder = Files.createTempDirectory("tmp").toFile();
+		TimeSeriesSplitSet splitSet = this.createSplitSet();
+
+		try (FoldDataStore store = new FoldDataStore(new File(temporaryFolder, "missing").getPath(), temporaryFolder.getPath(), EInterchangeFormat.ARFF)) {
+			File testDataFile = store.getFile(splitSet.getTestData(0));
+			assertEquals(temporaryFolder, testDataFile.getParentFile());
+			assertEquals(splitSet.getTestData(0).getLabels(), TimeSeriesDataset.readArff(testDataFile).getLabels());
+		}
+	}
+
+}
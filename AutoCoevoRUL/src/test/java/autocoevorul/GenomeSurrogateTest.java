@@ -0,0 +1,73 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.Test;
+
+import autocoevorul.featurerextraction.GenomeSurrogate;
+
+public class GenomeSurrogateTest extends AbstractTest {
+
+	private GenomeSurrogate createSurrogate() {
+		// the first activation bit decides whether a feature extractor is good and fast, the remaining variables are noise
+		GenomeSurrogate surrogate = new GenomeSurrogate(2, 42);
+		for (int i = 0; i < 40; i++) {
+			double activation = i % 2;
+			double[] genome = new double[] { activation, i % 3, i % 5 };
+			surrogate.addObservation(genome, new double[] { activation == 1 ? 10 : 100, activation == 1 ? -5 : -1 }, activation == 1 ? 1_000 : 60_000);
+		}
+		surrogate.fit();
+		return surrogate;
+	}
+
+	@Test
+	public void testPredictsObjectivesAndRuntime() {
+		GenomeSurrogate surrogate = this.createSurrogate();
+		assertEquals(40, surrogate.getNumberOfObservations());
+
+		double[] goodPrediction = surrogate.predictObjectives(new double[] { 1, 0, 0 });
+		double[] badPrediction = surrogate.predictObjectives(new double[] { 0, 0, 0 });
+		assertTrue(goodPrediction[0] < badPrediction[0]);
+		assertTrue(goodPrediction[1] < badPrediction[1]);
+		assertTrue(surrogate.predictRuntime(new double[] { 1, 2, 4 }) < surrogate.predictRuntime(new double[] { 0, 2, 4 }));
+	}
+
+	@Test
+	public void testDominance() {
+		GenomeSurrogate surrogate = this.createSurrogate();
+		assertTrue(surrogate.isPredictedToBeDominated(new double[] { 0, 1, 1 }));
+		assertFalse(surrogate.isPredictedToBeDominated(new double[] { 1, 1, 1 }));
+	}
+
+	@Test
+	public void testPredictsTimeout() {
+		// feature extractors without the first activation bit exceed the timeout, which the surrogate has to predict from the censored runtimes
+		long timeout = 10_000;
+		GenomeSurrogate surrogate = new GenomeSurrogate(2, 42);
+		for (int i = 0; i < 40; i++) {
+			double activation = i % 2;
+			double[] genome = new double[] { activation, i % 3, i % 5 };
+			if (activation == 1) {
+				surrogate.addObservation(genome, new double[] { 10, -5 }, 1_000);
+			} else {
+				surrogate.addTimeoutObservation(genome, new double[] { 100, -1 }, timeout);
+			}
+		}
+		surrogate.fit();
+
+		assertTrue(surrogate.isPredictedToTimeout(new double[] { 0, 1, 2 }, timeout));
+		assertFalse(surrogate.isPredictedToTimeout(new double[] { 1, 1, 2 }, timeout));
+	}
+
+	@Test
+	public void testRuntimeUnknownWithoutObservations() {
+		GenomeSurrogate surrogate = new GenomeSurrogate(2, 42);
+		surrogate.addObservation(new double[] { 1, 0 }, new double[] { 10, -1 }, Double.NaN);
+		surrogate.fit();
+		assertTrue(Double.isNaN(surrogate.predictRuntime(new double[] { 1, 0 })));
+		assertFalse(surrogate.isPredictedToTimeout(new double[] { 1, 0 }, 0));
+	}
+
+}
@@ -0,0 +1,67 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.api4.java.datastructure.kvstore.IKVStore;
+import org.junit.Test;
+
+import ai.libs.jaicore.basic.kvstore.KVStoreCollection;
+import autocoevorul.experiment.store.LocalResultStore;
+
+public class LocalResultStoreTest extends AbstractTest {
+
+	private Map<String, Object> createRow(final String key, final Object value) {
+		Map<String, Object> row = new HashMap<>();
+		row.put(key, value);
+		return row;
+	}
+
+	@Test
+	public void testRowsAreAppendedToTheFileOfTheirTable() throws IOException {
+		LocalResultStore store = new LocalResultStore(Files.createTempDirectory("results").toString(), "coevolution");
+		store.createTableIfNecessary("coevolution_pipelines", Arrays.asList("pipeline", "performance"), new HashMap<>());
+		assertTrue(store.readRows("coevolution_pipelines").isEmpty());
+
+		store.insert("coevolution_pipelines", this.createRow("pipeline", "RandomForestRegressor()"));
+		store.insertMultiple("coevolution_pipelines", Arrays.asList("pipeline", "performance"), Arrays.asList(Arrays.asList("SVR()", 12.5), Arrays.asList("Ridge()", 7.0)));
+		store.insert("coevolution_best", this.createRow("pipeline", "Ridge()"));
+
+		List<Map<String, Object>> rows = store.readRows("coevolution_pipelines");
+		assertEquals(3, rows.size());
+		assertEquals("SVR()", rows.get(1).get("pipeline"));
+		assertEquals(7.0, rows.get(2).get("performance"));
+		assertEquals(1, store.readRows("coevolution_best").size());
+	}
+
+	@Test
+	public void testExperimentsAreStartedOnceAndMergedWithTheirResults() throws IOException {
+		LocalResultStore store = new LocalResultStore(Files.createTempDirectory("results").toString(), "coevolution");
+		Map<String, Object> keyFields = this.createRow("datasetName", "CMAPSS/FD001_train.arff");
+		keyFields.put("seed", "1");
+
+		assertTrue(store.insertIfExperimentAbsent("coevolution", 1, keyFields));
+		assertFalse(store.insertIfExperimentAbsent("coevolution", 1, keyFields));
+		assertTrue(store.insertIfExperimentAbsent("coevolution", 2, this.createRow("seed", "2")));
+
+		Map<String, Object> results = this.createRow(LocalResultStore.FIELD_EXPERIMENT_ID, 1);
+		results.put("internal_performance", 21.5);
+		store.insert("coevolution", results);
+
+		KVStoreCollection experiments = store.readExperiments("coevolution");
+		assertEquals(2, experiments.size());
+		IKVStore experiment = experiments.get(0);
+		assertEquals("CMAPSS/FD001_train.arff", experiment.getAsString("datasetName"));
+		assertEquals("1", experiment.getAsString("seed"));
+		assertEquals(21.5, experiment.getAsDouble("internal_performance"));
+	}
+
+}
@@ -0,0 +1,68 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import autocoevorul.metrics.Histogram;
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.metrics.Timer;
+
+public class MetricsRegistryTest extends AbstractTest {
+
+	@Test
+	public void testHistogramPercentiles() {
+		Histogram histogram = new MetricsRegistry().histogram("rows");
+		for (int i = 1; i <= 100; i++) {
+			histogram.update(i);
+		}
+		Map<String, Object> snapshot = histogram.getSnapshot(1);
+		assertEquals(100L, snapshot.get("count"));
+		assertEquals(1.0, snapshot.get("min"));
+		assertEquals(100.0, snapshot.get("max"));
+		assertEquals(50.5, snapshot.get("mean"));
+		assertEquals(51.0, snapshot.get("p50"));
+		assertEquals(96.0, snapshot.get("p95"));
+	}
+
+	@Test
+	public void testTimerRecordsDurationsInMilliseconds() throws InterruptedException {
+		MetricsRegistry metricsRegistry = new MetricsRegistry();
+		Timer timer = metricsRegistry.timer("genome.decode");
+		try (Timer.Context context = timer.time()) {
+			Thread.sleep(20);
+		}
+		assertEquals(timer, metricsRegistry.timer("genome.decode"));
+		assertEquals(1, timer.getCount());
+		assertTrue(timer.getTotalMillis() >= 20);
+		assertTrue(metricsRegistry.getSummary().contains("genome.decode"));
+	}
+
+	@Test
+	public void testSnapshotsAreExportedAsJsonLines() throws IOException, InterruptedException {
+		File exportFile = new File(Files.createTempDirectory("metrics").toFile(), "metrics1.jsonl");
+		MetricsRegistry metricsRegistry = new MetricsRegistry();
+		metricsRegistry.startExport(exportFile, new Timeout(50, TimeUnit.MILLISECONDS));
+		metricsRegistry.counter("results.rows").increment(3);
+		Thread.sleep(200);
+		metricsRegistry.close();
+
+		List<String> lines = Files.readAllLines(exportFile.toPath());
+		assertTrue(lines.size() >= 2);
+		JsonNode lastSnapshot = new ObjectMapper().readTree(lines.get(lines.size() - 1));
+		assertEquals(3, lastSnapshot.get("counters").get("results.rows").asInt());
+	}
+
+}
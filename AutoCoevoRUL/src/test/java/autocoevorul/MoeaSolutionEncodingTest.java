@@ -2,10 +2,15 @@ package autocoevorul;
 
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.api4.java.ai.ml.core.dataset.serialization.DatasetDeserializationFailedException;
 import org.junit.Test;
@@ -16,7 +21,13 @@ import org.moeaframework.core.variable.BinaryVariable;
 import ai.libs.jaicore.components.api.IComponentInstance;
 import ai.libs.jaicore.components.api.IParameter;
 import ai.libs.jaicore.components.exceptions.ComponentNotFoundException;
+import ai.libs.jaicore.components.model.CategoricalParameterDomain;
+import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentInstance;
+import ai.libs.jaicore.components.model.NumericParameterDomain;
+import ai.libs.jaicore.components.model.Parameter;
 import autocoevorul.featurerextraction.GenomeHandler;
+import autocoevorul.featurerextraction.GenomeSnapshot.Gene;
 import autocoevorul.featurerextraction.SolutionDecoding;
 
 public class MoeaSolutionEncodingTest extends AbstractTest {
@@ -50,6 +61,66 @@ public class MoeaSolutionEncodingTest extends AbstractTest {
 		assertEquals("False", fgComponentInstance.getParameterValue("sort"));
 	}
 
+	@Test
+	public void testGenomeSnapshot() throws IOException, ComponentNotFoundException, DatasetDeserializationFailedException {
+		GenomeHandler genomeHandler = new GenomeHandler(this.getExperimentConfiguration());
+
+		Solution solution = this.getEmptySolution(this.getExperimentConfiguration(), genomeHandler);
+		((BinaryVariable) solution.getVariable(68)).set(0, true);
+		((BinaryIntegerVariable) solution.getVariable(71)).setValue(this.getPositionInArray("mutual_info", "mutual_info", "anova"));
+
+		List<Gene> genes = genomeHandler.createGenomeSnapshot(solution).getGenes();
+		assertEquals(genomeHandler.getNumberOfVariables(), genes.size());
+		for (int i = 0; i < genes.size(); i++) {
+			assertEquals(i, genes.get(i).getIndex());
+		}
+		assertTrue(genes.get(68).isActivationBit());
+		assertEquals("true", genes.get(68).getValue());
+		assertEquals("pyts.transformation.ShapeletTransform", genes.get(71).getComponentName());
+		assertEquals("criterion", genes.get(71).getParameterName());
+		assertEquals("mutual_info", genes.get(71).getValue());
+	}
+
+	@Test
+	public void testFingerprintIdentifiesFeatureExtractor() throws IOException, ComponentNotFoundException, DatasetDeserializationFailedException {
+		GenomeHandler genomeHandler = new GenomeHandler(this.getExperimentConfiguration());
+
+		Solution solution = this.getEmptySolution(this.getExperimentConfiguration(), genomeHandler);
+		((BinaryVariable) solution.getVariable(65)).set(0, true);
+		((BinaryVariable) solution.getVariable(68)).set(0, true);
+		((BinaryIntegerVariable) solution.getVariable(69)).setValue(5);
+		((BinaryIntegerVariable) solution.getVariable(70)).setValue(this.getPositionInArray("True", "True", "False"));
+		((BinaryIntegerVariable) solution.getVariable(71)).setValue(this.getPositionInArray("mutual_info", "mutual_info", "anova"));
+		((BinaryIntegerVariable) solution.getVariable(72)).setValue(this.getPositionInArray("False", "True", "False"));
+
+		String fingerprint = genomeHandler.decodeGenome(solution).getFingerprint();
+		assertEquals(32, fingerprint.length());
+		assertEquals(fingerprint, genomeHandler.decodeGenome(solution.copy()).getFingerprint());
+
+		((BinaryIntegerVariable) solution.getVariable(71)).setValue(this.getPositionInArray("anova", "mutual_info", "anova"));
+		assertNotEquals(fingerprint, genomeHandler.decodeGenome(solution).getFingerprint());
+	}
+
+	private String getFingerprintOfParameterValue(final Parameter parameter, final String value) {
+		Component component = new Component("sklearn.preprocessing.Extractor");
+		component.addParameter(parameter);
+		Map<String, String> parameterValues = new HashMap<>();
+		parameterValues.put(parameter.getName(), value);
+		return new SolutionDecoding(null, Arrays.asList(new ComponentInstance(component, parameterValues, new HashMap<>()))).getFingerprint();
+	}
+
+	@Test
+	public void testFingerprintNormalisesOnlyNumericParameterValues() {
+		Parameter numericParameter = new Parameter("window", new NumericParameterDomain(false, 0, 10), 1.0);
+		assertEquals(this.getFingerprintOfParameterValue(numericParameter, "1"), this.getFingerprintOfParameterValue(numericParameter, "1.0"));
+		assertEquals(this.getFingerprintOfParameterValue(numericParameter, "1e0"), this.getFingerprintOfParameterValue(numericParameter, "1"));
+		assertNotEquals(this.getFingerprintOfParameterValue(numericParameter, "1"), this.getFingerprintOfParameterValue(numericParameter, "1.5"));
+
+		// categorical values are options of the feature extractor, which are distinct even if they look like the same number
+		Parameter categoricalParameter = new Parameter("window", new CategoricalParameterDomain(new String[] { "1", "1.0" }), "1");
+		assertNotEquals(this.getFingerprintOfParameterValue(categoricalParameter, "1"), this.getFingerprintOfParameterValue(categoricalParameter, "1.0"));
+	}
+
 	@Test
 	public void testInactiveDefinedSolution() throws IOException, ComponentNotFoundException, DatasetDeserializationFailedException {
 		GenomeHandler genomeHandler = new GenomeHandler(this.getExperimentConfiguration());
@@ -0,0 +1,164 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryIntegerVariable;
+
+import com.google.common.eventbus.EventBus;
+
+import ai.libs.jaicore.basic.sets.Pair;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.featurerextraction.FeatureExtractionMoeaProblem;
+import autocoevorul.featurerextraction.GenomeHandler;
+import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.regression.featurerating.EFeatureRater;
+
+/**
+ * Runs a generation of the pipelined coevolution on feature extractors whose transformation is stubbed. Of the five feature extractors, successive halving
+ * promotes a fast and a slow one, discards two and fails the last one, whose transformation raises an error. The predictions of the stubbed regressors deviate
+ * from the ground truth by a known offset per feature extractor.
+ */
+public class PipelinedCoevolutionTest extends AbstractTest {
+
+	private static final int NUMBER_OF_INSTANCES = 30;
+	private static final int FAST = 0;
+	private static final int SLOW = 1;
+	private static final int FAILURE = 4;
+	private static final int[] OFFSETS = { 0, 1, 5, 6, 0 };
+	private static final long SLOW_FOLD_RUNTIME = 3_000;
+
+	private final Map<String, Integer> extractors = new HashMap<>();
+	private final Map<String, List<Double>> groundTruths = new ConcurrentHashMap<>();
+	private final AtomicLong firstRegressorStart = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong slowExtractorFinish = new AtomicLong();
+	private final List<String> regressorsOnMissingFeatures = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @return The test configuration with pipelined coevolution and a single rung of successive halving, which promotes two of five feature extractors.
+	 */
+	private ExperimentConfiguration createExperimentConfiguration() throws IOException {
+		String configuration = new String(Files.readAllBytes(Paths.get(CONFIG_FILE_PATH)), StandardCharsets.UTF_8)
+				+ "\npipelinedCoevolution = true\nsuccessiveHalving = true\nsuccessiveHalvingEta = 2\nsuccessiveHalvingMinInstanceFraction = 0.6\n";
+		File configurationFile = File.createTempFile("tests", ".cnf");
+		Files.write(configurationFile.toPath(), configuration.getBytes(StandardCharsets.UTF_8));
+		return new ExperimentConfiguration(configurationFile.getPath());
+	}
+
+	private TimeSeriesSplitSet createSplitSet() throws IOException {
+		StringBuilder arff = new StringBuilder("@relation 'CMAPSS_FD001_train'\n\n@attribute 'sensor0' timeseries\n@attribute 'RUL' numeric\n\n@data\n");
+		for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+			arff.append("\"1#" + i + " 2#" + i + "\"," + i + "\n");
+		}
+		File file = File.createTempFile("timeseries", ".arff");
+		Files.write(file.toPath(), arff.toString().getBytes(StandardCharsets.UTF_8));
+		return TimeSeriesSplitSet.createMonteCarloSplits(TimeSeriesDataset.readArff(file), "CMAPSS_FD001", 42, 2, 0.7, new Random(42));
+	}
+
+	/**
+	 * @return Solutions differing in one parameter of tsfresh each, such that each of them decodes to a feature extractor of its own.
+	 */
+	private List<Solution> createSolutions(final ExperimentConfiguration experimentConfiguration, final GenomeHandler genomeHandler) throws Exception {
+		List<Solution> solutions = new ArrayList<>();
+		for (int i = 0; i < OFFSETS.length; i++) {
+			Solution solution = this.getEmptySolution(experimentConfiguration, genomeHandler);
+			((BinaryIntegerVariable) solution.getVariable(i)).setValue(1);
+			this.extractors.put(genomeHandler.decodeGenome(solution).getFingerprint(), i);
+			solutions.add(solution);
+		}
+		assertEquals(OFFSETS.length, this.extractors.size());
+		return solutions;
+	}
+
+	private int getExtractor(final String transformedDatasetName) {
+		return this.extractors.get(transformedDatasetName.substring(0, transformedDatasetName.indexOf('_')));
+	}
+
+	private void transform(final SolutionDecoding solutionDecoding, final TimeSeriesDataset trainingData, final TimeSeriesDataset testData,
+			final String transformedTestDatasetName) throws IOException, InterruptedException {
+		int extractor = this.extractors.get(solutionDecoding.getFingerprint());
+		if (extractor == FAILURE) {
+			throw new IOException("Feature extractor failed.");
+		}
+		// the relation names of the subsamples of successive halving are <dataset>_<seed>_<fold>r<rung>_<train|test>
+		boolean screening = trainingData.getRelationName().matches(".*r\\d+_train");
+		if (extractor == SLOW && !screening) {
+			Thread.sleep(SLOW_FOLD_RUNTIME);
+			this.slowExtractorFinish.accumulateAndGet(System.currentTimeMillis(), Math::max);
+		}
+		this.groundTruths.put(transformedTestDatasetName, testData.getLabels());
+	}
+
+	private List<Double> predict(final String transformedTestDatasetName) throws IOException {
+		List<Double> groundTruth = this.groundTruths.get(transformedTestDatasetName);
+		if (groundTruth == null) {
+			this.regressorsOnMissingFeatures.add(transformedTestDatasetName);
+			throw new IOException("Transformed dataset " + transformedTestDatasetName + " does not exist.");
+		}
+		int offset = OFFSETS[this.getExtractor(transformedTestDatasetName)];
+		return groundTruth.stream().map(value -> value + offset).collect(Collectors.toList());
+	}
+
+	private List<Double> fitAndPredictFold(final Pair<String, String> constructionInstructionAndImports, final String trainDatasetName, final String testDatasetName)
+			throws IOException {
+		this.firstRegressorStart.accumulateAndGet(System.currentTimeMillis(), Math::min);
+		return this.predict(testDatasetName);
+	}
+
+	@Test
+	public void testRegressionStartsBeforeAllFeatureExtractorsAreEvaluated() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.createExperimentConfiguration();
+		assertTrue(experimentConfiguration.isPipelinedCoevolutionEnabled());
+		GenomeHandler genomeHandler = this.setupGenomeHandler();
+		List<Solution> solutions = this.createSolutions(experimentConfiguration, genomeHandler);
+
+		FeatureExtractionMoeaProblem featureEvaluator = new FeatureExtractionMoeaProblem(new EventBus(), experimentConfiguration, genomeHandler, this.createSplitSet(),
+				this::transform, (trainDatasetName, testDatasetName) -> this.predict(testDatasetName), this::fitAndPredictFold);
+		featureEvaluator.evaluateAll(solutions);
+
+		// the regression search has been started on the fast feature extractor while the slow one has still been transforming its folds
+		assertTrue(this.slowExtractorFinish.get() > 0);
+		assertTrue(this.firstRegressorStart.get() < this.slowExtractorFinish.get());
+		// regressors on the slow feature extractor have waited for its transformed datasets
+		assertTrue(this.regressorsOnMissingFeatures.isEmpty(), this.regressorsOnMissingFeatures.toString());
+		assertTrue(featureEvaluator.getBestPipeline() != null);
+		assertTrue(solutions.get(FAST).getObjective(0) < 10000);
+
+		// the discarded feature extractors are rated like feature extractors which are not used by any regressor
+		double discardedPerformance = experimentConfiguration.getFeatureObjectiveMeasure().rateFeatureExtractor(Collections.emptyList());
+		double discardedNumberOfUsage = EFeatureRater.NUMBER_OF_USING_REGRESSORS.rateFeatureExtractor(Collections.emptyList());
+		for (int extractor = 2; extractor < FAILURE; extractor++) {
+			double performance = solutions.get(extractor).getObjective(0);
+			double numberOfUsage = solutions.get(extractor).getObjective(1);
+			assertEquals(discardedPerformance, performance);
+			assertEquals(discardedNumberOfUsage, numberOfUsage);
+		}
+
+		// the failed feature extractor is rated as infeasible
+		double failedPerformance = solutions.get(FAILURE).getObjective(0);
+		double failedNumberOfUsage = solutions.get(FAILURE).getObjective(1);
+		assertEquals(20000.0, failedPerformance);
+		assertEquals(20000.0, failedNumberOfUsage);
+	}
+
+}
@@ -0,0 +1,120 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.api4.java.algorithm.Timeout;
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.Test;
+
+import autocoevorul.metrics.MetricsRegistry;
+import autocoevorul.util.PythonWorkerPool;
+import autocoevorul.util.PythonWorkerPool.EWorkerMode;
+import autocoevorul.util.PythonWorkerPool.PythonEvaluationException;
+
+/**
+ * Exchanges requests with <code>python_connection/worker.py</code> according to its JSON lines protocol. The dummy regressor predicts the mean of the training
+ * labels, which tells which version of a training dataset the worker has used.
+ */
+public class PythonWorkerPoolTest extends AbstractTest {
+
+	private static final String WORKER_SCRIPT_PATH = "../python_connection/worker.py";
+	private static final String IMPORTS = "from sklearn.dummy import DummyRegressor\n";
+	private static final String DUMMY_REGRESSOR = "DummyRegressor()";
+	private static final Timeout TIMEOUT = new Timeout(1, TimeUnit.MINUTES);
+
+	// the worker recognizes changed datasets by their modification time and size only
+	private static final long LAST_MODIFIED = 1_600_000_000_000L;
+
+	private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+	private File temporaryFolder;
+
+	private PythonWorkerPool createPythonWorkerPool() throws IOException {
+		this.temporaryFolder = Files.createTempDirectory("workers").toFile();
+		return new PythonWorkerPool("python", WORKER_SCRIPT_PATH, this.temporaryFolder.getPath(), 1, this.metricsRegistry);
+	}
+
+	private File writeFeatures(final String name, final int... labels) throws IOException {
+		StringBuilder arff = new StringBuilder("@relation features\n\n@attribute feature0 REAL\n@attribute RUL REAL\n\n@data\n");
+		for (int i = 0; i < labels.length; i++) {
+			arff.append(i + "," + labels[i] + "\n");
+		}
+		File file = new File(this.temporaryFolder, name + ".arff");
+		Files.write(file.toPath(), arff.toString().getBytes(StandardCharsets.UTF_8));
+		file.setLastModified(LAST_MODIFIED);
+		return file;
+	}
+
+	private List<Double> fitAndPredict(final PythonWorkerPool pythonWorkerPool, final File trainingData, final File testData) throws Exception {
+		return pythonWorkerPool.fitAndPredict(EWorkerMode.REGRESSION, DUMMY_REGRESSOR, IMPORTS, trainingData, testData, 42, TIMEOUT);
+	}
+
+	private long getNumberOfStartedWorkers() {
+		return this.metricsRegistry.timer("python.worker.start").getCount();
+	}
+
+	@Test
+	public void testRequestsAreAnsweredByResidentWorker() throws Exception {
+		try (PythonWorkerPool pythonWorkerPool = this.createPythonWorkerPool()) {
+			File trainingData = this.writeFeatures("train", 10, 20, 30);
+			File testData = this.writeFeatures("test", 0, 0);
+
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+
+			// errors of the pipeline are answered by the worker, which thus is kept
+			assertThrows(PythonEvaluationException.class,
+					() -> pythonWorkerPool.fitAndPredict(EWorkerMode.REGRESSION, "UndefinedRegressor()", IMPORTS, trainingData, testData, 42, TIMEOUT));
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+			assertEquals(1, this.getNumberOfStartedWorkers());
+
+			pythonWorkerPool.close();
+			assertThrows(IllegalStateException.class, () -> this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+		}
+	}
+
+	@Test
+	public void testWorkerIsDiscardedAfterTimeout() throws Exception {
+		try (PythonWorkerPool pythonWorkerPool = this.createPythonWorkerPool()) {
+			File trainingData = this.writeFeatures("train", 10, 20, 30);
+			File testData = this.writeFeatures("test", 0, 0);
+
+			// warm up the worker, such that the timeout does not include its start
+			this.fitAndPredict(pythonWorkerPool, trainingData, testData);
+			assertThrows(AlgorithmTimeoutedException.class, () -> pythonWorkerPool.fitAndPredict(EWorkerMode.REGRESSION, "time.sleep(60)", "import time\n", trainingData, testData, 42,
+					new Timeout(2, TimeUnit.SECONDS)));
+
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+			assertEquals(2, this.getNumberOfStartedWorkers());
+		}
+	}
+
+	@Test
+	public void testParsedDatasetsAreCachedLeastRecentlyUsed() throws Exception {
+		try (PythonWorkerPool pythonWorkerPool = this.createPythonWorkerPool()) {
+			File trainingData = this.writeFeatures("train", 10, 20, 30);
+			File testData = this.writeFeatures("test", 0, 0);
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+
+			// a file of the same size and modification time is taken from the cache
+			this.writeFeatures("train", 40, 50, 60);
+			assertEquals(Arrays.asList(20.0, 20.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+
+			// the worker keeps the 8 most recently used datasets, such that 4 further pairs of datasets evict both files
+			for (int i = 0; i < 4; i++) {
+				this.fitAndPredict(pythonWorkerPool, this.writeFeatures("train" + i, i, i, i), this.writeFeatures("test" + i, 0, 0));
+			}
+			assertEquals(Arrays.asList(50.0, 50.0), this.fitAndPredict(pythonWorkerPool, trainingData, testData));
+			assertEquals(1, this.getNumberOfStartedWorkers());
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.StringJoiner;
+
+import org.junit.Test;
+
+import autocoevorul.data.R2FtoLabeledTimeseriesDataTransformer;
+
+public class R2FtoLabeledTimeseriesDataTransformerTest extends AbstractTest {
+
+	private static final int LENGTH = 60;
+
+	private String createSeries(final int offset) {
+		StringJoiner series = new StringJoiner(" ", "\"", "\"");
+		for (int t = 1; t <= LENGTH; t++) {
+			series.add(t + "#" + (offset + t));
+		}
+		return series.toString();
+	}
+
+	private File writeRunToFailureFile() throws IOException {
+		File file = new File(Files.createTempDirectory("r2f").toFile(), "FD001_train.arff");
+		String content = "@RELATION CMAPSS_train_FD001\n\n@ATTRIBUTE sensor0 TIMESERIES \n@ATTRIBUTE sensor1 TIMESERIES \n@ATTRIBUTE sensor2 TIMESERIES \n\n@DATA\n"
+				+ this.createSeries(0) + "," + this.createSeries(100) + ",?\n" + this.createSeries(200) + "," + this.createSeries(300) + ",?";
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	@Test
+	public void testCutsEachInstanceCopyFactorTimes() throws IOException {
+		File input = this.writeRunToFailureFile();
+		File output = new File(input.getParentFile(), "transformed/FD001_train.arff");
+
+		new R2FtoLabeledTimeseriesDataTransformer(0, 3).transform(input.getPath(), output.getPath());
+
+		List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+		assertEquals("@RELATION CMAPSS_train_FD001", lines.get(0));
+		assertEquals("@ATTRIBUTE RUL NUMERIC", lines.get(4));
+		assertEquals("@DATA", lines.get(5));
+		assertEquals(6 + 2 * 3, lines.size());
+		for (String instance : lines.subList(6, lines.size())) {
+			String[] attributes = instance.split(",");
+			assertEquals(4, attributes.length);
+			assertEquals("?", attributes[2]);
+			int rul = Integer.parseInt(attributes[3]);
+			// the length of the instance is the difference between the last and the first time step
+			int end = attributes[0].split(" ").length;
+			assertEquals(LENGTH - 1, end + rul);
+			assertEquals(end, attributes[1].split(" ").length);
+			assertTrue(attributes[0].startsWith("\"1#"));
+		}
+	}
+
+	@Test
+	public void testTransformReturnsDataSection() throws IOException {
+		String data = new R2FtoLabeledTimeseriesDataTransformer().transform(this.writeRunToFailureFile().getPath());
+		String[] instances = data.split("\n");
+		assertEquals(2, instances.length);
+		assertEquals(4, instances[0].split(",").length);
+	}
+
+}
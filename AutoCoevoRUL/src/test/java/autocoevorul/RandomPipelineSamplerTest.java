@@ -0,0 +1,58 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.components.model.ComponentRepository;
+import autocoevorul.baseline.randomsearch.RandomPipelineSampler;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.util.ComponentCollectionUtil;
+import autocoevorul.util.ScikitLearnUtil;
+
+public class RandomPipelineSamplerTest extends AbstractTest {
+
+	private static final int NUMBER_OF_PIPELINES = 200;
+
+	private void assertSampledPipelinesAreDistinct(final boolean lowDiscrepancySampling) throws IOException {
+		ExperimentConfiguration experimentConfiguration = this.getExperimentConfiguration();
+		ComponentRepository componentRepository = new ComponentRepository(
+				ComponentCollectionUtil.getAllComponents(experimentConfiguration.getRulSearchSpace(), experimentConfiguration.getTemplateVariables()));
+		RandomPipelineSampler sampler = new RandomPipelineSampler(experimentConfiguration.getRulRootComponentName(), componentRepository, new Random(42), lowDiscrepancySampling);
+
+		Set<String> pipelines = new HashSet<>();
+		for (int i = 0; i < NUMBER_OF_PIPELINES; i++) {
+			IComponentInstance componentInstance = sampler.sample();
+			assertNotNull(componentInstance);
+			assertTrue(pipelines.add(ScikitLearnUtil.createConstructionInstructionAndImportsFromComponentInstance(componentInstance).getX()));
+		}
+		assertEquals(NUMBER_OF_PIPELINES, sampler.getNumberOfSampledPipelines());
+	}
+
+	@Test
+	public void testSampledPipelinesAreDistinct() throws IOException {
+		this.assertSampledPipelinesAreDistinct(false);
+	}
+
+	@Test
+	public void testLowDiscrepancySampledPipelinesAreDistinct() throws IOException {
+		this.assertSampledPipelinesAreDistinct(true);
+	}
+
+	@Test
+	public void testRadicalInverse() {
+		assertEquals(0.5, RandomPipelineSampler.radicalInverse(1, 2));
+		assertEquals(0.25, RandomPipelineSampler.radicalInverse(2, 2));
+		assertEquals(0.75, RandomPipelineSampler.radicalInverse(3, 2));
+		assertEquals(2.0 / 3 + 1.0 / 9, RandomPipelineSampler.radicalInverse(5, 3), 1e-12);
+	}
+
+}
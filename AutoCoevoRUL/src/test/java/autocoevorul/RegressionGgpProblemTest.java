@@ -0,0 +1,60 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import ai.libs.jaicore.components.api.IComponentInstance;
+import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming;
+import ai.libs.jaicore.ml.hpo.ggp.GrammarBasedGeneticProgramming.GGPSolutionCandidate;
+import ai.libs.jaicore.ml.hpo.ggp.IGrammarBasedGeneticProgrammingConfig;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.regression.RegressionGgpProblem;
+
+/**
+ * Runs the grammar-based genetic programming on the regression problem with a stub evaluator, whose scores only depend on the rated candidate.
+ */
+public class RegressionGgpProblemTest extends AbstractTest {
+
+	private final AtomicInteger runningEvaluations = new AtomicInteger();
+	private final AtomicInteger maxRunningEvaluations = new AtomicInteger();
+
+	private Double evaluate(final IComponentInstance componentInstance) throws InterruptedException {
+		this.maxRunningEvaluations.accumulateAndGet(this.runningEvaluations.incrementAndGet(), Math::max);
+		try {
+			// the evaluations finish in a different order in every run
+			Thread.sleep(ThreadLocalRandom.current().nextInt(50, 250));
+			return (double) Math.abs(componentInstance.toString().hashCode() % 1000);
+		} finally {
+			this.runningEvaluations.decrementAndGet();
+		}
+	}
+
+	private GGPSolutionCandidate runGrammarBasedGeneticProgramming() throws Exception {
+		ExperimentConfiguration experimentConfiguration = this.getExperimentConfiguration();
+		IGrammarBasedGeneticProgrammingConfig config = experimentConfiguration.getRegressionGGPConfig();
+		config.setProperty("ggp.population_size", "12");
+		config.setProperty("ggp.generations", "3");
+		return new GrammarBasedGeneticProgramming(config, RegressionGgpProblem.createSoftwareConfigurationProblem(experimentConfiguration, 3, this::evaluate),
+				experimentConfiguration.getSeed()).call();
+	}
+
+	@Test
+	public void testCandidatesAreEvaluatedConcurrentlyAndDeterministically() throws Exception {
+		GGPSolutionCandidate result = this.runGrammarBasedGeneticProgramming();
+
+		// the candidates of a population are rated concurrently, but never by more threads than the experiment has CPUs
+		assertTrue(this.maxRunningEvaluations.get() > 1);
+		assertTrue(this.maxRunningEvaluations.get() <= this.getExperimentConfiguration().getNumCPUs());
+
+		// the scores are assigned to the candidates regardless of the order in which their evaluations finish
+		GGPSolutionCandidate resultOfSecondRun = this.runGrammarBasedGeneticProgramming();
+		assertEquals(result.getScore(), resultOfSecondRun.getScore());
+		assertEquals(result.getComponentInstance().toString(), resultOfSecondRun.getComponentInstance().toString());
+	}
+
+}
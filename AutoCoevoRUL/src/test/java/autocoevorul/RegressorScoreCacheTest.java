@@ -0,0 +1,112 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import ai.libs.jaicore.ml.regression.loss.ERulPerformanceMeasure;
+import autocoevorul.event.DatabaseWritingEventListener;
+import autocoevorul.event.RegressorEvaluatedEvent;
+import autocoevorul.event.RegressorScoreCacheStatisticsEvent;
+import autocoevorul.experiment.ExperimentConfiguration;
+import autocoevorul.experiment.store.LocalResultStore;
+import autocoevorul.regression.RegressorScoreCache;
+
+/**
+ * Checks that the scores are only reused for the same feature extractor, regressor, performance measure and folds of the same dataset.
+ */
+public class RegressorScoreCacheTest extends AbstractTest {
+
+	private static final String FINGERPRINT = "fingerprint";
+	private static final String REGRESSOR = "RandomForestRegressor()";
+	private static final ERulPerformanceMeasure MEASURE = ERulPerformanceMeasure.ASYMMETRIC_LOSS;
+
+	/**
+	 * @return The test configuration with the given line replaced.
+	 */
+	private ExperimentConfiguration createExperimentConfiguration(final String line, final String replacement) throws IOException {
+		String configuration = new String(Files.readAllBytes(Paths.get(CONFIG_FILE_PATH)), StandardCharsets.UTF_8).replace(line, replacement);
+		File configurationFile = File.createTempFile("tests", ".cnf");
+		Files.write(configurationFile.toPath(), configuration.getBytes(StandardCharsets.UTF_8));
+		return new ExperimentConfiguration(configurationFile.getPath());
+	}
+
+	@Test
+	public void testScoresAreCachedPerFingerprintRegressorMeasureAndFolds() throws IOException {
+		RegressorScoreCache regressorScoreCache = new RegressorScoreCache(this.getExperimentConfiguration());
+		regressorScoreCache.put(FINGERPRINT, REGRESSOR, MEASURE, 12.5);
+
+		double score = regressorScoreCache.get(FINGERPRINT, REGRESSOR, MEASURE);
+		assertEquals(12.5, score);
+		assertNull(regressorScoreCache.get("otherFingerprint", REGRESSOR, MEASURE));
+		assertNull(regressorScoreCache.get(FINGERPRINT, "SVR()", MEASURE));
+		assertNull(regressorScoreCache.get(FINGERPRINT, REGRESSOR, ERulPerformanceMeasure.MEAN_ABSOLUTE_PERCENTAGE_ERROR));
+
+		RegressorScoreCacheStatisticsEvent statistics = regressorScoreCache.getStatistics();
+		assertEquals(1, statistics.getHits());
+		assertEquals(3, statistics.getMisses());
+		assertEquals(1, statistics.getSize());
+	}
+
+	@Test
+	public void testKeyContainsDatasetSeedAndNumberOfFolds() throws IOException {
+		RegressorScoreCache regressorScoreCache = new RegressorScoreCache(this.getExperimentConfiguration());
+		assertEquals("fingerprint|RandomForestRegressor()|ASYMMETRIC_LOSS|CMAPSS/FD001_train.arff_42_2", regressorScoreCache.getKey(FINGERPRINT, REGRESSOR, MEASURE));
+
+		// the folds of another dataset, seed or number of folds yield other keys
+		Set<String> keys = new HashSet<>();
+		keys.add(regressorScoreCache.getKey(FINGERPRINT, REGRESSOR, MEASURE));
+		for (ExperimentConfiguration experimentConfiguration : Arrays.asList(
+				this.createExperimentConfiguration("datasetName = CMAPSS/FD001_train.arff", "datasetName = CMAPSS/FD002_train.arff"),
+				this.createExperimentConfiguration("seed = 42", "seed = 43"), this.createExperimentConfiguration("numberOfFolds = 2", "numberOfFolds = 3"))) {
+			keys.add(new RegressorScoreCache(experimentConfiguration).getKey(FINGERPRINT, REGRESSOR, MEASURE));
+		}
+		assertEquals(4, keys.size());
+	}
+
+	@Test
+	public void testFailuresAreCachedAsNaN() throws IOException {
+		RegressorScoreCache regressorScoreCache = new RegressorScoreCache(this.getExperimentConfiguration());
+		regressorScoreCache.putFailure(FINGERPRINT, REGRESSOR, MEASURE);
+
+		// a failure is a hit, which is told apart from a score by being NaN
+		Double score = regressorScoreCache.get(FINGERPRINT, REGRESSOR, MEASURE);
+		assertTrue(score.isNaN());
+		assertEquals(1, regressorScoreCache.getStatistics().getHits());
+
+		regressorScoreCache.put(FINGERPRINT, REGRESSOR, MEASURE, 7.0);
+		score = regressorScoreCache.get(FINGERPRINT, REGRESSOR, MEASURE);
+		assertEquals(7.0, score);
+	}
+
+	@Test
+	public void testCachedEvaluationsAreMarkedInPipelinesTable() throws IOException {
+		LocalResultStore resultStore = new LocalResultStore(Files.createTempDirectory("results").toString(), "coevolution");
+		try (DatabaseWritingEventListener listener = new DatabaseWritingEventListener(this.getExperimentConfiguration(), resultStore, "test")) {
+			listener.receiveRegressorEvaluatedEvent(new RegressorEvaluatedEvent(REGRESSOR, FINGERPRINT, "dataset", 12.5, Arrays.asList(1000L, 3000L), "1"));
+			listener.receiveRegressorEvaluatedEvent(new RegressorEvaluatedEvent(REGRESSOR, FINGERPRINT, "dataset", 12.5, null, new ArrayList<>(), "2", true));
+		}
+
+		List<Map<String, Object>> rows = resultStore.readRows("coevolution_pipelines");
+		assertEquals(2, rows.size());
+		assertEquals(0, rows.get(0).get("cached"));
+		assertEquals(2.0, rows.get(0).get("average_runtime"));
+		assertEquals(1, rows.get(1).get("cached"));
+		assertEquals(-1.0, rows.get(1).get("average_runtime"));
+	}
+
+}
@@ -0,0 +1,120 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.api4.java.algorithm.exceptions.AlgorithmTimeoutedException;
+import org.junit.Test;
+
+import ai.libs.jaicore.components.model.Component;
+import ai.libs.jaicore.components.model.ComponentInstance;
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+import autocoevorul.featurerextraction.SolutionDecoding;
+import autocoevorul.featurerextraction.SuccessiveHalvingScreening;
+import autocoevorul.featurerextraction.SuccessiveHalvingScreening.EScreeningOutcome;
+
+/**
+ * Screens feature extractors whose transformation is stubbed, such that the predictions of the screening regressor deviate from the ground truth by a known
+ * offset per feature extractor.
+ */
+public class SuccessiveHalvingScreeningTest extends AbstractTest {
+
+	private static final int NUMBER_OF_INSTANCES = 30;
+	private static final int TIMEOUT = 7;
+	private static final int FAILURE = 8;
+
+	private final Map<String, Integer> offsets = new HashMap<>();
+	private final Map<String, List<Double>> groundTruths = new ConcurrentHashMap<>();
+	private final Map<String, Set<Integer>> trainingSizesPerRung = new ConcurrentHashMap<>();
+	private final Map<String, Set<String>> transformedPerRung = new ConcurrentHashMap<>();
+
+	private TimeSeriesSplitSet createSplitSet() throws IOException {
+		StringBuilder arff = new StringBuilder("@relation 'CMAPSS_FD001_train'\n\n@attribute 'sensor0' timeseries\n@attribute 'RUL' numeric\n\n@data\n");
+		for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+			arff.append("\"1#" + i + " 2#" + i + "\"," + i + "\n");
+		}
+		File file = File.createTempFile("timeseries", ".arff");
+		Files.write(file.toPath(), arff.toString().getBytes(StandardCharsets.UTF_8));
+		return TimeSeriesSplitSet.createMonteCarloSplits(TimeSeriesDataset.readArff(file), "CMAPSS_FD001", 42, 2, 0.7, new Random(42));
+	}
+
+	private List<SolutionDecoding> createSolutionDecodings() {
+		List<SolutionDecoding> solutionDecodings = new ArrayList<>();
+		for (int i = 0; i < 9; i++) {
+			SolutionDecoding solutionDecoding = new SolutionDecoding(null,
+					Arrays.asList(new ComponentInstance(new Component("sklearn.preprocessing.Extractor" + i), new HashMap<>(), new HashMap<>())));
+			this.offsets.put(solutionDecoding.getFingerprint(), i);
+			solutionDecodings.add(solutionDecoding);
+		}
+		return solutionDecodings;
+	}
+
+	private void transform(final SolutionDecoding solutionDecoding, final TimeSeriesDataset trainingData, final TimeSeriesDataset testData, final String transformedTestDatasetName)
+			throws IOException, AlgorithmTimeoutedException {
+		int offset = this.offsets.get(solutionDecoding.getFingerprint());
+		if (offset == TIMEOUT) {
+			throw new AlgorithmTimeoutedException(0);
+		} else if (offset == FAILURE) {
+			throw new IOException("Feature extractor failed.");
+		}
+		// the relation names of the subsamples are <dataset>_<seed>_<fold>r<rung>_<train|test>
+		String rung = trainingData.getRelationName().replaceAll(".*(r\\d+)_train", "$1");
+		this.trainingSizesPerRung.computeIfAbsent(rung, r -> ConcurrentHashMap.newKeySet()).add(trainingData.size());
+		this.transformedPerRung.computeIfAbsent(rung, r -> ConcurrentHashMap.newKeySet()).add(solutionDecoding.getFingerprint());
+		this.groundTruths.put(transformedTestDatasetName, testData.getLabels());
+	}
+
+	private List<Double> fitAndPredict(final String transformedTrainingDatasetName, final String transformedTestDatasetName) {
+		int offset = this.offsets.get(transformedTestDatasetName.substring(0, transformedTestDatasetName.indexOf('_')));
+		return this.groundTruths.get(transformedTestDatasetName).stream().map(groundTruth -> groundTruth + offset).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testScreening() throws IOException, InterruptedException {
+		// eta 3 and a minimal instance fraction of 0.2 result in two rungs on 20% and 60% of the instances of each fold
+		SuccessiveHalvingScreening screening = new SuccessiveHalvingScreening(this.getExperimentConfiguration(), this.createSplitSet(), this::transform, this::fitAndPredict);
+		List<SolutionDecoding> solutionDecodings = this.createSolutionDecodings();
+		Map<SolutionDecoding, EScreeningOutcome> outcomes = screening.screen(solutionDecodings);
+
+		assertEquals(new HashSet<>(Arrays.asList(5)), this.trainingSizesPerRung.get("r0"));
+		assertEquals(new HashSet<>(Arrays.asList(13)), this.trainingSizesPerRung.get("r1"));
+
+		// all 7 working feature extractors are screened in the first rung, of which the best third is promoted to the second rung
+		assertEquals(7, this.transformedPerRung.get("r0").size());
+		assertEquals(new HashSet<>(Arrays.asList(solutionDecodings.get(0).getFingerprint(), solutionDecodings.get(1).getFingerprint(), solutionDecodings.get(2).getFingerprint())),
+				this.transformedPerRung.get("r1"));
+
+		assertEquals(EScreeningOutcome.PROMOTED, outcomes.get(solutionDecodings.get(0)));
+		for (int i = 1; i < 7; i++) {
+			assertEquals(EScreeningOutcome.DISCARDED, outcomes.get(solutionDecodings.get(i)));
+		}
+		assertEquals(EScreeningOutcome.TIMEOUT, outcomes.get(solutionDecodings.get(TIMEOUT)));
+		assertEquals(EScreeningOutcome.FAILED, outcomes.get(solutionDecodings.get(FAILURE)));
+	}
+
+	@Test
+	public void testSingleFeatureExtractorIsNotScreened() throws IOException, InterruptedException {
+		SuccessiveHalvingScreening screening = new SuccessiveHalvingScreening(this.getExperimentConfiguration(), this.createSplitSet(), this::transform, this::fitAndPredict);
+		SolutionDecoding solutionDecoding = this.createSolutionDecodings().get(3);
+		Map<SolutionDecoding, EScreeningOutcome> outcomes = screening.screen(Arrays.asList(solutionDecoding));
+
+		assertEquals(EScreeningOutcome.PROMOTED, outcomes.get(solutionDecoding));
+		assertEquals(0, this.transformedPerRung.size());
+	}
+
+}
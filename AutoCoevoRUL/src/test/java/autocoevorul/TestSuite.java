@@ -5,7 +5,8 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 
-@Suite.SuiteClasses({ CoevolutionTest.class, MoeaExampleProblemTest.class, MoeaSolutionEncodingTest.class, TSFreshFeatureGenerationTest.class })
+@Suite.SuiteClasses({ AsyncDatabaseWriterTest.class, BinaryDatasetFormatTest.class, CmapssToArffDatasetTransformerTest.class, CoevolutionTest.class, CompletePipelineEvaluatorTest.class, DatasetPreparationPipelineTest.class, FeatureExtractionWrapperTest.class, FoldDataStoreTest.class, GenomeSurrogateTest.class, LocalResultStoreTest.class, MetricsRegistryTest.class, MoeaExampleProblemTest.class, MoeaSolutionEncodingTest.class, PipelinedCoevolutionTest.class, PythonWorkerPoolTest.class, R2FtoLabeledTimeseriesDataTransformerTest.class, RandomPipelineSamplerTest.class, RegressionGgpProblemTest.class, RegressorScoreCacheTest.class, SuccessiveHalvingScreeningTest.class,
+		TimeSeriesDatasetTest.class, TimeSeriesSplitSetTest.class, TSFreshFeatureGenerationTest.class })
 public class TestSuite {
 
 }
@@ -0,0 +1,71 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import autocoevorul.data.TimeSeriesDataset;
+
+public class TimeSeriesDatasetTest extends AbstractTest {
+
+	private static final String ARFF = "@RELATION CMAPSS_FD001_train\n\n@ATTRIBUTE sensor0 TIMESERIES\n@ATTRIBUTE sensor1 TIMESERIES\n@ATTRIBUTE RUL NUMERIC\n\n@DATA\n"
+			+ "\"1#0.5 2#0.75 3#1.0\",\"1#10.0 2#20.0 3#30.0\",12\n" + "\"1#2.0 2#4.0\",?,7\n" + "\"1#3.0\",\"1#-1.5\",0\n";
+
+	private TimeSeriesDataset readDataset() throws IOException {
+		File file = File.createTempFile("timeseries", ".arff");
+		Files.write(file.toPath(), ARFF.getBytes(StandardCharsets.UTF_8));
+		return TimeSeriesDataset.readArff(file);
+	}
+
+	@Test
+	public void testReadArff() throws IOException {
+		TimeSeriesDataset dataset = this.readDataset();
+		assertEquals("CMAPSS_FD001_train", dataset.getRelationName());
+		assertEquals(Arrays.asList("sensor0", "sensor1"), dataset.getSensorNames());
+		assertEquals("RUL", dataset.getLabelName());
+		assertEquals(3, dataset.size());
+		assertEquals(3, dataset.getLength(0));
+		assertEquals(0.75f, dataset.getValue(0, 0, 1));
+		assertEquals(30.0f, dataset.getValue(0, 1, 2));
+		assertTrue(Float.isNaN(dataset.getValue(1, 1, 0)));
+		assertEquals(7f, dataset.getLabel(1));
+		assertEquals(Arrays.asList(12.0, 7.0, 0.0), dataset.getLabels());
+	}
+
+	@Test
+	public void testViewSharesInstances() throws IOException {
+		TimeSeriesDataset dataset = this.readDataset();
+		TimeSeriesDataset view = dataset.createView(new int[] { 2, 0 }, "CMAPSS_FD001_42_0_train");
+		TimeSeriesDataset viewOfView = view.createView(new int[] { 1 }, "CMAPSS_FD001_42_0_test");
+
+		assertEquals("CMAPSS_FD001_42_0_train", view.getRelationName());
+		assertEquals(2, view.size());
+		assertEquals(-1.5f, view.getValue(0, 1, 0));
+		assertEquals(12f, view.getLabel(1));
+		assertEquals(1, viewOfView.size());
+		assertEquals(dataset.getValue(0, 0, 2), viewOfView.getValue(0, 0, 2));
+	}
+
+	@Test
+	public void testWriteArffRoundTrip() throws IOException {
+		TimeSeriesDataset view = this.readDataset().createView(new int[] { 1, 2 }, "subset");
+		File file = File.createTempFile("timeseries", ".arff");
+		view.writeArff(file);
+
+		TimeSeriesDataset readView = TimeSeriesDataset.readArff(file);
+		assertEquals("subset", readView.getRelationName());
+		assertEquals(2, readView.size());
+		assertEquals(2, readView.getLength(0));
+		assertEquals(4.0f, readView.getValue(0, 0, 1));
+		assertTrue(Float.isNaN(readView.getValue(0, 1, 1)));
+		assertEquals(Arrays.asList(7.0, 0.0), readView.getLabels());
+	}
+
+}
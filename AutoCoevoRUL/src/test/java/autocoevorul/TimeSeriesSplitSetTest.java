@@ -0,0 +1,68 @@
+package autocoevorul;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import autocoevorul.data.TimeSeriesDataset;
+import autocoevorul.data.TimeSeriesSplitSet;
+
+public class TimeSeriesSplitSetTest extends AbstractTest {
+
+	private static final int NUMBER_OF_INSTANCES = 10;
+
+	private TimeSeriesDataset createDataset() throws IOException {
+		StringBuilder arff = new StringBuilder("@relation 'CMAPSS_FD001_train'\n\n@attribute 'sensor0' timeseries\n@attribute 'RUL' numeric\n\n@data\n");
+		for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+			arff.append("\"1#" + i + " 2#" + i + "\"," + i + "\n");
+		}
+		File file = File.createTempFile("timeseries", ".arff");
+		Files.write(file.toPath(), arff.toString().getBytes(StandardCharsets.UTF_8));
+		return TimeSeriesDataset.readArff(file);
+	}
+
+	@Test
+	public void testMonteCarloSplitsPartitionInstances() throws IOException {
+		TimeSeriesSplitSet splitSet = TimeSeriesSplitSet.createMonteCarloSplits(this.createDataset(), "CMAPSS_FD001", 42, 3, 0.7, new Random(42));
+
+		assertEquals(3, splitSet.getNumberOfFolds());
+		for (int fold = 0; fold < splitSet.getNumberOfFolds(); fold++) {
+			assertEquals("CMAPSS_FD001_42_" + fold + "_train", splitSet.getTrainingData(fold).getRelationName());
+			assertEquals("CMAPSS_FD001_42_" + fold + "_test", splitSet.getTestData(fold).getRelationName());
+			assertEquals(7, splitSet.getTrainingData(fold).size());
+			assertEquals(3, splitSet.getTestData(fold).size());
+
+			List<Double> labels = new ArrayList<>(splitSet.getTrainingData(fold).getLabels());
+			labels.addAll(splitSet.getTestGroundTruths().get(fold));
+			Collections.sort(labels);
+			for (int i = 0; i < NUMBER_OF_INSTANCES; i++) {
+				assertEquals(i, labels.get(i).doubleValue());
+			}
+		}
+	}
+
+	@Test
+	public void testSubsampleExtendsRelationNames() throws IOException {
+		TimeSeriesSplitSet splitSet = TimeSeriesSplitSet.createMonteCarloSplits(this.createDataset(), "CMAPSS_FD001", 42, 2, 0.7, new Random(42));
+		TimeSeriesSplitSet subsample = splitSet.subsample(0.5, "r0", new Random(42));
+
+		assertEquals(2, subsample.getNumberOfFolds());
+		assertEquals("CMAPSS_FD001_42_1r0_train", subsample.getTrainingData(1).getRelationName());
+		assertEquals("CMAPSS_FD001_42_1r0_test", subsample.getTestData(1).getRelationName());
+		assertEquals(4, subsample.getTrainingData(1).size());
+		assertEquals(2, subsample.getTestData(1).size());
+		for (int i = 0; i < subsample.getTestData(1).size(); i++) {
+			assertEquals(subsample.getTestData(1).getLabel(i), subsample.getTestData(1).getValue(i, 0, 1));
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+import numpy as np
+
+"""
+Binary interchange format for datasets exchanged with the Java side, as an alternative to ARFF. All numbers are stored
+little-endian, values as float32. The layout is mirrored by autocoevorul.util.BinaryDatasetFormat.
+
+Header:
+    magic (8 bytes) | int32 kind | string relation | int32 number of columns | number of columns x string name |
+    int32 number of instances
+    where a string is stored as int32 length followed by the UTF-8 encoded bytes.
+
+Time series (kind 0), where the columns are the sensors followed by the target:
+    int32 lengths[instances] | float32 targets[instances] |
+    for each instance: float32 values[sensors x length] (row-major, i.e. one sensor after the other)
+    The timesteps of each series are implicitly 1, ..., length.
+
+Feature matrix (kind 1), where the columns are the features followed by the target:
+    float32 matrix[instances x columns] (row-major)
+"""
+
+MAGIC = b'RULBIN01'
+KIND_TIME_SERIES = 0
+KIND_FEATURE_MATRIX = 1
+
+INT32 = np.dtype('<i4')
+FLOAT32 = np.dtype('<f4')
+
+
+class BinaryTimeSeriesData(dict):
+    """
+    Time series dataset in the structure returned by arff.load, except that the series are held as numpy arrays in
+    'series' (one array of shape sensors x length per instance) and the targets in 'targets'. The 'data' entry in
+    ARFF string representation is only created if it is accessed by a consumer not aware of the binary format.
+    """
+
+    def __missing__(self, key):
+        if key != 'data':
+            raise KeyError(key)
+        data = list()
+        for series, target in zip(self['series'], self['targets']):
+            instance = [' '.join(str(t + 1) + '#' + repr(float(v)) for t, v in enumerate(sensor)) for sensor in series]
+            instance.append(float(target))
+            data.append(instance)
+        self['data'] = data
+        return data
+
+
+class BinaryFeatureMatrix(dict):
+    """
+    Feature matrix in the structure returned by arff.load, except that the values are held in 'matrix' with the target
+    as last column. The 'data' entry is only created if it is accessed.
+    """
+
+    def __missing__(self, key):
+        if key != 'data':
+            raise KeyError(key)
+        self['data'] = self['matrix'].tolist()
+        return self['data']
+
+
+def is_binary(path):
+    with open(path, 'rb') as file:
+        return file.read(len(MAGIC)) == MAGIC
+
+
+def _read_int(buffer, offset):
+    return int(np.frombuffer(buffer, dtype=INT32, count=1, offset=offset)[0]), offset + INT32.itemsize
+
+
+def _read_string(buffer, offset):
+    length, offset = _read_int(buffer, offset)
+    return bytes(buffer[offset:offset + length]).decode('utf-8'), offset + length
+
+
+def read_binary(path):
+    buffer = np.memmap(path, dtype=np.uint8, mode='r')
+    if bytes(buffer[:len(MAGIC)]) != MAGIC:
+        raise ValueError('File ' + path + ' is not in the binary dataset format.')
+    offset = len(MAGIC)
+    kind, offset = _read_int(buffer, offset)
+    relation, offset = _read_string(buffer, offset)
+    number_of_columns, offset = _read_int(buffer, offset)
+    names = list()
+    for _ in range(number_of_columns):
+        name, offset = _read_string(buffer, offset)
+        names.append(name)
+    number_of_instances, offset = _read_int(buffer, offset)
+
+    if kind == KIND_TIME_SERIES:
+        lengths = np.frombuffer(buffer, dtype=INT32, count=number_of_instances, offset=offset)
+        offset += lengths.nbytes
+        targets = np.frombuffer(buffer, dtype=FLOAT32, count=number_of_instances, offset=offset).astype(np.float64)
+        offset += number_of_instances * FLOAT32.itemsize
+        number_of_sensors = number_of_columns - 1
+        values = np.frombuffer(buffer, dtype=FLOAT32, count=int(lengths.sum()) * number_of_sensors, offset=offset)
+        series = list()
+        start = 0
+        for length in lengths:
+            end = start + number_of_sensors * int(length)
+            series.append(values[start:end].reshape(number_of_sensors, int(length)))
+            start = end
+        data = BinaryTimeSeriesData()
+        data['relation'] = relation
+        data['attributes'] = [[name, 'STRING'] for name in names[:-1]] + [[names[-1], 'REAL']]
+        data['series'] = series
+        data['targets'] = targets
+        return data
+    elif kind == KIND_FEATURE_MATRIX:
+        matrix = np.frombuffer(buffer, dtype=FLOAT32, count=number_of_instances * number_of_columns, offset=offset)
+        data = BinaryFeatureMatrix()
+        data['relation'] = relation
+        data['attributes'] = [[name, 'REAL'] for name in names]
+        data['matrix'] = matrix.reshape(number_of_instances, number_of_columns).astype(np.float64)
+        return data
+    raise ValueError('Unknown kind ' + str(kind) + ' of binary dataset ' + path)
+
+
+def _write_int(file, value):
+    file.write(np.array([value], dtype=INT32).tobytes())
+
+
+def _write_string(file, value):
+    encoded = value.encode('utf-8')
+    _write_int(file, len(encoded))
+    file.write(encoded)
+
+
+def write_feature_matrix(relation, instances, targets, output_file):
+    """
+    Writes the given features and targets as binary feature matrix.
+    :param relation: The name of the dataset
+    :param instances: The instances of fixed-size real valued features
+    :param targets: The target values
+    :param output_file: The path of the file to write
+    """
+    matrix = np.column_stack((np.asarray(instances, dtype=FLOAT32), np.asarray(targets, dtype=FLOAT32)))
+    with open(output_file, 'wb') as file:
+        file.write(MAGIC)
+        _write_int(file, KIND_FEATURE_MATRIX)
+        _write_string(file, relation)
+        _write_int(file, matrix.shape[1])
+        for f in range(matrix.shape[1] - 1):
+            _write_string(file, 'feature' + str(f))
+        _write_string(file, 'RUL')
+        _write_int(file, matrix.shape[0])
+        file.write(np.ascontiguousarray(matrix, dtype=FLOAT32).tobytes())
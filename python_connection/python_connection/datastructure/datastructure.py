@@ -1,11 +1,16 @@
 import arff
+import numpy as np
 import pandas as pd
 
+from python_connection.datastructure.binary import is_binary, read_binary
+
 class PandasDataFrameWrapper:
     def __init__(self, arff_data):
         self.X, self.y = create_pandas_dataframe(arff_data)
 
 def create_pandas_dataframe(arff_parsed):
+    if 'series' in arff_parsed:
+        return create_pandas_dataframe_from_binary(arff_parsed)
     dataset = list()
     y = list()
     for instance_id,instance in enumerate(arff_parsed['data']):
@@ -28,6 +33,20 @@ def create_pandas_dataframe(arff_parsed):
     return pd.DataFrame(dataset, columns=['instance_id','timestep','sensor','value']).astype({'instance_id': 'int32','timestep': 'int32', 'sensor': 'string', 'value': 'float32'}), pd.Series(y)
 
 
+def create_pandas_dataframe_from_binary(binary_parsed):
+    sensors = np.array([attribute[0] for attribute in binary_parsed['attributes'][:-1]], dtype=object)
+    instance_ids, timesteps, sensor_names, values = list(), list(), list(), list()
+    for instance_id, series in enumerate(binary_parsed['series']):
+        number_of_sensors, length = series.shape
+        instance_ids.append(np.full(number_of_sensors * length, instance_id, dtype=np.int32))
+        timesteps.append(np.tile(np.arange(1, length + 1, dtype=np.int32), number_of_sensors))
+        sensor_names.append(np.repeat(sensors, length))
+        values.append(series.ravel())
+    data_frame = pd.DataFrame({'instance_id': np.concatenate(instance_ids), 'timestep': np.concatenate(timesteps),
+                               'sensor': np.concatenate(sensor_names), 'value': np.concatenate(values)})
+    return data_frame.astype({'instance_id': 'int32','timestep': 'int32', 'sensor': 'string', 'value': 'float32'}), pd.Series(binary_parsed['targets'])
+
+
 def parse(arff_, as_rul=False, is_path=True, dense_mode=True):
     """ Opens and reads the file located at path.
     May also be called with the content string.
@@ -73,8 +92,11 @@ def parse_raw(arff_, is_path=True, dense_mode=True):
     arff_: either  arff file path or arff file content. treated based on how is_bath is assigned.
     is_path: bool, if true, arff_ is an arff-file path. If false, arff_ is treated as the content of an arff file
     as a string.
+    Files in the binary format of python_connection.datastructure.binary are detected and read without ARFF parsing.
     Returns an ArffStructure object or None if there was an error.
     """
+    if is_path and is_binary(arff_):
+        return read_binary(arff_)
     if is_path:
         arff_data = open(arff_, 'r')
         arff_data = arff_data.read().replace("timeseries", "string") #TODO ROBUSTNESS
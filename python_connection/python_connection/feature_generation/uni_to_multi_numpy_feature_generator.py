@@ -99,27 +99,36 @@ class UniToMultivariateNumpyBasedFeatureGenerator(BaseEstimator, TransformerMixi
         for attribute_index, attribute_id in enumerate(sensor_attribute_ids):
             dataset_for_sensor = list()
             targets_for_sensor = list()
-            for instance_id, instance in enumerate(arff_parsed['data']):
-                raw_attribute_value = instance[attribute_id]
-
-                split_attribute_value = raw_attribute_value.split()
-                instance_length = len(split_attribute_value)
-                if instance_length > self.maximum_instance_length[attribute_index]:
-                    self.maximum_instance_length[attribute_index] = instance_length
-
-                instance_for_attribute = list()
-                for time_step_value_pair in split_attribute_value:
-                    if '#' not in time_step_value_pair:
-                        raise Exception("INVALID FORMAT!")
-                    else:
-                        # TODO ASSUMPTION: EACH INSTANCE HAS A VALUE FOR EACH TIMESTEP OF THE CORRESPONDING SENSOR
-                        split_pair = time_step_value_pair.split('#')
-                        value = float(split_pair[1])  # TODO robustness
-                        instance_for_attribute.append(value)
-                dataset_for_sensor.append(instance_for_attribute)
-
-                target = instance[target_attribute_id]
-                targets_for_sensor.append(target)
+            if 'series' in arff_parsed:
+                # binary format, values are already parsed
+                for series, target in zip(arff_parsed['series'], arff_parsed['targets']):
+                    instance_for_attribute = series[attribute_id].tolist()
+                    if len(instance_for_attribute) > self.maximum_instance_length[attribute_index]:
+                        self.maximum_instance_length[attribute_index] = len(instance_for_attribute)
+                    dataset_for_sensor.append(instance_for_attribute)
+                    targets_for_sensor.append(target)
+            else:
+                for instance_id, instance in enumerate(arff_parsed['data']):
+                    raw_attribute_value = instance[attribute_id]
+
+                    split_attribute_value = raw_attribute_value.split()
+                    instance_length = len(split_attribute_value)
+                    if instance_length > self.maximum_instance_length[attribute_index]:
+                        self.maximum_instance_length[attribute_index] = instance_length
+
+                    instance_for_attribute = list()
+                    for time_step_value_pair in split_attribute_value:
+                        if '#' not in time_step_value_pair:
+                            raise Exception("INVALID FORMAT!")
+                        else:
+                            # TODO ASSUMPTION: EACH INSTANCE HAS A VALUE FOR EACH TIMESTEP OF THE CORRESPONDING SENSOR
+                            split_pair = time_step_value_pair.split('#')
+                            value = float(split_pair[1])  # TODO robustness
+                            instance_for_attribute.append(value)
+                    dataset_for_sensor.append(instance_for_attribute)
+
+                    target = instance[target_attribute_id]
+                    targets_for_sensor.append(target)
 
             # make sure that all instances have same length and add dummy entry at end for shorter ones
             for instance in dataset_for_sensor:
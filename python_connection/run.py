@@ -10,77 +10,20 @@ os.environ['MKL_NUM_THREADS']='1'
 os.environ['VECLIB_MAXIMUM_THREADS']='1'
 os.environ['NUMEXPR_NUM_THREADS']='1'
 
-import arff
 import resource
 import argparse
-import json
 import pickle
 import sys
 
 import numpy as np
-from python_connection.datastructure.datastructure import parse_raw, PandasDataFrameWrapper
+from python_connection.datastructure.datastructure import parse_raw
+from python_connection.execution import run_feature_generation, run_train_test
 
 from sklearn.pipeline import make_pipeline
 from sklearn.pipeline import make_union
 
 {{imports}}
 
-def run_feature_generation(pipeline, raw_train_data, raw_test_data, output_file):
-    print('Starting feature engineering ...')
-    train_data_frame = PandasDataFrameWrapper(raw_train_data)
-    train_targets = train_data_frame.y
-    pipeline.fit(X=raw_train_data, y=train_targets)
-
-    print('Transforming training data ...')
-    train_data_transformed = pipeline.transform(raw_train_data)
-    serialize_feature_generation(raw_train_data['relation'], train_data_transformed, train_targets, output_file.replace('test', 'train'))
-
-    print('Transforming testing data ...')
-    test_data_frame = PandasDataFrameWrapper(raw_test_data)
-    test_targets = test_data_frame.y
-    test_data_transformed = pipeline.transform(raw_test_data)
-    serialize_feature_generation(raw_test_data['relation'].replace('train', 'test'), test_data_transformed, test_targets, output_file)
-
-
-def serialize_feature_generation(relation, instances, targets, output_file):
-    """
-    Serializes the generated features to a ARFF file with the given prefix.
-    :param relation: The name of the dataset
-    :param instances: The list of instances of fixed-size real valued features
-    :param targets: The list of target values
-    :param output_file: The prefix of the output file path
-    :return:
-    """
-    print('Serializing data to: ' + output_file)
-    data = dict()
-    data['relation'] = relation
-    data['attributes'] = list()
-    for f, feature in enumerate(instances[0]):
-        data['attributes'].append(['feature'+str(f), 'REAL'])
-    data['attributes'].append(['RUL', 'REAL'])
-    data['data'] = list()
-    for i, instance in enumerate(instances):
-        data['data'].append([str(f) for f in instance] + [targets[i]])
-
-    with open(output_file, 'a') as file:
-        arff.dump(data, file)
-
-
-def run_train_test(raw_train_data, raw_test_data, pipeline, output_file):
-    train_data_frame = PandasDataFrameWrapper(raw_train_data)
-    test_data_frame = PandasDataFrameWrapper(raw_test_data)
-
-    #train
-    train_targets = train_data_frame.y
-    pipeline.fit(X=raw_train_data, y=train_targets)
-
-    #test
-    test_targets = test_data_frame.y
-    prediction = pipeline.predict(raw_test_data)
-    serialize_prediction(prediction, output_file)
-    print("Predictions:" + str(prediction))
-
-
 def serialize_model(classifier_instance, output_file):
     """
     Serialize trained model.
@@ -92,28 +35,6 @@ def serialize_model(classifier_instance, output_file):
         pickle.dump(classifier_instance, file)
 
 
-def serialize_prediction(prediction, output_file):
-    """
-    Serialize prediction results.
-    Returns path to serialized predictions.
-    """
-    # Make sure the predictions are in a list
-    prediction = prediction.tolist()
-    # Convert possible integers to floats (nescassary for Weka signature)
-    if isinstance(prediction[0],int):
-        prediction = [float(i) for i in prediction]
-    elif isinstance(prediction[0],list):
-        for sublist in prediction:
-            sublist = [float(i) for i in sublist]
-    if not isinstance(prediction[0],list):
-        prediction = [prediction]
-    prediction_json = json.dumps(prediction)
-    # Safe prediction on disk.
-    print("write prediction to file ", output_file)
-    with open(output_file, 'w') as file:
-        file.write(prediction_json)
-
-
 def limit_memory(maxsize):
 	soft, hard = resource.getrlimit(resource.RLIMIT_AS)
 	resource.setrlimit(resource.RLIMIT_AS, (maxsize, hard))
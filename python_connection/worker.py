@@ -0,0 +1,101 @@
+def warn(*args, **kwargs):
+    pass
+import warnings
+warnings.warn = warn
+
+import os
+os.environ['OMP_NUM_THREADS']='1'
+os.environ['OPENBLAS_NUM_THREADS']='1'
+os.environ['MKL_NUM_THREADS']='1'
+os.environ['VECLIB_MAXIMUM_THREADS']='1'
+os.environ['NUMEXPR_NUM_THREADS']='1'
+
+import contextlib
+import copy
+import json
+import resource
+import sys
+import traceback
+from collections import OrderedDict
+
+import numpy as np
+from python_connection.datastructure.datastructure import parse_raw
+from python_connection.execution import run_feature_generation, run_regression, run_train_test
+
+from sklearn.pipeline import make_pipeline
+from sklearn.pipeline import make_union
+
+
+"""
+Long-lived counterpart of run.py. Instead of being instantiated from a template per pipeline, the worker reads one JSON
+request per line from stdin, executes the given pipeline in the same way as run.py and answers with one JSON line on
+stdout. Everything printed while executing a request is redirected to stderr, such that stdout only carries responses.
+
+Request fields: mode ('fe', 'traintest' or 'regression'), imports, construct, arff, testarff, output, seed
+Response fields: status ('ok' or 'error') and message in case of an error
+"""
+
+MAX_NUMBER_OF_PARSED_DATASETS = 8
+
+parsed_datasets = OrderedDict()
+
+
+def parse_cached(path):
+    """
+    Parses the given ARFF file, reusing the result of earlier requests as long as the file has not changed. The least
+    recently used dataset is evicted once MAX_NUMBER_OF_PARSED_DATASETS are kept. Every request gets its own copy of the
+    parsed dataset, such that pipelines modifying their input cannot affect later requests.
+    """
+    key = (path, os.path.getmtime(path), os.path.getsize(path))
+    if key in parsed_datasets:
+        parsed_datasets.move_to_end(key)
+    else:
+        if len(parsed_datasets) >= MAX_NUMBER_OF_PARSED_DATASETS:
+            parsed_datasets.popitem(last=False)
+        parsed_datasets[key] = parse_raw(path)
+    return copy.deepcopy(parsed_datasets[key])
+
+
+def execute(request):
+    namespace = {'make_pipeline': make_pipeline, 'make_union': make_union}
+    exec(request['imports'], namespace)
+    pipeline = eval(request['construct'], namespace)
+
+    np.random.seed(int(request['seed']))
+    raw_traindata = parse_cached(request['arff'])
+    raw_testdata = parse_cached(request['testarff'])
+
+    if request['mode'] == 'fe':
+        run_feature_generation(pipeline, raw_traindata, raw_testdata, request['output'])
+    elif request['mode'] == 'regression':
+        run_regression(raw_traindata, raw_testdata, pipeline, request['output'])
+    else:
+        run_train_test(raw_traindata, raw_testdata, pipeline, request['output'])
+
+
+def respond(response):
+    sys.__stdout__.write(json.dumps(response) + '\n')
+    sys.__stdout__.flush()
+
+
+def main():
+    for line in sys.stdin:
+        if not line.strip():
+            continue
+        try:
+            with contextlib.redirect_stdout(sys.stderr):
+                execute(json.loads(line))
+            respond({'status': 'ok'})
+        except Exception:
+            respond({'status': 'error', 'message': traceback.format_exc()})
+
+
+def limit_memory(maxsize):
+    soft, hard = resource.getrlimit(resource.RLIMIT_AS)
+    resource.setrlimit(resource.RLIMIT_AS, (maxsize, hard))
+
+
+if __name__ == "__main__":
+    print("CURRENT_PID:" + str(os.getpid()), file=sys.stderr)
+    limit_memory(4294967296) # 4GB RAM
+    main()